@@ -35,6 +35,19 @@ import org.apiguardian.api.API;
  * methods that also require {@code READ} access but not at the same time as any
  * other test that requires {@code READ_WRITE} access.
  *
+ * <p>Since JUnit Jupiter 5.10, resource keys may be hierarchical: if the
+ * {@code junit.platform.execution.resource.locks.hierarchical.enabled}
+ * configuration parameter is set to {@code true}, a key that contains dots,
+ * e.g. {@code "db.orders"}, identifies a child of the resource identified by
+ * the part of the key up to the last dot, e.g. {@code "db"}.
+ * Requiring {@code READ_WRITE} access to a resource conflicts with any access
+ * to its ancestors and descendants, while its siblings, e.g.
+ * {@code "db.users"}, may be used concurrently.
+ *
+ * <p>Since JUnit Jupiter 5.10, a resource may declare a {@link #capacity}. In
+ * that case, up to {@code capacity} test classes or test methods that use the
+ * shared resource are executed concurrently, regardless of their access mode.
+ *
  * <p>This annotation can be repeated to declare the use of multiple shared resources.
  *
  * <p>Since JUnit Jupiter 5.4, this annotation is {@linkplain Inherited inherited}
@@ -69,4 +82,20 @@ public @interface ResourceLock {
 	 */
 	ResourceAccessMode mode() default ResourceAccessMode.READ_WRITE;
 
+	/**
+	 * The number of test classes or test methods that may use the resource
+	 * concurrently, e.g. the size of a connection pool.
+	 *
+	 * <p>If greater than zero, the {@link #mode} is ignored and each annotated
+	 * element occupies one unit of the capacity while it is being executed. All
+	 * declarations of the same resource must specify the same capacity.
+	 *
+	 * <p>Defaults to {@code 0} which means that access to the resource is
+	 * synchronized according to its {@link #mode}.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	int capacity() default 0;
+
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+
+package org.junit.jupiter.api.parallel;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apiguardian.api.API;
+
+/**
+ * {@code @WorkerAffinity} is used to declare whether the concurrently executed
+ * tests of the annotated test class should preferably be executed by the
+ * worker thread that executes the test class.
+ *
+ * <p>By default, the tests of a class whose {@linkplain ExecutionMode execution
+ * mode} is {@link ExecutionMode#CONCURRENT CONCURRENT} are distributed across
+ * all worker threads. With worker affinity, they are executed one after
+ * another by the worker thread that executed the class-level callbacks and are
+ * only taken over by other worker threads while those are idle. This helps
+ * tests that benefit from warm caches or thread-local state, e.g. per-thread
+ * connection pools set up by their fixtures.
+ *
+ * <p>Worker affinity only affects the direct children of the annotated class;
+ * {@link org.junit.jupiter.api.Nested @Nested} classes need to be annotated
+ * separately. It is only supported by the {@code fork_join_pool} executor.
+ *
+ * <p>If this annotation is not present, the default configured via the
+ * {@value #DEFAULT_WORKER_AFFINITY_PROPERTY_NAME} configuration parameter is
+ * used.
+ *
+ * @since 5.10
+ * @see Execution
+ */
+@API(status = EXPERIMENTAL, since = "5.10")
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+public @interface WorkerAffinity {
+
+	/**
+	 * Property name used to set the default worker affinity of test classes:
+	 * {@value}
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 */
+	String DEFAULT_WORKER_AFFINITY_PROPERTY_NAME = "junit.jupiter.execution.parallel.worker.affinity.default";
+
+	/**
+	 * Whether the tests of the annotated class should preferably be executed
+	 * by the worker thread that executes the class.
+	 */
+	boolean value() default true;
+
+}
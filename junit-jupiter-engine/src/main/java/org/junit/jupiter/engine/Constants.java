@@ -13,10 +13,15 @@ package org.junit.jupiter.engine;
 import static org.apiguardian.api.API.Status.DEPRECATED;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
+import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_CUSTOM_CLASS_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_FIXED_PARALLELISM_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_STRATEGY_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTestExecutorService.CONFIG_BATCHING_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTestExecutorService.CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorServiceFactory.CONFIG_FACTORY_CLASS_PROPERTY_NAME;
 
 import org.apiguardian.api.API;
 import org.junit.jupiter.api.AfterAll;
@@ -33,8 +38,10 @@ import org.junit.jupiter.api.TestTemplate;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.WorkerAffinity;
 import org.junit.jupiter.engine.config.JupiterConfiguration;
 import org.junit.platform.commons.util.ClassNamePatternFilterUtils;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorServiceFactory;
 import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
 
 /**
@@ -139,14 +146,53 @@ public final class Constants {
 	@API(status = EXPERIMENTAL, since = "5.5")
 	public static final String DEFAULT_CLASSES_EXECUTION_MODE_PROPERTY_NAME = Execution.DEFAULT_CLASSES_EXECUTION_MODE_PROPERTY_NAME;
 
+	/**
+	 * Property name used to select the executor for parallel test execution:
+	 * {@value}
+	 *
+	 * <p>Potential values: {@code fork_join_pool} (default) or
+	 * {@code virtual_threads}. Virtual threads require Java 21 or later; on
+	 * older Java runtimes, the {@code fork_join_pool} executor is used instead.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_EXECUTOR_PROPERTY_NAME = JupiterConfiguration.PARALLEL_EXECUTOR_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the default worker affinity of test classes:
+	 * {@value}
+	 *
+	 * @since 5.10
+	 * @see WorkerAffinity#DEFAULT_WORKER_AFFINITY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String DEFAULT_PARALLEL_WORKER_AFFINITY = WorkerAffinity.DEFAULT_WORKER_AFFINITY_PROPERTY_NAME;
+
+	/**
+	 * Property name used to assign priorities to tags for parallel test
+	 * execution: {@value}
+	 *
+	 * <p>Value must be a comma-separated list of {@code tag=priority}
+	 * entries, for example {@code smoke=10,slow=-5}. Tests and containers are
+	 * assigned the highest priority of their tags, including inherited ones,
+	 * or {@code 0} if none of their tags has a priority. Concurrent tests and
+	 * containers with a higher priority are started before those with a
+	 * lower priority.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_TAG_PRIORITIES_PROPERTY_NAME = JupiterConfiguration.PARALLEL_TAG_PRIORITIES_PROPERTY_NAME;
+
 	static final String PARALLEL_CONFIG_PREFIX = "junit.jupiter.execution.parallel.config.";
 
 	/**
 	 * Property name used to select the
 	 * {@link ParallelExecutionConfigurationStrategy}: {@value}
 	 *
-	 * <p>Potential values: {@code dynamic} (default), {@code fixed}, or
-	 * {@code custom}.
+	 * <p>Potential values: {@code dynamic} (default), {@code fixed},
+	 * {@code adaptive}, or {@code custom}.
 	 *
 	 * @since 5.3
 	 */
@@ -179,6 +225,33 @@ public final class Constants {
 	public static final String PARALLEL_CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
 			+ CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME;
 
+	/**
+	 * Property name used to set the minimum and initial parallelism for the
+	 * {@code adaptive} configuration strategy: {@value}
+	 *
+	 * <p>Value must be a positive integer; defaults to the number of available
+	 * processors/cores.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the maximum parallelism for the
+	 * {@code adaptive} configuration strategy: {@value}
+	 *
+	 * <p>Value must be an integer that is not less than the minimum
+	 * parallelism; defaults to four times the number of available
+	 * processors/cores.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME;
+
 	/**
 	 * Property name used to specify the fully qualified class name of the
 	 * {@link ParallelExecutionConfigurationStrategy} to be used for the
@@ -190,6 +263,61 @@ public final class Constants {
 	public static final String PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
 			+ CONFIG_CUSTOM_CLASS_PROPERTY_NAME;
 
+	/**
+	 * Property name used to enable deferred locking for parallel test
+	 * execution: {@value}
+	 *
+	 * <p>If enabled, a test whose {@link org.junit.jupiter.api.parallel.ResourceLock
+	 * resource lock} is currently unavailable does not block its worker thread
+	 * but is parked until the resource is released so the worker can execute
+	 * other tests in the meantime.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME;
+
+	/**
+	 * Property name used to enable batching of tests for parallel test
+	 * execution: {@value}
+	 *
+	 * <p>If enabled, consecutive concurrent tests that use the same resources
+	 * are grouped into batches that are executed sequentially by a single
+	 * worker thread, which reduces the scheduling overhead for large numbers
+	 * of very short tests. Should not be enabled for tests that wait for
+	 * other tests to be executed concurrently.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_CONFIG_BATCHING_ENABLED_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_BATCHING_ENABLED_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the fully qualified class name of the
+	 * {@link HierarchicalTestExecutorServiceFactory} used to create the
+	 * executor service that executes tests: {@value}
+	 *
+	 * <p>If set, the factory is used regardless of whether
+	 * {@linkplain #PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME parallel execution}
+	 * is enabled and takes precedence over
+	 * {@link #PARALLEL_EXECUTOR_PROPERTY_NAME}. The factory is passed all configuration parameters starting with
+	 * {@code junit.jupiter.execution.parallel.config.} with that prefix
+	 * removed.
+	 *
+	 * @since 5.10
+	 */
+	@API(status = EXPERIMENTAL, since = "5.10")
+	public static final String PARALLEL_CONFIG_EXECUTOR_FACTORY_CLASS_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_FACTORY_CLASS_PROPERTY_NAME;
+
 	/**
 	 * Property name used to set the default timeout for all testable and
 	 * lifecycle methods: {@value}.
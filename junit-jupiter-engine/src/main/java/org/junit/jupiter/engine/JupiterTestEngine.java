@@ -17,11 +17,15 @@ import java.util.Optional;
 import org.apiguardian.api.API;
 import org.junit.jupiter.engine.config.CachingJupiterConfiguration;
 import org.junit.jupiter.engine.config.DefaultJupiterConfiguration;
+import org.junit.jupiter.engine.config.EnumConfigurationParameterConverter;
 import org.junit.jupiter.engine.config.JupiterConfiguration;
 import org.junit.jupiter.engine.descriptor.JupiterEngineDescriptor;
 import org.junit.jupiter.engine.discovery.DiscoverySelectorResolver;
 import org.junit.jupiter.engine.execution.JupiterEngineExecutionContext;
 import org.junit.jupiter.engine.support.JupiterThrowableCollectorFactory;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
@@ -31,6 +35,7 @@ import org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTe
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine;
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService;
 import org.junit.platform.engine.support.hierarchical.ThrowableCollector;
+import org.junit.platform.engine.support.hierarchical.VirtualThreadHierarchicalTestExecutorService;
 
 /**
  * The JUnit Jupiter {@link org.junit.platform.engine.TestEngine TestEngine}.
@@ -40,6 +45,11 @@ import org.junit.platform.engine.support.hierarchical.ThrowableCollector;
 @API(status = INTERNAL, since = "5.0")
 public final class JupiterTestEngine extends HierarchicalTestEngine<JupiterEngineExecutionContext> {
 
+	private static final Logger logger = LoggerFactory.getLogger(JupiterTestEngine.class);
+
+	private static final EnumConfigurationParameterConverter<ParallelExecutor> parallelExecutorConverter = //
+		new EnumConfigurationParameterConverter<>(ParallelExecutor.class, "parallel executor");
+
 	@Override
 	public String getId() {
 		return JupiterEngineDescriptor.ENGINE_ID;
@@ -70,12 +80,33 @@ public final class JupiterTestEngine extends HierarchicalTestEngine<JupiterEngin
 		return engineDescriptor;
 	}
 
+	/**
+	 * Returns the configuration parameters starting with
+	 * {@code junit.jupiter.execution.parallel.config.} with that prefix removed.
+	 */
+	@Override
+	protected ConfigurationParameters getExecutorServiceConfigurationParameters(ExecutionRequest request) {
+		return new PrefixedConfigurationParameters(request.getConfigurationParameters(),
+			Constants.PARALLEL_CONFIG_PREFIX);
+	}
+
 	@Override
 	protected HierarchicalTestExecutorService createExecutorService(ExecutionRequest request) {
 		JupiterConfiguration configuration = getJupiterConfiguration(request);
 		if (configuration.isParallelExecutionEnabled()) {
-			return new ForkJoinPoolHierarchicalTestExecutorService(new PrefixedConfigurationParameters(
-				request.getConfigurationParameters(), Constants.PARALLEL_CONFIG_PREFIX));
+			ParallelExecutor parallelExecutor = parallelExecutorConverter.get(
+				JupiterConfiguration.PARALLEL_EXECUTOR_PROPERTY_NAME, configuration::getRawConfigurationParameter,
+				ParallelExecutor.FORK_JOIN_POOL);
+			if (parallelExecutor == ParallelExecutor.VIRTUAL_THREADS) {
+				if (VirtualThreadHierarchicalTestExecutorService.isSupported()) {
+					return new VirtualThreadHierarchicalTestExecutorService();
+				}
+				logger.warn(() -> String.format(
+					"Virtual threads requested via the '%s' configuration parameter are not supported "
+							+ "by the current Java runtime. Falling back to the ForkJoinPool-based executor.",
+					JupiterConfiguration.PARALLEL_EXECUTOR_PROPERTY_NAME));
+			}
+			return new ForkJoinPoolHierarchicalTestExecutorService(getExecutorServiceConfigurationParameters(request));
 		}
 		return super.createExecutorService(request);
 	}
@@ -99,4 +130,12 @@ public final class JupiterTestEngine extends HierarchicalTestEngine<JupiterEngin
 		return engineDescriptor.getConfiguration();
 	}
 
+	private enum ParallelExecutor {
+
+		FORK_JOIN_POOL,
+
+		VIRTUAL_THREADS
+
+	}
+
 }
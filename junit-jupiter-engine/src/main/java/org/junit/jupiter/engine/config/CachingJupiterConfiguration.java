@@ -13,6 +13,7 @@ package org.junit.jupiter.engine.config;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.jupiter.api.io.TempDir.DEFAULT_CLEANUP_MODE_PROPERTY_NAME;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -76,6 +77,19 @@ public class CachingJupiterConfiguration implements JupiterConfiguration {
 			key -> delegate.getDefaultClassesExecutionMode());
 	}
 
+	@Override
+	public boolean isWorkerAffinityPreferredByDefault() {
+		return (boolean) cache.computeIfAbsent(DEFAULT_WORKER_AFFINITY_PROPERTY_NAME,
+			key -> delegate.isWorkerAffinityPreferredByDefault());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Integer> getTagPriorities() {
+		return (Map<String, Integer>) cache.computeIfAbsent(PARALLEL_TAG_PRIORITIES_PROPERTY_NAME,
+			key -> delegate.getTagPriorities());
+	}
+
 	@Override
 	public TestInstance.Lifecycle getDefaultTestInstanceLifecycle() {
 		return (TestInstance.Lifecycle) cache.computeIfAbsent(DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME,
@@ -14,6 +14,7 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.jupiter.api.io.CleanupMode.ALWAYS;
 import static org.junit.jupiter.api.io.TempDir.DEFAULT_CLEANUP_MODE_PROPERTY_NAME;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -56,6 +57,9 @@ public class DefaultJupiterConfiguration implements JupiterConfiguration {
 	private static final EnumConfigurationParameterConverter<CleanupMode> cleanupModeConverter = //
 		new EnumConfigurationParameterConverter<>(CleanupMode.class, "cleanup mode");
 
+	private static final TagPrioritiesConfigurationParameterConverter tagPrioritiesConverter = //
+		new TagPrioritiesConfigurationParameterConverter();
+
 	private final ConfigurationParameters configurationParameters;
 
 	public DefaultJupiterConfiguration(ConfigurationParameters configurationParameters) {
@@ -95,6 +99,16 @@ public class DefaultJupiterConfiguration implements JupiterConfiguration {
 			getDefaultExecutionMode());
 	}
 
+	@Override
+	public boolean isWorkerAffinityPreferredByDefault() {
+		return configurationParameters.getBoolean(DEFAULT_WORKER_AFFINITY_PROPERTY_NAME).orElse(false);
+	}
+
+	@Override
+	public Map<String, Integer> getTagPriorities() {
+		return tagPrioritiesConverter.get(configurationParameters, PARALLEL_TAG_PRIORITIES_PROPERTY_NAME);
+	}
+
 	@Override
 	public Lifecycle getDefaultTestInstanceLifecycle() {
 		return lifecycleConverter.get(configurationParameters, DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME,
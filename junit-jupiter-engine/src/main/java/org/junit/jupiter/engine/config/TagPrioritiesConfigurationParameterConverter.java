@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+
+package org.junit.jupiter.engine.config;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestTag;
+
+/**
+ * Converts a comma-separated list of {@code tag=priority} entries, e.g.
+ * {@code smoke=10,slow=-5}, into a map from tag names to priorities.
+ *
+ * @since 5.10
+ */
+class TagPrioritiesConfigurationParameterConverter {
+
+	private static final Logger logger = LoggerFactory.getLogger(TagPrioritiesConfigurationParameterConverter.class);
+
+	Map<String, Integer> get(ConfigurationParameters configParams, String key) {
+		Preconditions.notNull(configParams, "ConfigurationParameters must not be null");
+
+		Optional<String> value = configParams.get(key);
+		if (!value.isPresent()) {
+			return emptyMap();
+		}
+		Map<String, Integer> priorities = new LinkedHashMap<>();
+		for (String entry : value.get().split(",")) {
+			if (entry.trim().isEmpty()) {
+				continue;
+			}
+			int separatorIndex = entry.indexOf('=');
+			String tag = separatorIndex < 0 ? "" : entry.substring(0, separatorIndex).trim();
+			try {
+				Preconditions.condition(TestTag.isValid(tag), "invalid tag");
+				priorities.put(tag, Integer.parseInt(entry.substring(separatorIndex + 1).trim()));
+			}
+			catch (Exception ex) {
+				logger.warn(() -> String.format(
+					"Ignoring invalid tag priority '%s' set via the '%s' configuration parameter. "
+							+ "Entries must have the form 'tag=priority'.",
+					entry.trim(), key));
+			}
+		}
+		logger.config(() -> String.format("Using tag priorities %s set via the '%s' configuration parameter.",
+			priorities, key));
+		return unmodifiableMap(priorities);
+	}
+
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.engine.descriptor.LifecycleMethodUtils.findBefor
 import static org.junit.jupiter.engine.descriptor.LifecycleMethodUtils.findBeforeEachMethods;
 import static org.junit.jupiter.engine.descriptor.TestInstanceLifecycleUtils.getTestInstanceLifecycle;
 import static org.junit.jupiter.engine.support.JupiterThrowableCollectorFactory.createThrowableCollector;
+import static org.junit.platform.commons.util.AnnotationUtils.findAnnotation;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -51,6 +52,7 @@ import org.junit.jupiter.api.extension.TestInstancePreDestroyCallback;
 import org.junit.jupiter.api.extension.TestInstances;
 import org.junit.jupiter.api.extension.TestInstantiationException;
 import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.parallel.WorkerAffinity;
 import org.junit.jupiter.engine.config.JupiterConfiguration;
 import org.junit.jupiter.engine.execution.AfterEachMethodAdapter;
 import org.junit.jupiter.engine.execution.BeforeEachMethodAdapter;
@@ -144,6 +146,13 @@ public abstract class ClassBasedTestDescriptor extends JupiterTestDescriptor {
 		return getExclusiveResourcesFromAnnotation(getTestClass());
 	}
 
+	@Override
+	public boolean isChildWorkerAffinityPreferred() {
+		return findAnnotation(getTestClass(), WorkerAffinity.class) //
+				.map(WorkerAffinity::value) //
+				.orElseGet(this.configuration::isWorkerAffinityPreferredByDefault);
+	}
+
 	@Override
 	public JupiterEngineExecutionContext prepare(JupiterEngineExecutionContext context) {
 		MutableExtensionRegistry registry = populateNewExtensionRegistryFromExtendWithAnnotation(
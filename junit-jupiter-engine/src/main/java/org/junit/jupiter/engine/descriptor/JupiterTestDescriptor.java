@@ -22,7 +22,9 @@ import java.lang.reflect.AnnotatedElement;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -152,6 +154,27 @@ public abstract class JupiterTestDescriptor extends AbstractTestDescriptor
 		return toExecutionMode(configuration.getDefaultExecutionMode());
 	}
 
+	/**
+	 * Get the highest priority configured for any of the tags of this
+	 * descriptor, including inherited ones, via the
+	 * {@value JupiterConfiguration#PARALLEL_TAG_PRIORITIES_PROPERTY_NAME}
+	 * configuration parameter; empty if none is configured.
+	 */
+	@Override
+	public OptionalInt getExecutionPriority() {
+		Map<String, Integer> tagPriorities = configuration.getTagPriorities();
+		if (tagPriorities.isEmpty()) {
+			return OptionalInt.empty();
+		}
+		// @formatter:off
+		return getTags().stream()
+				.map(TestTag::getName)
+				.filter(tagPriorities::containsKey)
+				.mapToInt(tagPriorities::get)
+				.max();
+		// @formatter:on
+	}
+
 	Optional<ExecutionMode> getExplicitExecutionMode() {
 		return Optional.empty();
 	}
@@ -181,7 +204,8 @@ public abstract class JupiterTestDescriptor extends AbstractTestDescriptor
 	Set<ExclusiveResource> getExclusiveResourcesFromAnnotation(AnnotatedElement element) {
 		// @formatter:off
 		return findRepeatableAnnotations(element, ResourceLock.class).stream()
-				.map(resource -> new ExclusiveResource(resource.value(), toLockMode(resource.mode())))
+				.map(resource -> new ExclusiveResource(resource.value(), toLockMode(resource.mode()),
+					resource.capacity()))
 				.collect(toSet());
 		// @formatter:on
 	}
@@ -11,6 +11,7 @@
 package org.junit.jupiter.engine.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.io.CleanupMode.NEVER;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.only;
@@ -19,6 +20,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -78,6 +80,26 @@ class CachingJupiterConfigurationTests {
 		verify(delegate, only()).isExtensionAutoDetectionEnabled();
 	}
 
+	@Test
+	void cachesWorkerAffinityPreferredByDefault() {
+		when(delegate.isWorkerAffinityPreferredByDefault()).thenReturn(true);
+
+		assertThat(cache.isWorkerAffinityPreferredByDefault()).isTrue();
+		assertThat(cache.isWorkerAffinityPreferredByDefault()).isTrue();
+
+		verify(delegate, only()).isWorkerAffinityPreferredByDefault();
+	}
+
+	@Test
+	void cachesTagPriorities() {
+		when(delegate.getTagPriorities()).thenReturn(Map.of("smoke", 10));
+
+		assertThat(cache.getTagPriorities()).containsExactly(entry("smoke", 10));
+		assertThat(cache.getTagPriorities()).containsExactly(entry("smoke", 10));
+
+		verify(delegate, only()).getTagPriorities();
+	}
+
 	@Test
 	void cachesParallelExecutionEnabled() {
 		when(delegate.isParallelExecutionEnabled()).thenReturn(true);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.jupiter.engine.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.engine.Constants.PARALLEL_TAG_PRIORITIES_PROPERTY_NAME;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.fixtures.TrackLogRecords;
+import org.junit.platform.commons.logging.LogRecordListener;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * @since 5.10
+ */
+@TrackLogRecords
+class TagPrioritiesConfigurationParameterConverterTests {
+
+	private static final String KEY = PARALLEL_TAG_PRIORITIES_PROPERTY_NAME;
+
+	private final TagPrioritiesConfigurationParameterConverter converter = //
+		new TagPrioritiesConfigurationParameterConverter();
+
+	@Test
+	void shouldReturnEmptyMapIfNoConfigurationFound() {
+		ConfigurationParameters configurationParameters = mock(ConfigurationParameters.class);
+		when(configurationParameters.get(KEY)).thenReturn(Optional.empty());
+
+		assertThat(converter.get(configurationParameters, KEY)).isEmpty();
+	}
+
+	@Test
+	void shouldParseTagPriorities() {
+		ConfigurationParameters configurationParameters = mock(ConfigurationParameters.class);
+		when(configurationParameters.get(KEY)).thenReturn(Optional.of(" smoke = 10, slow=-5 ,"));
+
+		assertThat(converter.get(configurationParameters, KEY)).isEqualTo(Map.of("smoke", 10, "slow", -5));
+	}
+
+	@Test
+	void shouldIgnoreAndLogInvalidEntries(LogRecordListener listener) {
+		ConfigurationParameters configurationParameters = mock(ConfigurationParameters.class);
+		when(configurationParameters.get(KEY)).thenReturn(Optional.of("smoke=high,slow,=1,fast=1"));
+
+		assertThat(converter.get(configurationParameters, KEY)).isEqualTo(Map.of("fast", 1));
+		assertThat(listener.stream(TagPrioritiesConfigurationParameterConverter.class, Level.WARNING) //
+				.map(LogRecord::getMessage)) //
+				.containsExactly(
+					"Ignoring invalid tag priority 'smoke=high' set via the '" + KEY
+							+ "' configuration parameter. Entries must have the form 'tag=priority'.",
+					"Ignoring invalid tag priority 'slow' set via the '" + KEY
+							+ "' configuration parameter. Entries must have the form 'tag=priority'.",
+					"Ignoring invalid tag priority '=1' set via the '" + KEY
+							+ "' configuration parameter. Entries must have the form 'tag=priority'.");
+	}
+
+}
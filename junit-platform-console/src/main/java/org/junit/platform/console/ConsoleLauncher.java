@@ -13,6 +13,7 @@ package org.junit.platform.console;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.Comparator;
@@ -25,6 +26,7 @@ import org.junit.platform.console.options.CommandLineOptions;
 import org.junit.platform.console.options.CommandLineOptionsParser;
 import org.junit.platform.console.options.PicocliCommandLineOptionsParser;
 import org.junit.platform.console.tasks.ConsoleTestExecutor;
+import org.junit.platform.console.tasks.LauncherSessionCache;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.launcher.core.ServiceLoaderTestEngineRegistry;
 import org.junit.platform.launcher.listeners.TestExecutionSummary;
@@ -58,16 +60,35 @@ public class ConsoleLauncher {
 	private final CommandLineOptionsParser commandLineOptionsParser;
 	private final PrintWriter out;
 	private final PrintWriter err;
+	private final LauncherSessionCache launcherSessionCache;
 
 	ConsoleLauncher(CommandLineOptionsParser commandLineOptionsParser, PrintWriter out, PrintWriter err) {
+		this(commandLineOptionsParser, out, err, null);
+	}
+
+	/**
+	 * @param launcherSessionCache the cache used to execute tests on behalf of
+	 * daemon clients; {@code null} if not running in a daemon
+	 */
+	ConsoleLauncher(CommandLineOptionsParser commandLineOptionsParser, PrintWriter out, PrintWriter err,
+			LauncherSessionCache launcherSessionCache) {
 		this.commandLineOptionsParser = commandLineOptionsParser;
 		this.out = out;
 		this.err = err;
+		this.launcherSessionCache = launcherSessionCache;
 	}
 
 	ConsoleLauncherExecutionResult execute(String... args) {
 		try {
 			CommandLineOptions options = commandLineOptionsParser.parse(args);
+			if (launcherSessionCache == null) {
+				if (options.isStartDaemon()) {
+					return startDaemon(options);
+				}
+				if (options.getDaemonPort().isPresent()) {
+					return ConsoleLauncherDaemon.execute(options.getDaemonPort().get(), args, out, err);
+				}
+			}
 			if (options.isListEngines()) {
 				displayEngines(out);
 				return ConsoleLauncherExecutionResult.success();
@@ -93,6 +114,18 @@ public class ConsoleLauncher {
 		}
 	}
 
+	private ConsoleLauncherExecutionResult startDaemon(CommandLineOptions options) {
+		int port = options.getDaemonPort().orElseThrow(
+			() -> new JUnitException("--start-daemon requires --daemon-port to be specified"));
+		try {
+			new ConsoleLauncherDaemon(commandLineOptionsParser).run(port, out);
+		}
+		catch (IOException exception) {
+			exception.printStackTrace(err);
+		}
+		return ConsoleLauncherExecutionResult.failed();
+	}
+
 	void displayBanner(PrintWriter out) {
 		out.println();
 		out.println("Thanks for using JUnit! Support its development at https://junit.org/sponsoring");
@@ -117,7 +150,9 @@ public class ConsoleLauncher {
 
 	private ConsoleLauncherExecutionResult executeTests(CommandLineOptions options, PrintWriter out) {
 		try {
-			TestExecutionSummary testExecutionSummary = new ConsoleTestExecutor(options).execute(out);
+			ConsoleTestExecutor testExecutor = launcherSessionCache == null ? new ConsoleTestExecutor(options)
+					: new ConsoleTestExecutor(options, launcherSessionCache);
+			TestExecutionSummary testExecutionSummary = testExecutor.execute(out);
 			return ConsoleLauncherExecutionResult.forSummary(testExecutionSummary, options);
 		}
 		catch (Exception exception) {
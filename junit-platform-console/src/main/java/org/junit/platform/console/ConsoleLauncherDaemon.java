@@ -0,0 +1,326 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.console;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.console.options.CommandLineOptionsParser;
+import org.junit.platform.console.tasks.LauncherSessionCache;
+
+/**
+ * Daemon that executes the tests requested by {@code ConsoleLauncher} clients
+ * connecting to a local port, and the client that connects to it.
+ *
+ * <p>The daemon keeps test engines and class loaders for additional classpath
+ * entries between requests and handles one request at a time. When started,
+ * it writes a random token to a file in the {@code .junit} directory of the
+ * user's home directory that only the user may read. A client sends that
+ * token, its working directory, and its command line arguments. Requests that
+ * do not contain the token are rejected without being executed. The daemon streams
+ * back the standard output and standard error of the execution, including
+ * output of tests written to {@link System#out} and {@link System#err}, and
+ * finally the exit code.
+ *
+ * @since 1.10
+ */
+class ConsoleLauncherDaemon {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConsoleLauncherDaemon.class);
+
+	private static final byte STDOUT = 'O';
+	private static final byte STDERR = 'E';
+	private static final byte EXIT = 'X';
+
+	private static final int REQUEST_TIMEOUT_MILLIS = 10_000;
+
+	private final CommandLineOptionsParser commandLineOptionsParser;
+	private final Path tokenDirectory;
+	private final String workingDirectory = System.getProperty("user.dir");
+
+	ConsoleLauncherDaemon(CommandLineOptionsParser commandLineOptionsParser) {
+		this(commandLineOptionsParser, getDefaultTokenDirectory());
+	}
+
+	ConsoleLauncherDaemon(CommandLineOptionsParser commandLineOptionsParser, Path tokenDirectory) {
+		this.commandLineOptionsParser = commandLineOptionsParser;
+		this.tokenDirectory = tokenDirectory;
+	}
+
+	static Path getDefaultTokenDirectory() {
+		return Paths.get(System.getProperty("user.home"), ".junit", "console-launcher-daemon");
+	}
+
+	static Path getTokenFile(Path tokenDirectory, int port) {
+		return tokenDirectory.resolve(port + ".token");
+	}
+
+	/**
+	 * Write a new random token for the supplied port to a file that, on file
+	 * systems that support POSIX permissions, only the current user may read
+	 * and write.
+	 */
+	static String writeToken(Path tokenDirectory, int port) throws IOException {
+		byte[] bytes = new byte[32];
+		new SecureRandom().nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		boolean posix = tokenDirectory.getFileSystem().supportedFileAttributeViews().contains("posix");
+		if (posix) {
+			Files.createDirectories(tokenDirectory,
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+		}
+		else {
+			Files.createDirectories(tokenDirectory);
+		}
+		Path tokenFile = getTokenFile(tokenDirectory, port);
+		Files.deleteIfExists(tokenFile);
+		if (posix) {
+			Files.createFile(tokenFile,
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		}
+		else {
+			Files.createFile(tokenFile);
+		}
+		Files.write(tokenFile, token.getBytes(UTF_8));
+		return token;
+	}
+
+	/**
+	 * Listen on the supplied local port and handle requests until the
+	 * server socket fails.
+	 */
+	void run(int port, PrintWriter out) throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+				LauncherSessionCache launcherSessionCache = new LauncherSessionCache()) {
+			Path tokenFile = getTokenFile(tokenDirectory, serverSocket.getLocalPort());
+			String token = writeToken(tokenDirectory, serverSocket.getLocalPort());
+			try {
+				out.println("Daemon listening on port " + serverSocket.getLocalPort());
+				out.flush();
+				while (true) {
+					try (Socket socket = serverSocket.accept()) {
+						handle(socket, token, launcherSessionCache);
+					}
+					catch (IOException e) {
+						logger.warn(e, () -> "Failed to handle request");
+					}
+				}
+			}
+			finally {
+				Files.deleteIfExists(tokenFile);
+			}
+		}
+	}
+
+	void handle(Socket socket, String token, LauncherSessionCache launcherSessionCache) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		// do not let clients that do not send a complete request block the daemon
+		socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+		if (!MessageDigest.isEqual(token.getBytes(UTF_8), in.readUTF().getBytes(UTF_8))) {
+			logger.warn(() -> "Rejecting request with invalid token from " + socket.getRemoteSocketAddress());
+			reject(out, "Invalid daemon token");
+			return;
+		}
+		String clientWorkingDirectory = in.readUTF();
+		String[] args = new String[in.readInt()];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = in.readUTF();
+		}
+		socket.setSoTimeout(0);
+
+		PrintStream stdout = new PrintStream(new FrameOutputStream(out, STDOUT), true, UTF_8.name());
+		PrintStream stderr = new PrintStream(new FrameOutputStream(out, STDERR), true, UTF_8.name());
+		PrintWriter outWriter = new PrintWriter(new OutputStreamWriter(stdout, UTF_8));
+		PrintWriter errWriter = new PrintWriter(new OutputStreamWriter(stderr, UTF_8));
+		int exitCode;
+		if (!workingDirectory.equals(clientWorkingDirectory)) {
+			// relative paths in the arguments would be resolved differently
+			errWriter.println("Daemon was started in a different working directory: " + workingDirectory);
+			errWriter.flush();
+			exitCode = ConsoleLauncherExecutionResult.failed().getExitCode();
+		}
+		else {
+			PrintStream originalOut = System.out;
+			PrintStream originalErr = System.err;
+			try {
+				System.setOut(stdout);
+				System.setErr(stderr);
+				exitCode = new ConsoleLauncher(commandLineOptionsParser, outWriter, errWriter,
+					launcherSessionCache).execute(args).getExitCode();
+			}
+			finally {
+				System.setOut(originalOut);
+				System.setErr(originalErr);
+			}
+		}
+		stdout.flush();
+		stderr.flush();
+		synchronized (out) {
+			out.writeByte(EXIT);
+			out.writeInt(exitCode);
+			out.flush();
+		}
+	}
+
+	private static void reject(DataOutputStream out, String message) throws IOException {
+		byte[] bytes = (message + System.lineSeparator()).getBytes(UTF_8);
+		out.writeByte(STDERR);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+		out.writeByte(EXIT);
+		out.writeInt(ConsoleLauncherExecutionResult.failed().getExitCode());
+		out.flush();
+	}
+
+	/**
+	 * Send the supplied arguments to the daemon listening on the supplied
+	 * local port and print its output.
+	 *
+	 * @return the exit code reported by the daemon
+	 */
+	static ConsoleLauncherExecutionResult execute(int port, String[] args, PrintWriter out, PrintWriter err) {
+		return execute(getDefaultTokenDirectory(), port, args, out, err);
+	}
+
+	static ConsoleLauncherExecutionResult execute(Path tokenDirectory, int port, String[] args, PrintWriter out,
+			PrintWriter err) {
+		String token;
+		try {
+			token = new String(Files.readAllBytes(getTokenFile(tokenDirectory, port)), UTF_8);
+		}
+		catch (NoSuchFileException e) {
+			err.println("No daemon is listening on port " + port);
+			return ConsoleLauncherExecutionResult.failed();
+		}
+		catch (IOException e) {
+			err.println("Failed to read token of daemon on port " + port + ": " + e);
+			return ConsoleLauncherExecutionResult.failed();
+		}
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			output.writeUTF(token);
+			output.writeUTF(System.getProperty("user.dir"));
+			output.writeInt(args.length);
+			for (String arg : args) {
+				output.writeUTF(arg);
+			}
+			output.flush();
+
+			DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			StreamDecoder outDecoder = new StreamDecoder(out);
+			StreamDecoder errDecoder = new StreamDecoder(err);
+			while (true) {
+				byte type = input.readByte();
+				if (type == EXIT) {
+					return ConsoleLauncherExecutionResult.forExitCode(input.readInt());
+				}
+				byte[] bytes = new byte[input.readInt()];
+				input.readFully(bytes);
+				(type == STDERR ? errDecoder : outDecoder).decode(bytes);
+			}
+		}
+		catch (ConnectException e) {
+			err.println("No daemon is listening on port " + port);
+		}
+		catch (IOException e) {
+			err.println("Lost connection to daemon on port " + port + ": " + e);
+		}
+		return ConsoleLauncherExecutionResult.failed();
+	}
+
+	private static class FrameOutputStream extends OutputStream {
+
+		private final DataOutputStream out;
+		private final byte type;
+
+		FrameOutputStream(DataOutputStream out, byte type) {
+			this.out = out;
+			this.type = type;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			synchronized (out) {
+				out.writeByte(type);
+				out.writeInt(length);
+				out.write(bytes, offset, length);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			synchronized (out) {
+				out.flush();
+			}
+		}
+	}
+
+	/**
+	 * Decodes UTF-8 output received in arbitrary chunks.
+	 */
+	private static class StreamDecoder {
+
+		private final CharsetDecoder decoder = UTF_8.newDecoder() //
+				.onMalformedInput(CodingErrorAction.REPLACE) //
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		private final PrintWriter writer;
+		private ByteBuffer pending = ByteBuffer.allocate(0);
+
+		StreamDecoder(PrintWriter writer) {
+			this.writer = writer;
+		}
+
+		void decode(byte[] bytes) {
+			ByteBuffer input = ByteBuffer.allocate(pending.remaining() + bytes.length);
+			input.put(pending).put(bytes).flip();
+			CharBuffer output = CharBuffer.allocate(input.remaining());
+			decoder.decode(input, output, false);
+			output.flip();
+			writer.append(output);
+			writer.flush();
+			pending = input;
+		}
+	}
+
+}
@@ -88,9 +88,20 @@ class AvailableOptions {
 		@Option(names = { "--list-engines" }, description = "List all observable test engines.")
 		private boolean listEnginesRequested;
 
+		@Option(names = "--start-daemon", description = "EXPERIMENTAL: Start a daemon that listens on the local port " //
+				+ "specified via --daemon-port and executes the tests requested by clients. Test engines and class " //
+				+ "loaders for additional classpath entries are reused until these entries change.")
+		private boolean startDaemonRequested;
+
+		@Option(names = "--daemon-port", paramLabel = "PORT", description = "EXPERIMENTAL: Execute tests in the daemon " //
+				+ "listening on the specified local port instead of in this JVM.")
+		private Integer daemonPort;
+
 		private void applyTo(CommandLineOptions result) {
 			result.setDisplayHelp(this.helpRequested || this.helpRequested2);
 			result.setListEngines(this.listEnginesRequested);
+			result.setStartDaemon(this.startDaemonRequested);
+			result.setDaemonPort(this.daemonPort);
 		}
 	}
 
@@ -268,6 +279,14 @@ class AvailableOptions {
 		@Option(names = { "--E", "-exclude-engine" }, arity = "1", hidden = true)
 		private List<String> excludedEngines2 = new ArrayList<>();
 
+		@Option(names = "--shard-count", paramLabel = "COUNT", description = "Partition the tests into the specified number of shards " //
+				+ "and only run the tests of the shard selected via --shard-index. " //
+				+ "Each class is assigned to the same shard by every invocation.")
+		private Integer shardCount;
+
+		@Option(names = "--shard-index", paramLabel = "INDEX", description = "Select the zero-based index of the shard whose tests should be run.")
+		private Integer shardIndex;
+
 		private void applyTo(CommandLineOptions result) {
 			result.setIncludedClassNamePatterns(merge(this.includeClassNamePatterns, this.includeClassNamePatterns2));
 			result.setExcludedClassNamePatterns(merge(this.excludeClassNamePatterns, this.excludeClassNamePatterns2));
@@ -277,6 +296,8 @@ class AvailableOptions {
 			result.setExcludedTagExpressions(merge(this.excludedTags, this.excludedTags2));
 			result.setIncludedEngines(merge(this.includedEngines, this.includedEngines2));
 			result.setExcludedEngines(merge(this.excludedEngines, this.excludedEngines2));
+			result.setShardCount(this.shardCount);
+			result.setShardIndex(this.shardIndex);
 		}
 	}
 
@@ -49,6 +49,8 @@ public class CommandLineOptions {
 
 	private boolean displayHelp;
 	private boolean listEngines;
+	private boolean startDaemon;
+	private Integer daemonPort;
 	private boolean ansiColorOutputDisabled;
 	private Path colorPalettePath;
 	private boolean isSingleColorPalette;
@@ -81,6 +83,8 @@ public class CommandLineOptions {
 	private List<String> excludedEngines = emptyList();
 	private List<String> includedTagExpressions = emptyList();
 	private List<String> excludedTagExpressions = emptyList();
+	private Integer shardCount;
+	private Integer shardIndex;
 
 	private Path reportsDir;
 
@@ -102,6 +106,22 @@ public class CommandLineOptions {
 		this.listEngines = listEngines;
 	}
 
+	public boolean isStartDaemon() {
+		return this.startDaemon;
+	}
+
+	public void setStartDaemon(boolean startDaemon) {
+		this.startDaemon = startDaemon;
+	}
+
+	public Optional<Integer> getDaemonPort() {
+		return Optional.ofNullable(this.daemonPort);
+	}
+
+	public void setDaemonPort(Integer daemonPort) {
+		this.daemonPort = daemonPort;
+	}
+
 	public boolean isAnsiColorOutputDisabled() {
 		return this.ansiColorOutputDisabled;
 	}
@@ -344,6 +364,22 @@ public class CommandLineOptions {
 		this.excludedTagExpressions = excludedTags;
 	}
 
+	public Optional<Integer> getShardCount() {
+		return Optional.ofNullable(this.shardCount);
+	}
+
+	public void setShardCount(Integer shardCount) {
+		this.shardCount = shardCount;
+	}
+
+	public Optional<Integer> getShardIndex() {
+		return Optional.ofNullable(this.shardIndex);
+	}
+
+	public void setShardIndex(Integer shardIndex) {
+		this.shardIndex = shardIndex;
+	}
+
 	public Optional<Path> getReportsDir() {
 		return Optional.ofNullable(this.reportsDir);
 	}
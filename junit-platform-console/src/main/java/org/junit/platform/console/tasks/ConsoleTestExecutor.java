@@ -43,23 +43,45 @@ public class ConsoleTestExecutor {
 
 	private final CommandLineOptions options;
 	private final Supplier<Launcher> launcherSupplier;
+	private final LauncherSessionCache launcherSessionCache;
 
 	public ConsoleTestExecutor(CommandLineOptions options) {
 		this(options, LauncherFactory::create);
 	}
 
+	/**
+	 * Create a {@code ConsoleTestExecutor} that executes tests using the
+	 * launcher sessions and class loaders of the supplied cache.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = INTERNAL, since = "1.10")
+	public ConsoleTestExecutor(CommandLineOptions options, LauncherSessionCache launcherSessionCache) {
+		this(options, null, launcherSessionCache);
+	}
+
 	// for tests only
 	ConsoleTestExecutor(CommandLineOptions options, Supplier<Launcher> launcherSupplier) {
+		this(options, launcherSupplier, null);
+	}
+
+	private ConsoleTestExecutor(CommandLineOptions options, Supplier<Launcher> launcherSupplier,
+			LauncherSessionCache launcherSessionCache) {
 		this.options = options;
 		this.launcherSupplier = launcherSupplier;
+		this.launcherSessionCache = launcherSessionCache;
 	}
 
 	public TestExecutionSummary execute(PrintWriter out) throws Exception {
-		return new CustomContextClassLoaderExecutor(createCustomClassLoader()).invoke(() -> executeTests(out));
+		if (launcherSessionCache != null) {
+			return launcherSessionCache.invoke(options.getExistingAdditionalClasspathEntries(),
+				launcher -> executeTests(out, launcher));
+		}
+		return new CustomContextClassLoaderExecutor(createCustomClassLoader()).invoke(
+			() -> executeTests(out, launcherSupplier.get()));
 	}
 
-	private TestExecutionSummary executeTests(PrintWriter out) {
-		Launcher launcher = launcherSupplier.get();
+	private TestExecutionSummary executeTests(PrintWriter out, Launcher launcher) {
 		SummaryGeneratingListener summaryListener = registerListeners(out, launcher);
 
 		LauncherDiscoveryRequest discoveryRequest = new DiscoveryRequestCreator().toDiscoveryRequest(options);
@@ -18,6 +18,8 @@ import static org.junit.platform.engine.discovery.PackageNameFilter.excludePacka
 import static org.junit.platform.engine.discovery.PackageNameFilter.includePackageNames;
 import static org.junit.platform.launcher.EngineFilter.excludeEngines;
 import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
 import static org.junit.platform.launcher.TagFilter.excludeTags;
 import static org.junit.platform.launcher.TagFilter.includeTags;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
@@ -54,6 +56,10 @@ class DiscoveryRequestCreator {
 		requestBuilder.selectors(selectors);
 		addFilters(requestBuilder, options, selectors);
 		requestBuilder.configurationParameters(options.getConfigurationParameters());
+		options.getShardCount().ifPresent(
+			shardCount -> requestBuilder.configurationParameter(SHARD_COUNT_PROPERTY_NAME, String.valueOf(shardCount)));
+		options.getShardIndex().ifPresent(
+			shardIndex -> requestBuilder.configurationParameter(SHARD_INDEX_PROPERTY_NAME, String.valueOf(shardIndex)));
 		return requestBuilder.build();
 	}
 
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.console.tasks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.discovery.LauncherDiscoveryListeners;
+
+/**
+ * Keeps a {@link LauncherSession} and a class loader open for each set of
+ * additional classpath entries, so that repeated test runs neither load test
+ * engines nor unchanged classes again.
+ *
+ * <p>The contents of the classpath entries are fingerprinted for each run.
+ * If they changed, the session and class loader are closed and replaced.
+ *
+ * @since 1.10
+ */
+@API(status = INTERNAL, since = "1.10")
+public class LauncherSessionCache implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(LauncherSessionCache.class);
+
+	private final Map<List<Path>, CachedSession> sessions = new HashMap<>();
+
+	/**
+	 * Invoke the supplied action with a launcher of the session for the
+	 * supplied classpath entries while the session's class loader is the
+	 * thread context class loader.
+	 *
+	 * <p>Discovery and test execution listeners registered with the launcher
+	 * passed to the action are only notified of the discoveries and
+	 * executions started by that action.
+	 */
+	public synchronized <T> T invoke(List<Path> additionalClasspathEntries, Function<Launcher, T> action) {
+		CachedSession session = getSession(additionalClasspathEntries);
+		Thread currentThread = Thread.currentThread();
+		ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+		try {
+			currentThread.setContextClassLoader(session.classLoader);
+			return action.apply(new RequestScopedLauncher(session.launcherSession.getLauncher()));
+		}
+		finally {
+			currentThread.setContextClassLoader(originalClassLoader);
+		}
+	}
+
+	private CachedSession getSession(List<Path> additionalClasspathEntries) {
+		byte[] fingerprint = fingerprint(additionalClasspathEntries);
+		CachedSession session = sessions.get(additionalClasspathEntries);
+		if (session != null && Arrays.equals(session.fingerprint, fingerprint)) {
+			return session;
+		}
+		if (session != null) {
+			logger.config(() -> "Classpath changed, replacing launcher session for " + additionalClasspathEntries);
+			session.close();
+		}
+		session = CachedSession.open(additionalClasspathEntries, fingerprint);
+		sessions.put(new ArrayList<>(additionalClasspathEntries), session);
+		return session;
+	}
+
+	/**
+	 * Compute a fingerprint of the paths, sizes, and modification times of
+	 * the supplied classpath entries and, for directories, of all files they
+	 * contain.
+	 */
+	private static byte[] fingerprint(List<Path> classpathEntries) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new JUnitException("SHA-256 is not available", e);
+		}
+		for (Path entry : classpathEntries) {
+			update(digest, entry.toAbsolutePath().toString());
+			if (Files.isDirectory(entry)) {
+				try (Stream<Path> files = Files.walk(entry)) {
+					List<Path> sortedFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+					for (Path file : sortedFiles) {
+						update(digest, entry.relativize(file).toString());
+						updateWithAttributes(digest, file);
+					}
+				}
+				catch (IOException | UncheckedIOException e) {
+					// a new fingerprint on each attempt prevents reusing stale classes
+					update(digest, String.valueOf(System.nanoTime()));
+				}
+			}
+			else if (Files.exists(entry)) {
+				updateWithAttributes(digest, entry);
+			}
+		}
+		return digest.digest();
+	}
+
+	private static void updateWithAttributes(MessageDigest digest, Path file) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+		}
+		catch (IOException e) {
+			update(digest, String.valueOf(System.nanoTime()));
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(UTF_8));
+		digest.update((byte) 0);
+	}
+
+	@Override
+	public synchronized void close() {
+		sessions.values().forEach(CachedSession::close);
+		sessions.clear();
+	}
+
+	private static class CachedSession {
+
+		private final byte[] fingerprint;
+		private final ClassLoader classLoader;
+		private final LauncherSession launcherSession;
+
+		static CachedSession open(List<Path> additionalClasspathEntries, byte[] fingerprint) {
+			ClassLoader classLoader = ClassLoaderUtils.getDefaultClassLoader();
+			if (!additionalClasspathEntries.isEmpty()) {
+				URL[] urls = additionalClasspathEntries.stream().map(CachedSession::toURL).toArray(URL[]::new);
+				classLoader = URLClassLoader.newInstance(urls, classLoader);
+			}
+			Thread currentThread = Thread.currentThread();
+			ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+			try {
+				// Test engines are loaded via the thread context class loader
+				currentThread.setContextClassLoader(classLoader);
+				return new CachedSession(fingerprint, classLoader, LauncherFactory.openSession());
+			}
+			finally {
+				currentThread.setContextClassLoader(originalClassLoader);
+			}
+		}
+
+		private static URL toURL(Path path) {
+			try {
+				return path.toUri().toURL();
+			}
+			catch (Exception ex) {
+				throw new JUnitException("Invalid classpath entry: " + path, ex);
+			}
+		}
+
+		private CachedSession(byte[] fingerprint, ClassLoader classLoader, LauncherSession launcherSession) {
+			this.fingerprint = fingerprint;
+			this.classLoader = classLoader;
+			this.launcherSession = launcherSession;
+		}
+
+		void close() {
+			Thread currentThread = Thread.currentThread();
+			ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+			try {
+				currentThread.setContextClassLoader(classLoader);
+				launcherSession.close();
+			}
+			finally {
+				currentThread.setContextClassLoader(originalClassLoader);
+			}
+			if (classLoader instanceof URLClassLoader) {
+				try {
+					((URLClassLoader) classLoader).close();
+				}
+				catch (IOException e) {
+					logger.warn(e, () -> "Failed to close class loader");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes the listeners registered with it to the session's launcher for
+	 * each discovery and execution instead of registering them with it
+	 * permanently.
+	 */
+	private static class RequestScopedLauncher implements Launcher {
+
+		private final Launcher delegate;
+		private final List<LauncherDiscoveryListener> discoveryListeners = new ArrayList<>();
+		private final List<TestExecutionListener> listeners = new ArrayList<>();
+
+		RequestScopedLauncher(Launcher delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void registerLauncherDiscoveryListeners(LauncherDiscoveryListener... listeners) {
+			this.discoveryListeners.addAll(Arrays.asList(listeners));
+		}
+
+		@Override
+		public void registerTestExecutionListeners(TestExecutionListener... listeners) {
+			this.listeners.addAll(Arrays.asList(listeners));
+		}
+
+		@Override
+		public TestPlan discover(LauncherDiscoveryRequest launcherDiscoveryRequest) {
+			return delegate.discover(withRegisteredDiscoveryListeners(launcherDiscoveryRequest));
+		}
+
+		@Override
+		public void execute(LauncherDiscoveryRequest launcherDiscoveryRequest, TestExecutionListener... listeners) {
+			delegate.execute(withRegisteredDiscoveryListeners(launcherDiscoveryRequest),
+				withRegisteredListeners(listeners));
+		}
+
+		@Override
+		public void execute(TestPlan testPlan, TestExecutionListener... listeners) {
+			delegate.execute(testPlan, withRegisteredListeners(listeners));
+		}
+
+		private LauncherDiscoveryRequest withRegisteredDiscoveryListeners(LauncherDiscoveryRequest request) {
+			if (discoveryListeners.isEmpty()) {
+				return request;
+			}
+			List<LauncherDiscoveryListener> allListeners = new ArrayList<>();
+			allListeners.add(request.getDiscoveryListener());
+			allListeners.addAll(discoveryListeners);
+			return new DiscoveryListenerOverridingRequest(request, LauncherDiscoveryListeners.composite(allListeners));
+		}
+
+		private TestExecutionListener[] withRegisteredListeners(TestExecutionListener... additionalListeners) {
+			List<TestExecutionListener> allListeners = new ArrayList<>(this.listeners);
+			allListeners.addAll(Arrays.asList(additionalListeners));
+			return allListeners.toArray(new TestExecutionListener[0]);
+		}
+	}
+
+	private static class DiscoveryListenerOverridingRequest implements LauncherDiscoveryRequest {
+
+		private final LauncherDiscoveryRequest delegate;
+		private final LauncherDiscoveryListener discoveryListener;
+
+		DiscoveryListenerOverridingRequest(LauncherDiscoveryRequest delegate,
+				LauncherDiscoveryListener discoveryListener) {
+			this.delegate = delegate;
+			this.discoveryListener = discoveryListener;
+		}
+
+		@Override
+		public List<EngineFilter> getEngineFilters() {
+			return delegate.getEngineFilters();
+		}
+
+		@Override
+		public List<PostDiscoveryFilter> getPostDiscoveryFilters() {
+			return delegate.getPostDiscoveryFilters();
+		}
+
+		@Override
+		public LauncherDiscoveryListener getDiscoveryListener() {
+			return discoveryListener;
+		}
+
+		@Override
+		public Optional<CancellationToken> getCancellationToken() {
+			return delegate.getCancellationToken();
+		}
+
+		@Override
+		public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+			return delegate.getSelectorsByType(selectorType);
+		}
+
+		@Override
+		public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+			return delegate.getFiltersByType(filterType);
+		}
+
+		@Override
+		public ConfigurationParameters getConfigurationParameters() {
+			return delegate.getConfigurationParameters();
+		}
+	}
+
+}
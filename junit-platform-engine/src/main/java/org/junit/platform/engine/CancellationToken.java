@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Token that signals that the execution of tests should be cancelled.
+ *
+ * <p>Clients such as IDEs and build tools may {@linkplain #cancel() cancel} a
+ * token they passed to the launcher in order to stop a test run early. The
+ * launcher passes a {@linkplain #createChild() child} of that token to the
+ * engines of each execution and cancels it itself, e.g. once the configured
+ * number of tests has failed. {@link TestEngine TestEngines} may cancel the
+ * token of their {@link ExecutionRequest} as well, which also stops the
+ * execution of the other engines of the same test run. Engines
+ * should check the token regularly and skip tests that have not yet started
+ * once {@linkplain #isCancellationRequested() cancellation has been requested}.
+ * Tests that are already being executed are not interrupted.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @since 1.10
+ * @see ExecutionRequest#getCancellationToken()
+ */
+@API(status = EXPERIMENTAL, since = "1.10")
+public final class CancellationToken {
+
+	private final CancellationToken parent;
+	private volatile String reason;
+
+	/**
+	 * Create a new, uncancelled token.
+	 */
+	public static CancellationToken create() {
+		return new CancellationToken(null);
+	}
+
+	private CancellationToken(CancellationToken parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Create a new token that is cancelled whenever this token is cancelled.
+	 *
+	 * <p>Cancelling the returned token does not cancel this token. Thus, a
+	 * client may use a single token to cancel multiple executions while each
+	 * execution may be cancelled independently, e.g. after a failure.
+	 *
+	 * @return a new child token; never {@code null}
+	 */
+	public CancellationToken createChild() {
+		return new CancellationToken(this);
+	}
+
+	/**
+	 * Request cancellation of the execution.
+	 *
+	 * <p>Equivalent to {@code cancel("Execution cancelled")}.
+	 */
+	public void cancel() {
+		cancel("Execution cancelled");
+	}
+
+	/**
+	 * Request cancellation of the execution for the supplied reason.
+	 *
+	 * <p>If cancellation has already been requested, the original reason is
+	 * retained.
+	 *
+	 * @param reason the reason for cancelling; never {@code null}
+	 */
+	public void cancel(String reason) {
+		Preconditions.notNull(reason, "reason must not be null");
+		if (this.reason == null) {
+			synchronized (this) {
+				if (this.reason == null) {
+					this.reason = reason;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determine whether cancellation has been requested for this token or
+	 * any of its ancestors.
+	 */
+	public boolean isCancellationRequested() {
+		return reason != null || (parent != null && parent.isCancellationRequested());
+	}
+
+	/**
+	 * Get the reason supplied when cancellation was requested; {@code null}
+	 * if cancellation has not been requested.
+	 *
+	 * <p>If this token has not been cancelled itself, the reason of its
+	 * parent is returned.
+	 */
+	public String getReason() {
+		String reason = this.reason;
+		if (reason == null && parent != null) {
+			return parent.getReason();
+		}
+		return reason;
+	}
+
+}
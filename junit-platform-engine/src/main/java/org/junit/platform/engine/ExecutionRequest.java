@@ -10,19 +10,22 @@
 
 package org.junit.platform.engine;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 import org.apiguardian.api.API;
+import org.junit.platform.commons.util.Preconditions;
 
 /**
  * Provides a single {@link TestEngine} access to the information necessary to
  * execute its tests.
  *
  * <p>A request contains an engine's root {@link TestDescriptor}, the
- * {@link EngineExecutionListener} to be notified of test execution events, and
+ * {@link EngineExecutionListener} to be notified of test execution events,
  * {@link ConfigurationParameters} that the engine may use to influence test
- * execution.
+ * execution, and a {@link CancellationToken} that signals that execution
+ * should be stopped early.
  *
  * @since 1.0
  * @see TestEngine
@@ -36,12 +39,20 @@ public class ExecutionRequest {
 
 	private final ConfigurationParameters configurationParameters;
 
+	private final CancellationToken cancellationToken;
+
 	@API(status = INTERNAL, since = "1.0")
 	public ExecutionRequest(TestDescriptor rootTestDescriptor, EngineExecutionListener engineExecutionListener,
 			ConfigurationParameters configurationParameters) {
+		this(rootTestDescriptor, engineExecutionListener, configurationParameters, CancellationToken.create());
+	}
+
+	private ExecutionRequest(TestDescriptor rootTestDescriptor, EngineExecutionListener engineExecutionListener,
+			ConfigurationParameters configurationParameters, CancellationToken cancellationToken) {
 		this.rootTestDescriptor = rootTestDescriptor;
 		this.engineExecutionListener = engineExecutionListener;
 		this.configurationParameters = configurationParameters;
+		this.cancellationToken = cancellationToken;
 	}
 
 	/**
@@ -61,6 +72,29 @@ public class ExecutionRequest {
 		return new ExecutionRequest(rootTestDescriptor, engineExecutionListener, configurationParameters);
 	}
 
+	/**
+	 * Factory for creating an execution request that can be cancelled via the
+	 * supplied {@link CancellationToken}.
+	 *
+	 * @param rootTestDescriptor the engine's root {@link TestDescriptor}
+	 * @param engineExecutionListener the {@link EngineExecutionListener} to be
+	 * notified of test execution events
+	 * @param configurationParameters {@link ConfigurationParameters} that the
+	 * engine may use to influence test execution
+	 * @param cancellationToken the {@link CancellationToken} that signals that
+	 * execution should be stopped early; never {@code null}
+	 * @return a new {@code ExecutionRequest}; never {@code null}
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static ExecutionRequest create(TestDescriptor rootTestDescriptor,
+			EngineExecutionListener engineExecutionListener, ConfigurationParameters configurationParameters,
+			CancellationToken cancellationToken) {
+		Preconditions.notNull(cancellationToken, "cancellationToken must not be null");
+		return new ExecutionRequest(rootTestDescriptor, engineExecutionListener, configurationParameters,
+			cancellationToken);
+	}
+
 	/**
 	 * Get the root {@link TestDescriptor} of the engine that processes this
 	 * request.
@@ -89,4 +123,19 @@ public class ExecutionRequest {
 		return this.configurationParameters;
 	}
 
+	/**
+	 * Get the {@link CancellationToken} that signals that the engine should
+	 * stop executing tests early.
+	 *
+	 * <p>Engines should skip tests that have not yet started once
+	 * {@linkplain CancellationToken#isCancellationRequested() cancellation has
+	 * been requested}. Engines may also cancel the token themselves.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public CancellationToken getCancellationToken() {
+		return this.cancellationToken;
+	}
+
 }
@@ -251,7 +251,7 @@ public class UniqueId implements Cloneable, Serializable {
 	public int hashCode() {
 		int value = this.hashCode;
 		if (value == 0) {
-			value = this.segments.hashCode();
+			value = computeHashCode(this.segments);
 			if (value == 0) {
 				// handle the edge case of the computed hashCode being 0
 				value = 1;
@@ -268,6 +268,21 @@ public class UniqueId implements Cloneable, Serializable {
 		return value;
 	}
 
+	/**
+	 * Combine the hash codes of the supplied segments like {@link List#hashCode()}
+	 * but scramble the intermediate values. Otherwise, the hash codes of the
+	 * short, similar values of sibling segments frequently cancel out, so that
+	 * unique IDs of large test plans collide in hash tables.
+	 */
+	private static int computeHashCode(List<Segment> segments) {
+		int value = 1;
+		for (Segment segment : segments) {
+			value = (31 * value + segment.hashCode()) * 0x9E3779B9;
+			value ^= value >>> 16;
+		}
+		return value;
+	}
+
 	/**
 	 * Generate the unique, formatted string representation of this {@code UniqueId}
 	 * using the configured {@link UniqueIdFormat}.
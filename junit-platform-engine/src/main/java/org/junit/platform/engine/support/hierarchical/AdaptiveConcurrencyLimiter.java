@@ -0,0 +1,220 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+/**
+ * Gate in front of the execution of tests that limits how many of them are
+ * executed concurrently and periodically adapts that limit between a minimum
+ * and a maximum.
+ *
+ * <p>The limit is raised while tests are waiting for the gate and either the
+ * process does not fully utilize the available CPUs or tests that are being
+ * executed are blocked. It is lowered while the CPUs are saturated and no
+ * test that is being executed is blocked.
+ *
+ * <p>Only tasks that never wait for other tasks, i.e. tests without children,
+ * must pass the gate. Otherwise, tasks waiting for their children could hold
+ * all permits and cause a deadlock.
+ *
+ * @since 1.10
+ * @see DefaultParallelExecutionConfigurationStrategy#ADAPTIVE
+ */
+class AdaptiveConcurrencyLimiter implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+	static final double LOW_CPU_LOAD = 0.75;
+	static final double HIGH_CPU_LOAD = 0.95;
+	private static final long SAMPLING_INTERVAL_MILLIS = 500;
+
+	private final int minParallelism;
+	private final int maxParallelism;
+	private final DoubleSupplier cpuLoad;
+	private final AdjustableSemaphore permits;
+	private final Set<Thread> activeThreads = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService scheduler;
+
+	private volatile int limit;
+
+	AdaptiveConcurrencyLimiter(int minParallelism, int maxParallelism) {
+		this(minParallelism, maxParallelism, processCpuLoad());
+		scheduler.scheduleWithFixedDelay(this::adjust, SAMPLING_INTERVAL_MILLIS, SAMPLING_INTERVAL_MILLIS,
+			TimeUnit.MILLISECONDS);
+	}
+
+	// for tests only
+	AdaptiveConcurrencyLimiter(int minParallelism, int maxParallelism, DoubleSupplier cpuLoad) {
+		this.minParallelism = minParallelism;
+		this.maxParallelism = maxParallelism;
+		this.cpuLoad = cpuLoad;
+		this.limit = minParallelism;
+		this.permits = new AdjustableSemaphore(minParallelism);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "junit-adaptive-parallelism");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Acquire a permit, blocking until one is available.
+	 *
+	 * <p>If called from a {@link ForkJoinPool} worker thread, the pool is
+	 * notified that the worker is blocked so that it may activate another
+	 * worker to maintain its parallelism.
+	 */
+	void acquire() throws InterruptedException {
+		ForkJoinPool.managedBlock(new PermitManagedBlocker());
+		activeThreads.add(Thread.currentThread());
+	}
+
+	void release() {
+		activeThreads.remove(Thread.currentThread());
+		permits.release();
+	}
+
+	int getLimit() {
+		return limit;
+	}
+
+	void adjust() {
+		adjust(cpuLoad.getAsDouble(), countBlockedThreads(), permits.getQueueLength());
+	}
+
+	/**
+	 * Adapt the current limit based on the supplied samples.
+	 *
+	 * @param cpuLoad the recent CPU load of this process between {@code 0} and
+	 * {@code 1}; negative if unavailable
+	 * @param blockedThreads the number of threads executing a test that are
+	 * currently blocked or waiting
+	 * @param waitingTasks the number of tasks waiting for the gate
+	 */
+	synchronized void adjust(double cpuLoad, int blockedThreads, int waitingTasks) {
+		boolean cpuAvailable = cpuLoad >= 0 && cpuLoad < LOW_CPU_LOAD;
+		boolean cpuSaturated = cpuLoad < 0 || cpuLoad > HIGH_CPU_LOAD;
+		int newLimit;
+		if (waitingTasks > 0 && (blockedThreads > 0 || cpuAvailable)) {
+			newLimit = Math.min(maxParallelism, limit + Math.max(1, blockedThreads));
+		}
+		else if (blockedThreads == 0 && cpuSaturated) {
+			newLimit = Math.max(minParallelism, limit - 1);
+		}
+		else {
+			return;
+		}
+		if (newLimit != limit) {
+			setLimit(newLimit);
+			logger.config(() -> String.format(
+				"Adjusted parallelism to %d (CPU load: %.2f, blocked: %d, waiting: %d)", newLimit, cpuLoad,
+				blockedThreads, waitingTasks));
+		}
+	}
+
+	private void setLimit(int newLimit) {
+		if (newLimit > limit) {
+			permits.release(newLimit - limit);
+		}
+		else {
+			permits.reducePermits(limit - newLimit);
+		}
+		limit = newLimit;
+	}
+
+	private int countBlockedThreads() {
+		int count = 0;
+		for (Thread thread : activeThreads) {
+			Thread.State state = thread.getState();
+			if (state == Thread.State.BLOCKED || state == Thread.State.WAITING
+					|| state == Thread.State.TIMED_WAITING) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+	private static DoubleSupplier processCpuLoad() {
+		// Can't use com.sun.management.OperatingSystemMXBean directly as
+		// modules "java.management" and "jdk.management" might not be available.
+		return Try.call(() -> {
+			Class<?> managementFactory = ReflectionUtils.tryToLoadClass(
+				"java.lang.management.ManagementFactory").get();
+			Object bean = managementFactory.getMethod("getOperatingSystemMXBean").invoke(null);
+			Class<?> beanType = ReflectionUtils.tryToLoadClass("com.sun.management.OperatingSystemMXBean").get();
+			Method method = beanType.getMethod("getProcessCpuLoad");
+			return (DoubleSupplier) () -> Try.call(() -> (Double) method.invoke(bean)).toOptional().orElse(-1.0);
+		}).toOptional().orElseGet(() -> {
+			logger.config(() -> "Process CPU load is unavailable; adapting parallelism to blocked threads only");
+			return () -> -1.0;
+		});
+	}
+
+	@SuppressWarnings("serial")
+	private class PermitManagedBlocker implements ForkJoinPool.ManagedBlocker {
+
+		private boolean acquired;
+
+		@Override
+		public boolean block() throws InterruptedException {
+			permits.acquire();
+			acquired = true;
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			// unlike tryAcquire(), a zero timeout honors the fairness of the semaphore
+			try {
+				return acquired || (acquired = permits.tryAcquire(0, TimeUnit.SECONDS));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+
+	}
+
+	private static class AdjustableSemaphore extends Semaphore {
+
+		private static final long serialVersionUID = 1L;
+
+		AdjustableSemaphore(int permits) {
+			super(permits, true);
+		}
+
+		@Override
+		protected void reducePermits(int reduction) {
+			super.reducePermits(reduction);
+		}
+	}
+
+}
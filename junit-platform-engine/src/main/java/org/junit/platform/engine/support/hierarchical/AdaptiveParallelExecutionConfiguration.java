@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+/**
+ * {@link ParallelExecutionConfiguration} created by the
+ * {@link DefaultParallelExecutionConfigurationStrategy#ADAPTIVE ADAPTIVE}
+ * strategy.
+ *
+ * <p>The {@linkplain #getParallelism() parallelism} of the pool is the
+ * maximum parallelism; the number of tests that are executed concurrently is
+ * limited by an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @since 1.10
+ */
+class AdaptiveParallelExecutionConfiguration extends DefaultParallelExecutionConfiguration {
+
+	private final int minParallelism;
+
+	AdaptiveParallelExecutionConfiguration(int minParallelism, int maxParallelism, int keepAliveSeconds) {
+		super(maxParallelism, maxParallelism, 256 + maxParallelism, maxParallelism, keepAliveSeconds);
+		this.minParallelism = minParallelism;
+	}
+
+	int getMinParallelism() {
+		return minParallelism;
+	}
+
+	int getMaxParallelism() {
+		return getParallelism();
+	}
+
+}
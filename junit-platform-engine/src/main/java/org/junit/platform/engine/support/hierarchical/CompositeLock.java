@@ -15,22 +15,55 @@ import java.util.List;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.Lock;
 
+import org.junit.platform.commons.util.Preconditions;
+
 /**
  * @since 1.3
  */
 class CompositeLock implements ResourceLock {
 
+	private final List<ExclusiveResource> resources;
 	private final List<Lock> locks;
+	private final ResourceLockDiagnostics diagnostics;
+	private final Object owner;
+
+	CompositeLock(List<ExclusiveResource> resources, List<Lock> locks) {
+		this(resources, locks, ResourceLockDiagnostics.disabled(), null);
+	}
 
-	CompositeLock(List<Lock> locks) {
+	CompositeLock(List<ExclusiveResource> resources, List<Lock> locks, ResourceLockDiagnostics diagnostics,
+			Object owner) {
+		Preconditions.condition(resources.size() == locks.size(), "Resources and locks must have the same size");
+		this.resources = resources;
 		this.locks = locks;
+		this.diagnostics = diagnostics;
+		this.owner = owner;
+	}
+
+	List<ExclusiveResource> getResources() {
+		return resources;
 	}
 
-	// for tests only
 	List<Lock> getLocks() {
 		return locks;
 	}
 
+	ResourceLockDiagnostics getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * Get the owner of this lock used for {@linkplain ResourceLockDiagnostics
+	 * diagnostics}, i.e. the supplied owner or this lock if none was supplied.
+	 */
+	Object getOwner() {
+		return owner == null ? this : owner;
+	}
+
+	CompositeLock withOwner(Object owner) {
+		return new CompositeLock(resources, locks, diagnostics, owner);
+	}
+
 	@Override
 	public ResourceLock acquire() throws InterruptedException {
 		ForkJoinPool.managedBlock(new CompositeLockManagedBlocker());
@@ -40,8 +73,17 @@ class CompositeLock implements ResourceLock {
 	private void acquireAllLocks() throws InterruptedException {
 		List<Lock> acquiredLocks = new ArrayList<>(locks.size());
 		try {
-			for (Lock lock : locks) {
-				lock.lockInterruptibly();
+			for (int i = 0; i < locks.size(); i++) {
+				Lock lock = locks.get(i);
+				diagnostics.waiting(resources.get(i), getOwner());
+				try {
+					lock.lockInterruptibly();
+				}
+				catch (InterruptedException e) {
+					diagnostics.abandoned(resources.get(i), getOwner());
+					throw e;
+				}
+				diagnostics.acquired(resources.get(i), getOwner());
 				acquiredLocks.add(lock);
 			}
 		}
@@ -58,6 +100,7 @@ class CompositeLock implements ResourceLock {
 
 	private void release(List<Lock> acquiredLocks) {
 		for (int i = acquiredLocks.size() - 1; i >= 0; i--) {
+			diagnostics.released(resources.get(i), getOwner());
 			acquiredLocks.get(i).unlock();
 		}
 	}
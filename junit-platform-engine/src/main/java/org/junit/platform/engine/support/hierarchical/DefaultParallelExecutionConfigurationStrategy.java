@@ -70,6 +70,45 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 		}
 	},
 
+	/**
+	 * Adapts the number of tests that are executed concurrently while they are
+	 * being executed.
+	 *
+	 * <p>The number starts at the {@value CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME}
+	 * configuration parameter and is periodically adjusted based on the CPU
+	 * load of the current process and the number of tests that are blocked,
+	 * e.g. waiting for I/O. It never exceeds the
+	 * {@value CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME} configuration
+	 * parameter.
+	 *
+	 * <p>This strategy is only supported by
+	 * {@link ForkJoinPoolHierarchicalTestExecutorService}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	ADAPTIVE {
+		@Override
+		public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int minParallelism = configurationParameters.get(CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME,
+				Integer::valueOf).orElse(availableProcessors);
+			int maxParallelism = configurationParameters.get(CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME,
+				Integer::valueOf).orElse(Math.max(minParallelism, 4 * availableProcessors));
+
+			Preconditions.condition(minParallelism > 0,
+				() -> String.format(
+					"Parallelism '%d' specified via configuration parameter '%s' must be greater than 0",
+					minParallelism, CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME));
+			Preconditions.condition(maxParallelism >= minParallelism,
+				() -> String.format(
+					"Parallelism '%d' specified via configuration parameter '%s' must not be less than '%d'",
+					maxParallelism, CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME, minParallelism));
+
+			return new AdaptiveParallelExecutionConfiguration(minParallelism, maxParallelism, KEEP_ALIVE_SECONDS);
+		}
+	},
+
 	/**
 	 * Allows the specification of a custom {@link ParallelExecutionConfigurationStrategy}
 	 * implementation via the mandatory {@value CONFIG_CUSTOM_CLASS_PROPERTY_NAME}
@@ -99,8 +138,8 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 	/**
 	 * Property name used to determine the desired configuration strategy.
 	 *
-	 * <p>Value must be one of {@code dynamic}, {@code fixed}, or
-	 * {@code custom}.
+	 * <p>Value must be one of {@code dynamic}, {@code fixed},
+	 * {@code adaptive}, or {@code custom}.
 	 */
 	public static final String CONFIG_STRATEGY_PROPERTY_NAME = "strategy";
 
@@ -124,6 +163,33 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 	 */
 	public static final String CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME = "dynamic.factor";
 
+	/**
+	 * Property name used to determine the minimum and initial parallelism for
+	 * the {@link #ADAPTIVE} configuration strategy.
+	 *
+	 * <p>Value must be a positive integer; defaults to the number of available
+	 * processors/cores.
+	 *
+	 * @since 1.10
+	 * @see #ADAPTIVE
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME = "adaptive.min.parallelism";
+
+	/**
+	 * Property name used to determine the maximum parallelism for the
+	 * {@link #ADAPTIVE} configuration strategy.
+	 *
+	 * <p>Value must be an integer that is not less than the minimum
+	 * parallelism; defaults to four times the number of available
+	 * processors/cores.
+	 *
+	 * @since 1.10
+	 * @see #ADAPTIVE
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME = "adaptive.max.parallelism";
+
 	/**
 	 * Property name used to specify the fully qualified class name of the
 	 * {@link ParallelExecutionConfigurationStrategy} to be used by the
@@ -24,6 +24,16 @@ import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
  * An exclusive resource identified by a key with a lock mode that is used to
  * synchronize access to shared resources when executing nodes in parallel.
  *
+ * <p>Since 1.10, keys may be hierarchical: if
+ * {@link HierarchicalTestEngine#HIERARCHICAL_RESOURCE_KEYS_ENABLED_PROPERTY_NAME}
+ * is enabled, a key that contains dots denotes a child of the resource
+ * identified by the part of the key up to the last dot.
+ * For example, {@code "db.orders"} and {@code "db.users"} are children of
+ * {@code "db"}. Using a resource in {@linkplain LockMode#READ_WRITE read-write
+ * mode} conflicts with any usage of its ancestors and descendants, and using
+ * it in {@linkplain LockMode#READ read mode} conflicts with writing its
+ * ancestors and descendants. Siblings may be used concurrently.
+ *
  * @since 1.3
  * @see Node#getExecutionMode()
  */
@@ -52,6 +62,7 @@ public class ExclusiveResource {
 
 	private final String key;
 	private final LockMode lockMode;
+	private final int capacity;
 	private int hash;
 
 	/**
@@ -62,8 +73,35 @@ public class ExclusiveResource {
 	 * resource; never {@code null}
 	 */
 	public ExclusiveResource(String key, LockMode lockMode) {
+		this(key, lockMode, 0);
+	}
+
+	/**
+	 * Create a new {@code ExclusiveResource} that may be used by up to
+	 * {@code capacity} nodes at the same time.
+	 *
+	 * <p>If {@code capacity} is positive, each node that requires the resource
+	 * occupies one unit of its capacity regardless of the lock mode, and nodes
+	 * are only blocked while the capacity is exhausted. If {@code capacity} is
+	 * zero, access to the resource is synchronized according to its lock mode.
+	 *
+	 * <p>All resources with the same key must declare the same capacity.
+	 *
+	 * @param key the identifier of the resource; never {@code null} or blank
+	 * @param lockMode the lock mode to use to synchronize access to the
+	 * resource; never {@code null}
+	 * @param capacity the number of nodes that may use the resource
+	 * concurrently, or {@code 0}; never negative
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public ExclusiveResource(String key, LockMode lockMode, int capacity) {
 		this.key = Preconditions.notBlank(key, "key must not be blank");
 		this.lockMode = Preconditions.notNull(lockMode, "lockMode must not be null");
+		Preconditions.condition(capacity >= 0, "capacity must not be negative");
+		Preconditions.condition(capacity == 0 || !GLOBAL_KEY.equals(key),
+			"capacity must not be specified for the global key");
+		this.capacity = capacity;
 	}
 
 	/**
@@ -80,6 +118,18 @@ public class ExclusiveResource {
 		return lockMode;
 	}
 
+	/**
+	 * Get the number of nodes that may use this resource concurrently.
+	 *
+	 * @return the capacity of this resource, or {@code 0} if access is
+	 * synchronized according to its {@linkplain #getLockMode() lock mode}
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public int getCapacity() {
+		return capacity;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -89,21 +139,25 @@ public class ExclusiveResource {
 			return false;
 		}
 		ExclusiveResource that = (ExclusiveResource) o;
-		return Objects.equals(key, that.key) && lockMode == that.lockMode;
+		return Objects.equals(key, that.key) && lockMode == that.lockMode && capacity == that.capacity;
 	}
 
 	@Override
 	public int hashCode() {
 		int h = hash;
 		if (h == 0) {
-			h = hash = Objects.hash(key, lockMode);
+			h = hash = Objects.hash(key, lockMode, capacity);
 		}
 		return h;
 	}
 
 	@Override
 	public String toString() {
-		return new ToStringBuilder(this).append("key", key).append("lockMode", lockMode).toString();
+		ToStringBuilder builder = new ToStringBuilder(this).append("key", key).append("lockMode", lockMode);
+		if (capacity > 0) {
+			builder.append("capacity", capacity);
+		}
+		return builder.toString();
 	}
 
 	/**
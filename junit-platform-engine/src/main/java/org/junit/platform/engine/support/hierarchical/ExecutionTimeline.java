@@ -0,0 +1,327 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+
+/**
+ * Records when each thread executed which phase of which node, waited for
+ * resource locks, or waited for other tasks to finish, and writes the
+ * recorded spans in the Chrome Trace Event format so they can be viewed in
+ * {@code chrome://tracing} or Perfetto.
+ *
+ * <p>Each thread records into its own buffer consisting of preallocated
+ * chunks so that recording a span neither allocates nor synchronizes, except
+ * when a chunk is full. Buffers are only read when this timeline is closed,
+ * i.e. after execution has finished.
+ *
+ * @since 1.10
+ * @see HierarchicalTestEngine#EXECUTION_TIMELINE_DIRECTORY_PROPERTY_NAME
+ */
+class ExecutionTimeline implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExecutionTimeline.class);
+
+	private static final ExecutionTimeline DISABLED = new ExecutionTimeline(null);
+
+	static final int INITIAL_CHUNK_CAPACITY = 64;
+	static final int MAX_CHUNK_CAPACITY = 8192;
+
+	enum Phase {
+
+		NODE(null), PREPARE("prepare"), BEFORE("before"), EXECUTE("execute"), AFTER("after"), CLEAN_UP("cleanUp"),
+		LOCK_WAIT("lock wait"), JOIN_WAIT("join wait");
+
+		private final String spanName;
+
+		Phase(String spanName) {
+			this.spanName = spanName;
+		}
+	}
+
+	private final Path file;
+	private final long originNanos = System.nanoTime();
+	private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Buffer> currentBuffer = ThreadLocal.withInitial(this::createBuffer);
+
+	static ExecutionTimeline disabled() {
+		return DISABLED;
+	}
+
+	static ExecutionTimeline create(ConfigurationParameters configurationParameters, TestDescriptor rootDescriptor) {
+		return configurationParameters.get(HierarchicalTestEngine.EXECUTION_TIMELINE_DIRECTORY_PROPERTY_NAME) //
+				.map(String::trim) //
+				.filter(directory -> !directory.isEmpty()) //
+				.map(directory -> new ExecutionTimeline(Paths.get(directory).resolve(
+					"junit-timeline-" + rootDescriptor.getUniqueId().getEngineId().orElse("engine") + ".json"))) //
+				.orElse(DISABLED);
+	}
+
+	/**
+	 * Get the timeline the supplied task records into; a disabled timeline
+	 * if it is neither a {@link NodeTestTask} nor a batch of them.
+	 */
+	static ExecutionTimeline of(TestTask task) {
+		if (task instanceof NodeTestTask) {
+			return ((NodeTestTask<?>) task).getTimeline();
+		}
+		if (task instanceof TestTaskBatcher.Batch) {
+			return of(((TestTaskBatcher.Batch) task).getTasks().get(0));
+		}
+		return DISABLED;
+	}
+
+	ExecutionTimeline(Path file) {
+		this.file = file;
+	}
+
+	boolean isEnabled() {
+		return file != null;
+	}
+
+	Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the start time to pass to {@link #record} once the span has ended;
+	 * {@code 0} if this timeline is disabled.
+	 */
+	long start() {
+		return isEnabled() ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Record a span of the supplied phase that started at the supplied time
+	 * and ends now.
+	 *
+	 * @param subject the {@link TestDescriptor} or {@link TestTask} the span
+	 * belongs to
+	 */
+	void record(Phase phase, Object subject, long startNanos) {
+		if (isEnabled()) {
+			currentBuffer.get().add(phase, subject, startNanos, System.nanoTime());
+		}
+	}
+
+	private Buffer createBuffer() {
+		Thread thread = Thread.currentThread();
+		Buffer buffer = new Buffer(thread.getId(), thread.getName());
+		buffers.add(buffer);
+		return buffer;
+	}
+
+	int getSpanCount() {
+		return buffers.stream().mapToInt(Buffer::size).sum();
+	}
+
+	/**
+	 * Write the recorded spans to the configured file.
+	 */
+	@Override
+	public void close() {
+		if (!isEnabled()) {
+			return;
+		}
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+				write(writer);
+			}
+			logger.config(() -> String.format("Wrote %d execution timeline span(s) to %s", getSpanCount(), file));
+		}
+		catch (IOException ex) {
+			logger.warn(ex, () -> "Failed to write execution timeline to " + file);
+		}
+	}
+
+	void write(Writer writer) throws IOException {
+		writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+		boolean first = true;
+		for (Buffer buffer : buffers) {
+			if (!first) {
+				writer.write(',');
+			}
+			first = false;
+			writer.write("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+			writer.write(Long.toString(buffer.threadId));
+			writer.write(",\"args\":{\"name\":");
+			writeString(writer, buffer.threadName);
+			writer.write("}}");
+			for (Chunk chunk : buffer.chunks) {
+				for (int i = 0; i < chunk.size; i++) {
+					writer.write(",\n");
+					writeSpan(writer, buffer.threadId, chunk, i);
+				}
+			}
+		}
+		writer.write("\n]}\n");
+	}
+
+	private void writeSpan(Writer writer, long threadId, Chunk chunk, int index) throws IOException {
+		Phase phase = chunk.phases[index];
+		TestDescriptor descriptor = toTestDescriptor(chunk.subjects[index]);
+		writer.write("{\"name\":");
+		if (phase.spanName != null) {
+			writeString(writer, phase.spanName);
+		}
+		else {
+			writeString(writer, descriptor == null ? "<unknown>" : descriptor.getDisplayName());
+		}
+		writer.write(",\"cat\":\"");
+		writer.write(phase == Phase.NODE ? "node" : "phase");
+		writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+		writer.write(Long.toString(threadId));
+		writer.write(",\"ts\":");
+		writer.write(toMicros(chunk.starts[index] - originNanos));
+		writer.write(",\"dur\":");
+		writer.write(toMicros(chunk.ends[index] - chunk.starts[index]));
+		if (descriptor != null) {
+			writer.write(",\"args\":{\"uniqueId\":");
+			writeString(writer, descriptor.getUniqueId().toString());
+			writer.write('}');
+		}
+		else if (chunk.subjects[index] instanceof TestTaskBatcher.Batch) {
+			writer.write(",\"args\":{\"batchSize\":");
+			writer.write(Integer.toString(((TestTaskBatcher.Batch) chunk.subjects[index]).getTasks().size()));
+			writer.write('}');
+		}
+		writer.write('}');
+	}
+
+	private static TestDescriptor toTestDescriptor(Object subject) {
+		if (subject instanceof TestDescriptor) {
+			return (TestDescriptor) subject;
+		}
+		if (subject instanceof NodeTestTask) {
+			return ((NodeTestTask<?>) subject).getTestDescriptor();
+		}
+		return null;
+	}
+
+	private static String toMicros(long nanos) {
+		return (nanos / 1000) + "." + String.format("%03d", Math.abs(nanos % 1000));
+	}
+
+	private static void writeString(Writer writer, String value) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					writer.write("\\\"");
+					break;
+				case '\\':
+					writer.write("\\\\");
+					break;
+				case '\n':
+					writer.write("\\n");
+					break;
+				case '\r':
+					writer.write("\\r");
+					break;
+				case '\t':
+					writer.write("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						writer.write(String.format("\\u%04x", (int) c));
+					}
+					else {
+						writer.write(c);
+					}
+			}
+		}
+		writer.write('"');
+	}
+
+	/**
+	 * Spans recorded by a single thread.
+	 */
+	private static class Buffer {
+
+		private final long threadId;
+		private final String threadName;
+		private final List<Chunk> chunks = new ArrayList<>();
+		private Chunk current;
+
+		Buffer(long threadId, String threadName) {
+			this.threadId = threadId;
+			this.threadName = threadName;
+			this.current = new Chunk(INITIAL_CHUNK_CAPACITY);
+			this.chunks.add(current);
+		}
+
+		void add(Phase phase, Object subject, long startNanos, long endNanos) {
+			if (current.isFull()) {
+				current = new Chunk(Math.min(MAX_CHUNK_CAPACITY, current.capacity() * 2));
+				chunks.add(current);
+			}
+			current.add(phase, subject, startNanos, endNanos);
+		}
+
+		int size() {
+			return chunks.stream().mapToInt(chunk -> chunk.size).sum();
+		}
+	}
+
+	private static class Chunk {
+
+		private final Phase[] phases;
+		private final Object[] subjects;
+		private final long[] starts;
+		private final long[] ends;
+		private int size;
+
+		Chunk(int capacity) {
+			this.phases = new Phase[capacity];
+			this.subjects = new Object[capacity];
+			this.starts = new long[capacity];
+			this.ends = new long[capacity];
+		}
+
+		int capacity() {
+			return phases.length;
+		}
+
+		boolean isFull() {
+			return size == phases.length;
+		}
+
+		void add(Phase phase, Object subject, long startNanos, long endNanos) {
+			phases[size] = phase;
+			subjects[size] = subject;
+			starts[size] = startNanos;
+			ends[size] = endNanos;
+			size++;
+		}
+	}
+
+}
@@ -16,7 +16,10 @@ import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.
 
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
@@ -31,9 +34,11 @@ import java.util.function.Predicate;
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.logging.Logger;
 import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.commons.util.ExceptionUtils;
 import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ExecutionTimeline.Phase;
 
 /**
  * A {@link ForkJoinPool}-based
@@ -47,17 +52,67 @@ import org.junit.platform.engine.ConfigurationParameters;
 @API(status = EXPERIMENTAL, since = "1.3")
 public class ForkJoinPoolHierarchicalTestExecutorService implements HierarchicalTestExecutorService {
 
+	/**
+	 * Property name used to enable deferred locking.
+	 *
+	 * <p>If enabled, a task whose {@linkplain TestTask#getResourceLock()
+	 * resource lock} cannot be acquired immediately does not block its worker
+	 * thread. Instead, it is parked until the unavailable resource is released
+	 * and then resubmitted to the pool so that the worker can execute other
+	 * tasks in the meantime.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 * @see #getDeferralCount()
+	 * @see #getTotalDeferralTime()
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME = "deferred.locking.enabled";
+
+	/**
+	 * Property name used to enable batching of tests.
+	 *
+	 * <p>If enabled, consecutive concurrent tests without children that share
+	 * the same {@linkplain TestTask#getResourceLock() resource lock} are
+	 * grouped into batches that are executed as a single task, acquiring the
+	 * lock once per batch. Batches are sized based on the observed duration
+	 * of tests so that the overhead of scheduling very short tests is
+	 * amortized while all workers are kept busy.
+	 *
+	 * <p>Tests within a batch are executed sequentially in the same thread.
+	 * Hence, batching should not be enabled for tests that wait for other
+	 * tests to be executed concurrently.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CONFIG_BATCHING_ENABLED_PROPERTY_NAME = "batching.enabled";
+
+	private static final Logger logger = LoggerFactory.getLogger(ForkJoinPoolHierarchicalTestExecutorService.class);
+
 	private final ForkJoinPool forkJoinPool;
 	private final int parallelism;
+	private final ResourceLockWaitQueues waitQueues;
+	private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+	private final TestTaskBatcher batcher;
 
 	/**
 	 * Create a new {@code ForkJoinPoolHierarchicalTestExecutorService} based on
 	 * the supplied {@link ConfigurationParameters}.
 	 *
 	 * @see DefaultParallelExecutionConfigurationStrategy
+	 * @see #CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME
+	 * @see #CONFIG_BATCHING_ENABLED_PROPERTY_NAME
 	 */
 	public ForkJoinPoolHierarchicalTestExecutorService(ConfigurationParameters configurationParameters) {
-		this(createConfiguration(configurationParameters));
+		this(createConfiguration(configurationParameters),
+			configurationParameters.getBoolean(CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME).orElse(false),
+			configurationParameters.getBoolean(CONFIG_BATCHING_ENABLED_PROPERTY_NAME).orElse(false));
 	}
 
 	/**
@@ -68,9 +123,28 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 	 */
 	@API(status = EXPERIMENTAL, since = "1.7")
 	public ForkJoinPoolHierarchicalTestExecutorService(ParallelExecutionConfiguration configuration) {
+		this(configuration, false, false);
+	}
+
+	ForkJoinPoolHierarchicalTestExecutorService(ParallelExecutionConfiguration configuration,
+			boolean deferredLockingEnabled, boolean batchingEnabled) {
 		forkJoinPool = createForkJoinPool(configuration);
 		parallelism = forkJoinPool.getParallelism();
-		LoggerFactory.getLogger(getClass()).config(() -> "Using ForkJoinPool with parallelism of " + parallelism);
+		waitQueues = deferredLockingEnabled ? new ResourceLockWaitQueues() : null;
+		concurrencyLimiter = createConcurrencyLimiter(configuration);
+		batcher = batchingEnabled ? new TestTaskBatcher(parallelism) : null;
+		logger.config(() -> "Using ForkJoinPool with parallelism of " + parallelism
+				+ (concurrencyLimiter != null ? " adapting to load" : "")
+				+ (deferredLockingEnabled ? " and deferred locking" : "")
+				+ (batchingEnabled ? " and batching" : ""));
+	}
+
+	private static AdaptiveConcurrencyLimiter createConcurrencyLimiter(ParallelExecutionConfiguration configuration) {
+		if (configuration instanceof AdaptiveParallelExecutionConfiguration) {
+			AdaptiveParallelExecutionConfiguration adaptive = (AdaptiveParallelExecutionConfiguration) configuration;
+			return new AdaptiveConcurrencyLimiter(adaptive.getMinParallelism(), adaptive.getMaxParallelism());
+		}
+		return null;
 	}
 
 	private static ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
@@ -123,8 +197,23 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 		return ForkJoinTask.getPool() == forkJoinPool;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>If the supplied tasks {@linkplain Node#isChildWorkerAffinityPreferred()
+	 * prefer to be executed by the worker of their parent}, concurrent tasks
+	 * are executed by the current worker and only split off to be stolen by
+	 * other workers while those are idle.
+	 */
 	@Override
 	public void invokeAll(List<? extends TestTask> tasks) {
+		if (tasks.size() > 1 && hasWorkerAffinity(tasks)) {
+			invokeAllWithWorkerAffinity(tasks);
+			return;
+		}
+		if (batcher != null) {
+			tasks = batcher.batch(tasks);
+		}
 		if (tasks.size() == 1) {
 			new ExclusiveTask(tasks.get(0)).compute();
 			return;
@@ -133,7 +222,66 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 		Deque<ExclusiveTask> concurrentTasksInReverseOrder = new LinkedList<>();
 		forkConcurrentTasks(tasks, nonConcurrentTasks, concurrentTasksInReverseOrder);
 		executeNonConcurrentTasks(nonConcurrentTasks);
-		joinConcurrentTasksInReverseOrderToEnableWorkStealing(concurrentTasksInReverseOrder);
+		if (isPrioritized(concurrentTasksInReverseOrder)) {
+			joinConcurrentTasksInPriorityOrder(concurrentTasksInReverseOrder);
+		}
+		else {
+			joinConcurrentTasksInReverseOrderToEnableWorkStealing(concurrentTasksInReverseOrder);
+		}
+	}
+
+	/**
+	 * Determine whether the first forked task has a higher priority than the
+	 * last one; tasks are forked in the order of their priorities.
+	 *
+	 * @see Node#getExecutionPriority()
+	 */
+	private static boolean isPrioritized(Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
+		return concurrentTasksInReverseOrder.size() > 1 //
+				&& getPriority(concurrentTasksInReverseOrder.getLast().testTask) > getPriority(
+					concurrentTasksInReverseOrder.getFirst().testTask);
+	}
+
+	private static int getPriority(TestTask testTask) {
+		if (testTask instanceof NodeTestTask) {
+			return ((NodeTestTask<?>) testTask).getPriority();
+		}
+		if (testTask instanceof TestTaskBatcher.Batch) {
+			return getPriority(((TestTaskBatcher.Batch) testTask).getTasks().get(0));
+		}
+		return 0;
+	}
+
+	private static boolean hasWorkerAffinity(List<? extends TestTask> tasks) {
+		TestTask firstTask = tasks.get(0);
+		return firstTask instanceof NodeTestTask && ((NodeTestTask<?>) firstTask).hasWorkerAffinity();
+	}
+
+	private void invokeAllWithWorkerAffinity(List<? extends TestTask> tasks) {
+		List<TestTask> concurrentTasks = new ArrayList<>(tasks.size());
+		Deque<ExclusiveTask> nonConcurrentTasks = new LinkedList<>();
+		for (TestTask testTask : tasks) {
+			if (testTask.getExecutionMode() == CONCURRENT) {
+				concurrentTasks.add(testTask);
+			}
+			else {
+				nonConcurrentTasks.add(new ExclusiveTask(testTask));
+			}
+		}
+		if (!concurrentTasks.isEmpty()) {
+			new WorkerAffinityTask(concurrentTasks, 0, concurrentTasks.size()).compute();
+		}
+		executeNonConcurrentTasks(nonConcurrentTasks);
+	}
+
+	/**
+	 * Determine whether other workers of the pool are idle, i.e. the current
+	 * worker has no queued tasks that could be stolen and not all workers
+	 * are active.
+	 */
+	private boolean hasIdleWorkers() {
+		return ForkJoinTask.getQueuedTaskCount() == 0
+				&& forkJoinPool.getActiveThreadCount() < forkJoinPool.getParallelism();
 	}
 
 	private void forkConcurrentTasks(List<? extends TestTask> tasks, Deque<ExclusiveTask> nonConcurrentTasks,
@@ -159,18 +307,79 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 	private void joinConcurrentTasksInReverseOrderToEnableWorkStealing(
 			Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
 		for (ExclusiveTask forkedTask : concurrentTasksInReverseOrder) {
+			join(forkedTask);
+		}
+	}
+
+	/**
+	 * Join the supplied tasks in the order they were forked so that the
+	 * current worker executes tasks that have not been stolen by other workers
+	 * in the order of their priorities, too.
+	 */
+	private void joinConcurrentTasksInPriorityOrder(Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
+		Iterator<ExclusiveTask> forkedTasks = concurrentTasksInReverseOrder.descendingIterator();
+		while (forkedTasks.hasNext()) {
+			join(forkedTasks.next());
+		}
+	}
+
+	private static void join(ExclusiveTask forkedTask) {
+		ExecutionTimeline timeline = ExecutionTimeline.of(forkedTask.testTask);
+		long startTime = timeline.start();
+		try {
 			forkedTask.join();
 		}
+		finally {
+			timeline.record(Phase.JOIN_WAIT, forkedTask.testTask, startTime);
+		}
+	}
+
+	/**
+	 * Get the number of times a task was parked because its resource lock was
+	 * not available.
+	 *
+	 * <p>Always returns {@code 0} unless
+	 * {@linkplain #CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME deferred locking}
+	 * is enabled.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public long getDeferralCount() {
+		return waitQueues == null ? 0 : waitQueues.getDeferralCount();
+	}
+
+	/**
+	 * Get the total time tasks spent parked because their resource lock was
+	 * not available.
+	 *
+	 * <p>Always returns {@link Duration#ZERO} unless
+	 * {@linkplain #CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME deferred locking}
+	 * is enabled.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public Duration getTotalDeferralTime() {
+		return waitQueues == null ? Duration.ZERO : waitQueues.getTotalDeferralTime();
 	}
 
 	@Override
 	public void close() {
 		forkJoinPool.shutdownNow();
+		if (concurrencyLimiter != null) {
+			concurrencyLimiter.close();
+		}
+		if (waitQueues != null) {
+			logger.config(() -> String.format(
+				"Tasks were deferred %d time(s) for a total of %d ms due to unavailable resource locks",
+				getDeferralCount(), getTotalDeferralTime().toMillis()));
+		}
 	}
 
 	// this class cannot not be serialized because TestTask is not Serializable
 	@SuppressWarnings("serial")
-	static class ExclusiveTask extends RecursiveAction {
+	class ExclusiveTask extends ForkJoinTask<Void> {
 
 		private final TestTask testTask;
 
@@ -178,17 +387,176 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 			this.testTask = testTask;
 		}
 
-		@SuppressWarnings("try")
 		@Override
-		public void compute() {
-			try (ResourceLock lock = testTask.getResourceLock().acquire()) {
-				testTask.execute();
+		public Void getRawResult() {
+			return null;
+		}
+
+		@Override
+		protected void setRawResult(Void value) {
+			/* no-op */
+		}
+
+		/**
+		 * Execute this task when it has been forked or submitted.
+		 *
+		 * <p>If deferred locking is enabled and the resource lock is not
+		 * available, this task is parked and {@code false} is returned so that
+		 * it is not considered to be completed. Once resumed, it is resubmitted
+		 * to the pool of the worker thread that released the resource.
+		 */
+		@Override
+		protected boolean exec() {
+			ResourceLock resourceLock = testTask.getResourceLock();
+			if (!isDeferrable(resourceLock)) {
+				compute();
+				return true;
+			}
+			ForkJoinPool pool = getPool();
+			if (!waitQueues.tryAcquireOrPark(resourceLock, () -> pool.execute(this))) {
+				return false;
+			}
+			executeAndRelease(resourceLock);
+			return true;
+		}
+
+		/**
+		 * Execute this task in the current thread, blocking until its resource
+		 * lock is available.
+		 */
+		void compute() {
+			ResourceLock resourceLock = testTask.getResourceLock();
+			ExecutionTimeline timeline = ExecutionTimeline.of(testTask);
+			long startTime = timeline.start();
+			try {
+				resourceLock.acquire();
 			}
 			catch (InterruptedException e) {
 				ExceptionUtils.throwAsUncheckedException(e);
 			}
+			timeline.record(Phase.LOCK_WAIT, testTask, startTime);
+			executeAndRelease(resourceLock);
 		}
 
+		private void executeAndRelease(ResourceLock resourceLock) {
+			try {
+				if (testTask instanceof TestTaskBatcher.Batch) {
+					((TestTaskBatcher.Batch) testTask).getTasks().forEach(this::execute);
+				}
+				else {
+					execute(testTask);
+				}
+			}
+			finally {
+				if (isDeferrable(resourceLock)) {
+					// resume tasks that were parked while the lock was held
+					waitQueues.release(resourceLock);
+				}
+				else {
+					resourceLock.release();
+				}
+			}
+		}
+
+		private void execute(TestTask task) {
+			boolean batchable = batcher != null && TestTaskBatcher.isBatchable(task);
+			long startTime = batchable ? System.nanoTime() : 0;
+			if (isThrottled(task)) {
+				executeThrottled(task);
+			}
+			else {
+				task.execute();
+			}
+			if (batchable) {
+				batcher.recordDuration(System.nanoTime() - startTime);
+			}
+		}
+
+		/**
+		 * Execute the supplied test once a permit of the concurrency limiter
+		 * is available.
+		 *
+		 * <p>The permit is acquired after the resource lock of the test.
+		 * Otherwise, tests holding all permits could wait for a resource lock
+		 * held by a container whose own tests are waiting for permits. While
+		 * waiting for a permit, the worker thread is reported to the pool as
+		 * blocked so that the pool activates another worker to execute tasks
+		 * that do not need a permit, e.g. containers releasing their locks.
+		 */
+		private void executeThrottled(TestTask task) {
+			try {
+				concurrencyLimiter.acquire();
+			}
+			catch (InterruptedException e) {
+				ExceptionUtils.throwAsUncheckedException(e);
+			}
+			try {
+				task.execute();
+			}
+			finally {
+				concurrencyLimiter.release();
+			}
+		}
+
+		/**
+		 * Only tests without children are throttled since they never wait for
+		 * other tasks while holding a permit.
+		 */
+		private boolean isThrottled(TestTask task) {
+			return concurrencyLimiter != null && task instanceof NodeTestTask && ((NodeTestTask<?>) task).isTest();
+		}
+
+		private boolean isDeferrable(ResourceLock resourceLock) {
+			return waitQueues != null && ResourceLockWaitQueues.isSupported(resourceLock);
+		}
+
+	}
+
+	/**
+	 * Executes a range of tasks in the current thread, splitting off the
+	 * second half of the remaining tasks to be stolen whenever other workers
+	 * are idle.
+	 */
+	// this class cannot not be serialized because TestTask is not Serializable
+	@SuppressWarnings("serial")
+	class WorkerAffinityTask extends RecursiveAction {
+
+		private final List<TestTask> tasks;
+		private final int start;
+		private final int end;
+
+		WorkerAffinityTask(List<TestTask> tasks, int start, int end) {
+			this.tasks = tasks;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			Deque<WorkerAffinityTask> splitsInReverseOrder = new LinkedList<>();
+			int limit = end;
+			for (int next = start; next < limit; next++) {
+				if (limit - next > 1 && hasIdleWorkers()) {
+					int middle = (next + 1 + limit) >>> 1;
+					WorkerAffinityTask split = new WorkerAffinityTask(tasks, middle, limit);
+					split.fork();
+					splitsInReverseOrder.addFirst(split);
+					limit = middle;
+				}
+				new ExclusiveTask(tasks.get(next)).compute();
+			}
+			for (WorkerAffinityTask split : splitsInReverseOrder) {
+				TestTask firstTask = tasks.get(split.start);
+				ExecutionTimeline timeline = ExecutionTimeline.of(firstTask);
+				long startTime = timeline.start();
+				try {
+					split.join();
+				}
+				finally {
+					timeline.record(Phase.JOIN_WAIT, firstTask, startTime);
+				}
+			}
+		}
 	}
 
 	static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
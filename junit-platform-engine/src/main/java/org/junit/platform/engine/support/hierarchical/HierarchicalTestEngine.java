@@ -15,8 +15,10 @@ import static org.apiguardian.api.API.Status.MAINTAINED;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.support.config.PrefixedConfigurationParameters;
 
 /**
  * Abstract base class for all {@link TestEngine} implementations that wish
@@ -29,6 +31,137 @@ import org.junit.platform.engine.TestEngine;
 @API(status = MAINTAINED, since = "1.0")
 public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> implements TestEngine {
 
+	/**
+	 * Property name used to configure the file that stores the durations of
+	 * previous test runs: {@value}
+	 *
+	 * <p>If set, the duration of each executed test and container is written
+	 * to the file, keyed by {@linkplain org.junit.platform.engine.UniqueId
+	 * unique ID}, after execution. In subsequent runs, siblings that are
+	 * executed {@linkplain Node.ExecutionMode#CONCURRENT concurrently} are
+	 * submitted in order of decreasing expected duration so that long-running
+	 * tests do not delay the end of the run by starting last. Tests without a
+	 * recorded duration are assumed to take as long as the average of their
+	 * siblings. Concurrent writers, for example, other engines or JVMs, are
+	 * merged, and entries that have not been executed for 30 days are
+	 * removed.
+	 *
+	 * <p>By default, no durations are recorded and siblings are executed in
+	 * the order they were discovered.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String DURATION_HISTORY_FILE_PROPERTY_NAME = "junit.platform.execution.duration.history.file";
+
+	/**
+	 * Property name used to enable diagnostics of resource locks: {@value}
+	 *
+	 * <p>If enabled, the holders and waiters of each {@link ExclusiveResource}
+	 * as well as acquisition latencies and hold times are recorded per resource
+	 * key. If nodes are waiting for resources and no lock has been acquired or
+	 * released for the {@linkplain #RESOURCE_LOCK_STALL_TIMEOUT_PROPERTY_NAME
+	 * stall timeout}, a warning describing which nodes hold and wait for which
+	 * resources is logged. After execution, the resources with the highest
+	 * total wait time are logged.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String RESOURCE_LOCK_DIAGNOSTICS_ENABLED_PROPERTY_NAME = "junit.platform.execution.resource.locks.diagnostics.enabled";
+
+	/**
+	 * Property name used to configure the number of seconds without progress
+	 * after which waiting for resource locks is reported if
+	 * {@linkplain #RESOURCE_LOCK_DIAGNOSTICS_ENABLED_PROPERTY_NAME diagnostics
+	 * are enabled}: {@value}
+	 *
+	 * <p>Value must be a non-negative integer; {@code 0} disables the report.
+	 * Defaults to {@code 60}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String RESOURCE_LOCK_STALL_TIMEOUT_PROPERTY_NAME = "junit.platform.execution.resource.locks.stall.timeout";
+
+	/**
+	 * Property name used to enable hierarchical resource keys: {@value}
+	 *
+	 * <p>If enabled, a dot in the key of an {@link ExclusiveResource}
+	 * separates the key of its parent resource from the rest of the key, e.g.
+	 * {@code "db.orders"} is a child of {@code "db"}. Writing a resource then
+	 * conflicts with using any of its ancestors or descendants while its
+	 * siblings may still be used concurrently. If disabled, resources with
+	 * different keys never conflict, regardless of dots in their keys.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String HIERARCHICAL_RESOURCE_KEYS_ENABLED_PROPERTY_NAME = "junit.platform.execution.resource.locks.hierarchical.enabled";
+
+	/**
+	 * Property name used to limit the number of dynamic tests per parent that
+	 * have been submitted but not yet finished: {@value}
+	 *
+	 * <p>If the limit is reached, registering another dynamic test via the
+	 * {@link Node.DynamicTestExecutor} blocks until earlier ones have finished.
+	 * Since nodes usually produce dynamic tests lazily, e.g. from a stream,
+	 * this keeps the number of dynamic test descriptors in memory constant
+	 * regardless of how many are produced.
+	 *
+	 * <p>Value must be a non-negative integer; {@code 0} means unlimited.
+	 * Defaults to {@code 0}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String MAX_OUTSTANDING_DYNAMIC_TESTS_PROPERTY_NAME = "junit.platform.execution.dynamic.tests.max.outstanding";
+
+	/**
+	 * Property name used to configure the directory the execution timeline is
+	 * written to: {@value}
+	 *
+	 * <p>If set, the spans during which each thread prepared, executed, and
+	 * cleaned up nodes, waited for resource locks, or waited for other tasks
+	 * to finish are recorded and written to
+	 * {@code junit-timeline-<engine ID>.json} in the configured directory
+	 * after execution. The file uses the Chrome Trace Event format and can be
+	 * viewed in {@code chrome://tracing} or Perfetto.
+	 *
+	 * <p>By default, no timeline is recorded.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String EXECUTION_TIMELINE_DIRECTORY_PROPERTY_NAME = "junit.platform.execution.timeline.dir";
+
+	/**
+	 * Property name used to set the fully qualified class name of the
+	 * {@link HierarchicalTestExecutorServiceFactory} used to create the
+	 * executor service: {@value}
+	 *
+	 * <p>If set, the configured factory is used instead of
+	 * {@link #createExecutorService(ExecutionRequest)} and is passed all
+	 * configuration parameters starting with {@code junit.platform.execution.}
+	 * with that prefix removed. Engines may resolve the factory below an
+	 * engine-specific prefix instead by overriding
+	 * {@link #getExecutorServiceConfigurationParameters(ExecutionRequest)}.
+	 *
+	 * <p>No default value.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String EXECUTOR_SERVICE_FACTORY_CLASS_PROPERTY_NAME = "junit.platform.execution.executor.factory.class";
+
+	private static final String EXECUTOR_SERVICE_CONFIG_PREFIX = "junit.platform.execution.";
+
 	public HierarchicalTestEngine() {
 	}
 
@@ -41,26 +174,98 @@ public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> i
 	 * its {@linkplain ExecutionRequest#getEngineExecutionListener() execution
 	 * listener} of test execution events.
 	 *
+	 * <p>If a {@link HierarchicalTestExecutorServiceFactory} is configured in
+	 * the {@linkplain #getExecutorServiceConfigurationParameters executor
+	 * service configuration parameters}, it is used to create the executor
+	 * service instead.
+	 *
+	 * <p>If {@link #DURATION_HISTORY_FILE_PROPERTY_NAME} is configured, the
+	 * durations of executed tests and containers are written to the
+	 * configured file afterwards.
+	 *
+	 * <p>If {@link #RESOURCE_LOCK_DIAGNOSTICS_ENABLED_PROPERTY_NAME} is
+	 * enabled, contention of resource locks is reported.
+	 *
+	 * <p>If {@link #HIERARCHICAL_RESOURCE_KEYS_ENABLED_PROPERTY_NAME} is
+	 * enabled, dots in resource keys separate parent and child resources.
+	 *
+	 * <p>If {@link #MAX_OUTSTANDING_DYNAMIC_TESTS_PROPERTY_NAME} is configured,
+	 * registering dynamic tests blocks while the configured number of them
+	 * is unfinished.
+	 *
+	 * <p>Once the request's {@linkplain ExecutionRequest#getCancellationToken()
+	 * cancellation token} has been cancelled, all nodes that have not yet
+	 * started are reported as skipped.
+	 *
+	 * <p>If {@link #EXECUTION_TIMELINE_DIRECTORY_PROPERTY_NAME} is configured,
+	 * a timeline of the execution is written to the configured directory
+	 * afterwards.
+	 *
 	 * @see Node
 	 * @see #createExecutorService
 	 * @see #createExecutionContext
 	 */
 	@Override
 	public final void execute(ExecutionRequest request) {
-		try (HierarchicalTestExecutorService executorService = createExecutorService(request)) {
+		try (HierarchicalTestExecutorService executorService = resolveExecutorService(request);
+				ResourceLockDiagnostics lockDiagnostics = ResourceLockDiagnostics.create(
+					request.getConfigurationParameters());
+				ExecutionTimeline timeline = ExecutionTimeline.create(request.getConfigurationParameters(),
+					request.getRootTestDescriptor())) {
 			C executionContext = createExecutionContext(request);
 			ThrowableCollector.Factory throwableCollectorFactory = createThrowableCollectorFactory(request);
-			new HierarchicalTestExecutor<>(request, executionContext, executorService,
-				throwableCollectorFactory).execute().get();
+			TestDurationHistory durationHistory = TestDurationHistory.load(request.getConfigurationParameters());
+			int maxOutstandingDynamicTests = request.getConfigurationParameters().get(
+				MAX_OUTSTANDING_DYNAMIC_TESTS_PROPERTY_NAME, Integer::parseInt).orElse(0);
+			boolean hierarchicalResourceKeys = request.getConfigurationParameters().getBoolean(
+				HIERARCHICAL_RESOURCE_KEYS_ENABLED_PROPERTY_NAME).orElse(false);
+			HierarchicalTestExecutorConfiguration configuration = HierarchicalTestExecutorConfiguration.builder() //
+					.durationHistory(durationHistory) //
+					.lockDiagnostics(lockDiagnostics) //
+					.hierarchicalResourceKeys(hierarchicalResourceKeys) //
+					.maxOutstandingDynamicTests(Math.max(0, maxOutstandingDynamicTests)) //
+					.timeline(timeline) //
+					.build();
+			new HierarchicalTestExecutor<>(request, executionContext, executorService, throwableCollectorFactory,
+				configuration).execute().get();
+			durationHistory.save();
 		}
 		catch (Exception exception) {
 			throw new JUnitException("Error executing tests for engine " + getId(), exception);
 		}
 	}
 
+	private HierarchicalTestExecutorService resolveExecutorService(ExecutionRequest request) {
+		return HierarchicalTestExecutorServiceFactory.createConfiguredExecutorService(
+			getExecutorServiceConfigurationParameters(request)).orElseGet(() -> createExecutorService(request));
+	}
+
+	/**
+	 * Get the configuration parameters the
+	 * {@linkplain HierarchicalTestExecutorServiceFactory#CONFIG_FACTORY_CLASS_PROPERTY_NAME
+	 * factory class} of the {@linkplain HierarchicalTestExecutorServiceFactory
+	 * executor service factory} is read from and that are passed to it.
+	 *
+	 * <p>By default, this method returns the configuration parameters of the
+	 * supplied <em>request</em> starting with {@code junit.platform.execution.}
+	 * with that prefix removed, so that the factory is configured via
+	 * {@link #EXECUTOR_SERVICE_FACTORY_CLASS_PROPERTY_NAME}.
+	 *
+	 * @param request the request about to be executed
+	 * @since 1.10
+	 * @see HierarchicalTestExecutorServiceFactory
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	protected ConfigurationParameters getExecutorServiceConfigurationParameters(ExecutionRequest request) {
+		return new PrefixedConfigurationParameters(request.getConfigurationParameters(),
+			EXECUTOR_SERVICE_CONFIG_PREFIX);
+	}
+
 	/**
 	 * Create the {@linkplain HierarchicalTestExecutorService executor service}
-	 * to use for executing the supplied {@linkplain ExecutionRequest request}.
+	 * to use for executing the supplied {@linkplain ExecutionRequest request}
+	 * unless a {@link HierarchicalTestExecutorServiceFactory} is
+	 * {@linkplain #getExecutorServiceConfigurationParameters configured}.
 	 *
 	 * <p>An engine may use the information in the supplied <em>request</em>
 	 * such as the contained
@@ -74,6 +279,7 @@ public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> i
 	 * @since 1.3
 	 * @see ForkJoinPoolHierarchicalTestExecutorService
 	 * @see SameThreadHierarchicalTestExecutorService
+	 * @see HierarchicalTestExecutorServiceFactory
 	 */
 	@API(status = EXPERIMENTAL, since = "1.3")
 	protected HierarchicalTestExecutorService createExecutorService(ExecutionRequest request) {
@@ -37,21 +37,31 @@ class HierarchicalTestExecutor<C extends EngineExecutionContext> {
 	private final C rootContext;
 	private final HierarchicalTestExecutorService executorService;
 	private final ThrowableCollector.Factory throwableCollectorFactory;
+	private final HierarchicalTestExecutorConfiguration configuration;
 
 	HierarchicalTestExecutor(ExecutionRequest request, C rootContext, HierarchicalTestExecutorService executorService,
 			ThrowableCollector.Factory throwableCollectorFactory) {
+		this(request, rootContext, executorService, throwableCollectorFactory,
+			HierarchicalTestExecutorConfiguration.defaults());
+	}
+
+	HierarchicalTestExecutor(ExecutionRequest request, C rootContext, HierarchicalTestExecutorService executorService,
+			ThrowableCollector.Factory throwableCollectorFactory, HierarchicalTestExecutorConfiguration configuration) {
 		this.request = request;
 		this.rootContext = rootContext;
 		this.executorService = executorService;
 		this.throwableCollectorFactory = throwableCollectorFactory;
+		this.configuration = configuration;
 	}
 
 	Future<Void> execute() {
 		TestDescriptor rootTestDescriptor = this.request.getRootTestDescriptor();
 		EngineExecutionListener executionListener = this.request.getEngineExecutionListener();
-		NodeExecutionAdvisor executionAdvisor = new NodeTreeWalker().walk(rootTestDescriptor);
+		NodeExecutionAdvisor executionAdvisor = new NodeTreeWalker(
+			new LockManager(this.configuration.getLockDiagnostics(),
+				this.configuration.isHierarchicalResourceKeys())).walk(rootTestDescriptor);
 		NodeTestTaskContext taskContext = new NodeTestTaskContext(executionListener, this.executorService,
-			this.throwableCollectorFactory, executionAdvisor);
+			this.throwableCollectorFactory, executionAdvisor, this.request.getCancellationToken(), this.configuration);
 		NodeTestTask<C> rootTestTask = new NodeTestTask<>(taskContext, rootTestDescriptor);
 		rootTestTask.setParentContext(this.rootContext);
 		return this.executorService.submit(rootTestTask);
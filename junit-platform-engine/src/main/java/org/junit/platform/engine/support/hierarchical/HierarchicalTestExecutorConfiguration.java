@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Optional features of a {@link HierarchicalTestExecutor} that are passed on
+ * to the tasks that execute its nodes.
+ *
+ * <p>All features are disabled by default.
+ *
+ * @since 1.10
+ * @see HierarchicalTestEngine
+ */
+class HierarchicalTestExecutorConfiguration {
+
+	private static final HierarchicalTestExecutorConfiguration DEFAULTS = builder().build();
+
+	static HierarchicalTestExecutorConfiguration defaults() {
+		return DEFAULTS;
+	}
+
+	static Builder builder() {
+		return new Builder();
+	}
+
+	private final TestDurationHistory durationHistory;
+	private final ResourceLockDiagnostics lockDiagnostics;
+	private final boolean hierarchicalResourceKeys;
+	private final int maxOutstandingDynamicTests;
+	private final ExecutionTimeline timeline;
+
+	private HierarchicalTestExecutorConfiguration(Builder builder) {
+		this.durationHistory = builder.durationHistory;
+		this.lockDiagnostics = builder.lockDiagnostics;
+		this.hierarchicalResourceKeys = builder.hierarchicalResourceKeys;
+		this.maxOutstandingDynamicTests = builder.maxOutstandingDynamicTests;
+		this.timeline = builder.timeline;
+	}
+
+	TestDurationHistory getDurationHistory() {
+		return durationHistory;
+	}
+
+	ResourceLockDiagnostics getLockDiagnostics() {
+		return lockDiagnostics;
+	}
+
+	/**
+	 * Determine whether dots in resource keys separate the keys of parent and
+	 * child resources.
+	 *
+	 * @see LockManager
+	 */
+	boolean isHierarchicalResourceKeys() {
+		return hierarchicalResourceKeys;
+	}
+
+	/**
+	 * Get the maximum number of dynamic tests per parent that may be submitted
+	 * but not yet finished; {@code 0} if unlimited.
+	 */
+	int getMaxOutstandingDynamicTests() {
+		return maxOutstandingDynamicTests;
+	}
+
+	ExecutionTimeline getTimeline() {
+		return timeline;
+	}
+
+	static final class Builder {
+
+		private TestDurationHistory durationHistory = TestDurationHistory.disabled();
+		private ResourceLockDiagnostics lockDiagnostics = ResourceLockDiagnostics.disabled();
+		private boolean hierarchicalResourceKeys;
+		private int maxOutstandingDynamicTests;
+		private ExecutionTimeline timeline = ExecutionTimeline.disabled();
+
+		private Builder() {
+		}
+
+		Builder durationHistory(TestDurationHistory durationHistory) {
+			this.durationHistory = Preconditions.notNull(durationHistory, "durationHistory must not be null");
+			return this;
+		}
+
+		Builder lockDiagnostics(ResourceLockDiagnostics lockDiagnostics) {
+			this.lockDiagnostics = Preconditions.notNull(lockDiagnostics, "lockDiagnostics must not be null");
+			return this;
+		}
+
+		Builder hierarchicalResourceKeys(boolean hierarchicalResourceKeys) {
+			this.hierarchicalResourceKeys = hierarchicalResourceKeys;
+			return this;
+		}
+
+		Builder maxOutstandingDynamicTests(int maxOutstandingDynamicTests) {
+			Preconditions.condition(maxOutstandingDynamicTests >= 0,
+				"maxOutstandingDynamicTests must not be negative");
+			this.maxOutstandingDynamicTests = maxOutstandingDynamicTests;
+			return this;
+		}
+
+		Builder timeline(ExecutionTimeline timeline) {
+			this.timeline = Preconditions.notNull(timeline, "timeline must not be null");
+			return this;
+		}
+
+		HierarchicalTestExecutorConfiguration build() {
+			return new HierarchicalTestExecutorConfiguration(this);
+		}
+	}
+
+}
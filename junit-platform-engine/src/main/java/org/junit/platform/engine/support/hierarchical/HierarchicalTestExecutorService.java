@@ -26,6 +26,7 @@ import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
  * @see HierarchicalTestEngine#createExecutorService(ExecutionRequest)
  * @see SameThreadHierarchicalTestExecutorService
  * @see ForkJoinPoolHierarchicalTestExecutorService
+ * @see VirtualThreadHierarchicalTestExecutorService
  */
 @API(status = EXPERIMENTAL, since = "1.3")
 public interface HierarchicalTestExecutorService extends AutoCloseable {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * A factory for {@link HierarchicalTestExecutorService} instances that can be
+ * selected by users via the {@value #CONFIG_FACTORY_CLASS_PROPERTY_NAME}
+ * configuration parameter, e.g. to plug in an executor service that
+ * prioritizes certain tests, without changing the test engine.
+ *
+ * <p>Implementations must provide a no-args constructor.
+ *
+ * <p>Every {@link HierarchicalTestEngine} resolves this configuration
+ * parameter relative to the prefix of its
+ * {@linkplain HierarchicalTestEngine#getExecutorServiceConfigurationParameters
+ * executor service configuration parameters}, which is
+ * {@code junit.platform.execution.} unless the engine chooses an
+ * engine-specific one, and uses the configured factory instead of
+ * {@link HierarchicalTestEngine#createExecutorService}.
+ *
+ * @since 1.10
+ * @see HierarchicalTestEngine#EXECUTOR_SERVICE_FACTORY_CLASS_PROPERTY_NAME
+ * @see HierarchicalTestEngine#getExecutorServiceConfigurationParameters
+ */
+@API(status = EXPERIMENTAL, since = "1.10")
+public interface HierarchicalTestExecutorServiceFactory {
+
+	/**
+	 * Property name used to set the fully qualified class name of the
+	 * {@code HierarchicalTestExecutorServiceFactory} to use.
+	 *
+	 * <p>No default value.
+	 */
+	String CONFIG_FACTORY_CLASS_PROPERTY_NAME = "executor.factory.class";
+
+	/**
+	 * Create an executor service based on the supplied
+	 * {@link ConfigurationParameters}.
+	 *
+	 * @param configurationParameters the configuration parameters the
+	 * {@value #CONFIG_FACTORY_CLASS_PROPERTY_NAME} configuration parameter was
+	 * read from; never {@code null}
+	 * @return the executor service to use; never {@code null}
+	 */
+	HierarchicalTestExecutorService createExecutorService(ConfigurationParameters configurationParameters);
+
+	/**
+	 * Create an executor service using the factory configured via the
+	 * {@value #CONFIG_FACTORY_CLASS_PROPERTY_NAME} configuration parameter.
+	 *
+	 * @param configurationParameters the configuration parameters to read the
+	 * factory class name from and to pass to the factory; never {@code null}
+	 * @return the created executor service; empty if no factory is configured
+	 * @throws JUnitException if the factory could not be instantiated or
+	 * failed to create an executor service
+	 */
+	static Optional<HierarchicalTestExecutorService> createConfiguredExecutorService(
+			ConfigurationParameters configurationParameters) {
+		Preconditions.notNull(configurationParameters, "ConfigurationParameters must not be null");
+		return configurationParameters.get(CONFIG_FACTORY_CLASS_PROPERTY_NAME) //
+				.map(String::trim) //
+				.filter(className -> !className.isEmpty()) //
+				.map(className -> ReflectionUtils.tryToLoadClass(className) //
+						.andThenTry(factoryClass -> {
+							Preconditions.condition(
+								HierarchicalTestExecutorServiceFactory.class.isAssignableFrom(factoryClass),
+								CONFIG_FACTORY_CLASS_PROPERTY_NAME + " does not implement "
+										+ HierarchicalTestExecutorServiceFactory.class);
+							return (HierarchicalTestExecutorServiceFactory) ReflectionUtils.newInstance(factoryClass);
+						}) //
+						.andThenTry(factory -> Preconditions.notNull(
+							factory.createExecutorService(configurationParameters),
+							() -> className + " returned null")) //
+						.getOrThrow(cause -> new JUnitException(
+							"Could not create executor service using factory class: " + className, cause)));
+	}
+
+}
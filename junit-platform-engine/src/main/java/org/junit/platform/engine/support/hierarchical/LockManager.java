@@ -10,6 +10,8 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.naturalOrder;
 import static java.util.stream.Collectors.groupingBy;
@@ -17,45 +19,108 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.platform.commons.util.CollectionUtils.getOnlyElement;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_KEY;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode;
+
 /**
+ * Creates {@link ResourceLock ResourceLocks} for {@link ExclusiveResource
+ * ExclusiveResources}.
+ *
+ * <p>If hierarchical resource keys are enabled, a key that contains dots,
+ * e.g. {@code "db.orders"}, denotes a child of the resource identified by the
+ * part of the key up to the last dot, e.g. {@code "db"}. Using a resource in
+ * {@link ExclusiveResource.LockMode#READ_WRITE READ_WRITE} mode conflicts
+ * with any usage of its ancestors and descendants, whereas siblings may be used
+ * concurrently. To that end, each resource is locked via a
+ * {@link MultiGranularityLock} and its ancestors are locked in the
+ * corresponding intention mode. The {@linkplain ExclusiveResource#GLOBAL_KEY
+ * global resource} is not part of the hierarchy. Otherwise, which is the
+ * default, resources with different keys never conflict.
+ *
+ * <p>All locks are acquired in the order of their keys, with the global
+ * resource first, to avoid deadlocks.
+ *
  * @since 1.3
  */
 class LockManager {
 
+	static final char KEY_SEPARATOR = '.';
+
+	private static final Comparator<String> KEY_COMPARATOR = globalKeyFirst().thenComparing(naturalOrder());
+
 	private static final Comparator<ExclusiveResource> COMPARATOR //
-		= comparing(ExclusiveResource::getKey, globalKeyFirst().thenComparing(naturalOrder())) //
+		= comparing(ExclusiveResource::getKey, KEY_COMPARATOR) //
 				.thenComparing(ExclusiveResource::getLockMode);
 
 	private static Comparator<String> globalKeyFirst() {
 		return comparing(key -> !GLOBAL_KEY.equals(key));
 	}
 
-	private final Map<String, ReadWriteLock> locksByKey = new ConcurrentHashMap<>();
+	private final ResourceLockDiagnostics diagnostics;
+	private final boolean hierarchicalKeys;
+	private final ReadWriteLock globalLock = new ReentrantReadWriteLock();
+	private final Map<String, MultiGranularityLock> locksByKey = new ConcurrentHashMap<>();
+	private final Map<String, SemaphoreLock> countingLocksByKey = new ConcurrentHashMap<>();
+
+	LockManager() {
+		this(ResourceLockDiagnostics.disabled(), false);
+	}
+
+	LockManager(ResourceLockDiagnostics diagnostics, boolean hierarchicalKeys) {
+		this.diagnostics = diagnostics;
+		this.hierarchicalKeys = hierarchicalKeys;
+	}
+
+	/**
+	 * Get a copy of the supplied lock whose holders and waiters are reported
+	 * as the supplied owner if diagnostics are enabled.
+	 *
+	 * <p>Locks that are shared between multiple nodes should be bound to
+	 * each node so that diagnostics can tell them apart.
+	 */
+	ResourceLock withOwner(ResourceLock resourceLock, Object owner) {
+		if (!diagnostics.isEnabled()) {
+			return resourceLock;
+		}
+		if (resourceLock instanceof SingleLock) {
+			return ((SingleLock) resourceLock).withOwner(owner);
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).withOwner(owner);
+		}
+		return resourceLock;
+	}
 
 	ResourceLock getLockForResources(Collection<ExclusiveResource> resources) {
 		if (resources.size() == 1) {
 			return getLockForResource(getOnlyElement(resources));
 		}
-		List<Lock> locks = getDistinctSortedLocks(resources);
-		return toResourceLock(locks);
+		List<ExclusiveResource> distinctResources = getDistinctSortedResources(resources);
+		return toResourceLock(withoutCoveredDescendants(distinctResources));
 	}
 
 	ResourceLock getLockForResource(ExclusiveResource resource) {
-		return new SingleLock(toLock(resource));
+		return toResourceLock(singletonList(resource));
 	}
 
-	private List<Lock> getDistinctSortedLocks(Collection<ExclusiveResource> resources) {
+	private List<ExclusiveResource> getDistinctSortedResources(Collection<ExclusiveResource> resources) {
 		// @formatter:off
 		Map<String, List<ExclusiveResource>> resourcesByKey = resources.stream()
 				.sorted(COMPARATOR)
@@ -64,25 +129,115 @@ class LockManager {
 
 		return resourcesByKey.values().stream()
 				.map(resourcesWithSameKey -> resourcesWithSameKey.get(0))
-				.map(this::toLock)
 				.collect(toList());
 		// @formatter:on
 	}
 
+	/**
+	 * Remove resources whose ancestors are also part of the supplied resources
+	 * since locking the ancestor covers them.
+	 *
+	 * <p>If an ancestor is only read while one of its descendants is written,
+	 * the ancestor is written instead.
+	 */
+	private List<ExclusiveResource> withoutCoveredDescendants(List<ExclusiveResource> resources) {
+		Map<String, ExclusiveResource> resourcesByKey = new LinkedHashMap<>();
+		resources.forEach(resource -> resourcesByKey.put(resource.getKey(), resource));
+		for (ExclusiveResource resource : resources) {
+			if (isWrite(resource)) {
+				for (String ancestorKey : getAncestorKeys(resource.getKey())) {
+					resourcesByKey.computeIfPresent(ancestorKey,
+						(key, ancestor) -> ancestor.getCapacity() == 0 && ancestor.getLockMode() == READ
+								? new ExclusiveResource(key, READ_WRITE)
+								: ancestor);
+				}
+			}
+		}
+		// @formatter:off
+		return resourcesByKey.values().stream()
+				.filter(resource -> getAncestorKeys(resource.getKey()).stream()
+						.map(resourcesByKey::get)
+						.noneMatch(ancestor -> ancestor != null && ancestor.getCapacity() == 0))
+				.collect(toList());
+		// @formatter:on
+	}
+
+	private ResourceLock toResourceLock(List<ExclusiveResource> resources) {
+		Map<String, Mode> intentions = new HashMap<>();
+		for (ExclusiveResource resource : resources) {
+			Mode intention = isWrite(resource) ? Mode.INTENTION_READ_WRITE : Mode.INTENTION_READ;
+			getAncestorKeys(resource.getKey()).forEach(key -> intentions.merge(key, intention, Mode::combine));
+		}
+		if (intentions.isEmpty()) {
+			switch (resources.size()) {
+				case 0:
+					return NopLock.INSTANCE;
+				case 1:
+					return new SingleLock(resources.get(0), toLock(resources.get(0)), diagnostics, null);
+				default:
+					return new CompositeLock(resources, resources.stream().map(this::toLock).collect(toList()),
+						diagnostics, null);
+			}
+		}
+		// intention locks are represented by resources with the ancestor's key
+		Map<String, Entry<ExclusiveResource, Lock>> sortedLocks = new TreeMap<>(KEY_COMPARATOR);
+		resources.forEach(resource -> sortedLocks.put(resource.getKey(),
+			new SimpleImmutableEntry<>(resource, toLock(resource))));
+		intentions.forEach((key, intention) -> {
+			Preconditions.condition(!sortedLocks.containsKey(key), () -> String.format(
+				"Resource '%s' with capacity must not be used together with its descendants", key));
+			ExclusiveResource resource = new ExclusiveResource(key,
+				intention == Mode.INTENTION_READ ? READ : READ_WRITE);
+			sortedLocks.put(key, new SimpleImmutableEntry<>(resource, toMultiGranularityLock(key).get(intention)));
+		});
+		return new CompositeLock(sortedLocks.values().stream().map(Entry::getKey).collect(toList()),
+			sortedLocks.values().stream().map(Entry::getValue).collect(toList()), diagnostics, null);
+	}
+
 	private Lock toLock(ExclusiveResource resource) {
-		ReadWriteLock lock = this.locksByKey.computeIfAbsent(resource.getKey(), key -> new ReentrantReadWriteLock());
-		return resource.getLockMode() == READ ? lock.readLock() : lock.writeLock();
+		if (resource.getCapacity() > 0) {
+			return toCountingLock(resource);
+		}
+		if (GLOBAL_KEY.equals(resource.getKey())) {
+			return resource.getLockMode() == READ ? globalLock.readLock() : globalLock.writeLock();
+		}
+		MultiGranularityLock lock = toMultiGranularityLock(resource.getKey());
+		return lock.get(resource.getLockMode() == READ ? Mode.READ : Mode.READ_WRITE);
+	}
+
+	private MultiGranularityLock toMultiGranularityLock(String key) {
+		Preconditions.condition(!countingLocksByKey.containsKey(key), () -> String.format(
+			"Resource '%s' must not be used with and without capacity or have a capacity and descendants", key));
+		return this.locksByKey.computeIfAbsent(key, __ -> new MultiGranularityLock());
+	}
+
+	private Lock toCountingLock(ExclusiveResource resource) {
+		String key = resource.getKey();
+		Preconditions.condition(!locksByKey.containsKey(key), () -> String.format(
+			"Resource '%s' must not be used with and without capacity or have a capacity and descendants", key));
+		SemaphoreLock lock = this.countingLocksByKey.computeIfAbsent(key,
+			__ -> new SemaphoreLock(resource.getCapacity()));
+		Preconditions.condition(lock.getCapacity() == resource.getCapacity(),
+			() -> String.format("Resource '%s' must not be used with different capacities: %d and %d", key,
+				lock.getCapacity(), resource.getCapacity()));
+		return lock;
+	}
+
+	private static boolean isWrite(ExclusiveResource resource) {
+		return resource.getLockMode() == READ_WRITE || resource.getCapacity() > 0;
 	}
 
-	private ResourceLock toResourceLock(List<Lock> locks) {
-		switch (locks.size()) {
-			case 0:
-				return NopLock.INSTANCE;
-			case 1:
-				return new SingleLock(locks.get(0));
-			default:
-				return new CompositeLock(locks);
+	private List<String> getAncestorKeys(String key) {
+		if (!hierarchicalKeys || GLOBAL_KEY.equals(key)) {
+			return emptyList();
+		}
+		List<String> ancestorKeys = new ArrayList<>();
+		for (int i = key.indexOf(KEY_SEPARATOR); i >= 0; i = key.indexOf(KEY_SEPARATOR, i + 1)) {
+			if (i > 0) {
+				ancestorKeys.add(key.substring(0, i));
+			}
 		}
+		return ancestorKeys;
 	}
 
 }
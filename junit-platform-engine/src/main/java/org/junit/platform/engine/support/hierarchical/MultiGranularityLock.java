@@ -0,0 +1,302 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock for a resource that is part of a hierarchy of resources, supporting
+ * the intention modes of multiple granularity locking.
+ *
+ * <p>A node that requires a resource acquires the resource's lock in
+ * {@link Mode#READ READ} or {@link Mode#READ_WRITE READ_WRITE} mode and the
+ * locks of all of its ancestors in the corresponding intention mode. Thus,
+ * reading or writing a resource conflicts with writing any of its ancestors
+ * and descendants, and reading a resource conflicts with writing any of its
+ * descendants, while locks on siblings do not conflict.
+ *
+ * <p>Blocking acquisitions in modes other than {@code READ_WRITE} wait while
+ * a {@code READ_WRITE} acquisition is waiting, so that writers are not
+ * starved by a steady stream of other nodes.
+ *
+ * <p>Like {@link java.util.concurrent.locks.ReentrantReadWriteLock}, this
+ * lock is reentrant and must be released by the thread that acquired it.
+ * Modes held by the current thread never conflict with modes it requests,
+ * so a thread holding the lock may acquire it again in any mode without
+ * waiting for other threads unless they hold a conflicting mode. Waiting
+ * threads park via a {@link java.util.concurrent.locks.Condition} rather
+ * than an object monitor so that virtual threads do not pin their carrier
+ * threads while waiting.
+ *
+ * @since 1.10
+ * @see LockManager
+ */
+class MultiGranularityLock {
+
+	enum Mode {
+
+		/**
+		 * A descendant of the resource is being read.
+		 */
+		INTENTION_READ,
+
+		/**
+		 * A descendant of the resource is being written.
+		 */
+		INTENTION_READ_WRITE,
+
+		/**
+		 * The resource and all of its descendants are being read.
+		 */
+		READ,
+
+		/**
+		 * The resource and all of its descendants are being written.
+		 */
+		READ_WRITE;
+
+		private static final boolean[][] COMPATIBILITY = { //
+				{ true, true, true, false }, //
+				{ true, true, false, false }, //
+				{ true, false, true, false }, //
+				{ false, false, false, false } //
+		};
+
+		boolean isCompatibleWith(Mode other) {
+			return COMPATIBILITY[ordinal()][other.ordinal()];
+		}
+
+		Mode combine(Mode other) {
+			if (this == other || other == INTENTION_READ) {
+				return this;
+			}
+			if (this == INTENTION_READ) {
+				return other;
+			}
+			return READ_WRITE;
+		}
+
+	}
+
+	private final ReentrantLock stateLock = new ReentrantLock();
+	private final Condition stateChanged = stateLock.newCondition();
+	private final int[] holdCounts = new int[Mode.values().length];
+	private final Map<Thread, int[]> holdCountsByThread = new HashMap<>();
+	private final ModeLock[] modeLocks = new ModeLock[Mode.values().length];
+	private int waitingWriters;
+
+	MultiGranularityLock() {
+		for (Mode mode : Mode.values()) {
+			modeLocks[mode.ordinal()] = new ModeLock(mode);
+		}
+	}
+
+	ModeLock get(Mode mode) {
+		return modeLocks[mode.ordinal()];
+	}
+
+	/**
+	 * Determine whether the supplied mode is compatible with all modes held
+	 * by other threads; modes held by the current thread never conflict.
+	 */
+	private boolean isAvailable(Mode mode, int[] ownHoldCounts) {
+		for (Mode heldMode : Mode.values()) {
+			int othersHoldCount = holdCounts[heldMode.ordinal()]
+					- (ownHoldCounts == null ? 0 : ownHoldCounts[heldMode.ordinal()]);
+			if (othersHoldCount > 0 && !mode.isCompatibleWith(heldMode)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void incrementHoldCount(Mode mode, int[] ownHoldCounts) {
+		if (ownHoldCounts == null) {
+			ownHoldCounts = new int[Mode.values().length];
+			holdCountsByThread.put(Thread.currentThread(), ownHoldCounts);
+		}
+		ownHoldCounts[mode.ordinal()]++;
+		holdCounts[mode.ordinal()]++;
+	}
+
+	private boolean tryAcquire(Mode mode) {
+		stateLock.lock();
+		try {
+			int[] ownHoldCounts = holdCountsByThread.get(Thread.currentThread());
+			if (isAvailable(mode, ownHoldCounts)) {
+				incrementHoldCount(mode, ownHoldCounts);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			stateLock.unlock();
+		}
+	}
+
+	private boolean acquire(Mode mode, boolean interruptible, boolean timed, long timeoutNanos)
+			throws InterruptedException {
+		stateLock.lock();
+		try {
+			int[] ownHoldCounts = holdCountsByThread.get(Thread.currentThread());
+			boolean writer = mode == Mode.READ_WRITE;
+			// threads that already hold this lock must not wait for writers that wait for them
+			boolean reentrant = ownHoldCounts != null;
+			if (writer) {
+				waitingWriters++;
+			}
+			long remainingNanos = timeoutNanos;
+			try {
+				while (!isAvailable(mode, ownHoldCounts) || (!writer && !reentrant && waitingWriters > 0)) {
+					if (!timed) {
+						if (interruptible) {
+							stateChanged.await();
+						}
+						else {
+							stateChanged.awaitUninterruptibly();
+						}
+					}
+					else {
+						if (remainingNanos <= 0) {
+							return false;
+						}
+						remainingNanos = stateChanged.awaitNanos(remainingNanos);
+					}
+				}
+				incrementHoldCount(mode, ownHoldCounts);
+				return true;
+			}
+			finally {
+				if (writer) {
+					waitingWriters--;
+					// other modes might have been waiting for this writer
+					stateChanged.signalAll();
+				}
+			}
+		}
+		finally {
+			stateLock.unlock();
+		}
+	}
+
+	private void release(Mode mode) {
+		stateLock.lock();
+		try {
+			int[] ownHoldCounts = holdCountsByThread.get(Thread.currentThread());
+			if (ownHoldCounts == null || ownHoldCounts[mode.ordinal()] == 0) {
+				throw new IllegalMonitorStateException("Lock is not held in mode " + mode + " by current thread");
+			}
+			ownHoldCounts[mode.ordinal()]--;
+			holdCounts[mode.ordinal()]--;
+			if (isZero(ownHoldCounts)) {
+				holdCountsByThread.remove(Thread.currentThread());
+			}
+			stateChanged.signalAll();
+		}
+		finally {
+			stateLock.unlock();
+		}
+	}
+
+	private static boolean isZero(int[] counts) {
+		for (int count : counts) {
+			if (count != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isHeld(Mode mode) {
+		stateLock.lock();
+		try {
+			return holdCounts[mode.ordinal()] > 0;
+		}
+		finally {
+			stateLock.unlock();
+		}
+	}
+
+	/**
+	 * View of a {@link MultiGranularityLock} that acquires it in a fixed
+	 * {@link Mode}.
+	 */
+	class ModeLock implements Lock {
+
+		private final Mode mode;
+
+		private ModeLock(Mode mode) {
+			this.mode = mode;
+		}
+
+		Mode getMode() {
+			return mode;
+		}
+
+		boolean isHeld() {
+			return MultiGranularityLock.this.isHeld(mode);
+		}
+
+		@Override
+		public void lock() {
+			try {
+				acquire(mode, false, false, 0);
+			}
+			catch (InterruptedException e) {
+				throw new IllegalStateException(e); // cannot happen since not interruptible
+			}
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			acquire(mode, true, false, 0);
+		}
+
+		@Override
+		public boolean tryLock() {
+			return tryAcquire(mode);
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			long timeoutNanos = unit.toNanos(time);
+			return timeoutNanos <= 0 ? tryAcquire(mode) : acquire(mode, true, true, timeoutNanos);
+		}
+
+		@Override
+		public void unlock() {
+			release(mode);
+		}
+
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return MultiGranularityLock.this + "[" + mode + "]";
+		}
+
+	}
+
+}
@@ -15,6 +15,7 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.Future;
 
@@ -196,6 +197,57 @@ public interface Node<C extends EngineExecutionContext> {
 		return ExecutionMode.CONCURRENT;
 	}
 
+	/**
+	 * Determine whether the {@linkplain ExecutionMode#CONCURRENT concurrent}
+	 * children of this node should preferably be executed by the worker
+	 * thread that executes this node.
+	 *
+	 * <p>If {@code true}, children are executed one after another by the
+	 * worker that executed {@link #before}, and are only handed over to
+	 * other workers while those are idle. This keeps children that benefit
+	 * from warm caches or thread-local state on the same thread, without
+	 * sacrificing parallelism once the other workers have run out of work.
+	 *
+	 * <p>This is merely a hint; executor services that do not support it
+	 * execute children as if {@code false} had been returned.
+	 *
+	 * <p>The default implementation returns {@code false}.
+	 *
+	 * @return {@code true} if concurrent children should preferably be
+	 * executed by the worker executing this node
+	 * @since 1.10
+	 * @see ForkJoinPoolHierarchicalTestExecutorService
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10", consumers = "org.junit.platform.engine.support.hierarchical")
+	default boolean isChildWorkerAffinityPreferred() {
+		return false;
+	}
+
+	/**
+	 * Get the priority of this node for parallel execution.
+	 *
+	 * <p>Concurrent siblings are scheduled in order of decreasing priority so
+	 * that nodes with a higher priority start before those with a lower
+	 * priority. A container is scheduled according to the highest priority
+	 * of itself and those of its descendants that have a priority so that
+	 * high-priority nodes start early regardless of where they are located in
+	 * the tree. Likewise, a container whose descendants all have a negative
+	 * priority starts after its siblings without a priority. Nodes without a
+	 * priority in their subtree are scheduled as if their priority was
+	 * {@code 0}.
+	 *
+	 * <p>The default implementation returns an empty {@code OptionalInt}.
+	 *
+	 * @return the priority of this node, which may be negative, or an empty
+	 * {@code OptionalInt} if this node does not have a priority; never
+	 * {@code null}
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10", consumers = "org.junit.platform.engine.support.hierarchical")
+	default OptionalInt getExecutionPriority() {
+		return OptionalInt.empty();
+	}
+
 	/**
 	 * The result of determining whether the execution of a given {@code context}
 	 * should be <em>skipped</em>.
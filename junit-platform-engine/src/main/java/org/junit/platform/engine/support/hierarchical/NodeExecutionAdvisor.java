@@ -10,11 +10,19 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Comparator.comparingInt;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
 
 import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
 import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
 
 /**
@@ -24,6 +32,7 @@ class NodeExecutionAdvisor {
 
 	private final Map<TestDescriptor, ExecutionMode> forcedDescendantExecutionModeByTestDescriptor = new HashMap<>();
 	private final Map<TestDescriptor, ResourceLock> resourceLocksByTestDescriptor = new HashMap<>();
+	private final Map<TestDescriptor, Integer> prioritiesByTestDescriptor = new HashMap<>();
 
 	void forceDescendantExecutionMode(TestDescriptor testDescriptor, ExecutionMode executionMode) {
 		forcedDescendantExecutionModeByTestDescriptor.put(testDescriptor, executionMode);
@@ -33,19 +42,71 @@ class NodeExecutionAdvisor {
 		resourceLocksByTestDescriptor.put(testDescriptor, resourceLock);
 	}
 
+	/**
+	 * Get the execution mode forced by the parent of the supplied descriptor.
+	 *
+	 * <p>Since {@link NodeTreeWalker} forces the execution mode for all
+	 * descendants of a descriptor, only the parent needs to be consulted.
+	 */
 	Optional<ExecutionMode> getForcedExecutionMode(TestDescriptor testDescriptor) {
-		return testDescriptor.getParent().flatMap(this::lookupExecutionModeForcedByAncestor);
-	}
-
-	private Optional<ExecutionMode> lookupExecutionModeForcedByAncestor(TestDescriptor testDescriptor) {
-		ExecutionMode value = forcedDescendantExecutionModeByTestDescriptor.get(testDescriptor);
-		if (value != null) {
-			return Optional.of(value);
-		}
-		return testDescriptor.getParent().flatMap(this::lookupExecutionModeForcedByAncestor);
+		return testDescriptor.getParent().map(forcedDescendantExecutionModeByTestDescriptor::get);
 	}
 
 	ResourceLock getResourceLock(TestDescriptor testDescriptor) {
 		return resourceLocksByTestDescriptor.getOrDefault(testDescriptor, NopLock.INSTANCE);
 	}
+
+	void usePriority(TestDescriptor testDescriptor, int priority) {
+		prioritiesByTestDescriptor.put(testDescriptor, priority);
+	}
+
+	/**
+	 * Get the highest {@linkplain Node#getExecutionPriority() priority} of the
+	 * supplied descriptor and those of its descendants that have a priority,
+	 * if any of them has one.
+	 */
+	OptionalInt findPriority(TestDescriptor testDescriptor) {
+		Integer priority = prioritiesByTestDescriptor.get(testDescriptor);
+		return priority == null ? OptionalInt.empty() : OptionalInt.of(priority);
+	}
+
+	/**
+	 * Get the highest {@linkplain Node#getExecutionPriority() priority} of the
+	 * supplied descriptor and those of its descendants that have a priority;
+	 * {@code 0} if none of them has one or for descriptors that were not
+	 * known when the tree was walked, e.g. dynamic tests.
+	 */
+	int getPriority(TestDescriptor testDescriptor) {
+		return prioritiesByTestDescriptor.getOrDefault(testDescriptor, 0);
+	}
+
+	/**
+	 * Reorder the concurrent tasks in the supplied list so that the ones with
+	 * the highest priority come first.
+	 *
+	 * <p>Tasks that are not executed concurrently keep their position, and
+	 * so do tasks with equal priority relative to each other.
+	 */
+	<T extends TestTask> void orderHighestPriorityFirst(List<T> tasks, Function<? super T, TestDescriptor> extractor) {
+		if (prioritiesByTestDescriptor.isEmpty() || tasks.size() < 2) {
+			return;
+		}
+		List<Integer> positions = new ArrayList<>();
+		List<T> concurrentTasks = new ArrayList<>();
+		for (int i = 0; i < tasks.size(); i++) {
+			T task = tasks.get(i);
+			if (task.getExecutionMode() == CONCURRENT) {
+				positions.add(i);
+				concurrentTasks.add(task);
+			}
+		}
+		if (concurrentTasks.size() < 2) {
+			return;
+		}
+		// List.sort() is stable, so tasks with equal priorities keep their relative order
+		concurrentTasks.sort(comparingInt(task -> -getPriority(extractor.apply(task))));
+		for (int i = 0; i < positions.size(); i++) {
+			tasks.set(positions.get(i), concurrentTasks.get(i));
+		}
+	}
 }
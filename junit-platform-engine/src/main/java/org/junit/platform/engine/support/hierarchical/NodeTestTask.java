@@ -10,18 +10,21 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
-import static java.util.stream.Collectors.toCollection;
 import static org.junit.platform.engine.TestExecutionResult.failed;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.logging.Logger;
@@ -31,16 +34,25 @@ import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.commons.util.UnrecoverableExceptions;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.ExecutionTimeline.Phase;
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
 import org.junit.platform.engine.support.hierarchical.Node.DynamicTestExecutor;
 import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
 import org.junit.platform.engine.support.hierarchical.Node.SkipResult;
 
 /**
+ * {@link TestTask} that executes a {@link Node} and its children.
+ *
+ * <p>Each task also serves as the {@link DynamicTestExecutor} passed to its
+ * node so that no executor needs to be allocated for the majority of nodes
+ * that never register dynamic tests; the state required to track them is
+ * only created when the first one is registered.
+ *
  * @since 1.3
  */
-class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
+class NodeTestTask<C extends EngineExecutionContext> implements TestTask, DynamicTestExecutor {
 
 	private static final Logger logger = LoggerFactory.getLogger(NodeTestTask.class);
 	private static final Runnable NOOP = () -> {
@@ -56,7 +68,9 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 
 	private SkipResult skipResult;
 	private boolean started;
+	private boolean workerAffinity;
 	private ThrowableCollector throwableCollector;
+	private volatile DefaultDynamicTestExecutor dynamicTestExecutor;
 
 	NodeTestTask(NodeTestTaskContext taskContext, TestDescriptor testDescriptor) {
 		this(taskContext, testDescriptor, NOOP);
@@ -79,13 +93,53 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 		return taskContext.getExecutionAdvisor().getForcedExecutionMode(testDescriptor).orElse(node.getExecutionMode());
 	}
 
+	boolean isTest() {
+		return testDescriptor.getType() == TestDescriptor.Type.TEST;
+	}
+
+	TestDescriptor getTestDescriptor() {
+		return testDescriptor;
+	}
+
+	ExecutionTimeline getTimeline() {
+		return taskContext.getTimeline();
+	}
+
+	/**
+	 * Determine whether this task should preferably be executed by the worker
+	 * that executes its parent.
+	 *
+	 * @see Node#isChildWorkerAffinityPreferred()
+	 */
+	boolean hasWorkerAffinity() {
+		return workerAffinity;
+	}
+
+	void setWorkerAffinity(boolean workerAffinity) {
+		this.workerAffinity = workerAffinity;
+	}
+
+	/**
+	 * Get the highest priority of this task's node and its descendants.
+	 *
+	 * @see Node#getExecutionPriority()
+	 */
+	int getPriority() {
+		return taskContext.getExecutionAdvisor().getPriority(testDescriptor);
+	}
+
 	void setParentContext(C parentContext) {
 		this.parentContext = parentContext;
 	}
 
 	@Override
 	public void execute() {
+		long startTime = taskContext.getTimeline().start();
 		try {
+			if (taskContext.getCancellationToken().isCancellationRequested()) {
+				reportCancelled();
+				return;
+			}
 			throwableCollector = taskContext.getThrowableCollectorFactory().create();
 			prepare();
 			if (throwableCollector.isEmpty()) {
@@ -111,6 +165,7 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 							+ "why the flag was not cleared by user code.",
 					this.testDescriptor.getDisplayName(), this.testDescriptor.getUniqueId()));
 			}
+			taskContext.getTimeline().record(Phase.NODE, testDescriptor, startTime);
 			finalizer.run();
 		}
 
@@ -120,7 +175,9 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 	}
 
 	private void prepare() {
+		long startTime = taskContext.getTimeline().start();
 		throwableCollector.execute(() -> context = node.prepare(parentContext));
+		taskContext.getTimeline().record(Phase.PREPARE, testDescriptor, startTime);
 
 		// Clear reference to parent context to allow it to be garbage collected.
 		// See https://github.com/junit-team/junit5/issues/1578
@@ -134,37 +191,81 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 	private void executeRecursively() {
 		taskContext.getListener().executionStarted(testDescriptor);
 		started = true;
+		long startTime = System.nanoTime();
 
 		throwableCollector.execute(() -> {
 			node.around(context, ctx -> {
 				context = ctx;
 				throwableCollector.execute(() -> {
-					// @formatter:off
-					List<NodeTestTask<C>> children = testDescriptor.getChildren().stream()
-							.map(descriptor -> new NodeTestTask<C>(taskContext, descriptor))
-							.collect(toCollection(ArrayList::new));
-					// @formatter:on
+					List<NodeTestTask<C>> children = createChildren();
 
+					long beforeStartTime = taskContext.getTimeline().start();
 					context = node.before(context);
+					taskContext.getTimeline().record(Phase.BEFORE, testDescriptor, beforeStartTime);
 
-					final DynamicTestExecutor dynamicTestExecutor = new DefaultDynamicTestExecutor();
-					context = node.execute(context, dynamicTestExecutor);
+					long executeStartTime = taskContext.getTimeline().start();
+					context = node.execute(context, this);
+					taskContext.getTimeline().record(Phase.EXECUTE, testDescriptor, executeStartTime);
 
 					if (!children.isEmpty()) {
-						children.forEach(child -> child.setParentContext(context));
-						taskContext.getExecutorService().invokeAll(children);
+						executeChildren(children);
 					}
 
-					throwableCollector.execute(dynamicTestExecutor::awaitFinished);
+					if (dynamicTestExecutor != null) {
+						long joinStartTime = taskContext.getTimeline().start();
+						throwableCollector.execute(this::awaitFinished);
+						taskContext.getTimeline().record(Phase.JOIN_WAIT, testDescriptor, joinStartTime);
+					}
 				});
 
+				long afterStartTime = taskContext.getTimeline().start();
 				throwableCollector.execute(() -> node.after(context));
+				taskContext.getTimeline().record(Phase.AFTER, testDescriptor, afterStartTime);
 			});
 		});
+
+		taskContext.getDurationHistory().recordDuration(testDescriptor.getUniqueId(),
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+	}
+
+	/**
+	 * Create tasks for the static children of this node; does not allocate
+	 * anything for leaf nodes.
+	 */
+	private List<NodeTestTask<C>> createChildren() {
+		Set<? extends TestDescriptor> descriptors = testDescriptor.getChildren();
+		if (descriptors.isEmpty()) {
+			return emptyList();
+		}
+		boolean workerAffinity = node.isChildWorkerAffinityPreferred();
+		List<NodeTestTask<C>> children = new ArrayList<>(descriptors.size());
+		for (TestDescriptor descriptor : descriptors) {
+			NodeTestTask<C> child = new NodeTestTask<>(taskContext, descriptor);
+			child.setWorkerAffinity(workerAffinity);
+			children.add(child);
+		}
+		return children;
+	}
+
+	private void executeChildren(List<NodeTestTask<C>> children) {
+		for (NodeTestTask<C> child : children) {
+			child.setParentContext(context);
+		}
+		taskContext.getDurationHistory().orderLongestFirst(children, child -> child.testDescriptor.getUniqueId());
+		taskContext.getExecutionAdvisor().orderHighestPriorityFirst(children, child -> child.testDescriptor);
+		if (taskContext.getCancellationToken().isCancellationRequested()) {
+			// don't fork children that would only report being skipped
+			children.forEach(NodeTestTask::reportCancelled);
+		}
+		else {
+			taskContext.getExecutorService().invokeAll(children);
+		}
 	}
 
 	private void cleanUp() {
+		long startTime = taskContext.getTimeline().start();
 		throwableCollector.execute(() -> node.cleanUp(context));
+		taskContext.getTimeline().record(Phase.CLEAN_UP, testDescriptor, startTime);
 	}
 
 	private void reportCompletion() {
@@ -184,31 +285,68 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 			// Call executionStarted first to comply with the contract of EngineExecutionListener.
 			taskContext.getListener().executionStarted(testDescriptor);
 		}
+		TestExecutionResult result = throwableCollector.toTestExecutionResult();
 		try {
-			node.nodeFinished(context, testDescriptor, throwableCollector.toTestExecutionResult());
+			node.nodeFinished(context, testDescriptor, result);
 		}
 		catch (Throwable throwable) {
 			UnrecoverableExceptions.rethrowIfUnrecoverable(throwable);
 			logger.debug(throwable,
 				() -> String.format("Failed to invoke nodeFinished() on Node %s", testDescriptor.getUniqueId()));
 		}
-		taskContext.getListener().executionFinished(testDescriptor, throwableCollector.toTestExecutionResult());
+		taskContext.getListener().executionFinished(testDescriptor, result);
 		throwableCollector = null;
 	}
 
-	private class DefaultDynamicTestExecutor implements DynamicTestExecutor {
-		private final Map<UniqueId, DynamicTaskState> unfinishedTasks = new ConcurrentHashMap<>();
+	private void reportCancelled() {
+		taskContext.getListener().executionSkipped(testDescriptor, taskContext.getCancellationToken().getReason());
+	}
+
+	@Override
+	public void execute(TestDescriptor testDescriptor) {
+		execute(testDescriptor, taskContext.getListener());
+	}
+
+	@Override
+	public Future<?> execute(TestDescriptor testDescriptor, EngineExecutionListener executionListener) {
+		Preconditions.notNull(testDescriptor, "testDescriptor must not be null");
+		Preconditions.notNull(executionListener, "executionListener must not be null");
+		return getDynamicTestExecutor().execute(testDescriptor, executionListener);
+	}
 
-		@Override
-		public void execute(TestDescriptor testDescriptor) {
-			execute(testDescriptor, taskContext.getListener());
+	@Override
+	public void awaitFinished() throws InterruptedException {
+		DefaultDynamicTestExecutor dynamicTestExecutor = this.dynamicTestExecutor;
+		if (dynamicTestExecutor != null) {
+			dynamicTestExecutor.awaitFinished();
 		}
+	}
 
-		@Override
-		public Future<?> execute(TestDescriptor testDescriptor, EngineExecutionListener executionListener) {
-			Preconditions.notNull(testDescriptor, "testDescriptor must not be null");
-			Preconditions.notNull(executionListener, "executionListener must not be null");
+	private DefaultDynamicTestExecutor getDynamicTestExecutor() {
+		DefaultDynamicTestExecutor executor = dynamicTestExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = dynamicTestExecutor;
+				if (executor == null) {
+					executor = new DefaultDynamicTestExecutor();
+					dynamicTestExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
 
+	/**
+	 * Tracks the dynamic tests registered by a node; only created once the
+	 * first one is registered.
+	 */
+	private class DefaultDynamicTestExecutor {
+		private final Map<UniqueId, DynamicTaskState> unfinishedTasks = new ConcurrentHashMap<>();
+		// futures in submission order; only tracked if the number of outstanding tasks is limited
+		private final Queue<Future<Void>> scheduledFutures = isLimited() ? new ConcurrentLinkedQueue<>() : null;
+
+		Future<?> execute(TestDescriptor testDescriptor, EngineExecutionListener executionListener) {
+			awaitCapacity();
 			executionListener.dynamicTestRegistered(testDescriptor);
 			Set<ExclusiveResource> exclusiveResources = NodeUtils.asNode(testDescriptor).getExclusiveResources();
 			if (!exclusiveResources.isEmpty()) {
@@ -225,12 +363,55 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 				unfinishedTasks.put(uniqueId, DynamicTaskState.unscheduled());
 				Future<Void> future = taskContext.getExecutorService().submit(nodeTestTask);
 				unfinishedTasks.computeIfPresent(uniqueId, (__, state) -> DynamicTaskState.scheduled(future));
+				if (isLimited()) {
+					scheduledFutures.add(future);
+				}
 				return future;
 			}
 		}
 
-		@Override
-		public void awaitFinished() throws InterruptedException {
+		private boolean isLimited() {
+			return taskContext.getMaxOutstandingDynamicTests() > 0;
+		}
+
+		/**
+		 * Block until fewer than the configured maximum number of submitted
+		 * tasks are unfinished, awaiting the oldest ones first, so that callers
+		 * consuming a stream of dynamic tests only consume it as fast as tests
+		 * are executed.
+		 */
+		private void awaitCapacity() {
+			if (!isLimited()) {
+				return;
+			}
+			while (unfinishedTasks.size() >= taskContext.getMaxOutstandingDynamicTests()) {
+				Future<Void> oldest = scheduledFutures.poll();
+				if (oldest == null) {
+					// remaining tasks are being submitted by other threads
+					break;
+				}
+				long startTime = taskContext.getTimeline().start();
+				try {
+					oldest.get();
+				}
+				catch (CancellationException ignore) {
+					// Futures returned by execute() may have been cancelled
+				}
+				catch (InterruptedException | ExecutionException e) {
+					ExceptionUtils.throwAsUncheckedException(e instanceof ExecutionException ? e.getCause() : e);
+				}
+				finally {
+					taskContext.getTimeline().record(Phase.JOIN_WAIT, testDescriptor, startTime);
+				}
+			}
+			// don't retain futures of tasks that already finished
+			Future<Void> oldest;
+			while ((oldest = scheduledFutures.peek()) != null && oldest.isDone()) {
+				scheduledFutures.remove(oldest);
+			}
+		}
+
+		void awaitFinished() throws InterruptedException {
 			for (DynamicTaskState state : unfinishedTasks.values()) {
 				try {
 					state.awaitFinished();
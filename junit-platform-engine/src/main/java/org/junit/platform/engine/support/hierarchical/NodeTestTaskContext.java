@@ -10,6 +10,7 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineExecutionListener;
 
 /**
@@ -21,20 +22,32 @@ class NodeTestTaskContext {
 	private final HierarchicalTestExecutorService executorService;
 	private final ThrowableCollector.Factory throwableCollectorFactory;
 	private final NodeExecutionAdvisor executionAdvisor;
+	private final CancellationToken cancellationToken;
+	private final HierarchicalTestExecutorConfiguration configuration;
 
 	public NodeTestTaskContext(EngineExecutionListener listener, HierarchicalTestExecutorService executorService,
 			ThrowableCollector.Factory throwableCollectorFactory, NodeExecutionAdvisor executionAdvisor) {
+		this(listener, executorService, throwableCollectorFactory, executionAdvisor, CancellationToken.create(),
+			HierarchicalTestExecutorConfiguration.defaults());
+	}
+
+	NodeTestTaskContext(EngineExecutionListener listener, HierarchicalTestExecutorService executorService,
+			ThrowableCollector.Factory throwableCollectorFactory, NodeExecutionAdvisor executionAdvisor,
+			CancellationToken cancellationToken, HierarchicalTestExecutorConfiguration configuration) {
 		this.listener = listener;
 		this.executorService = executorService;
 		this.throwableCollectorFactory = throwableCollectorFactory;
 		this.executionAdvisor = executionAdvisor;
+		this.cancellationToken = cancellationToken;
+		this.configuration = configuration;
 	}
 
 	NodeTestTaskContext withListener(EngineExecutionListener listener) {
 		if (this.listener == listener) {
 			return this;
 		}
-		return new NodeTestTaskContext(listener, executorService, throwableCollectorFactory, executionAdvisor);
+		return new NodeTestTaskContext(listener, executorService, throwableCollectorFactory, executionAdvisor,
+			cancellationToken, configuration);
 	}
 
 	EngineExecutionListener getListener() {
@@ -52,4 +65,24 @@ class NodeTestTaskContext {
 	NodeExecutionAdvisor getExecutionAdvisor() {
 		return executionAdvisor;
 	}
+
+	TestDurationHistory getDurationHistory() {
+		return configuration.getDurationHistory();
+	}
+
+	/**
+	 * Get the maximum number of dynamic tests per parent that may be submitted
+	 * but not yet finished; {@code 0} if unlimited.
+	 */
+	int getMaxOutstandingDynamicTests() {
+		return configuration.getMaxOutstandingDynamicTests();
+	}
+
+	CancellationToken getCancellationToken() {
+		return cancellationToken;
+	}
+
+	ExecutionTimeline getTimeline() {
+		return configuration.getTimeline();
+	}
 }
@@ -10,13 +10,16 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Collections.emptySet;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_READ;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_READ_WRITE;
 import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.SAME_THREAD;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
 import java.util.Set;
-import java.util.function.Consumer;
 
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.engine.TestDescriptor;
@@ -44,62 +47,138 @@ class NodeTreeWalker {
 		Preconditions.condition(getExclusiveResources(rootDescriptor).isEmpty(),
 			"Engine descriptor must not declare exclusive resources");
 		NodeExecutionAdvisor advisor = new NodeExecutionAdvisor();
-		rootDescriptor.getChildren().forEach(child -> walk(child, child, advisor));
+		rootDescriptor.getChildren().forEach(child -> walk(child, advisor));
 		return advisor;
 	}
 
-	private void walk(TestDescriptor globalLockDescriptor, TestDescriptor testDescriptor,
-			NodeExecutionAdvisor advisor) {
-		Set<ExclusiveResource> exclusiveResources = getExclusiveResources(testDescriptor);
-		if (exclusiveResources.isEmpty()) {
-			advisor.useResourceLock(testDescriptor, globalReadLock);
-			testDescriptor.getChildren().forEach(child -> walk(globalLockDescriptor, child, advisor));
+	/**
+	 * Walk the subtree of the supplied child of the engine descriptor.
+	 *
+	 * <p>A single post-order pass aggregates the exclusive resources and
+	 * priorities of all descendants bottom-up and assigns resource locks. A
+	 * second pass forces
+	 * the execution mode of the affected subtrees, which are disjoint, so that
+	 * each descriptor is visited at most twice.
+	 */
+	private void walk(TestDescriptor globalLockDescriptor, NodeExecutionAdvisor advisor) {
+		List<TestDescriptor> sameThreadSubtrees = new ArrayList<>();
+		Set<ExclusiveResource> allResources = aggregateResources(globalLockDescriptor, globalLockDescriptor, false,
+			advisor, sameThreadSubtrees);
+		if (getExclusiveResources(globalLockDescriptor).isEmpty() && allResources.contains(GLOBAL_READ_WRITE)) {
+			advisor.useResourceLock(globalLockDescriptor,
+				lockManager.withOwner(globalReadWriteLock, globalLockDescriptor.getUniqueId()));
+			sameThreadSubtrees.clear();
+			sameThreadSubtrees.add(globalLockDescriptor);
 		}
-		else {
-			Set<ExclusiveResource> allResources = new HashSet<>(exclusiveResources);
-			if (isReadOnly(allResources)) {
-				doForChildrenRecursively(testDescriptor, child -> allResources.addAll(getExclusiveResources(child)));
-				if (!isReadOnly(allResources)) {
-					forceDescendantExecutionModeRecursively(advisor, testDescriptor);
-				}
-			}
-			else {
-				advisor.forceDescendantExecutionMode(testDescriptor, SAME_THREAD);
-				doForChildrenRecursively(testDescriptor, child -> {
-					allResources.addAll(getExclusiveResources(child));
-					advisor.forceDescendantExecutionMode(child, SAME_THREAD);
-				});
-			}
-			if (!globalLockDescriptor.equals(testDescriptor) && allResources.contains(GLOBAL_READ_WRITE)) {
-				forceDescendantExecutionModeRecursively(advisor, globalLockDescriptor);
-				advisor.useResourceLock(globalLockDescriptor, globalReadWriteLock);
+		sameThreadSubtrees.forEach(subtree -> forceDescendantExecutionModeRecursively(advisor, subtree));
+	}
+
+	/**
+	 * Aggregate the exclusive resources of the supplied descriptor and all of
+	 * its descendants and record the highest priority of those that have one.
+	 *
+	 * <p>The topmost descriptors that declare exclusive resources acquire the
+	 * aggregated resources of their subtree; their descendants don't acquire
+	 * any locks. Descriptors above them acquire the global read lock.
+	 *
+	 * @param insideLockedSubtree whether an ancestor declares exclusive
+	 * resources
+	 * @param sameThreadSubtrees collects the descriptors whose subtrees must
+	 * be executed in the same thread
+	 * @return the aggregated resources; the returned set may be modified by
+	 * the caller
+	 */
+	private Set<ExclusiveResource> aggregateResources(TestDescriptor globalLockDescriptor,
+			TestDescriptor testDescriptor, boolean insideLockedSubtree, NodeExecutionAdvisor advisor,
+			List<TestDescriptor> sameThreadSubtrees) {
+
+		Node<?> node = NodeUtils.asNode(testDescriptor);
+		Set<ExclusiveResource> ownResources = node.getExclusiveResources();
+		boolean locked = !insideLockedSubtree && !ownResources.isEmpty();
+		if (!insideLockedSubtree && !locked) {
+			advisor.useResourceLock(testDescriptor,
+				lockManager.withOwner(globalReadLock, testDescriptor.getUniqueId()));
+		}
+
+		Set<ExclusiveResource> allResources = emptySet();
+		OptionalInt priority = node.getExecutionPriority();
+		for (TestDescriptor child : testDescriptor.getChildren()) {
+			Set<ExclusiveResource> childResources = aggregateResources(globalLockDescriptor, child,
+				insideLockedSubtree || locked, advisor, sameThreadSubtrees);
+			allResources = union(allResources, childResources);
+			priority = max(priority, advisor.findPriority(child));
+		}
+		if (priority.isPresent()) {
+			advisor.usePriority(testDescriptor, priority.getAsInt());
+		}
+		if (!ownResources.isEmpty()) {
+			allResources = union(allResources, new HashSet<>(ownResources));
+		}
+
+		if (locked) {
+			if (!isReadOnly(allResources)) {
+				sameThreadSubtrees.add(testDescriptor);
 			}
 			if (globalLockDescriptor.equals(testDescriptor) && !allResources.contains(GLOBAL_READ_WRITE)) {
 				allResources.add(GLOBAL_READ);
 			}
-			advisor.useResourceLock(testDescriptor, lockManager.getLockForResources(allResources));
+			advisor.useResourceLock(testDescriptor,
+				lockManager.withOwner(lockManager.getLockForResources(allResources), testDescriptor.getUniqueId()));
 		}
+		return allResources;
+	}
+
+	/**
+	 * Merge the supplied sets by adding the smaller one to the larger one,
+	 * which keeps the total cost of aggregating resources bottom-up linear in
+	 * the number of descriptors for a bounded number of distinct resources.
+	 *
+	 * <p>Both sets must either be empty or owned by the caller since they may
+	 * be modified and returned.
+	 */
+	private static Set<ExclusiveResource> union(Set<ExclusiveResource> first, Set<ExclusiveResource> second) {
+		if (second.isEmpty()) {
+			return first;
+		}
+		if (first.isEmpty()) {
+			return second;
+		}
+		if (first.size() < second.size()) {
+			second.addAll(first);
+			return second;
+		}
+		first.addAll(second);
+		return first;
+	}
+
+	private static OptionalInt max(OptionalInt first, OptionalInt second) {
+		if (!first.isPresent()) {
+			return second;
+		}
+		if (!second.isPresent()) {
+			return first;
+		}
+		return first.getAsInt() >= second.getAsInt() ? first : second;
 	}
 
 	private void forceDescendantExecutionModeRecursively(NodeExecutionAdvisor advisor, TestDescriptor testDescriptor) {
 		advisor.forceDescendantExecutionMode(testDescriptor, SAME_THREAD);
-		doForChildrenRecursively(testDescriptor, child -> advisor.forceDescendantExecutionMode(child, SAME_THREAD));
+		testDescriptor.getChildren().forEach(child -> forceDescendantExecutionModeRecursively(advisor, child));
 	}
 
+	/**
+	 * Determine whether the supplied resources may be shared with descendants
+	 * executed in other threads. That is the case for read locks and resources
+	 * with a capacity since their locks are not owned by a thread.
+	 */
 	private boolean isReadOnly(Set<ExclusiveResource> exclusiveResources) {
 		return exclusiveResources.stream().allMatch(
-			exclusiveResource -> exclusiveResource.getLockMode() == ExclusiveResource.LockMode.READ);
+			exclusiveResource -> exclusiveResource.getLockMode() == ExclusiveResource.LockMode.READ
+					|| exclusiveResource.getCapacity() > 0);
 	}
 
 	private Set<ExclusiveResource> getExclusiveResources(TestDescriptor testDescriptor) {
 		return NodeUtils.asNode(testDescriptor).getExclusiveResources();
 	}
 
-	private void doForChildrenRecursively(TestDescriptor parent, Consumer<TestDescriptor> consumer) {
-		parent.getChildren().forEach(child -> {
-			consumer.accept(child);
-			doForChildrenRecursively(child, consumer);
-		});
-	}
-
 }
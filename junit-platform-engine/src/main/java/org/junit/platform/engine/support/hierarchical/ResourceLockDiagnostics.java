@@ -0,0 +1,398 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode;
+
+/**
+ * Records which nodes hold and wait for which {@link ExclusiveResource
+ * ExclusiveResources} along with acquisition latencies and hold times per
+ * resource key.
+ *
+ * <p>If no lock has been acquired or released for the configured stall
+ * timeout while nodes are waiting, a watchdog logs the current lock graph,
+ * i.e. the holders and waiters of each contended resource and any cycle of
+ * nodes waiting for each other. When closed, a report of the resources with
+ * the highest total wait time is logged.
+ *
+ * <p>Holders and waiters are identified by an owner object, typically the
+ * {@linkplain org.junit.platform.engine.UniqueId unique ID} of the node that
+ * uses a {@link ResourceLock}.
+ *
+ * @since 1.10
+ * @see HierarchicalTestEngine#RESOURCE_LOCK_DIAGNOSTICS_ENABLED_PROPERTY_NAME
+ */
+class ResourceLockDiagnostics implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourceLockDiagnostics.class);
+
+	private static final ResourceLockDiagnostics DISABLED = new ResourceLockDiagnostics(false, Duration.ZERO);
+
+	static final int DEFAULT_STALL_TIMEOUT_SECONDS = 60;
+	static final int REPORTED_RESOURCES = 10;
+
+	private final boolean enabled;
+	private final long stallTimeoutNanos;
+	private final Map<String, ResourceState> statesByKey = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService watchdog;
+
+	private volatile long lastProgressNanos = System.nanoTime();
+	private long lastReportedProgressNanos;
+
+	static ResourceLockDiagnostics disabled() {
+		return DISABLED;
+	}
+
+	static ResourceLockDiagnostics create(ConfigurationParameters configurationParameters) {
+		boolean enabled = configurationParameters.getBoolean(
+			HierarchicalTestEngine.RESOURCE_LOCK_DIAGNOSTICS_ENABLED_PROPERTY_NAME).orElse(false);
+		if (!enabled) {
+			return DISABLED;
+		}
+		int stallTimeoutSeconds = configurationParameters.get(
+			HierarchicalTestEngine.RESOURCE_LOCK_STALL_TIMEOUT_PROPERTY_NAME, Integer::parseInt).orElse(
+				DEFAULT_STALL_TIMEOUT_SECONDS);
+		ResourceLockDiagnostics diagnostics = new ResourceLockDiagnostics(true,
+			Duration.ofSeconds(Math.max(0, stallTimeoutSeconds)));
+		diagnostics.startWatchdog();
+		return diagnostics;
+	}
+
+	/**
+	 * Create enabled diagnostics without starting the watchdog; stalls are
+	 * only detected when calling {@link #checkForStall()}.
+	 */
+	ResourceLockDiagnostics(Duration stallTimeout) {
+		this(true, stallTimeout);
+	}
+
+	private ResourceLockDiagnostics(boolean enabled, Duration stallTimeout) {
+		this.enabled = enabled;
+		this.stallTimeoutNanos = stallTimeout.toNanos();
+		this.watchdog = enabled && !stallTimeout.isZero() ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "junit-resource-lock-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	private void startWatchdog() {
+		if (watchdog != null) {
+			long periodMillis = Math.max(100, Math.min(1000, TimeUnit.NANOSECONDS.toMillis(stallTimeoutNanos) / 2));
+			watchdog.scheduleWithFixedDelay(this::checkForStall, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Record that the supplied owner started waiting for the supplied
+	 * resource unless it is already waiting for it.
+	 */
+	void waiting(ExclusiveResource resource, Object owner) {
+		if (enabled) {
+			getState(resource).waiting(resource.getLockMode(), owner);
+		}
+	}
+
+	/**
+	 * Record that the supplied owner stopped waiting for the supplied resource
+	 * without acquiring it.
+	 */
+	void abandoned(ExclusiveResource resource, Object owner) {
+		if (enabled) {
+			getState(resource).abandoned(owner);
+		}
+	}
+
+	void acquired(ExclusiveResource resource, Object owner) {
+		if (enabled) {
+			getState(resource).acquired(resource.getLockMode(), owner);
+			lastProgressNanos = System.nanoTime();
+		}
+	}
+
+	void released(ExclusiveResource resource, Object owner) {
+		if (enabled) {
+			getState(resource).released(owner);
+			lastProgressNanos = System.nanoTime();
+		}
+	}
+
+	private ResourceState getState(ExclusiveResource resource) {
+		return statesByKey.computeIfAbsent(resource.getKey(), ResourceState::new);
+	}
+
+	/**
+	 * Get the statistics of all resources ordered by decreasing total wait
+	 * time.
+	 */
+	List<ResourceStatistics> getStatistics() {
+		// @formatter:off
+		return statesByKey.values().stream()
+				.map(ResourceState::getStatistics)
+				.sorted(comparing(ResourceStatistics::getTotalWaitTime).reversed()
+						.thenComparing(ResourceStatistics::getKey))
+				.collect(toList());
+		// @formatter:on
+	}
+
+	/**
+	 * Log the lock graph if nodes are waiting and no lock has been acquired or
+	 * released for the stall timeout; the same stall is only logged once.
+	 *
+	 * @return whether a stall was logged
+	 */
+	synchronized boolean checkForStall() {
+		long progressNanos = lastProgressNanos;
+		if (progressNanos == lastReportedProgressNanos || System.nanoTime() - progressNanos < stallTimeoutNanos
+				|| statesByKey.values().stream().noneMatch(ResourceState::hasWaiters)) {
+			return false;
+		}
+		lastReportedProgressNanos = progressNanos;
+		String lockGraph = describeLockGraph();
+		logger.warn(() -> String.format("No resource lock has been acquired or released for %d s.%n%s",
+			TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - progressNanos), lockGraph));
+		return true;
+	}
+
+	/**
+	 * Describe the holders and waiters of all resources that nodes are
+	 * waiting for, the waiting nodes, and a cycle of waiting nodes, if any.
+	 */
+	String describeLockGraph() {
+		long now = System.nanoTime();
+		StringBuilder builder = new StringBuilder("Resource lock graph:");
+		Map<Object, Set<Object>> waitsFor = new LinkedHashMap<>();
+		Set<Object> waitingOwners = new LinkedHashSet<>();
+		statesByKey.values().stream().sorted(comparing(state -> state.key)).forEach(state -> {
+			List<Usage> holders;
+			List<Usage> waiters;
+			synchronized (state) {
+				if (state.waiters.isEmpty()) {
+					return;
+				}
+				holders = new ArrayList<>(state.holders.values());
+				waiters = new ArrayList<>(state.waiters.values());
+			}
+			builder.append(String.format("%n- resource '%s'", state.key));
+			holders.forEach(usage -> builder.append(String.format("%n    held by %s", usage.describe(now))));
+			waiters.forEach(usage -> builder.append(String.format("%n    awaited by %s", usage.describe(now))));
+			for (Usage waiter : waiters) {
+				waitingOwners.add(waiter.owner);
+				Set<Object> blockers = waitsFor.computeIfAbsent(waiter.owner, __ -> new LinkedHashSet<>());
+				holders.stream().map(holder -> holder.owner).filter(owner -> !owner.equals(waiter.owner)).forEach(
+					blockers::add);
+			}
+		});
+		builder.append(String.format("%nWaiting nodes:"));
+		waitingOwners.forEach(owner -> builder.append(String.format("%n- %s", owner)));
+		List<Object> cycle = findCycle(waitsFor);
+		if (!cycle.isEmpty()) {
+			builder.append(String.format("%nDeadlock: "));
+			cycle.forEach(owner -> builder.append(owner).append(" -> "));
+			builder.append(cycle.get(0));
+		}
+		return builder.toString();
+	}
+
+	private static List<Object> findCycle(Map<Object, Set<Object>> waitsFor) {
+		Set<Object> visited = new HashSet<>();
+		for (Object owner : waitsFor.keySet()) {
+			List<Object> path = new ArrayList<>();
+			List<Object> cycle = findCycle(owner, waitsFor, visited, path);
+			if (!cycle.isEmpty()) {
+				return cycle;
+			}
+		}
+		return new ArrayList<>();
+	}
+
+	private static List<Object> findCycle(Object owner, Map<Object, Set<Object>> waitsFor, Set<Object> visited,
+			List<Object> path) {
+		int index = path.indexOf(owner);
+		if (index >= 0) {
+			return new ArrayList<>(path.subList(index, path.size()));
+		}
+		if (!visited.add(owner)) {
+			return new ArrayList<>();
+		}
+		path.add(owner);
+		for (Object blocker : waitsFor.getOrDefault(owner, new HashSet<>())) {
+			List<Object> cycle = findCycle(blocker, waitsFor, visited, path);
+			if (!cycle.isEmpty()) {
+				return cycle;
+			}
+		}
+		path.remove(path.size() - 1);
+		return new ArrayList<>();
+	}
+
+	/**
+	 * Describe the resources with the highest total wait time.
+	 */
+	String describeContention() {
+		List<ResourceStatistics> statistics = getStatistics();
+		StringBuilder builder = new StringBuilder(
+			String.format("Resource lock contention (top %d resources by total wait time):", REPORTED_RESOURCES));
+		statistics.stream().limit(REPORTED_RESOURCES).forEach(resource -> builder.append(String.format(
+			"%n- '%s': %d acquisitions, total wait %d ms, max wait %d ms, total hold %d ms", resource.getKey(),
+			resource.getAcquisitions(), resource.getTotalWaitTime().toMillis(), resource.getMaxWaitTime().toMillis(),
+			resource.getTotalHoldTime().toMillis())));
+		return builder.toString();
+	}
+
+	/**
+	 * Stop the watchdog and log the contention report.
+	 */
+	@Override
+	public void close() {
+		if (!enabled) {
+			return;
+		}
+		if (watchdog != null) {
+			watchdog.shutdownNow();
+		}
+		if (!statesByKey.isEmpty()) {
+			logger.info(this::describeContention);
+		}
+	}
+
+	private static class ResourceState {
+
+		private final String key;
+		private final Map<Object, Usage> holders = new LinkedHashMap<>();
+		private final Map<Object, Usage> waiters = new LinkedHashMap<>();
+		private long acquisitions;
+		private long totalWaitNanos;
+		private long maxWaitNanos;
+		private long totalHoldNanos;
+
+		ResourceState(String key) {
+			this.key = key;
+		}
+
+		synchronized void waiting(LockMode lockMode, Object owner) {
+			waiters.putIfAbsent(owner, new Usage(owner, lockMode, System.nanoTime()));
+		}
+
+		synchronized void abandoned(Object owner) {
+			waiters.remove(owner);
+		}
+
+		synchronized void acquired(LockMode lockMode, Object owner) {
+			long now = System.nanoTime();
+			Usage waiter = waiters.remove(owner);
+			long waitNanos = waiter == null ? 0 : now - waiter.sinceNanos;
+			acquisitions++;
+			totalWaitNanos += waitNanos;
+			maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+			holders.put(owner, new Usage(owner, lockMode, now));
+		}
+
+		synchronized void released(Object owner) {
+			Usage holder = holders.remove(owner);
+			if (holder != null) {
+				totalHoldNanos += System.nanoTime() - holder.sinceNanos;
+			}
+		}
+
+		synchronized boolean hasWaiters() {
+			return !waiters.isEmpty();
+		}
+
+		synchronized ResourceStatistics getStatistics() {
+			return new ResourceStatistics(key, acquisitions, Duration.ofNanos(totalWaitNanos),
+				Duration.ofNanos(maxWaitNanos), Duration.ofNanos(totalHoldNanos));
+		}
+
+	}
+
+	private static class Usage {
+
+		private final Object owner;
+		private final LockMode lockMode;
+		private final long sinceNanos;
+
+		Usage(Object owner, LockMode lockMode, long sinceNanos) {
+			this.owner = owner;
+			this.lockMode = lockMode;
+			this.sinceNanos = sinceNanos;
+		}
+
+		String describe(long now) {
+			return String.format("%s in %s mode for %d ms", owner, lockMode,
+				TimeUnit.NANOSECONDS.toMillis(now - sinceNanos));
+		}
+
+	}
+
+	static class ResourceStatistics {
+
+		private final String key;
+		private final long acquisitions;
+		private final Duration totalWaitTime;
+		private final Duration maxWaitTime;
+		private final Duration totalHoldTime;
+
+		ResourceStatistics(String key, long acquisitions, Duration totalWaitTime, Duration maxWaitTime,
+				Duration totalHoldTime) {
+			this.key = key;
+			this.acquisitions = acquisitions;
+			this.totalWaitTime = totalWaitTime;
+			this.maxWaitTime = maxWaitTime;
+			this.totalHoldTime = totalHoldTime;
+		}
+
+		String getKey() {
+			return key;
+		}
+
+		long getAcquisitions() {
+			return acquisitions;
+		}
+
+		Duration getTotalWaitTime() {
+			return totalWaitTime;
+		}
+
+		Duration getMaxWaitTime() {
+			return maxWaitTime;
+		}
+
+		Duration getTotalHoldTime() {
+			return totalHoldTime;
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Per-resource wait queues for tasks whose {@link ResourceLock} could not be
+ * acquired without blocking.
+ *
+ * <p>Instead of blocking the calling thread, a task that cannot acquire one
+ * of its locks releases all locks it has acquired so far and is parked in the
+ * wait queue of the unavailable resource. Once that resource is released,
+ * all tasks parked in its wait queue are resumed so they can try again.
+ *
+ * <p>Only {@link NopLock}, {@link SingleLock}, and {@link CompositeLock} are
+ * {@linkplain #isSupported(ResourceLock) supported}.
+ *
+ * @since 1.10
+ */
+class ResourceLockWaitQueues {
+
+	private final Map<String, Deque<Waiter>> waitQueuesByKey = new ConcurrentHashMap<>();
+	private final LongAdder deferrals = new LongAdder();
+	private final LongAdder deferralNanos = new LongAdder();
+
+	static boolean isSupported(ResourceLock resourceLock) {
+		return resourceLock instanceof NopLock || resourceLock instanceof SingleLock
+				|| resourceLock instanceof CompositeLock;
+	}
+
+	/**
+	 * Try to acquire the supplied resource lock without blocking.
+	 *
+	 * <p>If the lock is not available, {@code resumption} will be called once
+	 * the unavailable resource has been released. It should then try to acquire
+	 * the lock again.
+	 *
+	 * @return {@code true} if the lock was acquired; {@code false} if the task
+	 * was parked
+	 */
+	boolean tryAcquireOrPark(ResourceLock resourceLock, Runnable resumption) {
+		List<ExclusiveResource> resources = getResources(resourceLock);
+		List<Lock> locks = getLocks(resourceLock);
+		for (int i = 0; i < locks.size(); i++) {
+			if (!tryLockOrPark(resources.get(i).getKey(), locks.get(i), resumption)) {
+				release(resources.subList(0, i), locks.subList(0, i));
+				recordWaiting(resourceLock, resources, i);
+				return false;
+			}
+		}
+		ResourceLockDiagnostics diagnostics = getDiagnostics(resourceLock);
+		resources.forEach(resource -> diagnostics.acquired(resource, getOwner(resourceLock)));
+		return true;
+	}
+
+	/**
+	 * Record that the parked task is only waiting for the resource at the
+	 * supplied index, even if it had to wait for others before.
+	 */
+	private static void recordWaiting(ResourceLock resourceLock, List<ExclusiveResource> resources, int index) {
+		ResourceLockDiagnostics diagnostics = getDiagnostics(resourceLock);
+		Object owner = getOwner(resourceLock);
+		for (int i = 0; i < resources.size(); i++) {
+			if (i == index) {
+				diagnostics.waiting(resources.get(i), owner);
+			}
+			else {
+				diagnostics.abandoned(resources.get(i), owner);
+			}
+		}
+	}
+
+	private boolean tryLockOrPark(String key, Lock lock, Runnable resumption) {
+		Deque<Waiter> waitQueue = waitQueuesByKey.computeIfAbsent(key, __ -> new ArrayDeque<>());
+		// Trying and parking must be atomic with respect to resuming waiters
+		// after a release. Otherwise, a task could be parked after the lock
+		// was released and never be resumed.
+		synchronized (waitQueue) {
+			if (lock.tryLock()) {
+				return true;
+			}
+			waitQueue.add(new Waiter(resumption, System.nanoTime()));
+		}
+		deferrals.increment();
+		return false;
+	}
+
+	/**
+	 * Release the supplied resource lock and resume all tasks that are waiting
+	 * for any of its resources.
+	 */
+	void release(ResourceLock resourceLock) {
+		List<ExclusiveResource> resources = getResources(resourceLock);
+		ResourceLockDiagnostics diagnostics = getDiagnostics(resourceLock);
+		resources.forEach(resource -> diagnostics.released(resource, getOwner(resourceLock)));
+		release(resources, getLocks(resourceLock));
+	}
+
+	private void release(List<ExclusiveResource> resources, List<Lock> locks) {
+		for (int i = locks.size() - 1; i >= 0; i--) {
+			locks.get(i).unlock();
+			resumeWaiters(resources.get(i).getKey());
+		}
+	}
+
+	private void resumeWaiters(String key) {
+		Deque<Waiter> waitQueue = waitQueuesByKey.get(key);
+		if (waitQueue == null) {
+			return;
+		}
+		List<Waiter> waiters;
+		synchronized (waitQueue) {
+			if (waitQueue.isEmpty()) {
+				return;
+			}
+			waiters = new ArrayList<>(waitQueue);
+			waitQueue.clear();
+		}
+		long now = System.nanoTime();
+		for (Waiter waiter : waiters) {
+			deferralNanos.add(now - waiter.parkedAtNanos);
+			waiter.resumption.run();
+		}
+	}
+
+	long getDeferralCount() {
+		return deferrals.sum();
+	}
+
+	Duration getTotalDeferralTime() {
+		return Duration.ofNanos(deferralNanos.sum());
+	}
+
+	private static List<ExclusiveResource> getResources(ResourceLock resourceLock) {
+		if (resourceLock instanceof SingleLock) {
+			return singletonList(((SingleLock) resourceLock).getResource());
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).getResources();
+		}
+		return emptyList();
+	}
+
+	private static List<Lock> getLocks(ResourceLock resourceLock) {
+		if (resourceLock instanceof SingleLock) {
+			return singletonList(((SingleLock) resourceLock).getLock());
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).getLocks();
+		}
+		return emptyList();
+	}
+
+	private static ResourceLockDiagnostics getDiagnostics(ResourceLock resourceLock) {
+		if (resourceLock instanceof SingleLock) {
+			return ((SingleLock) resourceLock).getDiagnostics();
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).getDiagnostics();
+		}
+		return ResourceLockDiagnostics.disabled();
+	}
+
+	private static Object getOwner(ResourceLock resourceLock) {
+		if (resourceLock instanceof SingleLock) {
+			return ((SingleLock) resourceLock).getOwner();
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).getOwner();
+		}
+		return resourceLock;
+	}
+
+	private static class Waiter {
+
+		private final Runnable resumption;
+		private final long parkedAtNanos;
+
+		Waiter(Runnable resumption, long parkedAtNanos) {
+			this.resumption = resumption;
+			this.parkedAtNanos = parkedAtNanos;
+		}
+	}
+
+}
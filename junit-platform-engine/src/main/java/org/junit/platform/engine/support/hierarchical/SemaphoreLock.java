@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link Lock} that may be held by up to a fixed number of threads at the
+ * same time, used for {@linkplain ExclusiveResource#getCapacity() counting}
+ * exclusive resources.
+ *
+ * <p>In contrast to the locks used for other resources, this lock is not
+ * reentrant and may be released by a thread other than the one that acquired
+ * it.
+ *
+ * @since 1.10
+ */
+class SemaphoreLock implements Lock {
+
+	private final Semaphore semaphore;
+	private final int capacity;
+
+	SemaphoreLock(int capacity) {
+		this.semaphore = new Semaphore(capacity, true);
+		this.capacity = capacity;
+	}
+
+	int getCapacity() {
+		return capacity;
+	}
+
+	int getAvailablePermits() {
+		return semaphore.availablePermits();
+	}
+
+	@Override
+	public void lock() {
+		semaphore.acquireUninterruptibly();
+	}
+
+	@Override
+	public void lockInterruptibly() throws InterruptedException {
+		semaphore.acquire();
+	}
+
+	@Override
+	public boolean tryLock() {
+		return semaphore.tryAcquire();
+	}
+
+	@Override
+	public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+		return semaphore.tryAcquire(time, unit);
+	}
+
+	@Override
+	public void unlock() {
+		semaphore.release();
+	}
+
+	@Override
+	public Condition newCondition() {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -18,25 +18,63 @@ import java.util.concurrent.locks.Lock;
  */
 class SingleLock implements ResourceLock {
 
+	private final ExclusiveResource resource;
 	private final Lock lock;
+	private final ResourceLockDiagnostics diagnostics;
+	private final Object owner;
 
-	SingleLock(Lock lock) {
+	SingleLock(ExclusiveResource resource, Lock lock) {
+		this(resource, lock, ResourceLockDiagnostics.disabled(), null);
+	}
+
+	SingleLock(ExclusiveResource resource, Lock lock, ResourceLockDiagnostics diagnostics, Object owner) {
+		this.resource = resource;
 		this.lock = lock;
+		this.diagnostics = diagnostics;
+		this.owner = owner;
+	}
+
+	ExclusiveResource getResource() {
+		return resource;
 	}
 
-	// for tests only
 	Lock getLock() {
 		return lock;
 	}
 
+	ResourceLockDiagnostics getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * Get the owner of this lock used for {@linkplain ResourceLockDiagnostics
+	 * diagnostics}, i.e. the supplied owner or this lock if none was supplied.
+	 */
+	Object getOwner() {
+		return owner == null ? this : owner;
+	}
+
+	SingleLock withOwner(Object owner) {
+		return new SingleLock(resource, lock, diagnostics, owner);
+	}
+
 	@Override
 	public ResourceLock acquire() throws InterruptedException {
-		ForkJoinPool.managedBlock(new SingleLockManagedBlocker());
+		diagnostics.waiting(resource, getOwner());
+		try {
+			ForkJoinPool.managedBlock(new SingleLockManagedBlocker());
+		}
+		catch (InterruptedException e) {
+			diagnostics.abandoned(resource, getOwner());
+			throw e;
+		}
+		diagnostics.acquired(resource, getOwner());
 		return this;
 	}
 
 	@Override
 	public void release() {
+		diagnostics.released(resource, getOwner());
 		lock.unlock();
 	}
 
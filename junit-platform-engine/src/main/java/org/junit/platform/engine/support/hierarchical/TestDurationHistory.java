@@ -0,0 +1,271 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparingLong;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+
+/**
+ * Durations of previous test runs keyed by {@link UniqueId}, used to execute
+ * {@linkplain Node.ExecutionMode#CONCURRENT concurrent} siblings in order of
+ * decreasing expected duration (longest processing time first).
+ *
+ * <p>Durations are loaded from the file configured via
+ * {@link HierarchicalTestEngine#DURATION_HISTORY_FILE_PROPERTY_NAME} and
+ * written back after execution. Each entry consists of the duration in
+ * milliseconds and the time the test or container was last executed, in
+ * milliseconds since the epoch, separated by a space.
+ *
+ * <p>When writing, the file is read again and merged while holding a
+ * {@link FileLock} on a sibling {@code .lock} file, so that engines and JVMs
+ * writing concurrently do not lose each other's entries. Entries for unique
+ * IDs that were not executed in the current run, e.g. those of other engines
+ * or shards, are retained unless they have not been executed for
+ * {@link #RETENTION_PERIOD}, which removes entries of tests that no longer
+ * exist.
+ *
+ * @since 1.10
+ */
+class TestDurationHistory {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestDurationHistory.class);
+
+	private static final TestDurationHistory DISABLED = new TestDurationHistory(null, emptyMap(),
+		Clock.systemUTC());
+
+	static final Duration RETENTION_PERIOD = Duration.ofDays(30);
+
+	// guards the file lock since it is held on behalf of the entire JVM
+	private static final Object SAVE_LOCK = new Object();
+
+	private final Path file;
+	private final Map<String, Long> previousDurations;
+	private final Clock clock;
+	private final Map<String, Long> currentDurations = new ConcurrentHashMap<>();
+
+	static TestDurationHistory disabled() {
+		return DISABLED;
+	}
+
+	static TestDurationHistory load(ConfigurationParameters configurationParameters) {
+		return configurationParameters.get(HierarchicalTestEngine.DURATION_HISTORY_FILE_PROPERTY_NAME) //
+				.map(String::trim) //
+				.filter(fileName -> !fileName.isEmpty()) //
+				.map(fileName -> load(Paths.get(fileName))) //
+				.orElse(DISABLED);
+	}
+
+	static TestDurationHistory load(Path file) {
+		return load(file, Clock.systemUTC());
+	}
+
+	static TestDurationHistory load(Path file, Clock clock) {
+		Map<String, Long> durations = new HashMap<>();
+		readEntries(file).forEach((key, value) -> {
+			OptionalLong duration = parseDuration(value);
+			if (duration.isPresent()) {
+				durations.put(key, duration.getAsLong());
+			}
+		});
+		return new TestDurationHistory(file, durations, clock);
+	}
+
+	private TestDurationHistory(Path file, Map<String, Long> previousDurations, Clock clock) {
+		this.file = file;
+		this.previousDurations = previousDurations;
+		this.clock = clock;
+	}
+
+	boolean isEnabled() {
+		return file != null;
+	}
+
+	/**
+	 * Get the duration in milliseconds the test or container with the
+	 * supplied unique ID took in the previous run, if known.
+	 */
+	OptionalLong getExpectedDuration(UniqueId uniqueId) {
+		Long duration = previousDurations.get(uniqueId.toString());
+		return duration == null ? OptionalLong.empty() : OptionalLong.of(duration);
+	}
+
+	void recordDuration(UniqueId uniqueId, long durationInMillis) {
+		if (isEnabled()) {
+			currentDurations.put(uniqueId.toString(), durationInMillis);
+		}
+	}
+
+	/**
+	 * Reorder the concurrent tasks in the supplied list so that the ones
+	 * expected to take longest come first.
+	 *
+	 * <p>Tasks that are not executed concurrently keep their position. Tasks
+	 * without a recorded duration are assumed to take as long as the average
+	 * of their siblings with a recorded duration. If no duration is known for
+	 * any of the tasks, the list is left unchanged.
+	 */
+	<T extends TestTask> void orderLongestFirst(List<T> tasks, Function<? super T, UniqueId> uniqueIdExtractor) {
+		if (!isEnabled() || tasks.size() < 2) {
+			return;
+		}
+		List<Integer> positions = new ArrayList<>();
+		List<T> concurrentTasks = new ArrayList<>();
+		Map<T, Long> expectedDurations = new HashMap<>();
+		long knownTotal = 0;
+		int knownCount = 0;
+		for (int i = 0; i < tasks.size(); i++) {
+			T task = tasks.get(i);
+			if (task.getExecutionMode() == CONCURRENT) {
+				positions.add(i);
+				concurrentTasks.add(task);
+				OptionalLong expectedDuration = getExpectedDuration(uniqueIdExtractor.apply(task));
+				if (expectedDuration.isPresent()) {
+					expectedDurations.put(task, expectedDuration.getAsLong());
+					knownTotal += expectedDuration.getAsLong();
+					knownCount++;
+				}
+			}
+		}
+		if (knownCount == 0 || concurrentTasks.size() < 2) {
+			return;
+		}
+		long defaultDuration = knownTotal / knownCount;
+		// List.sort() is stable, so tasks with equal estimates keep their relative order
+		concurrentTasks.sort(comparingLong(task -> -expectedDurations.getOrDefault(task, defaultDuration)));
+		for (int i = 0; i < positions.size(); i++) {
+			tasks.set(positions.get(i), concurrentTasks.get(i));
+		}
+	}
+
+	/**
+	 * Merge the durations recorded in the current run into the configured
+	 * file and remove entries that have not been executed within the
+	 * {@linkplain #RETENTION_PERIOD retention period}.
+	 */
+	@SuppressWarnings("try")
+	void save() {
+		if (!isEnabled() || currentDurations.isEmpty()) {
+			return;
+		}
+		long now = clock.millis();
+		long oldestRetained = now - RETENTION_PERIOD.toMillis();
+		try {
+			Path parent = file.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			Path lockFile = parent.resolve(file.getFileName() + ".lock");
+			synchronized (SAVE_LOCK) {
+				try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+					// re-read the file since other engines or JVMs may have written it in the meantime
+					Map<String, String> entries = readEntries(file);
+					Properties properties = new Properties();
+					entries.forEach((key, value) -> {
+						OptionalLong duration = parseDuration(value);
+						long lastExecuted = parseLastExecuted(value).orElse(now);
+						if (duration.isPresent() && lastExecuted >= oldestRetained) {
+							properties.setProperty(key, duration.getAsLong() + " " + lastExecuted);
+						}
+					});
+					currentDurations.forEach((key, value) -> properties.setProperty(key, value + " " + now));
+					write(properties, parent);
+				}
+			}
+		}
+		catch (IOException ex) {
+			logger.warn(ex, () -> "Failed to write test duration history to " + file);
+		}
+	}
+
+	private void write(Properties properties, Path directory) throws IOException {
+		// write to a temporary file first so that readers never see a partially written file
+		Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(tempFile)) {
+				properties.store(out, "Test durations and last execution times in milliseconds");
+			}
+			Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static Map<String, String> readEntries(Path file) {
+		Map<String, String> entries = new HashMap<>();
+		if (Files.isRegularFile(file)) {
+			Properties properties = new Properties();
+			try (InputStream in = Files.newInputStream(file)) {
+				properties.load(in);
+			}
+			catch (IOException ex) {
+				logger.warn(ex, () -> "Failed to read test duration history from " + file);
+			}
+			properties.stringPropertyNames().forEach(key -> entries.put(key, properties.getProperty(key)));
+		}
+		return entries;
+	}
+
+	private static OptionalLong parseDuration(String value) {
+		return parseField(value, 0);
+	}
+
+	/**
+	 * Parse the last execution time of the supplied entry; entries written by
+	 * earlier versions only consist of the duration.
+	 */
+	private static OptionalLong parseLastExecuted(String value) {
+		return parseField(value, 1);
+	}
+
+	private static OptionalLong parseField(String value, int index) {
+		String[] fields = value.trim().split("\\s+");
+		if (index >= fields.length) {
+			return OptionalLong.empty();
+		}
+		try {
+			return OptionalLong.of(Long.parseLong(fields[index]));
+		}
+		catch (NumberFormatException ignore) {
+			// ignore malformed entries
+			return OptionalLong.empty();
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.unmodifiableList;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
+
+/**
+ * Groups consecutive concurrent tests without children that use the same
+ * {@link ResourceLock} into {@linkplain Batch batches} that are executed as a
+ * single task, so that the overhead of forking, joining, and locking is not
+ * comparable to the duration of very short tests.
+ *
+ * <p>Batches are sized so that executing one takes about
+ * {@linkplain #TARGET_BATCH_NANOS a millisecond} based on the average
+ * observed duration of tests, but are kept small enough to distribute the
+ * tests evenly among all workers.
+ *
+ * @since 1.10
+ * @see ForkJoinPoolHierarchicalTestExecutorService#CONFIG_BATCHING_ENABLED_PROPERTY_NAME
+ */
+class TestTaskBatcher {
+
+	static final long TARGET_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	static final long INITIAL_TASK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+	static final int MAX_BATCH_SIZE = 1024;
+	static final int BATCHES_PER_WORKER = 4;
+
+	private final int parallelism;
+
+	// updated without synchronization since losing a sample does no harm
+	private volatile long averageTaskNanos = INITIAL_TASK_NANOS;
+
+	TestTaskBatcher(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	static boolean isBatchable(TestTask testTask) {
+		return testTask.getExecutionMode() == CONCURRENT && testTask instanceof NodeTestTask
+				&& ((NodeTestTask<?>) testTask).isTest();
+	}
+
+	/**
+	 * Record the duration of a {@linkplain #isBatchable(TestTask) batchable}
+	 * task as an exponentially weighted moving average.
+	 */
+	void recordDuration(long nanos) {
+		long average = averageTaskNanos;
+		averageTaskNanos = average + (nanos - average) / 16;
+	}
+
+	long getAverageTaskNanos() {
+		return averageTaskNanos;
+	}
+
+	int getBatchSize(int numberOfTasks) {
+		long byDuration = TARGET_BATCH_NANOS / Math.max(1, averageTaskNanos);
+		long byWorkers = numberOfTasks / ((long) parallelism * BATCHES_PER_WORKER);
+		return (int) Math.max(1, Math.min(MAX_BATCH_SIZE, Math.min(byDuration, byWorkers)));
+	}
+
+	/**
+	 * Replace runs of consecutive batchable tasks with the same underlying
+	 * resource locks in the supplied list with batches, retaining the order of
+	 * all tasks.
+	 */
+	List<TestTask> batch(List<? extends TestTask> tasks) {
+		List<TestTask> result = new ArrayList<>(tasks.size());
+		List<TestTask> run = new ArrayList<>();
+		ResourceLock runLock = null;
+		for (TestTask task : tasks) {
+			if (!isBatchable(task)) {
+				addBatches(run, runLock, result);
+				result.add(task);
+				continue;
+			}
+			ResourceLock resourceLock = task.getResourceLock();
+			if (runLock == null || !getUnderlyingLocks(resourceLock).equals(getUnderlyingLocks(runLock))) {
+				addBatches(run, runLock, result);
+				runLock = resourceLock;
+			}
+			run.add(task);
+		}
+		addBatches(run, runLock, result);
+		return result;
+	}
+
+	/**
+	 * Get the locks the supplied resource lock acquires.
+	 *
+	 * <p>If {@linkplain ResourceLockDiagnostics diagnostics} are enabled, each
+	 * node has its own copy of its resource lock that names the node as its
+	 * owner. Comparing the underlying locks lets such nodes still be batched.
+	 */
+	private static Object getUnderlyingLocks(ResourceLock resourceLock) {
+		if (resourceLock instanceof SingleLock) {
+			return ((SingleLock) resourceLock).getLock();
+		}
+		if (resourceLock instanceof CompositeLock) {
+			return ((CompositeLock) resourceLock).getLocks();
+		}
+		return resourceLock;
+	}
+
+	private void addBatches(List<TestTask> run, ResourceLock resourceLock, List<TestTask> result) {
+		int batchSize = getBatchSize(run.size());
+		for (int from = 0; from < run.size(); from += batchSize) {
+			List<TestTask> tasks = run.subList(from, Math.min(run.size(), from + batchSize));
+			result.add(tasks.size() == 1 ? tasks.get(0) : new Batch(new ArrayList<>(tasks), resourceLock));
+		}
+		run.clear();
+	}
+
+	/**
+	 * Concurrent tasks with the same resource lock that are executed one after
+	 * another while holding the lock once.
+	 *
+	 * <p>The lock of the first task is used for the entire batch, so
+	 * diagnostics attribute it to that task.
+	 */
+	static class Batch implements TestTask {
+
+		private final List<TestTask> tasks;
+		private final ResourceLock resourceLock;
+
+		Batch(List<TestTask> tasks, ResourceLock resourceLock) {
+			this.tasks = unmodifiableList(tasks);
+			this.resourceLock = resourceLock;
+		}
+
+		List<TestTask> getTasks() {
+			return tasks;
+		}
+
+		@Override
+		public ExecutionMode getExecutionMode() {
+			return CONCURRENT;
+		}
+
+		@Override
+		public ResourceLock getResourceLock() {
+			return resourceLock;
+		}
+
+		@Override
+		public void execute() {
+			tasks.forEach(TestTask::execute);
+		}
+
+	}
+
+}
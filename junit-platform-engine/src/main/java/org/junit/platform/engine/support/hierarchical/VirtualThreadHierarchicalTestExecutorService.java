@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ExceptionUtils;
+import org.junit.platform.engine.support.hierarchical.ExecutionTimeline.Phase;
+
+/**
+ * A {@linkplain HierarchicalTestExecutorService executor service} that
+ * executes each {@linkplain Node.ExecutionMode#CONCURRENT concurrent}
+ * {@linkplain TestTask test task} in its own virtual thread.
+ *
+ * <p>Since virtual threads are cheap to create and do not occupy a platform
+ * thread while they are blocked, this service is well suited for test suites
+ * that spend most of their time waiting for I/O. In contrast to
+ * {@link ForkJoinPoolHierarchicalTestExecutorService}, the number of tests
+ * that are executed concurrently is not limited by a configured parallelism.
+ *
+ * <p>Virtual threads are only available on Java 21 and later. Use
+ * {@link #isSupported()} to check whether this service can be used on the
+ * current Java runtime.
+ *
+ * @since 1.10
+ * @see ForkJoinPoolHierarchicalTestExecutorService
+ */
+@API(status = EXPERIMENTAL, since = "1.10")
+public class VirtualThreadHierarchicalTestExecutorService implements HierarchicalTestExecutorService {
+
+	private final ExecutorService executorService;
+
+	/**
+	 * Create a new {@code VirtualThreadHierarchicalTestExecutorService}.
+	 *
+	 * @throws JUnitException if virtual threads are not supported by the
+	 * current Java runtime
+	 * @see #isSupported()
+	 */
+	public VirtualThreadHierarchicalTestExecutorService() {
+		executorService = createExecutorService();
+		LoggerFactory.getLogger(getClass()).config(() -> "Using virtual threads for parallel test execution");
+	}
+
+	/**
+	 * Determine if virtual threads are supported by the current Java runtime.
+	 *
+	 * @return {@code true} if this service can be created, otherwise
+	 * {@code false}
+	 */
+	public static boolean isSupported() {
+		return Try.call(() -> Thread.class.getMethod("ofVirtual")).toOptional().isPresent();
+	}
+
+	private static ExecutorService createExecutorService() {
+		ThreadFactory threadFactory = createVirtualThreadFactory();
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return Try.call(() -> {
+			// Use reflection since virtual threads are only available in Java >= 21
+			Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) method.invoke(null,
+				new ContextClassLoaderThreadFactory(threadFactory, contextClassLoader));
+		}).getOrThrow(cause -> new JUnitException("Failed to create virtual thread executor", cause));
+	}
+
+	private static ThreadFactory createVirtualThreadFactory() {
+		return Try.call(() -> {
+			// Use reflection since virtual threads are only available in Java >= 21
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			builder = builderType.getMethod("name", String.class, Long.TYPE).invoke(builder, "junit-virtual-", 0L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		}).getOrThrow(cause -> new JUnitException("Virtual threads are not supported by the current JRE", cause));
+	}
+
+	@Override
+	public Future<Void> submit(TestTask testTask) {
+		if (testTask.getExecutionMode() == CONCURRENT) {
+			return fork(testTask);
+		}
+		executeWithResourceLock(testTask);
+		return completedFuture(null);
+	}
+
+	@Override
+	public void invokeAll(List<? extends TestTask> tasks) {
+		if (tasks.size() == 1) {
+			executeWithResourceLock(tasks.get(0));
+			return;
+		}
+		List<TestTask> nonConcurrentTasks = new ArrayList<>();
+		List<TestTask> concurrentTasks = new ArrayList<>();
+		List<Future<Void>> futures = new ArrayList<>();
+		for (TestTask testTask : tasks) {
+			if (testTask.getExecutionMode() == CONCURRENT) {
+				concurrentTasks.add(testTask);
+				futures.add(fork(testTask));
+			}
+			else {
+				nonConcurrentTasks.add(testTask);
+			}
+		}
+		nonConcurrentTasks.forEach(VirtualThreadHierarchicalTestExecutorService::executeWithResourceLock);
+		for (int i = 0; i < futures.size(); i++) {
+			join(concurrentTasks.get(i), futures.get(i));
+		}
+	}
+
+	private Future<Void> fork(TestTask testTask) {
+		return executorService.submit(() -> executeWithResourceLock(testTask), null);
+	}
+
+	private static void join(TestTask testTask, Future<Void> future) {
+		ExecutionTimeline timeline = ExecutionTimeline.of(testTask);
+		long startTime = timeline.start();
+		try {
+			future.get();
+		}
+		catch (ExecutionException e) {
+			ExceptionUtils.throwAsUncheckedException(e.getCause());
+		}
+		catch (InterruptedException e) {
+			ExceptionUtils.throwAsUncheckedException(e);
+		}
+		finally {
+			timeline.record(Phase.JOIN_WAIT, testTask, startTime);
+		}
+	}
+
+	@SuppressWarnings("try")
+	private static void executeWithResourceLock(TestTask testTask) {
+		ExecutionTimeline timeline = ExecutionTimeline.of(testTask);
+		long startTime = timeline.start();
+		try (ResourceLock lock = testTask.getResourceLock().acquire()) {
+			timeline.record(Phase.LOCK_WAIT, testTask, startTime);
+			testTask.execute();
+		}
+		catch (InterruptedException e) {
+			ExceptionUtils.throwAsUncheckedException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		executorService.shutdownNow();
+	}
+
+	static class ContextClassLoaderThreadFactory implements ThreadFactory {
+
+		private final ThreadFactory delegate;
+		private final ClassLoader contextClassLoader;
+
+		ContextClassLoaderThreadFactory(ThreadFactory delegate, ClassLoader contextClassLoader) {
+			this.delegate = delegate;
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = delegate.newThread(runnable);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		}
+	}
+
+}
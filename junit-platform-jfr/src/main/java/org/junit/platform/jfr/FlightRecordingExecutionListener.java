@@ -27,6 +27,7 @@ import jdk.jfr.StackTrace;
 import org.apiguardian.api.API;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
@@ -39,7 +40,7 @@ import org.junit.platform.launcher.TestPlan;
  * @see <a href="https://openjdk.java.net/jeps/328">JEP 328: Flight Recorder</a>
  */
 @API(status = EXPERIMENTAL, since = "1.8")
-public class FlightRecordingExecutionListener implements TestExecutionListener {
+public class FlightRecordingExecutionListener implements SynchronousTestExecutionListener {
 
 	private final AtomicReference<TestPlanExecutionEvent> testPlanExecutionEvent = new AtomicReference<>();
 	private final Map<String, TestExecutionEvent> testExecutionEvents = new ConcurrentHashMap<>();
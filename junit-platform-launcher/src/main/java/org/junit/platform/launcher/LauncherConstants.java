@@ -10,6 +10,7 @@
 
 package org.junit.platform.launcher;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 import org.apiguardian.api.API;
@@ -135,6 +136,292 @@ public class LauncherConstants {
 	 */
 	public static final String DEACTIVATE_ALL_LISTENERS_PATTERN = ClassNamePatternFilterUtils.DEACTIVATE_ALL_PATTERN;
 
+	/**
+	 * Property name used to enable discovering tests using all test engines
+	 * concurrently: {@value}
+	 *
+	 * <p>By default, test engines discover tests one after the other. If
+	 * enabled, each test engine discovers tests in a separate thread. Events
+	 * are nevertheless reported to {@link LauncherDiscoveryListener
+	 * LauncherDiscoveryListeners} engine by engine in the order in which the
+	 * engines were registered, after the respective engine has finished
+	 * discovering tests. Engines must therefore not rely on the listener being
+	 * notified while they are discovering tests.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME = "junit.platform.discovery.parallel.enabled";
+
+	/**
+	 * Property name used to set the directory in which the test classes each
+	 * test engine discovered in each classpath root are cached: {@value}
+	 *
+	 * <p>If set, the cache is consulted for each
+	 * {@link org.junit.platform.engine.discovery.ClasspathRootSelector
+	 * ClasspathRootSelector}. If neither the files in the classpath root nor
+	 * the engine, the other selectors, the filters, or the configuration
+	 * parameters have changed since the previous discovery, the selector is
+	 * replaced by {@link org.junit.platform.engine.discovery.ClassSelector
+	 * ClassSelectors} for the test classes discovered previously, so that the
+	 * classpath root does not have to be scanned again. Changes in one
+	 * classpath root only invalidate the cached test classes of that root.
+	 * Requests that differ in any of the other inputs, for example, different
+	 * shards, use separate cache files. System properties are only taken into
+	 * account if their names start with {@code junit.}.
+	 *
+	 * <p>Test classes are only cached for engines whose top-level test
+	 * descriptors all have a {@link org.junit.platform.engine.support.descriptor.ClassSource
+	 * ClassSource} and only if the request does not contain selectors other
+	 * than class, method, and unique ID selectors besides the classpath roots.
+	 *
+	 * <p>By default, no cache is used.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME = "junit.platform.discovery.cache.dir";
+
+	/**
+	 * Property name used to set the number of shards the discovered tests are
+	 * partitioned into: {@value}
+	 *
+	 * <p>If set, the {@link Launcher} only retains the tests of the shard
+	 * configured via {@link #SHARD_INDEX_PROPERTY_NAME}. The tests are
+	 * partitioned deterministically, so that launching the same tests with
+	 * each index from {@code 0} to {@code count - 1}, for example, in
+	 * separate JVMs or on separate machines, executes each test exactly once.
+	 *
+	 * <p>Value must be a positive integer; defaults to {@code 1}.
+	 *
+	 * @since 1.10
+	 * @see #SHARD_INDEX_PROPERTY_NAME
+	 * @see #SHARD_GRANULARITY_PROPERTY_NAME
+	 * @see #SHARD_STRATEGY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String SHARD_COUNT_PROPERTY_NAME = "junit.platform.discovery.shard.count";
+
+	/**
+	 * Property name used to set the zero-based index of the shard whose tests
+	 * should be retained: {@value}
+	 *
+	 * <p>Value must be an integer between {@code 0} and the value of
+	 * {@link #SHARD_COUNT_PROPERTY_NAME} (exclusive).
+	 *
+	 * @since 1.10
+	 * @see #SHARD_COUNT_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String SHARD_INDEX_PROPERTY_NAME = "junit.platform.discovery.shard.index";
+
+	/**
+	 * Property name used to set the granularity at which tests are assigned to
+	 * shards: {@value}
+	 *
+	 * <p>Supported values:
+	 * <ul>
+	 * <li>{@code class}: all tests of a class, i.e. the outermost test
+	 * descriptor with a {@link org.junit.platform.engine.support.descriptor.ClassSource
+	 * ClassSource}, are assigned to the same shard</li>
+	 * <li>{@code container}: all tests of a top-level container, i.e. a child
+	 * of an engine descriptor, are assigned to the same shard</li>
+	 * </ul>
+	 *
+	 * <p>Defaults to {@code class}.
+	 *
+	 * @since 1.10
+	 * @see #SHARD_COUNT_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String SHARD_GRANULARITY_PROPERTY_NAME = "junit.platform.discovery.shard.granularity";
+
+	/**
+	 * Property name used to set the strategy used to assign tests to shards:
+	 * {@value}
+	 *
+	 * <p>Supported values:
+	 * <ul>
+	 * <li>{@code hash}: each class or container is assigned to a shard based
+	 * on a stable hash of its class name or unique ID. If the granularity is
+	 * {@code class}, classes of other shards are filtered out by name before
+	 * test engines resolve them.</li>
+	 * <li>{@code duration}: classes or containers are assigned to shards in
+	 * order of decreasing duration, each to the shard with the lowest total
+	 * duration so far. Durations are read from the file configured via
+	 * {@link org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine#DURATION_HISTORY_FILE_PROPERTY_NAME
+	 * junit.platform.execution.duration.history.file}, which must have the
+	 * same contents for all shards. Classes or containers without a recorded
+	 * duration are assumed to take as long as the average of those with a
+	 * recorded duration.</li>
+	 * </ul>
+	 *
+	 * <p>Defaults to {@code hash}.
+	 *
+	 * @since 1.10
+	 * @see #SHARD_COUNT_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String SHARD_STRATEGY_PROPERTY_NAME = "junit.platform.discovery.shard.strategy";
+
+	/**
+	 * Property name used to enable executing the tests of all test engines
+	 * concurrently: {@value}
+	 *
+	 * <p>By default, test engines execute tests one after the other. If
+	 * enabled, each test engine executes its tests in a separate thread and
+	 * {@link TestExecutionListener TestExecutionListeners} are never notified
+	 * of events of different engines concurrently. Events of different engines
+	 * may be interleaved, but the outcome of each engine is still only
+	 * reported after all of its tests have finished.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String PARALLEL_ENGINE_EXECUTION_ENABLED_PROPERTY_NAME = "junit.platform.execution.engines.parallel.enabled";
+
+	/**
+	 * Property name used to enable notifying {@link TestExecutionListener
+	 * TestExecutionListeners} asynchronously: {@value}
+	 *
+	 * <p>By default, listeners are notified on the thread that reported an
+	 * event, so a slow listener delays the execution of tests. If enabled,
+	 * events are added to a bounded buffer and a dedicated thread notifies
+	 * listeners of them in batches, in the order in which they were added.
+	 * Listeners that implement {@link SynchronousTestExecutionListener} are
+	 * still notified synchronously. Once the buffer is full, threads that
+	 * report events wait until there is space again. All buffered events have
+	 * been delivered when the launcher returns from executing a test plan.
+	 *
+	 * <p>Value must be either {@code true} or {@code false}; defaults to
+	 * {@code false}.
+	 *
+	 * @since 1.10
+	 * @see #ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME = "junit.platform.execution.listeners.async.enabled";
+
+	/**
+	 * Property name used to configure the maximum number of events that are
+	 * buffered if {@linkplain #ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME
+	 * asynchronous dispatch} is enabled: {@value}
+	 *
+	 * <p>Value must be a positive integer; it is rounded up to the next power
+	 * of two. Defaults to {@value #ASYNC_LISTENER_DISPATCH_CAPACITY_DEFAULT}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME = "junit.platform.execution.listeners.async.capacity";
+
+	/**
+	 * Default maximum number of events that are buffered if
+	 * {@linkplain #ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME asynchronous
+	 * dispatch} is enabled.
+	 *
+	 * @since 1.10
+	 * @see #ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final int ASYNC_LISTENER_DISPATCH_CAPACITY_DEFAULT = 8192;
+
+	/**
+	 * Property name used to configure the number of child JVMs that execute
+	 * tests in forked execution mode: {@value}
+	 *
+	 * <p>By default, tests are executed in the current JVM. If set to a
+	 * positive integer, the launcher starts up to the configured number of
+	 * child JVMs using the current Java executable and class path. The
+	 * top-level containers of each test engine, typically test classes, are
+	 * handed out one at a time to the next idle child JVM, which discovers and
+	 * executes them and reports their events back to the launcher.
+	 * {@link TestExecutionListener TestExecutionListeners} are notified of one
+	 * event at a time in the current JVM.
+	 *
+	 * <p>All configuration parameters are passed to the child JVMs except for
+	 * system properties of the current JVM whose names do not start with
+	 * {@code junit.}; such properties need to be passed via
+	 * {@link #FORK_JVM_ARGS_PROPERTY_NAME}.
+	 *
+	 * <p>If a child JVM terminates unexpectedly, the tests it was executing at
+	 * that point are reported as failed, the tests of the same container that
+	 * have not been started are reported as skipped, and a new child JVM is
+	 * started for the remaining containers. Standard output and standard error of the child
+	 * JVMs are both redirected to the standard error stream of the current
+	 * process.
+	 *
+	 * <p>Forked execution requires test engines to support selecting their
+	 * top-level containers by {@linkplain
+	 * org.junit.platform.engine.discovery.UniqueIdSelector unique ID}.
+	 *
+	 * <p>Value must be a non-negative integer; defaults to {@code 0} which
+	 * disables forked execution.
+	 *
+	 * @since 1.10
+	 * @see #FORK_JVM_ARGS_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String FORK_COUNT_PROPERTY_NAME = "junit.platform.execution.fork.count";
+
+	/**
+	 * Property name used to configure additional arguments for the child JVMs
+	 * started in {@linkplain #FORK_COUNT_PROPERTY_NAME forked execution mode}:
+	 * {@value}
+	 *
+	 * <p>Value must be a whitespace-separated list of JVM arguments, for
+	 * example {@code -Xmx512m -Dfile.encoding=UTF-8}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String FORK_JVM_ARGS_PROPERTY_NAME = "junit.platform.execution.fork.jvm.args";
+
+	/**
+	 * Property name used to configure the number of failures after which the
+	 * execution is cancelled: {@value}
+	 *
+	 * <p>Once the configured number of tests or containers of all engines has
+	 * failed, the {@linkplain org.junit.platform.engine.CancellationToken
+	 * cancellation token} of the execution is cancelled so that all remaining
+	 * tests are skipped; tests that are already being executed are not
+	 * interrupted. Failures are counted per execution, i.e. executing the same
+	 * request again starts counting from zero.
+	 *
+	 * <p>Value must be a non-negative integer; {@code 1} cancels execution
+	 * after the first failure and {@code 0} disables cancellation due to
+	 * failures. Defaults to {@code 0}.
+	 *
+	 * @since 1.10
+	 * @see LauncherDiscoveryRequest#getCancellationToken()
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CANCELLATION_MAX_FAILURES_PROPERTY_NAME = "junit.platform.execution.cancellation.max.failures";
+
+	/**
+	 * Property name used to configure the number of seconds after which the
+	 * execution is cancelled: {@value}
+	 *
+	 * <p>Once the configured time has elapsed since the execution started, the
+	 * {@linkplain org.junit.platform.engine.CancellationToken cancellation
+	 * token} of the execution is cancelled so that all remaining tests of all
+	 * engines are skipped.
+	 *
+	 * <p>Value must be a non-negative integer; {@code 0} disables the timeout.
+	 * Defaults to {@code 0}.
+	 *
+	 * @since 1.10
+	 * @see LauncherDiscoveryRequest#getCancellationToken()
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public static final String CANCELLATION_TIMEOUT_PROPERTY_NAME = "junit.platform.execution.cancellation.timeout";
+
 	private LauncherConstants() {
 		/* no-op */
 	}
@@ -14,8 +14,10 @@ import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apiguardian.api.API;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.DiscoveryFilter;
 import org.junit.platform.engine.DiscoverySelector;
@@ -97,4 +99,29 @@ public interface LauncherDiscoveryRequest extends EngineDiscoveryRequest {
 		return LauncherDiscoveryListener.NOOP;
 	}
 
+	/**
+	 * Get the {@link CancellationToken} that may be used to stop executions of
+	 * the tests discovered for this request early, if any.
+	 *
+	 * <p>For each execution, the launcher passes a new
+	 * {@linkplain CancellationToken#createChild() child} of this token to all
+	 * engines; once this token has been cancelled, engines skip tests that have
+	 * not yet started. Since the launcher and the engines only cancel the
+	 * child, e.g. after the
+	 * {@linkplain LauncherConstants#CANCELLATION_MAX_FAILURES_PROPERTY_NAME
+	 * configured number of failures}, the request may be executed again
+	 * unless this token has been cancelled.
+	 *
+	 * <p>The default implementation returns an empty {@code Optional}, i.e.
+	 * executions can only be cancelled by the launcher and the engines.
+	 *
+	 * @return an {@code Optional} containing the cancellation token; never
+	 * {@code null} but potentially empty
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	default Optional<CancellationToken> getCancellationToken() {
+		return Optional.empty();
+	}
+
 }
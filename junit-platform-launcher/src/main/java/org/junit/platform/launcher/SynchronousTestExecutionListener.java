@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import org.apiguardian.api.API;
+
+/**
+ * Marker interface for {@link TestExecutionListener TestExecutionListeners}
+ * that must be notified on the thread that reported an event, even if
+ * {@linkplain LauncherConstants#ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME
+ * asynchronous dispatch} is enabled.
+ *
+ * <p>Listeners should implement this interface if they record the time at
+ * which events occur or rely on the thread that executes a test, for example,
+ * by inspecting thread-local state.
+ *
+ * @since 1.10
+ * @see LauncherConstants#ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME
+ */
+@API(status = EXPERIMENTAL, since = "1.10")
+public interface SynchronousTestExecutionListener extends TestExecutionListener {
+}
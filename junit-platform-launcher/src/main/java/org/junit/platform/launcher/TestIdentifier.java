@@ -27,6 +27,7 @@ import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.util.Preconditions;
@@ -65,6 +66,17 @@ public final class TestIdentifier implements Serializable {
 	 */
 	@API(status = INTERNAL, since = "1.0")
 	public static TestIdentifier from(TestDescriptor testDescriptor) {
+		return from(testDescriptor, UnaryOperator.identity());
+	}
+
+	/**
+	 * Create a new {@link TestIdentifier} from a {@link TestDescriptor} whose
+	 * set of tags is replaced by the result of the supplied operator, for
+	 * example, to share equal sets between identifiers.
+	 *
+	 * @since 1.10
+	 */
+	static TestIdentifier from(TestDescriptor testDescriptor, UnaryOperator<Set<TestTag>> canonicalTags) {
 		Preconditions.notNull(testDescriptor, "TestDescriptor must not be null");
 		UniqueId uniqueId = testDescriptor.getUniqueId();
 		String displayName = testDescriptor.getDisplayName();
@@ -73,7 +85,8 @@ public final class TestIdentifier implements Serializable {
 		Type type = testDescriptor.getType();
 		UniqueId parentId = testDescriptor.getParent().map(TestDescriptor::getUniqueId).orElse(null);
 		String legacyReportingName = testDescriptor.getLegacyReportingName();
-		return new TestIdentifier(uniqueId, displayName, source, tags, type, parentId, legacyReportingName);
+		return new TestIdentifier(uniqueId, displayName, source, canonicalTags.apply(copyOf(tags)), type, parentId,
+			legacyReportingName);
 	}
 
 	private TestIdentifier(UniqueId uniqueId, String displayName, TestSource source, Set<TestTag> tags, Type type,
@@ -83,12 +96,14 @@ public final class TestIdentifier implements Serializable {
 		this.parentId = parentId;
 		this.displayName = displayName;
 		this.source = source;
-		this.tags = copyOf(tags);
+		this.tags = tags;
 		this.type = type;
-		this.legacyReportingName = legacyReportingName;
+		// Share the display name if the legacy reporting name is an equal copy
+		this.legacyReportingName = Objects.equals(displayName, legacyReportingName) ? displayName
+				: legacyReportingName;
 	}
 
-	private Set<TestTag> copyOf(Set<TestTag> tags) {
+	private static Set<TestTag> copyOf(Set<TestTag> tags) {
 		switch (tags.size()) {
 			case 0:
 				return emptySet();
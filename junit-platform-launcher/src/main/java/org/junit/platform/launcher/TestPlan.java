@@ -11,20 +11,22 @@
 package org.junit.platform.launcher;
 
 import static java.util.Collections.emptySet;
-import static java.util.Collections.synchronizedSet;
 import static java.util.Collections.unmodifiableSet;
 import static org.apiguardian.api.API.Status.DEPRECATED;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.apiguardian.api.API.Status.STABLE;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
@@ -46,6 +48,10 @@ import org.junit.platform.engine.UniqueId;
  * {@linkplain #getParent(TestIdentifier) parent},
  * {@linkplain #getChildren(TestIdentifier) children}, and
  * {@linkplain #getDescendants(TestIdentifier) descendants} of an identifier.
+ * Queries for {@linkplain #streamDescendants(TestIdentifier) streaming},
+ * {@linkplain #isAncestor(TestIdentifier, TestIdentifier) checking}, and
+ * {@linkplain #countTests(TestIdentifier) counting} the descendants of an
+ * identifier are answered from an index and do not allocate collections.
  *
  * <p>While the contained instances of {@link TestIdentifier} are immutable,
  * instances of this class contain mutable state. For example, when a dynamic
@@ -61,11 +67,7 @@ import org.junit.platform.engine.UniqueId;
 @API(status = STABLE, since = "1.0")
 public class TestPlan {
 
-	private final Set<TestIdentifier> roots = synchronizedSet(new LinkedHashSet<>(4));
-
-	private final Map<UniqueId, Set<TestIdentifier>> children = new ConcurrentHashMap<>(32);
-
-	private final Map<UniqueId, TestIdentifier> allIdentifiers = new ConcurrentHashMap<>(32);
+	private final TestPlanStore store = new TestPlanStore();
 
 	private final boolean containsTests;
 
@@ -91,7 +93,8 @@ public class TestPlan {
 		Preconditions.notNull(configurationParameters, "Cannot create TestPlan from null ConfigurationParameters");
 		TestPlan testPlan = new TestPlan(engineDescriptors.stream().anyMatch(TestDescriptor::containsTests),
 			configurationParameters);
-		Visitor visitor = descriptor -> testPlan.addInternal(TestIdentifier.from(descriptor));
+		Visitor visitor = descriptor -> testPlan.addInternal(
+			TestIdentifier.from(descriptor, testPlan.store::canonicalTags));
 		engineDescriptors.forEach(engineDescriptor -> engineDescriptor.accept(visitor));
 		return testPlan;
 	}
@@ -120,25 +123,9 @@ public class TestPlan {
 	@API(status = INTERNAL, since = "1.8")
 	public void addInternal(TestIdentifier testIdentifier) {
 		Preconditions.notNull(testIdentifier, "testIdentifier must not be null");
-		allIdentifiers.put(testIdentifier.getUniqueIdObject(), testIdentifier);
-
-		// Root identifiers. Typically, a test engine.
-		if (!testIdentifier.getParentIdObject().isPresent()) {
-			roots.add(testIdentifier);
-			return;
-		}
-
-		// Identifiers without a parent in this test plan. Could be a test
-		// engine that is used in a suite.
-		UniqueId parentId = testIdentifier.getParentIdObject().get();
-		if (!allIdentifiers.containsKey(parentId)) {
-			roots.add(testIdentifier);
-			return;
-		}
-
-		Set<TestIdentifier> directChildren = children.computeIfAbsent(parentId,
-			key -> synchronizedSet(new LinkedHashSet<>(16)));
-		directChildren.add(testIdentifier);
+		// Identifiers without a parent in this test plan are roots. Typically,
+		// a test engine, but could also be a test engine that is used in a suite.
+		store.add(testIdentifier);
 	}
 
 	/**
@@ -147,7 +134,7 @@ public class TestPlan {
 	 * @return an unmodifiable set of the root identifiers
 	 */
 	public Set<TestIdentifier> getRoots() {
-		return unmodifiableSet(roots);
+		return store.getChildren(TestPlanStore.NONE);
 	}
 
 	/**
@@ -170,7 +157,7 @@ public class TestPlan {
 	 */
 	public Set<TestIdentifier> getChildren(TestIdentifier parent) {
 		Preconditions.notNull(parent, "parent must not be null");
-		return getChildren(parent.getUniqueId());
+		return getChildren(parent.getUniqueIdObject());
 	}
 
 	/**
@@ -183,8 +170,12 @@ public class TestPlan {
 	 */
 	public Set<TestIdentifier> getChildren(String parentId) {
 		Preconditions.notBlank(parentId, "parent ID must not be null or blank");
-		UniqueId uniqueId = UniqueId.parse(parentId);
-		return children.containsKey(uniqueId) ? unmodifiableSet(children.get(uniqueId)) : emptySet();
+		return getChildren(UniqueId.parse(parentId));
+	}
+
+	private Set<TestIdentifier> getChildren(UniqueId parentId) {
+		int node = store.indexOf(parentId);
+		return node == TestPlanStore.NONE ? emptySet() : store.getChildren(node);
 	}
 
 	/**
@@ -198,10 +189,10 @@ public class TestPlan {
 	 */
 	public TestIdentifier getTestIdentifier(String uniqueId) throws PreconditionViolationException {
 		Preconditions.notBlank(uniqueId, "unique ID must not be null or blank");
-		UniqueId uniqueIdObject = UniqueId.parse(uniqueId);
-		Preconditions.condition(allIdentifiers.containsKey(uniqueIdObject),
+		int node = store.indexOf(UniqueId.parse(uniqueId));
+		Preconditions.condition(node != TestPlanStore.NONE,
 			() -> "No TestIdentifier with unique ID [" + uniqueId + "] has been added to this TestPlan.");
-		return allIdentifiers.get(uniqueIdObject);
+		return store.get(node);
 	}
 
 	/**
@@ -214,7 +205,7 @@ public class TestPlan {
 	 */
 	public long countTestIdentifiers(Predicate<? super TestIdentifier> predicate) {
 		Preconditions.notNull(predicate, "Predicate must not be null");
-		return allIdentifiers.values().stream().filter(predicate).count();
+		return store.count(predicate);
 	}
 
 	/**
@@ -227,12 +218,107 @@ public class TestPlan {
 	public Set<TestIdentifier> getDescendants(TestIdentifier parent) {
 		Preconditions.notNull(parent, "parent must not be null");
 		Set<TestIdentifier> result = new LinkedHashSet<>(16);
-		Set<TestIdentifier> children = getChildren(parent);
+		addDescendants(parent, result);
+		return unmodifiableSet(result);
+	}
+
+	private void addDescendants(TestIdentifier parent, Set<TestIdentifier> result) {
+		Set<TestIdentifier> children = getChildren(parent.getUniqueIdObject());
 		result.addAll(children);
 		for (TestIdentifier child : children) {
-			result.addAll(getDescendants(child));
+			addDescendants(child, result);
 		}
-		return unmodifiableSet(result);
+	}
+
+	/**
+	 * Stream all descendants of the supplied {@link TestIdentifier} (i.e.,
+	 * all of its children and their children, recursively) in depth-first
+	 * order.
+	 *
+	 * <p>In contrast to {@link #getDescendants(TestIdentifier)}, the
+	 * descendants are not collected into a set first.
+	 *
+	 * @param parent the identifier to stream the descendants of; never
+	 * {@code null}
+	 * @return a stream of the parent's descendants, potentially empty
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public Stream<TestIdentifier> streamDescendants(TestIdentifier parent) {
+		Preconditions.notNull(parent, "parent must not be null");
+		int node = store.indexOf(parent.getUniqueIdObject());
+		if (node == TestPlanStore.NONE) {
+			return Stream.empty();
+		}
+		int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(store.descendants(node), characteristics),
+			false);
+	}
+
+	/**
+	 * Determine whether the supplied {@code descendant} is a descendant of
+	 * the supplied {@code ancestor} (i.e., one of its children or their
+	 * children, recursively).
+	 *
+	 * <p>For identifiers discovered by the launcher, this check takes constant
+	 * time regardless of the size of the test plan.
+	 *
+	 * @param ancestor the potential ancestor; never {@code null}
+	 * @param descendant the potential descendant; never {@code null}
+	 * @return {@code true} if both identifiers are part of this test plan and
+	 * {@code descendant} is a descendant of {@code ancestor}
+	 * @since 1.10
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public boolean isAncestor(TestIdentifier ancestor, TestIdentifier descendant) {
+		Preconditions.notNull(ancestor, "ancestor must not be null");
+		Preconditions.notNull(descendant, "descendant must not be null");
+		int ancestorNode = store.indexOf(ancestor.getUniqueIdObject());
+		int descendantNode = store.indexOf(descendant.getUniqueIdObject());
+		return ancestorNode != TestPlanStore.NONE && descendantNode != TestPlanStore.NONE
+				&& store.isAncestor(ancestorNode, descendantNode);
+	}
+
+	/**
+	 * Count the {@linkplain TestIdentifier#isTest() tests} among the supplied
+	 * {@link TestIdentifier} and its descendants.
+	 *
+	 * <p>The number is maintained while identifiers are added to this test
+	 * plan and thus retrieved in constant time.
+	 *
+	 * @param root the identifier whose subtree to count the tests of; never
+	 * {@code null}
+	 * @return the number of tests in the subtree; {@code 0} if the identifier
+	 * is not part of this test plan
+	 * @since 1.10
+	 * @see #countContainers(TestIdentifier)
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public long countTests(TestIdentifier root) {
+		Preconditions.notNull(root, "root must not be null");
+		int node = store.indexOf(root.getUniqueIdObject());
+		return node == TestPlanStore.NONE ? 0 : store.getTestCount(node);
+	}
+
+	/**
+	 * Count the {@linkplain TestIdentifier#isContainer() containers} among the
+	 * supplied {@link TestIdentifier} and its descendants.
+	 *
+	 * <p>The number is maintained while identifiers are added to this test
+	 * plan and thus retrieved in constant time.
+	 *
+	 * @param root the identifier whose subtree to count the containers of;
+	 * never {@code null}
+	 * @return the number of containers in the subtree; {@code 0} if the
+	 * identifier is not part of this test plan
+	 * @since 1.10
+	 * @see #countTests(TestIdentifier)
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public long countContainers(TestIdentifier root) {
+		Preconditions.notNull(root, "root must not be null");
+		int node = store.indexOf(root.getUniqueIdObject());
+		return node == TestPlanStore.NONE ? 0 : store.getContainerCount(node);
 	}
 
 	/**
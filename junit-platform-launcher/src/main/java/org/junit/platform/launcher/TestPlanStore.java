@@ -0,0 +1,375 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Compact storage of the {@link TestIdentifier TestIdentifiers} of a
+ * {@link TestPlan}.
+ *
+ * <p>Each identifier is assigned an {@code int} node ID in the order it is
+ * added. The tree structure is kept in parallel arrays of node IDs and
+ * identifiers are looked up by unique ID via an open-addressing hash table of
+ * node IDs. Thus, no map entries or collections need to be allocated per
+ * identifier. Sets of roots and children are views that are materialized
+ * while being iterated.
+ *
+ * <p>Since {@link TestPlan#from} adds identifiers in depth-first order, the
+ * node IDs of each subtree usually form a contiguous range. The store keeps
+ * the end of that range for each node so that subtree membership can be
+ * checked in constant time. If an identifier is added to a subtree whose
+ * range is followed by other nodes, for example, a dynamic test, the range
+ * of that subtree becomes invalid and checks fall back to following parent
+ * IDs. In addition, the numbers of tests and containers in each subtree are
+ * updated whenever an identifier is added.
+ *
+ * <p>All methods that access the arrays are synchronized since dynamic tests
+ * may be added while other threads query the test plan.
+ *
+ * @since 1.10
+ */
+final class TestPlanStore {
+
+	static final int NONE = -1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Map<Set<TestTag>, Set<TestTag>> tagSets = new HashMap<>();
+
+	private TestIdentifier[] identifiers = new TestIdentifier[INITIAL_CAPACITY];
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private int[] firstChildren = new int[INITIAL_CAPACITY];
+	private int[] lastChildren = new int[INITIAL_CAPACITY];
+	private int[] nextSiblings = new int[INITIAL_CAPACITY];
+	private int[] childCounts = new int[INITIAL_CAPACITY];
+
+	// exclusive end of the range of node IDs of each subtree or NONE if the
+	// subtree does not form a contiguous range
+	private int[] subtreeEnds = new int[INITIAL_CAPACITY];
+	private int[] testCounts = new int[INITIAL_CAPACITY];
+	private int[] containerCounts = new int[INITIAL_CAPACITY];
+
+	// node ID + 1 for each occupied slot, 0 for empty slots
+	private int[] table = new int[INITIAL_CAPACITY * 2];
+
+	private int size;
+	private int firstRoot = NONE;
+	private int lastRoot = NONE;
+	private int rootCount;
+
+	/**
+	 * Add the supplied identifier or replace the identifier with the same
+	 * unique ID.
+	 *
+	 * <p>Identifiers whose parent has not been added are added as roots.
+	 */
+	synchronized void add(TestIdentifier testIdentifier) {
+		UniqueId uniqueId = testIdentifier.getUniqueIdObject();
+		int slot = findSlot(uniqueId);
+		if (table[slot] != 0) {
+			int node = table[slot] - 1;
+			TestIdentifier previous = identifiers[node];
+			identifiers[node] = testIdentifier;
+			updateCounts(node, count(testIdentifier.isTest()) - count(previous.isTest()),
+				count(testIdentifier.isContainer()) - count(previous.isContainer()));
+			return;
+		}
+		int node = size++;
+		ensureCapacity(size);
+		identifiers[node] = testIdentifier;
+		firstChildren[node] = NONE;
+		lastChildren[node] = NONE;
+		nextSiblings[node] = NONE;
+		subtreeEnds[node] = node + 1;
+		int parent = testIdentifier.getParentIdObject().map(this::indexOf).orElse(NONE);
+		parents[node] = parent;
+		for (int ancestor = parent; ancestor != NONE; ancestor = parents[ancestor]) {
+			// the new node only extends ranges that end right before it
+			subtreeEnds[ancestor] = subtreeEnds[ancestor] == node ? node + 1 : NONE;
+		}
+		updateCounts(node, count(testIdentifier.isTest()), count(testIdentifier.isContainer()));
+		if (parent == NONE) {
+			if (lastRoot == NONE) {
+				firstRoot = node;
+			}
+			else {
+				nextSiblings[lastRoot] = node;
+			}
+			lastRoot = node;
+			rootCount++;
+		}
+		else {
+			if (lastChildren[parent] == NONE) {
+				firstChildren[parent] = node;
+			}
+			else {
+				nextSiblings[lastChildren[parent]] = node;
+			}
+			lastChildren[parent] = node;
+			childCounts[parent]++;
+		}
+		table[slot] = node + 1;
+		if (size * 2 > table.length) {
+			rehash();
+		}
+	}
+
+	private void updateCounts(int node, int testDelta, int containerDelta) {
+		for (int current = node; current != NONE; current = parents[current]) {
+			testCounts[current] += testDelta;
+			containerCounts[current] += containerDelta;
+		}
+	}
+
+	private static int count(boolean condition) {
+		return condition ? 1 : 0;
+	}
+
+	/**
+	 * Return the canonical instance of the supplied set of tags so that
+	 * identifiers with equal tags share a single set.
+	 */
+	synchronized Set<TestTag> canonicalTags(Set<TestTag> tags) {
+		return tagSets.computeIfAbsent(tags, key -> key);
+	}
+
+	/**
+	 * Get the node ID of the identifier with the supplied unique ID.
+	 *
+	 * @return the node ID or {@link #NONE} if there is no such identifier
+	 */
+	synchronized int indexOf(UniqueId uniqueId) {
+		return table[findSlot(uniqueId)] - 1;
+	}
+
+	synchronized TestIdentifier get(int node) {
+		return identifiers[node];
+	}
+
+	synchronized int getParent(int node) {
+		return parents[node];
+	}
+
+	/**
+	 * Determine whether the second supplied node is a descendant of the
+	 * first one.
+	 */
+	synchronized boolean isAncestor(int ancestor, int node) {
+		int subtreeEnd = subtreeEnds[ancestor];
+		if (subtreeEnd != NONE) {
+			return ancestor < node && node < subtreeEnd;
+		}
+		// parents are always added before their children
+		for (int current = parents[node]; current >= ancestor; current = parents[current]) {
+			if (current == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the number of tests in the subtree of the supplied node, including
+	 * the node itself.
+	 */
+	synchronized int getTestCount(int node) {
+		return testCounts[node];
+	}
+
+	/**
+	 * Get the number of containers in the subtree of the supplied node,
+	 * including the node itself.
+	 */
+	synchronized int getContainerCount(int node) {
+		return containerCounts[node];
+	}
+
+	/**
+	 * Get an iterator over the descendants of the supplied node in
+	 * depth-first order.
+	 */
+	Iterator<TestIdentifier> descendants(int root) {
+		return new Iterator<TestIdentifier>() {
+
+			private int next = firstChild(root);
+
+			@Override
+			public boolean hasNext() {
+				return next != NONE;
+			}
+
+			@Override
+			public TestIdentifier next() {
+				if (next == NONE) {
+					throw new NoSuchElementException();
+				}
+				int node = next;
+				next = nextInDepthFirstOrder(node, root);
+				return get(node);
+			}
+		};
+	}
+
+	private synchronized int nextInDepthFirstOrder(int node, int root) {
+		if (firstChildren[node] != NONE) {
+			return firstChildren[node];
+		}
+		for (int current = node; current != root; current = parents[current]) {
+			if (nextSiblings[current] != NONE) {
+				return nextSiblings[current];
+			}
+		}
+		return NONE;
+	}
+
+	long count(Predicate<? super TestIdentifier> predicate) {
+		TestIdentifier[] identifiers;
+		int size;
+		synchronized (this) {
+			// the predicate is evaluated without holding the lock
+			identifiers = this.identifiers;
+			size = this.size;
+		}
+		long count = 0;
+		for (int node = 0; node < size; node++) {
+			if (predicate.test(identifiers[node])) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get a view of the children of the supplied node or, if it is
+	 * {@link #NONE}, of the roots.
+	 */
+	Set<TestIdentifier> getChildren(int parent) {
+		return new ChildrenView(parent);
+	}
+
+	private synchronized int firstChild(int parent) {
+		return parent == NONE ? firstRoot : firstChildren[parent];
+	}
+
+	private synchronized int nextSibling(int node) {
+		return nextSiblings[node];
+	}
+
+	private synchronized int childCount(int parent) {
+		return parent == NONE ? rootCount : childCounts[parent];
+	}
+
+	private int findSlot(UniqueId uniqueId) {
+		int hashCode = uniqueId.hashCode();
+		int mask = table.length - 1;
+		int slot = slot(hashCode, mask);
+		while (table[slot] != 0 && !hasUniqueId(table[slot] - 1, uniqueId, hashCode)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private boolean hasUniqueId(int node, UniqueId uniqueId, int hashCode) {
+		// the hash code is cached by UniqueId and cheaper to compare than its segments
+		UniqueId candidate = identifiers[node].getUniqueIdObject();
+		return candidate.hashCode() == hashCode && candidate.equals(uniqueId);
+	}
+
+	private void rehash() {
+		table = new int[table.length * 2];
+		int mask = table.length - 1;
+		for (int node = 0; node < size; node++) {
+			int slot = slot(identifiers[node].getUniqueIdObject().hashCode(), mask);
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = node + 1;
+		}
+	}
+
+	private static int slot(int hashCode, int mask) {
+		int scrambled = hashCode * 0x9E3779B9;
+		return (scrambled ^ (scrambled >>> 16)) & mask;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > identifiers.length) {
+			int newLength = Math.max(capacity, identifiers.length + (identifiers.length >> 1));
+			identifiers = Arrays.copyOf(identifiers, newLength);
+			parents = Arrays.copyOf(parents, newLength);
+			firstChildren = Arrays.copyOf(firstChildren, newLength);
+			lastChildren = Arrays.copyOf(lastChildren, newLength);
+			nextSiblings = Arrays.copyOf(nextSiblings, newLength);
+			childCounts = Arrays.copyOf(childCounts, newLength);
+			subtreeEnds = Arrays.copyOf(subtreeEnds, newLength);
+			testCounts = Arrays.copyOf(testCounts, newLength);
+			containerCounts = Arrays.copyOf(containerCounts, newLength);
+		}
+	}
+
+	private class ChildrenView extends AbstractSet<TestIdentifier> {
+
+		private final int parent;
+
+		ChildrenView(int parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public Iterator<TestIdentifier> iterator() {
+			return new Iterator<TestIdentifier>() {
+
+				private int next = firstChild(parent);
+
+				@Override
+				public boolean hasNext() {
+					return next != NONE;
+				}
+
+				@Override
+				public TestIdentifier next() {
+					if (next == NONE) {
+						throw new NoSuchElementException();
+					}
+					int node = next;
+					next = nextSibling(node);
+					return get(node);
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return childCount(parent);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (o instanceof TestIdentifier) {
+				int node = indexOf(((TestIdentifier) o).getUniqueIdObject());
+				return node != NONE && getParent(node) == parent;
+			}
+			return false;
+		}
+	}
+
+}
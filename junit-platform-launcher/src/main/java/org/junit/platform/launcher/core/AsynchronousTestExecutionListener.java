@@ -0,0 +1,283 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_CAPACITY_DEFAULT;
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.UnrecoverableExceptions;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherConstants;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.CompositeTestExecutionListener.EagerTestExecutionListener;
+
+/**
+ * {@link TestExecutionListener} that adds events to a bounded ring buffer and
+ * notifies its delegate of them in batches on a dedicated thread.
+ *
+ * <p>Events are delivered in the order in which they were added. Threads that
+ * add events wait while the buffer is full. When the execution of the test
+ * plan has finished, the thread that reported it waits until all events have
+ * been delivered.
+ *
+ * @since 1.10
+ * @see LauncherConstants#ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME
+ */
+class AsynchronousTestExecutionListener implements TestExecutionListener, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsynchronousTestExecutionListener.class);
+
+	private static final int MAX_BATCH_SIZE = 256;
+	private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final TestExecutionListener delegate;
+	private final RingBuffer<Consumer<TestExecutionListener>> events;
+	private final AtomicLong addedCount = new AtomicLong();
+	private final Thread dispatcher;
+	private volatile long deliveredCount;
+	private volatile boolean dispatcherWaiting;
+	private volatile boolean closed;
+
+	static boolean isDispatchedAsynchronously(ConfigurationParameters configurationParameters) {
+		return configurationParameters.getBoolean(
+			LauncherConstants.ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME).orElse(false);
+	}
+
+	/**
+	 * Determine whether the supplied listener must be notified on the thread
+	 * that reported an event.
+	 */
+	static boolean isSynchronous(TestExecutionListener listener) {
+		return listener instanceof SynchronousTestExecutionListener
+				|| listener instanceof EagerTestExecutionListener;
+	}
+
+	static AsynchronousTestExecutionListener start(ConfigurationParameters configurationParameters,
+			TestExecutionListener delegate) {
+		int capacity = configurationParameters.get(ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME,
+			Integer::parseInt).orElse(ASYNC_LISTENER_DISPATCH_CAPACITY_DEFAULT);
+		Preconditions.condition(capacity > 0,
+			() -> "Configuration parameter '" + ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME
+					+ "' must be a positive integer, but was: " + capacity);
+		AsynchronousTestExecutionListener listener = new AsynchronousTestExecutionListener(delegate, capacity);
+		listener.dispatcher.start();
+		return listener;
+	}
+
+	private AsynchronousTestExecutionListener(TestExecutionListener delegate, int capacity) {
+		this.delegate = delegate;
+		this.events = new RingBuffer<>(capacity);
+		this.dispatcher = new Thread(this::dispatch, "junit-listener-dispatcher");
+		this.dispatcher.setDaemon(true);
+	}
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		add(listener -> listener.testPlanExecutionStarted(testPlan));
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		add(listener -> listener.testPlanExecutionFinished(testPlan));
+		flush();
+	}
+
+	@Override
+	public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+		add(listener -> listener.dynamicTestRegistered(testIdentifier));
+	}
+
+	@Override
+	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+		add(listener -> listener.executionSkipped(testIdentifier, reason));
+	}
+
+	@Override
+	public void executionStarted(TestIdentifier testIdentifier) {
+		add(listener -> listener.executionStarted(testIdentifier));
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		add(listener -> listener.executionFinished(testIdentifier, testExecutionResult));
+	}
+
+	@Override
+	public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		add(listener -> listener.reportingEntryPublished(testIdentifier, entry));
+	}
+
+	private void add(Consumer<TestExecutionListener> event) {
+		if (closed) {
+			// the dispatcher is no longer running, e.g. for events reported by stray threads
+			notify(event);
+			return;
+		}
+		while (!events.offer(event)) {
+			LockSupport.parkNanos(this, BACKOFF_NANOS);
+		}
+		addedCount.incrementAndGet();
+		if (dispatcherWaiting) {
+			LockSupport.unpark(dispatcher);
+		}
+	}
+
+	/**
+	 * Wait until all events added so far have been delivered.
+	 */
+	void flush() {
+		long target = addedCount.get();
+		while (deliveredCount < target && dispatcher.isAlive()) {
+			LockSupport.unpark(dispatcher);
+			LockSupport.parkNanos(this, BACKOFF_NANOS);
+		}
+	}
+
+	/**
+	 * Deliver all remaining events and stop the dispatcher thread.
+	 */
+	@Override
+	public void close() {
+		flush();
+		closed = true;
+		LockSupport.unpark(dispatcher);
+		try {
+			dispatcher.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void dispatch() {
+		List<Consumer<TestExecutionListener>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+		while (true) {
+			events.drainTo(batch, MAX_BATCH_SIZE);
+			if (batch.isEmpty()) {
+				if (closed) {
+					return;
+				}
+				dispatcherWaiting = true;
+				if (events.isEmpty() && !closed) {
+					LockSupport.park(this);
+				}
+				dispatcherWaiting = false;
+				continue;
+			}
+			batch.forEach(this::notify);
+			deliveredCount += batch.size();
+			batch.clear();
+		}
+	}
+
+	private void notify(Consumer<TestExecutionListener> event) {
+		try {
+			event.accept(delegate);
+		}
+		catch (Throwable throwable) {
+			UnrecoverableExceptions.rethrowIfUnrecoverable(throwable);
+			logger.warn(throwable, () -> "Failed to notify TestExecutionListener asynchronously");
+		}
+	}
+
+	/**
+	 * Bounded lock-free queue for multiple producers and a single consumer.
+	 *
+	 * <p>Each slot has a sequence number that tells producers whether the slot
+	 * is free and the consumer whether it has been published.
+	 */
+	static class RingBuffer<E> {
+
+		private final Object[] elements;
+		private final AtomicLongArray sequences;
+		private final int mask;
+		private final AtomicLong tail = new AtomicLong();
+		private long head;
+
+		RingBuffer(int capacity) {
+			// with a single slot, a published slot would look free to the next producer
+			int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+			this.elements = new Object[size];
+			this.sequences = new AtomicLongArray(size);
+			this.mask = size - 1;
+			for (int i = 0; i < size; i++) {
+				sequences.set(i, i);
+			}
+		}
+
+		int capacity() {
+			return elements.length;
+		}
+
+		/**
+		 * Add the supplied element unless this buffer is full; may be called
+		 * by any thread.
+		 */
+		boolean offer(E element) {
+			while (true) {
+				long position = tail.get();
+				int index = (int) (position & mask);
+				long difference = sequences.get(index) - position;
+				if (difference < 0) {
+					return false;
+				}
+				if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+					elements[index] = element;
+					sequences.set(index, position + 1);
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Remove up to {@code maxElements} elements and add them to the
+		 * supplied list; must only be called by the consumer thread.
+		 */
+		@SuppressWarnings("unchecked")
+		void drainTo(List<E> list, int maxElements) {
+			for (int i = 0; i < maxElements; i++) {
+				int index = (int) (head & mask);
+				if (sequences.get(index) != head + 1) {
+					return;
+				}
+				list.add((E) elements[index]);
+				elements[index] = null;
+				sequences.set(index, head + elements.length);
+				head++;
+			}
+		}
+
+		/**
+		 * Determine whether the next element has not yet been published; must
+		 * only be called by the consumer thread.
+		 */
+		boolean isEmpty() {
+			return sequences.get((int) (head & mask)) != head + 1;
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherConstants;
+
+/**
+ * Cancels the {@link CancellationToken} of an execution once the configured
+ * {@linkplain LauncherConstants#CANCELLATION_MAX_FAILURES_PROPERTY_NAME
+ * number of failures} has been reported by any engine or the configured
+ * {@linkplain LauncherConstants#CANCELLATION_TIMEOUT_PROPERTY_NAME timeout}
+ * has elapsed.
+ *
+ * @since 1.10
+ */
+class CancellationPolicy implements AutoCloseable {
+
+	private final CancellationToken cancellationToken;
+	private final int maxFailures;
+	private final AtomicInteger failures = new AtomicInteger();
+	private final ScheduledExecutorService scheduler;
+
+	static CancellationPolicy create(ConfigurationParameters configurationParameters,
+			CancellationToken cancellationToken) {
+		int maxFailures = configurationParameters.get(LauncherConstants.CANCELLATION_MAX_FAILURES_PROPERTY_NAME,
+			Integer::parseInt).orElse(0);
+		long timeoutSeconds = configurationParameters.get(LauncherConstants.CANCELLATION_TIMEOUT_PROPERTY_NAME,
+			Long::parseLong).orElse(0L);
+		return new CancellationPolicy(cancellationToken, Math.max(0, maxFailures), Math.max(0, timeoutSeconds));
+	}
+
+	CancellationPolicy(CancellationToken cancellationToken, int maxFailures, long timeoutSeconds) {
+		this.cancellationToken = cancellationToken;
+		this.maxFailures = maxFailures;
+		if (timeoutSeconds > 0) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "junit-execution-timeout");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.scheduler.schedule(() -> cancellationToken.cancel(
+				String.format("Execution cancelled after timeout of %d second(s)", timeoutSeconds)), timeoutSeconds,
+				TimeUnit.SECONDS);
+		}
+		else {
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Wrap the supplied listener so that it records failures if the number of
+	 * failures is limited; otherwise, return the supplied listener.
+	 */
+	EngineExecutionListener apply(EngineExecutionListener listener) {
+		if (maxFailures == 0) {
+			return listener;
+		}
+		return new FailureCountingListener(listener);
+	}
+
+	void recordFailure() {
+		int count = failures.incrementAndGet();
+		if (maxFailures > 0 && count >= maxFailures) {
+			cancellationToken.cancel(String.format("Execution cancelled after %d failure(s)", count));
+		}
+	}
+
+	@Override
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private class FailureCountingListener implements EngineExecutionListener {
+
+		private final EngineExecutionListener delegate;
+
+		FailureCountingListener(EngineExecutionListener delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+			delegate.dynamicTestRegistered(testDescriptor);
+		}
+
+		@Override
+		public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+			delegate.executionSkipped(testDescriptor, reason);
+		}
+
+		@Override
+		public void executionStarted(TestDescriptor testDescriptor) {
+			delegate.executionStarted(testDescriptor);
+		}
+
+		@Override
+		public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+			delegate.executionFinished(testDescriptor, testExecutionResult);
+			if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+				recordFailure();
+			}
+		}
+
+		@Override
+		public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+			delegate.reportingEntryPublished(testDescriptor, entry);
+		}
+	}
+
+}
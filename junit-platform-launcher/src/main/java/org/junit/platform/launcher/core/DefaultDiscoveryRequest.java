@@ -14,8 +14,10 @@ import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.DiscoveryFilter;
 import org.junit.platform.engine.DiscoverySelector;
@@ -51,15 +53,20 @@ final class DefaultDiscoveryRequest implements LauncherDiscoveryRequest {
 	// Listener for test discovery that may abort on errors.
 	private final LauncherDiscoveryListener discoveryListener;
 
+	// Token for stopping execution early that is passed through to all engines.
+	private final CancellationToken cancellationToken;
+
 	DefaultDiscoveryRequest(List<DiscoverySelector> selectors, List<EngineFilter> engineFilters,
 			List<DiscoveryFilter<?>> discoveryFilters, List<PostDiscoveryFilter> postDiscoveryFilters,
-			LauncherConfigurationParameters configurationParameters, LauncherDiscoveryListener discoveryListener) {
+			LauncherConfigurationParameters configurationParameters, LauncherDiscoveryListener discoveryListener,
+			CancellationToken cancellationToken) {
 		this.selectors = selectors;
 		this.engineFilters = engineFilters;
 		this.discoveryFilters = discoveryFilters;
 		this.postDiscoveryFilters = postDiscoveryFilters;
 		this.configurationParameters = configurationParameters;
 		this.discoveryListener = discoveryListener;
+		this.cancellationToken = cancellationToken;
 	}
 
 	@Override
@@ -94,4 +101,9 @@ final class DefaultDiscoveryRequest implements LauncherDiscoveryRequest {
 		return discoveryListener;
 	}
 
+	@Override
+	public Optional<CancellationToken> getCancellationToken() {
+		return Optional.ofNullable(cancellationToken);
+	}
+
 }
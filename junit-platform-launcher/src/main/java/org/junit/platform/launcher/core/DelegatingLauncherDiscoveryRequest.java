@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * @since 1.10
+ */
+class DelegatingLauncherDiscoveryRequest implements LauncherDiscoveryRequest {
+
+	private final LauncherDiscoveryRequest delegate;
+
+	DelegatingLauncherDiscoveryRequest(LauncherDiscoveryRequest delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+		return delegate.getSelectorsByType(selectorType);
+	}
+
+	@Override
+	public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+		return delegate.getFiltersByType(filterType);
+	}
+
+	@Override
+	public ConfigurationParameters getConfigurationParameters() {
+		return delegate.getConfigurationParameters();
+	}
+
+	@Override
+	public List<EngineFilter> getEngineFilters() {
+		return delegate.getEngineFilters();
+	}
+
+	@Override
+	public List<PostDiscoveryFilter> getPostDiscoveryFilters() {
+		return delegate.getPostDiscoveryFilters();
+	}
+
+	@Override
+	public LauncherDiscoveryListener getDiscoveryListener() {
+		return delegate.getDiscoveryListener();
+	}
+
+	@Override
+	public Optional<CancellationToken> getCancellationToken() {
+		return delegate.getCancellationToken();
+	}
+
+}
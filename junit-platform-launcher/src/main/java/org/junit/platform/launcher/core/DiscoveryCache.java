@@ -0,0 +1,376 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.LauncherConstants.DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.ClasspathRootSelector;
+import org.junit.platform.engine.discovery.MethodSelector;
+import org.junit.platform.engine.discovery.NestedClassSelector;
+import org.junit.platform.engine.discovery.NestedMethodSelector;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.LauncherConstants;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * On-disk cache of the test classes a {@link TestEngine} discovered in each
+ * {@linkplain ClasspathRootSelector classpath root}.
+ *
+ * <p>Each classpath root is identified by a fingerprint of the names, sizes,
+ * and modification times of the files in a directory or of the names and
+ * checksums of the entries of a JAR file. If the fingerprint of a classpath
+ * root has not changed since the previous discovery using the same engine,
+ * selectors, filters, and configuration parameters, its selector is
+ * replaced by {@linkplain ClassSelector class selectors} for the test
+ * classes discovered previously. The engine still resolves these classes,
+ * but does not have to scan the classpath root. System properties of the
+ * current JVM are only taken into account if their names start with
+ * {@code junit.} since others, for example, {@code sun.java.command}, may
+ * change with every run.
+ *
+ * <p>Only test classes found by scanning a classpath root are cached for it;
+ * classes that are also selected explicitly, for example, by a
+ * {@link ClassSelector} or {@link UniqueIdSelector}, are not. If the request
+ * contains other kinds of selectors whose test classes cannot be told apart
+ * from those found in classpath roots, nothing is cached.
+ *
+ * <p>The cache is stored in a separate properties file for each engine and
+ * fingerprint of the remaining discovery inputs, so that, for example,
+ * different shards or concurrently running JVMs do not overwrite each
+ * other's entries.
+ *
+ * @since 1.10
+ * @see LauncherConstants#DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME
+ */
+class DiscoveryCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DiscoveryCache.class);
+
+	private static final String REQUEST_FINGERPRINT_KEY = "request";
+
+	private static final int FILE_NAME_FINGERPRINT_LENGTH = 16;
+
+	private final Path file;
+	private final String requestFingerprint;
+	private final Properties entries = new Properties();
+
+	/**
+	 * Discover tests using the supplied engine, consulting the cache if it has
+	 * been enabled via {@link LauncherConstants#DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME}
+	 * and the supplied request contains {@link ClasspathRootSelector
+	 * ClasspathRootSelectors}.
+	 */
+	static TestDescriptor discover(TestEngine testEngine, LauncherDiscoveryRequest request, UniqueId uniqueEngineId) {
+		Optional<String> directory = request.getConfigurationParameters().get(DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME);
+		if (!directory.isPresent() || request.getSelectorsByType(ClasspathRootSelector.class).isEmpty()) {
+			return testEngine.discover(request, uniqueEngineId);
+		}
+		return new DiscoveryCache(Paths.get(directory.get()), testEngine, request, uniqueEngineId) //
+				.discoverUsingCache(testEngine, request, uniqueEngineId);
+	}
+
+	private DiscoveryCache(Path directory, TestEngine testEngine, LauncherDiscoveryRequest request,
+			UniqueId uniqueEngineId) {
+		this.requestFingerprint = fingerprintRequest(testEngine, request, uniqueEngineId);
+		this.file = directory.resolve("junit-discovery-" + uniqueEngineId.toString().replaceAll("[^\\w.-]+", "_")
+				+ "-" + requestFingerprint.substring(0, FILE_NAME_FINGERPRINT_LENGTH) + ".properties");
+		load();
+	}
+
+	private TestDescriptor discoverUsingCache(TestEngine testEngine, LauncherDiscoveryRequest request,
+			UniqueId uniqueEngineId) {
+
+		List<DiscoverySelector> selectors = new ArrayList<>();
+		Map<URI, String> scannedClasspathRoots = new LinkedHashMap<>();
+		for (DiscoverySelector selector : request.getSelectorsByType(DiscoverySelector.class)) {
+			if (selector instanceof ClasspathRootSelector) {
+				URI classpathRoot = ((ClasspathRootSelector) selector).getClasspathRoot();
+				Optional<String> fingerprint = fingerprintClasspathRoot(classpathRoot);
+				Optional<List<String>> classNames = fingerprint.flatMap(
+					value -> getCachedClassNames(classpathRoot, value));
+				if (classNames.isPresent()) {
+					logger.config(() -> String.format("Restored %d test classes in classpath root '%s' from %s",
+						classNames.get().size(), classpathRoot, file));
+					classNames.get().forEach(className -> selectors.add(selectClass(className)));
+					continue;
+				}
+				fingerprint.ifPresent(value -> scannedClasspathRoots.put(classpathRoot, value));
+			}
+			selectors.add(selector);
+		}
+
+		LauncherDiscoveryRequest cachedRequest = new DelegatingLauncherDiscoveryRequest(request) {
+			@Override
+			public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+				return selectors.stream().filter(selectorType::isInstance).map(selectorType::cast).collect(toList());
+			}
+		};
+		TestDescriptor engineRoot = testEngine.discover(cachedRequest, uniqueEngineId);
+		if (!scannedClasspathRoots.isEmpty()) {
+			store(engineRoot, scannedClasspathRoots, request);
+		}
+		return engineRoot;
+	}
+
+	private Optional<List<String>> getCachedClassNames(URI classpathRoot, String fingerprint) {
+		String entry = entries.getProperty(classpathRoot.toString());
+		if (entry == null || !entry.startsWith(fingerprint + " ")) {
+			return Optional.empty();
+		}
+		String classNames = entry.substring(fingerprint.length() + 1).trim();
+		return Optional.of(classNames.isEmpty() ? emptyList() : Arrays.asList(classNames.split(",")));
+	}
+
+	private void store(TestDescriptor engineRoot, Map<URI, String> scannedClasspathRoots,
+			LauncherDiscoveryRequest request) {
+		Set<String> explicitlySelectedClassNames = new LinkedHashSet<>();
+		List<UniqueId> selectedUniqueIds = new ArrayList<>();
+		for (DiscoverySelector selector : request.getSelectorsByType(DiscoverySelector.class)) {
+			if (selector instanceof ClassSelector) {
+				explicitlySelectedClassNames.add(((ClassSelector) selector).getClassName());
+			}
+			else if (selector instanceof MethodSelector) {
+				explicitlySelectedClassNames.add(((MethodSelector) selector).getClassName());
+			}
+			else if (selector instanceof NestedClassSelector) {
+				explicitlySelectedClassNames.addAll(((NestedClassSelector) selector).getEnclosingClassNames());
+			}
+			else if (selector instanceof NestedMethodSelector) {
+				explicitlySelectedClassNames.addAll(((NestedMethodSelector) selector).getEnclosingClassNames());
+			}
+			else if (selector instanceof UniqueIdSelector) {
+				selectedUniqueIds.add(((UniqueIdSelector) selector).getUniqueId());
+			}
+			else if (!(selector instanceof ClasspathRootSelector)) {
+				logger.debug(() -> String.format(
+					"Not caching test classes in %s since their origin cannot be determined for %s", file, selector));
+				return;
+			}
+		}
+		Set<String> classNames = new LinkedHashSet<>();
+		for (TestDescriptor child : engineRoot.getChildren()) {
+			Optional<TestSource> source = child.getSource();
+			if (!source.isPresent() || !(source.get() instanceof ClassSource)) {
+				logger.debug(() -> String.format("Not caching test classes in %s since %s has no ClassSource",
+					file, child.getUniqueId()));
+				return;
+			}
+			String className = ((ClassSource) source.get()).getClassName();
+			// explicitly selected classes are resolved again anyway and may not have been found by the scan
+			if (!explicitlySelectedClassNames.contains(className)
+					&& selectedUniqueIds.stream().noneMatch(uniqueId -> uniqueId.hasPrefix(child.getUniqueId()))) {
+				classNames.add(className);
+			}
+		}
+		try {
+			for (Map.Entry<URI, String> classpathRoot : scannedClasspathRoots.entrySet()) {
+				List<String> classNamesInRoot = filterClassNamesInClasspathRoot(classpathRoot.getKey(), classNames);
+				entries.setProperty(classpathRoot.getKey().toString(),
+					classpathRoot.getValue() + " " + String.join(",", classNamesInRoot));
+			}
+			write();
+		}
+		catch (IOException e) {
+			logger.warn(e, () -> "Failed to write test discovery cache " + file);
+		}
+	}
+
+	private void load() {
+		if (Files.isRegularFile(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				entries.load(in);
+			}
+			catch (IOException e) {
+				logger.warn(e, () -> "Failed to read test discovery cache " + file);
+				entries.clear();
+			}
+		}
+		if (!requestFingerprint.equals(entries.getProperty(REQUEST_FINGERPRINT_KEY))) {
+			entries.clear();
+			entries.setProperty(REQUEST_FINGERPRINT_KEY, requestFingerprint);
+		}
+	}
+
+	private void write() throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		// write to a temporary file first so concurrent readers never see a partially written cache
+		Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(tempFile)) {
+				entries.store(out, null);
+			}
+			Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static List<String> filterClassNamesInClasspathRoot(URI classpathRoot, Collection<String> classNames)
+			throws IOException {
+		Path path = Paths.get(classpathRoot);
+		if (Files.isDirectory(path)) {
+			return classNames.stream() //
+					.filter(className -> Files.isRegularFile(path.resolve(toClassFileName(className)))) //
+					.collect(toList());
+		}
+		try (JarFile jarFile = new JarFile(path.toFile())) {
+			return classNames.stream() //
+					.filter(className -> jarFile.getEntry(toClassFileName(className)) != null) //
+					.collect(toList());
+		}
+	}
+
+	private static String toClassFileName(String className) {
+		return className.replace('.', '/') + ".class";
+	}
+
+	private static String fingerprintRequest(TestEngine testEngine, LauncherDiscoveryRequest request,
+			UniqueId uniqueEngineId) {
+		MessageDigest digest = createMessageDigest();
+		update(digest, testEngine.getClass().getName());
+		update(digest, testEngine.getVersion().orElse(""));
+		update(digest, uniqueEngineId.toString());
+		for (DiscoverySelector selector : request.getSelectorsByType(DiscoverySelector.class)) {
+			// classpath roots are fingerprinted separately
+			if (!(selector instanceof ClasspathRootSelector)) {
+				update(digest, selector.toString());
+			}
+		}
+		for (EngineFilter filter : request.getEngineFilters()) {
+			update(digest, filter.toString());
+		}
+		for (DiscoveryFilter<?> filter : request.getFiltersByType(DiscoveryFilter.class)) {
+			update(digest, filter.toString());
+		}
+		for (PostDiscoveryFilter filter : request.getPostDiscoveryFilters()) {
+			update(digest, filter.toString());
+		}
+		ConfigurationParameters configurationParameters = request.getConfigurationParameters();
+		Map<String, String> sortedParameters = new TreeMap<>();
+		// system properties such as sun.java.command or org.gradle.test.worker change between runs
+		LauncherConfigurationParameters.keySetExcludingNonJUnitSystemProperties(configurationParameters).forEach(
+			key -> sortedParameters.put(key, configurationParameters.get(key).orElse("")));
+		sortedParameters.forEach((key, value) -> update(digest, key + "=" + value));
+		return toHexString(digest);
+	}
+
+	/**
+	 * Compute the fingerprint of the supplied classpath root or return an
+	 * empty {@code Optional} if it is neither a directory nor a file.
+	 */
+	private static Optional<String> fingerprintClasspathRoot(URI classpathRoot) {
+		if (!"file".equals(classpathRoot.getScheme())) {
+			return Optional.empty();
+		}
+		Path path = Paths.get(classpathRoot);
+		MessageDigest digest = createMessageDigest();
+		try {
+			if (Files.isDirectory(path)) {
+				Map<String, String> files = new TreeMap<>();
+				Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+						files.put(path.relativize(file).toString(),
+							attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+						return FileVisitResult.CONTINUE;
+					}
+				});
+				files.forEach((name, attributes) -> update(digest, name + "=" + attributes));
+			}
+			else if (Files.isRegularFile(path)) {
+				try (JarFile jarFile = new JarFile(path.toFile())) {
+					Enumeration<JarEntry> jarEntries = jarFile.entries();
+					while (jarEntries.hasMoreElements()) {
+						JarEntry jarEntry = jarEntries.nextElement();
+						update(digest, jarEntry.getName() + "=" + jarEntry.getSize() + ":" + jarEntry.getCrc());
+					}
+				}
+			}
+			else {
+				return Optional.empty();
+			}
+		}
+		catch (IOException e) {
+			logger.debug(e, () -> "Failed to compute fingerprint of classpath root " + classpathRoot);
+			return Optional.empty();
+		}
+		return Optional.of(toHexString(digest));
+	}
+
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every implementation of the Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static String toHexString(MessageDigest digest) {
+		return String.format("%064x", new BigInteger(1, digest.digest()));
+	}
+
+}
@@ -14,6 +14,7 @@ import static java.util.stream.Collectors.joining;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.platform.engine.Filter.composeFilters;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -21,20 +22,33 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.logging.Logger;
 import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ExceptionUtils;
 import org.junit.platform.commons.util.UnrecoverableExceptions;
+import org.junit.platform.engine.DiscoverySelector;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.Filter;
 import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.SelectorResolutionResult;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.launcher.EngineDiscoveryResult;
+import org.junit.platform.launcher.LauncherConstants;
 import org.junit.platform.launcher.LauncherDiscoveryListener;
 import org.junit.platform.launcher.LauncherDiscoveryRequest;
 import org.junit.platform.launcher.PostDiscoveryFilter;
@@ -71,12 +85,18 @@ public class EngineDiscoveryOrchestrator {
 	 * configured test engines.
 	 *
 	 * <p>Applies {@linkplain org.junit.platform.launcher.EngineFilter engine
-	 * filters} and {@linkplain PostDiscoveryFilter post-discovery filters} and
-	 * {@linkplain TestDescriptor#prune() prunes} the resulting test tree.
+	 * filters} and {@linkplain PostDiscoveryFilter post-discovery filters},
+	 * retains only the tests of the configured
+	 * {@linkplain org.junit.platform.launcher.LauncherConstants#SHARD_COUNT_PROPERTY_NAME
+	 * shard}, and {@linkplain TestDescriptor#prune() prunes} the resulting test
+	 * tree.
 	 */
 	public LauncherDiscoveryResult discover(LauncherDiscoveryRequest request, Phase phase) {
-		Map<TestEngine, TestDescriptor> result = discover(request, phase, UniqueId::forEngine);
-		return new LauncherDiscoveryResult(result, request.getConfigurationParameters());
+		TestSharding sharding = TestSharding.create(request.getConfigurationParameters());
+		Map<TestEngine, TestDescriptor> result = discover(sharding.prepare(request), phase, UniqueId::forEngine,
+			sharding);
+		return new LauncherDiscoveryResult(result, request.getConfigurationParameters(),
+			request.getCancellationToken().orElse(null));
 	}
 
 	/**
@@ -94,17 +114,19 @@ public class EngineDiscoveryOrchestrator {
 	 * will not emit start or emit events for engines without tests.
 	 */
 	public LauncherDiscoveryResult discover(LauncherDiscoveryRequest request, Phase phase, UniqueId parentId) {
-		Map<TestEngine, TestDescriptor> testEngines = discover(request, phase, parentId::appendEngine);
-		LauncherDiscoveryResult result = new LauncherDiscoveryResult(testEngines, request.getConfigurationParameters());
+		Map<TestEngine, TestDescriptor> testEngines = discover(request, phase, parentId::appendEngine,
+			TestSharding.disabled());
+		LauncherDiscoveryResult result = new LauncherDiscoveryResult(testEngines, request.getConfigurationParameters(),
+			request.getCancellationToken().orElse(null));
 		return result.withRetainedEngines(TestDescriptor::containsTests);
 	}
 
 	private Map<TestEngine, TestDescriptor> discover(LauncherDiscoveryRequest request, Phase phase,
-			Function<String, UniqueId> uniqueIdCreator) {
+			Function<String, UniqueId> uniqueIdCreator, TestSharding sharding) {
 		LauncherDiscoveryListener listener = getLauncherDiscoveryListener(request);
 		listener.launcherDiscoveryStarted(request);
 		try {
-			return discoverSafely(request, phase, listener, uniqueIdCreator);
+			return discoverSafely(request, phase, listener, uniqueIdCreator, sharding);
 		}
 		finally {
 			listener.launcherDiscoveryFinished(request);
@@ -112,8 +134,8 @@ public class EngineDiscoveryOrchestrator {
 	}
 
 	private Map<TestEngine, TestDescriptor> discoverSafely(LauncherDiscoveryRequest request, Phase phase,
-			LauncherDiscoveryListener listener, Function<String, UniqueId> uniqueIdCreator) {
-		Map<TestEngine, TestDescriptor> testEngineDescriptors = new LinkedHashMap<>();
+			LauncherDiscoveryListener listener, Function<String, UniqueId> uniqueIdCreator, TestSharding sharding) {
+		List<TestEngine> includedTestEngines = new ArrayList<>();
 		EngineFilterer engineFilterer = new EngineFilterer(request.getEngineFilters());
 
 		for (TestEngine testEngine : this.testEngines) {
@@ -126,11 +148,25 @@ public class EngineDiscoveryOrchestrator {
 				continue;
 			}
 
-			logger.debug(() -> String.format("Discovering tests during Launcher %s phase in engine '%s'.", phase,
-				testEngine.getId()));
+			includedTestEngines.add(testEngine);
+		}
 
-			TestDescriptor rootDescriptor = discoverEngineRoot(testEngine, request, listener, uniqueIdCreator);
-			testEngineDescriptors.put(testEngine, rootDescriptor);
+		Map<TestEngine, TestDescriptor> testEngineDescriptors;
+		if (includedTestEngines.size() > 1 && isParallelDiscoveryEnabled(request)) {
+			testEngineDescriptors = discoverConcurrently(includedTestEngines, request, phase, listener,
+				uniqueIdCreator);
+		}
+		else {
+			testEngineDescriptors = new LinkedHashMap<>();
+			for (TestEngine testEngine : includedTestEngines) {
+				logger.debug(() -> String.format("Discovering tests during Launcher %s phase in engine '%s'.", phase,
+					testEngine.getId()));
+
+				UniqueId uniqueEngineId = uniqueIdCreator.apply(testEngine.getId());
+				TestDescriptor rootDescriptor = discoverEngineRoot(testEngine, uniqueEngineId, listener,
+					() -> DiscoveryCache.discover(testEngine, request, uniqueEngineId));
+				testEngineDescriptors.put(testEngine, rootDescriptor);
+			}
 		}
 
 		engineFilterer.performSanityChecks();
@@ -139,17 +175,86 @@ public class EngineDiscoveryOrchestrator {
 		filters.addAll(request.getPostDiscoveryFilters());
 
 		applyPostDiscoveryFilters(testEngineDescriptors, filters);
+		sharding.apply(testEngineDescriptors.values());
 		prune(testEngineDescriptors);
 
 		return testEngineDescriptors;
 	}
 
-	private TestDescriptor discoverEngineRoot(TestEngine testEngine, LauncherDiscoveryRequest request,
-			LauncherDiscoveryListener listener, Function<String, UniqueId> uniqueIdCreator) {
-		UniqueId uniqueEngineId = uniqueIdCreator.apply(testEngine.getId());
+	private boolean isParallelDiscoveryEnabled(LauncherDiscoveryRequest request) {
+		return request.getConfigurationParameters().getBoolean(
+			LauncherConstants.PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME).orElse(false);
+	}
+
+	/**
+	 * Discover tests using each of the supplied engines in a separate thread
+	 * and report the events of each engine to the supplied listener on the
+	 * current thread, one engine after the other in the supplied order.
+	 *
+	 * <p>The first engine discovers tests on the current thread.
+	 */
+	private Map<TestEngine, TestDescriptor> discoverConcurrently(List<TestEngine> testEngines,
+			LauncherDiscoveryRequest request, Phase phase, LauncherDiscoveryListener listener,
+			Function<String, UniqueId> uniqueIdCreator) {
+
+		List<ConcurrentEngineDiscovery> discoveries = new ArrayList<>(testEngines.size());
+		for (TestEngine testEngine : testEngines) {
+			logger.debug(() -> String.format("Discovering tests concurrently during Launcher %s phase in engine '%s'.",
+				phase, testEngine.getId()));
+			discoveries.add(
+				new ConcurrentEngineDiscovery(testEngine, uniqueIdCreator.apply(testEngine.getId()), request));
+		}
+
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(testEngines.size() - 1, runnable -> {
+			Thread thread = new Thread(runnable, "junit-discovery-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<ConcurrentEngineDiscovery>> futures = new ArrayList<>(discoveries.size() - 1);
+			for (ConcurrentEngineDiscovery discovery : discoveries.subList(1, discoveries.size())) {
+				futures.add(executorService.submit(discovery, discovery));
+			}
+			discoveries.get(0).run();
+
+			Map<TestEngine, TestDescriptor> testEngineDescriptors = new LinkedHashMap<>();
+			reportConcurrentDiscovery(discoveries.get(0), listener, testEngineDescriptors);
+			for (Future<ConcurrentEngineDiscovery> future : futures) {
+				reportConcurrentDiscovery(await(future), listener, testEngineDescriptors);
+			}
+			return testEngineDescriptors;
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void reportConcurrentDiscovery(ConcurrentEngineDiscovery discovery, LauncherDiscoveryListener listener,
+			Map<TestEngine, TestDescriptor> testEngineDescriptors) {
+		TestDescriptor rootDescriptor = discoverEngineRoot(discovery.testEngine, discovery.uniqueEngineId, listener,
+			() -> discovery.replay(listener));
+		testEngineDescriptors.put(discovery.testEngine, rootDescriptor);
+	}
+
+	private static ConcurrentEngineDiscovery await(Future<ConcurrentEngineDiscovery> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JUnitException("Interrupted while waiting for test discovery to finish", e);
+		}
+		catch (ExecutionException e) {
+			throw ExceptionUtils.throwAsUncheckedException(e.getCause());
+		}
+	}
+
+	private TestDescriptor discoverEngineRoot(TestEngine testEngine, UniqueId uniqueEngineId,
+			LauncherDiscoveryListener listener, Callable<TestDescriptor> discovery) {
 		try {
 			listener.engineDiscoveryStarted(uniqueEngineId);
-			TestDescriptor engineRoot = testEngine.discover(request, uniqueEngineId);
+			TestDescriptor engineRoot = discovery.call();
 			discoveryResultValidator.validate(testEngine, engineRoot);
 			listener.engineDiscoveryFinished(uniqueEngineId, EngineDiscoveryResult.successful());
 			return engineRoot;
@@ -222,6 +327,71 @@ public class EngineDiscoveryOrchestrator {
 		testEngineDescriptors.values().forEach(descriptor -> descriptor.accept(visitor));
 	}
 
+	/**
+	 * Discovery of tests using a single engine whose calls to the discovery
+	 * listener are recorded so they can be replayed once all engines that
+	 * discover tests concurrently have been started.
+	 */
+	private static class ConcurrentEngineDiscovery implements Runnable {
+
+		private final TestEngine testEngine;
+		private final UniqueId uniqueEngineId;
+		private final ListenerRecordingDiscoveryRequest request;
+		private TestDescriptor engineRoot;
+		private Throwable failure;
+
+		ConcurrentEngineDiscovery(TestEngine testEngine, UniqueId uniqueEngineId, LauncherDiscoveryRequest request) {
+			this.testEngine = testEngine;
+			this.uniqueEngineId = uniqueEngineId;
+			this.request = new ListenerRecordingDiscoveryRequest(request);
+		}
+
+		@Override
+		public void run() {
+			try {
+				engineRoot = DiscoveryCache.discover(testEngine, request, uniqueEngineId);
+			}
+			catch (Throwable throwable) {
+				UnrecoverableExceptions.rethrowIfUnrecoverable(throwable);
+				failure = throwable;
+			}
+		}
+
+		/**
+		 * Replay the recorded calls to the supplied listener and return the
+		 * discovered root descriptor or throw the exception thrown by the
+		 * engine.
+		 */
+		TestDescriptor replay(LauncherDiscoveryListener listener) {
+			request.recordedCalls.forEach(call -> call.accept(listener));
+			if (failure != null) {
+				throw ExceptionUtils.throwAsUncheckedException(failure);
+			}
+			return engineRoot;
+		}
+	}
+
+	private static class ListenerRecordingDiscoveryRequest extends DelegatingLauncherDiscoveryRequest {
+
+		private final Queue<Consumer<LauncherDiscoveryListener>> recordedCalls = new ConcurrentLinkedQueue<>();
+		private final LauncherDiscoveryListener recordingListener = new LauncherDiscoveryListener() {
+			@Override
+			public void selectorProcessed(UniqueId engineId, DiscoverySelector selector,
+					SelectorResolutionResult result) {
+				recordedCalls.add(listener -> listener.selectorProcessed(engineId, selector, result));
+			}
+		};
+
+		ListenerRecordingDiscoveryRequest(LauncherDiscoveryRequest delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public LauncherDiscoveryListener getDiscoveryListener() {
+			return recordingListener;
+		}
+	}
+
 	public enum Phase {
 		DISCOVERY, EXECUTION;
 
@@ -13,19 +13,29 @@ package org.junit.platform.launcher.core;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.platform.launcher.core.ListenerRegistry.forEngineExecutionListeners;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.util.ExceptionUtils;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.commons.util.UnrecoverableExceptions;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.LauncherConstants;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestPlan;
 
@@ -51,8 +61,10 @@ public class EngineExecutionOrchestrator {
 		ConfigurationParameters configurationParameters = internalTestPlan.getConfigurationParameters();
 		ListenerRegistry<TestExecutionListener> testExecutionListenerListeners = buildListenerRegistryForExecution(
 			listeners);
-		withInterceptedStreams(configurationParameters, testExecutionListenerListeners,
-			testExecutionListener -> execute(internalTestPlan, EngineExecutionListener.NOOP, testExecutionListener));
+		withAsynchronousDispatch(configurationParameters, testExecutionListenerListeners,
+			listenerRegistry -> withInterceptedStreams(configurationParameters, listenerRegistry,
+				testExecutionListener -> execute(internalTestPlan, EngineExecutionListener.NOOP,
+					testExecutionListener, null)));
 	}
 
 	/**
@@ -70,11 +82,38 @@ public class EngineExecutionOrchestrator {
 		Preconditions.notNull(testExecutionListener, "testExecutionListener must not be null");
 
 		InternalTestPlan internalTestPlan = InternalTestPlan.from(discoveryResult);
-		execute(internalTestPlan, engineExecutionListener, testExecutionListener);
+		execute(internalTestPlan, engineExecutionListener, testExecutionListener, null);
+	}
+
+	/**
+	 * Executes tests for the supplied {@linkplain LauncherDiscoveryResult
+	 * discoveryResult} as part of an enclosing execution and notifies the
+	 * supplied {@linkplain EngineExecutionListener engineExecutionListener}
+	 * and {@linkplain TestExecutionListener testExecutionListener} of
+	 * execution events.
+	 *
+	 * <p>All engines share a {@linkplain CancellationToken#createChild() child}
+	 * of the supplied {@linkplain CancellationToken cancellation token} of the
+	 * enclosing execution. No {@link CancellationPolicy} is applied since the
+	 * policy of the enclosing execution is notified of the same events via
+	 * the supplied {@code engineExecutionListener}.
+	 *
+	 * @since 1.10
+	 */
+	@API(status = INTERNAL, since = "1.10", consumers = { "org.junit.platform.suite.engine" })
+	public void execute(LauncherDiscoveryResult discoveryResult, EngineExecutionListener engineExecutionListener,
+			TestExecutionListener testExecutionListener, CancellationToken parentCancellationToken) {
+		Preconditions.notNull(discoveryResult, "discoveryResult must not be null");
+		Preconditions.notNull(engineExecutionListener, "engineExecutionListener must not be null");
+		Preconditions.notNull(testExecutionListener, "testExecutionListener must not be null");
+		Preconditions.notNull(parentCancellationToken, "parentCancellationToken must not be null");
+
+		InternalTestPlan internalTestPlan = InternalTestPlan.from(discoveryResult);
+		execute(internalTestPlan, engineExecutionListener, testExecutionListener, parentCancellationToken);
 	}
 
 	private void execute(InternalTestPlan internalTestPlan, EngineExecutionListener parentEngineExecutionListener,
-			TestExecutionListener testExecutionListener) {
+			TestExecutionListener testExecutionListener, CancellationToken parentCancellationToken) {
 		internalTestPlan.markStarted();
 
 		// Do not directly pass the internal test plan to test execution listeners.
@@ -87,10 +126,49 @@ public class EngineExecutionOrchestrator {
 		engineExecutionListenerRegistry.add(parentEngineExecutionListener);
 
 		testExecutionListener.testPlanExecutionStarted(testPlan);
-		execute(discoveryResult, engineExecutionListenerRegistry.getCompositeListener());
+		if (parentCancellationToken == null) {
+			execute(discoveryResult, engineExecutionListenerRegistry.getCompositeListener());
+		}
+		else {
+			execute(discoveryResult, engineExecutionListenerRegistry.getCompositeListener(),
+				parentCancellationToken.createChild());
+		}
 		testExecutionListener.testPlanExecutionFinished(testPlan);
 	}
 
+	/**
+	 * Notify all listeners that are not {@linkplain
+	 * AsynchronousTestExecutionListener#isSynchronous synchronous} on a
+	 * dedicated thread if asynchronous dispatch is enabled.
+	 */
+	private void withAsynchronousDispatch(ConfigurationParameters configurationParameters,
+			ListenerRegistry<TestExecutionListener> listenerRegistry,
+			Consumer<ListenerRegistry<TestExecutionListener>> action) {
+
+		if (!AsynchronousTestExecutionListener.isDispatchedAsynchronously(configurationParameters)) {
+			action.accept(listenerRegistry);
+			return;
+		}
+		ListenerRegistry<TestExecutionListener> synchronousListeners = ListenerRegistry.forTestExecutionListeners();
+		ListenerRegistry<TestExecutionListener> asynchronousListeners = ListenerRegistry.forTestExecutionListeners();
+		for (TestExecutionListener listener : listenerRegistry.getListeners()) {
+			if (AsynchronousTestExecutionListener.isSynchronous(listener)) {
+				synchronousListeners.add(listener);
+			}
+			else {
+				asynchronousListeners.add(listener);
+			}
+		}
+		if (asynchronousListeners.getListeners().isEmpty()) {
+			action.accept(listenerRegistry);
+			return;
+		}
+		try (AsynchronousTestExecutionListener asynchronousListener = AsynchronousTestExecutionListener.start(
+			configurationParameters, asynchronousListeners.getCompositeListener())) {
+			action.accept(synchronousListeners.add(asynchronousListener));
+		}
+	}
+
 	private void withInterceptedStreams(ConfigurationParameters configurationParameters,
 			ListenerRegistry<TestExecutionListener> listenerRegistry, Consumer<TestExecutionListener> action) {
 
@@ -110,23 +188,108 @@ public class EngineExecutionOrchestrator {
 	 * Executes tests for the supplied {@linkplain LauncherDiscoveryResult
 	 * discovery results} and notifies the supplied {@linkplain
 	 * EngineExecutionListener listener} of execution events.
+	 *
+	 * <p>All engines share a new {@linkplain CancellationToken cancellation
+	 * token} that is cancelled once the token of the discovery request, if
+	 * any, has been cancelled or according to the configured
+	 * {@link CancellationPolicy}.
 	 */
 	@API(status = INTERNAL, since = "1.7", consumers = { "org.junit.platform.testkit" })
 	public void execute(LauncherDiscoveryResult discoveryResult, EngineExecutionListener engineExecutionListener) {
 		Preconditions.notNull(discoveryResult, "discoveryResult must not be null");
 		Preconditions.notNull(engineExecutionListener, "engineExecutionListener must not be null");
 
-		for (TestEngine testEngine : discoveryResult.getTestEngines()) {
-			TestDescriptor engineDescriptor = discoveryResult.getEngineTestDescriptor(testEngine);
-			if (engineDescriptor instanceof EngineDiscoveryErrorDescriptor) {
-				engineExecutionListener.executionStarted(engineDescriptor);
-				engineExecutionListener.executionFinished(engineDescriptor,
-					TestExecutionResult.failed(((EngineDiscoveryErrorDescriptor) engineDescriptor).getCause()));
+		CancellationToken cancellationToken = discoveryResult.getCancellationToken() //
+				.map(CancellationToken::createChild) //
+				.orElseGet(CancellationToken::create);
+		try (CancellationPolicy cancellationPolicy = CancellationPolicy.create(
+			discoveryResult.getConfigurationParameters(), cancellationToken)) {
+			execute(discoveryResult, cancellationPolicy.apply(engineExecutionListener), cancellationToken);
+		}
+	}
+
+	private void execute(LauncherDiscoveryResult discoveryResult, EngineExecutionListener engineExecutionListener,
+			CancellationToken cancellationToken) {
+		Optional<ForkedExecution> forkedExecution = ForkedExecution.create(
+			discoveryResult.getConfigurationParameters());
+		if (forkedExecution.isPresent()) {
+			forkedExecution.get().execute(discoveryResult, engineExecutionListener, cancellationToken);
+		}
+		else if (discoveryResult.getTestEngines().size() > 1
+				&& isParallelEngineExecutionEnabled(discoveryResult.getConfigurationParameters())) {
+			executeConcurrently(discoveryResult, engineExecutionListener, cancellationToken);
+		}
+		else {
+			for (TestEngine testEngine : discoveryResult.getTestEngines()) {
+				execute(discoveryResult, testEngine, engineExecutionListener, cancellationToken);
 			}
-			else {
-				execute(engineDescriptor, engineExecutionListener, discoveryResult.getConfigurationParameters(),
-					testEngine);
+		}
+	}
+
+	private boolean isParallelEngineExecutionEnabled(ConfigurationParameters configurationParameters) {
+		return configurationParameters.getBoolean(
+			LauncherConstants.PARALLEL_ENGINE_EXECUTION_ENABLED_PROPERTY_NAME).orElse(false);
+	}
+
+	/**
+	 * Execute the tests of each engine in a separate thread and never notify
+	 * the supplied listener of events of different engines concurrently.
+	 *
+	 * <p>The first engine executes its tests on the current thread.
+	 */
+	private void executeConcurrently(LauncherDiscoveryResult discoveryResult,
+			EngineExecutionListener engineExecutionListener, CancellationToken cancellationToken) {
+
+		EngineExecutionListener synchronizedListener = new SynchronizedEngineExecutionListener(
+			engineExecutionListener);
+		List<TestEngine> testEngines = new ArrayList<>(discoveryResult.getTestEngines());
+
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(testEngines.size() - 1, runnable -> {
+			Thread thread = new Thread(runnable, "junit-engine-execution-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(testEngines.size() - 1);
+			for (TestEngine testEngine : testEngines.subList(1, testEngines.size())) {
+				futures.add(executorService.submit(
+					() -> execute(discoveryResult, testEngine, synchronizedListener, cancellationToken)));
 			}
+			execute(discoveryResult, testEngines.get(0), synchronizedListener, cancellationToken);
+			for (Future<?> future : futures) {
+				await(future);
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private static void await(Future<?> future) {
+		try {
+			future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JUnitException("Interrupted while waiting for test engines to finish", e);
+		}
+		catch (ExecutionException e) {
+			throw ExceptionUtils.throwAsUncheckedException(e.getCause());
+		}
+	}
+
+	private void execute(LauncherDiscoveryResult discoveryResult, TestEngine testEngine,
+			EngineExecutionListener engineExecutionListener, CancellationToken cancellationToken) {
+		TestDescriptor engineDescriptor = discoveryResult.getEngineTestDescriptor(testEngine);
+		if (engineDescriptor instanceof EngineDiscoveryErrorDescriptor) {
+			engineExecutionListener.executionStarted(engineDescriptor);
+			engineExecutionListener.executionFinished(engineDescriptor,
+				TestExecutionResult.failed(((EngineDiscoveryErrorDescriptor) engineDescriptor).getCause()));
+		}
+		else {
+			execute(engineDescriptor, engineExecutionListener, discoveryResult.getConfigurationParameters(),
+				cancellationToken, testEngine);
 		}
 	}
 
@@ -139,12 +302,13 @@ public class EngineExecutionOrchestrator {
 	}
 
 	private void execute(TestDescriptor engineDescriptor, EngineExecutionListener listener,
-			ConfigurationParameters configurationParameters, TestEngine testEngine) {
+			ConfigurationParameters configurationParameters, CancellationToken cancellationToken, TestEngine testEngine) {
 
 		OutcomeDelayingEngineExecutionListener delayingListener = new OutcomeDelayingEngineExecutionListener(listener,
 			engineDescriptor);
 		try {
-			testEngine.execute(new ExecutionRequest(engineDescriptor, delayingListener, configurationParameters));
+			testEngine.execute(
+				ExecutionRequest.create(engineDescriptor, delayingListener, configurationParameters, cancellationToken));
 			delayingListener.reportEngineOutcome();
 		}
 		catch (Throwable throwable) {
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.util.Collections.unmodifiableList;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.FORK_JVM_ARGS_PROPERTY_NAME;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.commons.util.ExceptionUtils;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.launcher.LauncherConstants;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Executes the top-level containers of each test engine in child JVMs.
+ *
+ * <p>Each child JVM is driven by a dedicated thread that requests the next
+ * container as soon as the previous one has been executed, so that faster
+ * child JVMs execute more containers. Events reported by child JVMs are
+ * mapped to the discovered {@link TestDescriptor TestDescriptors} and passed
+ * to the supplied listener one at a time.
+ *
+ * @since 1.10
+ * @see LauncherConstants#FORK_COUNT_PROPERTY_NAME
+ */
+class ForkedExecution {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForkedExecution.class);
+
+	private final int forkCount;
+	private final List<String> jvmArgs;
+	private final String classPath;
+
+	static Optional<ForkedExecution> create(ConfigurationParameters configurationParameters) {
+		int forkCount = configurationParameters.get(FORK_COUNT_PROPERTY_NAME,
+			value -> Integer.parseInt(value.trim())).orElse(0);
+		Preconditions.condition(forkCount >= 0, () -> String.format(
+			"Configuration parameter '%s' must not be negative, but was: %d", FORK_COUNT_PROPERTY_NAME, forkCount));
+		if (forkCount == 0) {
+			return Optional.empty();
+		}
+		List<String> jvmArgs = configurationParameters.get(FORK_JVM_ARGS_PROPERTY_NAME) //
+				.map(value -> Arrays.stream(value.trim().split("\\s+")) //
+						.filter(arg -> !arg.isEmpty()) //
+						.collect(Collectors.toList())) //
+				.orElse(Collections.emptyList());
+		String classPath = ForkedJvm.getClassPath(ClassLoaderUtils.getDefaultClassLoader());
+		return Optional.of(new ForkedExecution(forkCount, jvmArgs, classPath));
+	}
+
+	private ForkedExecution(int forkCount, List<String> jvmArgs, String classPath) {
+		this.forkCount = forkCount;
+		this.jvmArgs = unmodifiableList(jvmArgs);
+		this.classPath = classPath;
+	}
+
+	void execute(LauncherDiscoveryResult discoveryResult, EngineExecutionListener engineExecutionListener,
+			CancellationToken cancellationToken) {
+		EngineExecutionListener synchronizedListener = new SynchronizedEngineExecutionListener(
+			engineExecutionListener);
+		Map<String, String> configurationParameters = getForkedConfigurationParameters(
+			discoveryResult.getConfigurationParameters());
+		Queue<ForkedJvm> idleJvms = new ConcurrentLinkedQueue<>();
+
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(forkCount, runnable -> {
+			Thread thread = new Thread(runnable, "junit-forked-execution-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (TestEngine testEngine : discoveryResult.getTestEngines()) {
+				TestDescriptor engineDescriptor = discoveryResult.getEngineTestDescriptor(testEngine);
+				EngineExecution engineExecution = new EngineExecution(engineDescriptor, synchronizedListener,
+					cancellationToken, configurationParameters, idleJvms);
+				engineExecution.execute(executorService);
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+			idleJvms.forEach(ForkedJvm::close);
+		}
+	}
+
+	/**
+	 * Pass all configuration parameters to child JVMs except for system
+	 * properties of the current JVM since most of them, for example,
+	 * {@code java.home} or {@code user.dir}, must not be overridden in child
+	 * JVMs. Only system properties whose names start with {@code junit.}
+	 * are passed. Other system properties need to be passed via
+	 * {@link LauncherConstants#FORK_JVM_ARGS_PROPERTY_NAME}.
+	 */
+	private static Map<String, String> getForkedConfigurationParameters(
+			ConfigurationParameters configurationParameters) {
+		Set<String> keys = LauncherConfigurationParameters.keySetExcludingNonJUnitSystemProperties(
+			configurationParameters);
+		Map<String, String> result = new TreeMap<>();
+		Set<String> droppedKeys = new TreeSet<>();
+		for (String key : configurationParameters.keySet()) {
+			if (keys.contains(key)) {
+				configurationParameters.get(key).ifPresent(value -> result.put(key, value));
+			}
+			else {
+				droppedKeys.add(key);
+			}
+		}
+		logger.config(() -> String.format(
+			"Not passing the following system properties to forked JVMs, use '%s' to do so: %s",
+			FORK_JVM_ARGS_PROPERTY_NAME, droppedKeys));
+		return result;
+	}
+
+	private class EngineExecution {
+
+		private final TestDescriptor engineDescriptor;
+		private final EngineExecutionListener listener;
+		private final CancellationToken cancellationToken;
+		private final Map<String, String> configurationParameters;
+		private final Queue<ForkedJvm> idleJvms;
+		private final Queue<TestDescriptor> pendingContainers;
+		private final AtomicReference<TestExecutionResult> engineResult = new AtomicReference<>();
+
+		EngineExecution(TestDescriptor engineDescriptor, EngineExecutionListener listener,
+				CancellationToken cancellationToken, Map<String, String> configurationParameters,
+				Queue<ForkedJvm> idleJvms) {
+			this.engineDescriptor = engineDescriptor;
+			this.listener = listener;
+			this.cancellationToken = cancellationToken;
+			this.configurationParameters = configurationParameters;
+			this.idleJvms = idleJvms;
+			this.pendingContainers = new ConcurrentLinkedQueue<>(engineDescriptor.getChildren());
+		}
+
+		void execute(ExecutorService executorService) {
+			listener.executionStarted(engineDescriptor);
+			if (engineDescriptor instanceof EngineDiscoveryErrorDescriptor) {
+				listener.executionFinished(engineDescriptor,
+					TestExecutionResult.failed(((EngineDiscoveryErrorDescriptor) engineDescriptor).getCause()));
+				return;
+			}
+			int workerCount = Math.min(forkCount, pendingContainers.size());
+			List<Future<?>> futures = new ArrayList<>(workerCount);
+			for (int i = 0; i < workerCount; i++) {
+				futures.add(executorService.submit(this::executePendingContainers));
+			}
+			for (Future<?> future : futures) {
+				await(future);
+			}
+			TestExecutionResult result = engineResult.get();
+			listener.executionFinished(engineDescriptor, result == null ? TestExecutionResult.successful() : result);
+		}
+
+		private void executePendingContainers() {
+			ForkedJvm forkedJvm = idleJvms.poll();
+			try {
+				TestDescriptor container;
+				while ((container = pendingContainers.poll()) != null) {
+					if (cancellationToken.isCancellationRequested()) {
+						listener.executionSkipped(container, cancellationToken.getReason());
+						continue;
+					}
+					ContainerExecution containerExecution = new ContainerExecution(this, container);
+					if (forkedJvm == null) {
+						try {
+							forkedJvm = ForkedJvm.start(jvmArgs, classPath, configurationParameters);
+						}
+						catch (IOException e) {
+							containerExecution.abort(new JUnitException("Failed to start forked JVM", e));
+							continue;
+						}
+					}
+					try {
+						forkedJvm.execute(container.getUniqueId().toString(), containerExecution.getUniqueIds(),
+							containerExecution);
+						containerExecution.completed();
+					}
+					catch (IOException e) {
+						containerExecution.abort(new JUnitException(forkedJvm.describeTermination(), e));
+						forkedJvm.close();
+						forkedJvm = null;
+					}
+				}
+			}
+			finally {
+				if (forkedJvm != null) {
+					idleJvms.add(forkedJvm);
+				}
+			}
+		}
+
+		private void reportEngineResult(TestExecutionResult result) {
+			if (result.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+				engineResult.compareAndSet(null, result);
+			}
+		}
+	}
+
+	private static void await(Future<?> future) {
+		try {
+			future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JUnitException("Interrupted while waiting for forked JVMs to finish", e);
+		}
+		catch (ExecutionException e) {
+			throw ExceptionUtils.throwAsUncheckedException(e.getCause());
+		}
+	}
+
+	/**
+	 * Maps the events of a container executed in a child JVM to its
+	 * descriptors and keeps track of the descriptors that have been started
+	 * but not yet finished.
+	 */
+	private static class ContainerExecution implements ForkedJvm.EventHandler {
+
+		private final EngineExecution engineExecution;
+		private final TestDescriptor container;
+		private final Map<String, TestDescriptor> descriptors = new HashMap<>();
+		private final Set<TestDescriptor> reported = new HashSet<>();
+		private final Set<TestDescriptor> inFlight = new LinkedHashSet<>();
+		private boolean containerStarted;
+
+		ContainerExecution(EngineExecution engineExecution, TestDescriptor container) {
+			this.engineExecution = engineExecution;
+			this.container = container;
+			container.accept(descriptor -> descriptors.put(descriptor.getUniqueId().toString(), descriptor));
+		}
+
+		Set<String> getUniqueIds() {
+			return descriptors.keySet();
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			TestDescriptor parent = testIdentifier.getParentId().map(descriptors::get).orElse(null);
+			if (parent != null) {
+				TestDescriptor descriptor = new ForkedTestDescriptor(testIdentifier);
+				parent.addChild(descriptor);
+				descriptors.put(testIdentifier.getUniqueId(), descriptor);
+				engineExecution.listener.dynamicTestRegistered(descriptor);
+			}
+		}
+
+		@Override
+		public void executionSkipped(String uniqueId, String reason) {
+			TestDescriptor descriptor = descriptors.get(uniqueId);
+			if (descriptor != null) {
+				containerStarted |= descriptor == container;
+				reported.add(descriptor);
+				engineExecution.listener.executionSkipped(descriptor, reason);
+			}
+		}
+
+		@Override
+		public void executionStarted(String uniqueId) {
+			TestDescriptor descriptor = descriptors.get(uniqueId);
+			if (descriptor != null) {
+				containerStarted |= descriptor == container;
+				reported.add(descriptor);
+				inFlight.add(descriptor);
+				engineExecution.listener.executionStarted(descriptor);
+			}
+		}
+
+		@Override
+		public void executionFinished(String uniqueId, TestExecutionResult testExecutionResult) {
+			TestDescriptor descriptor = descriptors.get(uniqueId);
+			if (descriptor != null) {
+				inFlight.remove(descriptor);
+				engineExecution.listener.executionFinished(descriptor, testExecutionResult);
+			}
+			else if (isEngine(uniqueId)) {
+				engineExecution.reportEngineResult(testExecutionResult);
+			}
+		}
+
+		@Override
+		public void reportingEntryPublished(String uniqueId, ReportEntry entry) {
+			TestDescriptor descriptor = isEngine(uniqueId) ? engineExecution.engineDescriptor
+					: descriptors.get(uniqueId);
+			if (descriptor != null) {
+				engineExecution.listener.reportingEntryPublished(descriptor, entry);
+			}
+		}
+
+		@Override
+		public void executionFailed(Throwable throwable) {
+			abort(throwable);
+		}
+
+		private boolean isEngine(String uniqueId) {
+			return engineExecution.engineDescriptor.getUniqueId().toString().equals(uniqueId);
+		}
+
+		/**
+		 * Called after the child JVM reported that it is done with the
+		 * container; fails the container if it was not executed completely,
+		 * for example, because it could not be discovered in the child JVM.
+		 */
+		void completed() {
+			if (!containerStarted || !inFlight.isEmpty()) {
+				abort(new JUnitException(String.format(
+					"Forked JVM did not execute container [%s] completely; make sure it can be discovered "
+							+ "using the class path and configuration parameters of the forked JVM",
+					container.getUniqueId())));
+			}
+		}
+
+		/**
+		 * Report all descriptors that are in flight, and the container itself
+		 * if it has not been reported yet, as failed and their children that
+		 * have not been reported yet as skipped.
+		 */
+		void abort(Throwable throwable) {
+			if (!containerStarted) {
+				executionStarted(container.getUniqueId().toString());
+			}
+			String reason = String.valueOf(throwable.getMessage());
+			List<TestDescriptor> descriptorsToFinish = new ArrayList<>(inFlight);
+			Collections.reverse(descriptorsToFinish);
+			for (TestDescriptor descriptor : descriptorsToFinish) {
+				for (TestDescriptor child : new ArrayList<>(descriptor.getChildren())) {
+					if (reported.add(child)) {
+						engineExecution.listener.executionSkipped(child, reason);
+					}
+				}
+				executionFinished(descriptor.getUniqueId().toString(), TestExecutionResult.failed(throwable));
+			}
+		}
+	}
+
+	/**
+	 * Descriptor of a test that was registered dynamically in a child JVM.
+	 */
+	private static class ForkedTestDescriptor extends AbstractTestDescriptor {
+
+		private final Type type;
+		private final Set<TestTag> tags;
+		private final String legacyReportingName;
+
+		ForkedTestDescriptor(TestIdentifier testIdentifier) {
+			super(testIdentifier.getUniqueIdObject(), testIdentifier.getDisplayName(),
+				testIdentifier.getSource().orElse(null));
+			this.type = testIdentifier.getType();
+			this.tags = testIdentifier.getTags();
+			this.legacyReportingName = testIdentifier.getLegacyReportingName();
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+
+		@Override
+		public Set<TestTag> getTags() {
+			return tags;
+		}
+
+		@Override
+		public String getLegacyReportingName() {
+			return legacyReportingName;
+		}
+	}
+
+}
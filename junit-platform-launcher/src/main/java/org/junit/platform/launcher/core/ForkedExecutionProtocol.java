@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestExecutionResult.Status;
+
+/**
+ * Messages and encoding used by the launcher to communicate with child JVMs
+ * in forked execution mode.
+ *
+ * <p>The launcher passes a random token of {@link #TOKEN_LENGTH} bytes via
+ * the standard input stream of a child JVM. The child JVM connects to the
+ * loopback port passed as its argument and sends the token before any other
+ * messages are exchanged over that connection. Each message
+ * starts with a single byte identifying its type followed by its fields.
+ * Strings are encoded as their length in bytes followed by their UTF-8 bytes.
+ * Exceptions and dynamically registered test identifiers are encoded using
+ * Java serialization.
+ *
+ * <p>After receiving {@link #INIT} once, the child JVM executes one container
+ * per {@link #EXECUTE} message, reports its events, and concludes with
+ * {@link #DONE}. The child JVM exits once the launcher closes the connection.
+ *
+ * @since 1.10
+ * @see ForkedJvm
+ * @see ForkedTestExecutor
+ */
+final class ForkedExecutionProtocol {
+
+	/**
+	 * Configuration parameters of the child JVM: number of parameters followed
+	 * by each key and value.
+	 */
+	static final byte INIT = 'I';
+
+	/**
+	 * Container to execute: its unique ID followed by the number of unique IDs
+	 * of the container and its descendants that should be executed and each of
+	 * them.
+	 */
+	static final byte EXECUTE = 'X';
+
+	static final byte DYNAMIC_TEST_REGISTERED = 'D';
+
+	static final byte EXECUTION_SKIPPED = 'K';
+
+	static final byte EXECUTION_STARTED = 'S';
+
+	static final byte EXECUTION_FINISHED = 'F';
+
+	static final byte REPORTING_ENTRY_PUBLISHED = 'R';
+
+	/**
+	 * The container could not be executed: serialized exception.
+	 */
+	static final byte FAILED = 'E';
+
+	/**
+	 * The container has been executed and all its events have been reported.
+	 */
+	static final byte DONE = 'Z';
+
+	static final int TOKEN_LENGTH = 32;
+
+	private static final SecureRandom random = new SecureRandom();
+
+	private ForkedExecutionProtocol() {
+		/* no-op */
+	}
+
+	static byte[] newToken() {
+		byte[] token = new byte[TOKEN_LENGTH];
+		random.nextBytes(token);
+		return token;
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		writeBytes(out, value.getBytes(UTF_8));
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		return new String(readBytes(in), UTF_8);
+	}
+
+	static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			writeString(out, entry.getKey());
+			writeString(out, entry.getValue());
+		}
+	}
+
+	static Map<String, String> readMap(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(readString(in), readString(in));
+		}
+		return map;
+	}
+
+	static void writeResult(DataOutputStream out, TestExecutionResult result) throws IOException {
+		out.writeByte(result.getStatus().ordinal());
+		Throwable throwable = result.getThrowable().orElse(null);
+		out.writeBoolean(throwable != null);
+		if (throwable != null) {
+			writeThrowable(out, throwable);
+		}
+	}
+
+	static TestExecutionResult readResult(DataInputStream in) throws IOException {
+		Status status = Status.values()[in.readByte()];
+		Throwable throwable = in.readBoolean() ? readThrowable(in) : null;
+		switch (status) {
+			case SUCCESSFUL:
+				return TestExecutionResult.successful();
+			case ABORTED:
+				return TestExecutionResult.aborted(throwable);
+			default:
+				return TestExecutionResult.failed(throwable);
+		}
+	}
+
+	/**
+	 * Write the supplied exception or, if it cannot be serialized, an
+	 * exception with the same message and stack trace.
+	 */
+	static void writeThrowable(DataOutputStream out, Throwable throwable) throws IOException {
+		byte[] bytes;
+		try {
+			bytes = serialize(throwable);
+		}
+		catch (IOException e) {
+			JUnitException substitute = new JUnitException(throwable.toString());
+			substitute.setStackTrace(throwable.getStackTrace());
+			bytes = serialize(substitute);
+		}
+		writeBytes(out, bytes);
+	}
+
+	static Throwable readThrowable(DataInputStream in) throws IOException {
+		return readObject(in, Throwable.class);
+	}
+
+	static void writeObject(DataOutputStream out, Serializable object) throws IOException {
+		writeBytes(out, serialize(object));
+	}
+
+	static <T> T readObject(DataInputStream in, Class<T> type) throws IOException {
+		try (ObjectInputStream objectInputStream = new DefaultClassLoaderObjectInputStream(
+			new ByteArrayInputStream(readBytes(in)))) {
+			return type.cast(objectInputStream.readObject());
+		}
+		catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Failed to deserialize object sent by forked JVM", e);
+		}
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+			objectOutputStream.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static class DefaultClassLoaderObjectInputStream extends ObjectInputStream {
+
+		DefaultClassLoaderObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			try {
+				return Class.forName(desc.getName(), false, ClassLoaderUtils.getDefaultClassLoader());
+			}
+			catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+	}
+
+}
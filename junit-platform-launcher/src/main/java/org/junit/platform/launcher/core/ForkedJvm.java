@@ -0,0 +1,354 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.DONE;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.DYNAMIC_TEST_REGISTERED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTE;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_FINISHED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_SKIPPED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_STARTED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.FAILED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.INIT;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.REPORTING_ENTRY_PUBLISHED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readMap;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readObject;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readResult;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readString;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readThrowable;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeMap;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Child JVM that executes containers on behalf of the launcher in forked
+ * execution mode.
+ *
+ * @since 1.10
+ * @see ForkedExecutionProtocol
+ */
+class ForkedJvm implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForkedJvm.class);
+
+	private static final int CONNECT_TIMEOUT_SECONDS = 60;
+
+	private final Process process;
+	private final Socket socket;
+	private final DataOutputStream out;
+	private final DataInputStream in;
+
+	/**
+	 * Determine the class path for child JVMs that can load the same classes
+	 * as the supplied class loader.
+	 *
+	 * <p>The class path consists of the {@code java.class.path} system
+	 * property followed by the URLs of all {@link URLClassLoader
+	 * URLClassLoaders} between the system class loader and the supplied
+	 * class loader, for example, the ones created by the
+	 * {@code ConsoleLauncher} for additional class path entries.
+	 */
+	static String getClassPath(ClassLoader classLoader) {
+		List<ClassLoader> classLoaders = new ArrayList<>();
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+		for (ClassLoader current = classLoader; current != null
+				&& current != systemClassLoader; current = current.getParent()) {
+			classLoaders.add(current);
+		}
+		Collections.reverse(classLoaders);
+		Set<String> entries = new LinkedHashSet<>();
+		Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator)) //
+				.filter(entry -> !entry.isEmpty()) //
+				.forEach(entries::add);
+		for (ClassLoader current : classLoaders) {
+			if (current instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) current).getURLs()) {
+					toPath(url).ifPresent(entries::add);
+				}
+			}
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+
+	private static Optional<String> toPath(URL url) {
+		if ("file".equals(url.getProtocol())) {
+			try {
+				return Optional.of(Paths.get(url.toURI()).toString());
+			}
+			catch (URISyntaxException | IllegalArgumentException e) {
+				// fall through
+			}
+		}
+		logger.warn(() -> "Ignoring class path entry that cannot be passed to forked JVMs: " + url);
+		return Optional.empty();
+	}
+
+	/**
+	 * Start a child JVM using the current Java executable and the supplied
+	 * class path, wait for it to connect, and send it the supplied
+	 * configuration parameters.
+	 *
+	 * <p>The child JVM is passed the port of a loopback server socket as its
+	 * only argument and a random token via its standard input stream. The
+	 * first connection that presents the token is used for all messages so
+	 * that output written by the child JVM cannot interfere with them. Its
+	 * standard output and standard error streams are forwarded to
+	 * {@link System#err}.
+	 */
+	static ForkedJvm start(List<String> jvmArgs, String classPath, Map<String, String> configurationParameters)
+			throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			List<String> command = new ArrayList<>();
+			command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+			command.addAll(jvmArgs);
+			command.add("-cp");
+			command.add(classPath);
+			command.add(ForkedTestExecutor.class.getName());
+			command.add(String.valueOf(serverSocket.getLocalPort()));
+			logger.config(() -> "Starting forked JVM: " + command);
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			forwardOutput(process);
+			ForkedJvm forkedJvm = null;
+			try {
+				byte[] token = ForkedExecutionProtocol.newToken();
+				try (OutputStream stdin = process.getOutputStream()) {
+					stdin.write(token);
+				}
+				forkedJvm = new ForkedJvm(process, accept(serverSocket, process, token));
+				forkedJvm.out.writeByte(INIT);
+				writeMap(forkedJvm.out, configurationParameters);
+				forkedJvm.out.flush();
+				return forkedJvm;
+			}
+			catch (IOException e) {
+				if (forkedJvm != null) {
+					forkedJvm.close();
+				}
+				else {
+					process.destroyForcibly();
+				}
+				throw e;
+			}
+		}
+	}
+
+	private static void forwardOutput(Process process) {
+		PrintStream target = System.err;
+		Thread thread = new Thread(() -> {
+			byte[] buffer = new byte[8192];
+			try (InputStream output = process.getInputStream()) {
+				int length;
+				while ((length = output.read(buffer)) != -1) {
+					target.write(buffer, 0, length);
+				}
+			}
+			catch (IOException ignore) {
+				// the child JVM has terminated
+			}
+			target.flush();
+		}, "junit-forked-jvm-output");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private static Socket accept(ServerSocket serverSocket, Process process, byte[] token) throws IOException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CONNECT_TIMEOUT_SECONDS);
+		serverSocket.setSoTimeout(1000);
+		while (System.nanoTime() - deadline < 0) {
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			}
+			catch (SocketTimeoutException e) {
+				if (!process.isAlive()) {
+					throw new IOException("Forked JVM terminated with exit code " + process.exitValue()
+							+ " before connecting to the launcher");
+				}
+				continue;
+			}
+			try {
+				socket.setSoTimeout(1000 * CONNECT_TIMEOUT_SECONDS);
+				byte[] actualToken = new byte[token.length];
+				new DataInputStream(socket.getInputStream()).readFully(actualToken);
+				if (MessageDigest.isEqual(token, actualToken)) {
+					socket.setSoTimeout(0);
+					return socket;
+				}
+				logger.warn(() -> "Rejecting connection that did not present the token of the forked JVM: "
+						+ socket.getRemoteSocketAddress());
+			}
+			catch (IOException e) {
+				logger.warn(e, () -> "Failed to read token from connection: " + socket.getRemoteSocketAddress());
+			}
+			socket.close();
+		}
+		throw new IOException("Forked JVM did not connect to the launcher within " + CONNECT_TIMEOUT_SECONDS
+				+ " seconds");
+	}
+
+	private ForkedJvm(Process process, Socket socket) throws IOException {
+		this.process = process;
+		this.socket = socket;
+		this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+	}
+
+	/**
+	 * Execute the container with the supplied unique ID in this JVM and notify
+	 * the supplied handler of its events until the child JVM reports that it
+	 * is done.
+	 *
+	 * @param containerId the unique ID of the container to execute
+	 * @param uniqueIds the unique IDs of the container and all of its
+	 * descendants that should be executed
+	 * @throws IOException if the child JVM terminated or could not be reached
+	 */
+	void execute(String containerId, Collection<String> uniqueIds, EventHandler handler) throws IOException {
+		out.writeByte(EXECUTE);
+		writeString(out, containerId);
+		out.writeInt(uniqueIds.size());
+		for (String uniqueId : uniqueIds) {
+			writeString(out, uniqueId);
+		}
+		out.flush();
+
+		while (true) {
+			byte type = in.readByte();
+			switch (type) {
+				case DYNAMIC_TEST_REGISTERED:
+					handler.dynamicTestRegistered(readObject(in, TestIdentifier.class));
+					break;
+				case EXECUTION_SKIPPED:
+					handler.executionSkipped(readString(in), readString(in));
+					break;
+				case EXECUTION_STARTED:
+					handler.executionStarted(readString(in));
+					break;
+				case EXECUTION_FINISHED:
+					handler.executionFinished(readString(in), readResult(in));
+					break;
+				case REPORTING_ENTRY_PUBLISHED:
+					handler.reportingEntryPublished(readString(in), ReportEntry.from(readMap(in)));
+					break;
+				case FAILED:
+					handler.executionFailed(readThrowable(in));
+					break;
+				case DONE:
+					return;
+				default:
+					throw new IOException("Unexpected message type from forked JVM: " + type);
+			}
+		}
+	}
+
+	/**
+	 * Describe how the child JVM terminated, waiting briefly for it to exit.
+	 */
+	String describeTermination() {
+		try {
+			if (process.waitFor(5, TimeUnit.SECONDS)) {
+				return "Forked JVM terminated unexpectedly with exit code " + process.exitValue();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "Forked JVM stopped responding";
+	}
+
+	/**
+	 * Ask the child JVM to exit by closing its connection and forcibly
+	 * terminate it if it does not exit in time.
+	 */
+	@Override
+	public void close() {
+		try {
+			socket.shutdownOutput();
+		}
+		catch (IOException ignore) {
+			// the child JVM has already terminated
+		}
+		try {
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+		catch (InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			try {
+				socket.close();
+			}
+			catch (IOException ignore) {
+				// nothing to do
+			}
+		}
+	}
+
+	/**
+	 * Receives the events of a container executed by a child JVM.
+	 */
+	interface EventHandler {
+
+		void dynamicTestRegistered(TestIdentifier testIdentifier);
+
+		void executionSkipped(String uniqueId, String reason);
+
+		void executionStarted(String uniqueId);
+
+		void executionFinished(String uniqueId, TestExecutionResult testExecutionResult);
+
+		void reportingEntryPublished(String uniqueId, ReportEntry entry);
+
+		/**
+		 * Called if the child JVM failed to discover or execute the container.
+		 */
+		void executionFailed(Throwable throwable);
+
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.DONE;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.DYNAMIC_TEST_REGISTERED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTE;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_FINISHED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_SKIPPED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.EXECUTION_STARTED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.FAILED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.INIT;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.REPORTING_ENTRY_PUBLISHED;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.TOKEN_LENGTH;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readMap;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.readString;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeMap;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeObject;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeResult;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeString;
+import static org.junit.platform.launcher.core.ForkedExecutionProtocol.writeThrowable;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.UnrecoverableExceptions;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Entry point of the child JVMs that execute containers on behalf of the
+ * launcher in forked execution mode.
+ *
+ * <p>The child JVM reads a token from its standard input stream, connects to
+ * the launcher via the loopback port passed as its only argument, and
+ * exchanges all messages over that connection.
+ *
+ * @since 1.10
+ * @see ForkedExecutionProtocol
+ * @see org.junit.platform.launcher.LauncherConstants#FORK_COUNT_PROPERTY_NAME
+ */
+@API(status = INTERNAL, since = "1.10")
+public final class ForkedTestExecutor {
+
+	private final DataInputStream in;
+	private final DataOutputStream out;
+
+	public static void main(String[] args) {
+		int exitCode = 0;
+		try {
+			Preconditions.condition(args.length == 1, "Port of the launcher must be passed as the only argument");
+			byte[] token = new byte[TOKEN_LENGTH];
+			new DataInputStream(System.in).readFully(token);
+			System.setIn(new ByteArrayInputStream(new byte[0]));
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+				out.write(token);
+				out.flush();
+				new ForkedTestExecutor(in, out).run();
+			}
+		}
+		catch (Throwable t) {
+			t.printStackTrace();
+			exitCode = 1;
+		}
+		// Tests may have started non-daemon threads that would keep the JVM alive
+		System.exit(exitCode);
+	}
+
+	private ForkedTestExecutor(DataInputStream in, DataOutputStream out) {
+		this.in = in;
+		this.out = out;
+	}
+
+	private void run() throws IOException {
+		expect(INIT);
+		Map<String, String> configurationParameters = readMap(in);
+		// The launcher already partitioned and distributed the tests
+		configurationParameters.put(FORK_COUNT_PROPERTY_NAME, "0");
+		configurationParameters.put(SHARD_COUNT_PROPERTY_NAME, "1");
+		configurationParameters.put(SHARD_INDEX_PROPERTY_NAME, "0");
+
+		LauncherConfig launcherConfig = LauncherConfig.builder() //
+				.enableTestExecutionListenerAutoRegistration(false) //
+				.build();
+		try (LauncherSession session = LauncherFactory.openSession(launcherConfig)) {
+			while (true) {
+				try {
+					expect(EXECUTE);
+				}
+				catch (EOFException e) {
+					return;
+				}
+				String containerId = readString(in);
+				int count = in.readInt();
+				Set<String> uniqueIds = new HashSet<>(count);
+				for (int i = 0; i < count; i++) {
+					uniqueIds.add(readString(in));
+				}
+				execute(session, configurationParameters, containerId, uniqueIds);
+			}
+		}
+	}
+
+	private void expect(byte expectedType) throws IOException {
+		byte type = in.readByte();
+		if (type != expectedType) {
+			throw new JUnitException("Unexpected message type from launcher: " + type);
+		}
+	}
+
+	private void execute(LauncherSession session, Map<String, String> configurationParameters, String containerId,
+			Set<String> uniqueIds) throws IOException {
+		try {
+			UniqueId uniqueId = UniqueId.parse(containerId);
+			LauncherDiscoveryRequest request = request() //
+					.selectors(selectUniqueId(uniqueId)) //
+					.filters(includeEngines(uniqueId.getEngineId().orElse("")), (PostDiscoveryFilter) descriptor -> {
+						String id = descriptor.getUniqueId().toString();
+						return FilterResult.includedIf(uniqueIds.contains(id));
+					}) //
+					.configurationParameters(configurationParameters) //
+					.build();
+			session.getLauncher().execute(request, new ReportingTestExecutionListener());
+		}
+		catch (Throwable t) {
+			UnrecoverableExceptions.rethrowIfUnrecoverable(t);
+			synchronized (out) {
+				out.writeByte(FAILED);
+				writeThrowable(out, t);
+			}
+		}
+		synchronized (out) {
+			out.writeByte(DONE);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Reports events to the launcher as they occur so that it knows which
+	 * tests were in flight if this JVM terminates unexpectedly.
+	 */
+	private class ReportingTestExecutionListener implements SynchronousTestExecutionListener {
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			report(() -> {
+				out.writeByte(DYNAMIC_TEST_REGISTERED);
+				writeObject(out, testIdentifier);
+			});
+		}
+
+		@Override
+		public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+			report(() -> {
+				out.writeByte(EXECUTION_SKIPPED);
+				writeString(out, testIdentifier.getUniqueId());
+				writeString(out, reason);
+			});
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			report(() -> {
+				out.writeByte(EXECUTION_STARTED);
+				writeString(out, testIdentifier.getUniqueId());
+			});
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			report(() -> {
+				out.writeByte(EXECUTION_FINISHED);
+				writeString(out, testIdentifier.getUniqueId());
+				writeResult(out, testExecutionResult);
+			});
+		}
+
+		@Override
+		public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+			report(() -> {
+				out.writeByte(REPORTING_ENTRY_PUBLISHED);
+				writeString(out, testIdentifier.getUniqueId());
+				writeMap(out, entry.getKeyValuePairs());
+			});
+		}
+
+		private void report(Message message) {
+			synchronized (out) {
+				try {
+					message.write();
+					out.flush();
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface Message {
+
+		void write() throws IOException;
+
+	}
+
+}
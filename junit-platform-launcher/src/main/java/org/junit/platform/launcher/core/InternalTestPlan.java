@@ -14,6 +14,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.launcher.TestIdentifier;
@@ -100,6 +101,26 @@ class InternalTestPlan extends TestPlan {
 		return delegate.getDescendants(parent);
 	}
 
+	@Override
+	public Stream<TestIdentifier> streamDescendants(TestIdentifier parent) {
+		return delegate.streamDescendants(parent);
+	}
+
+	@Override
+	public boolean isAncestor(TestIdentifier ancestor, TestIdentifier descendant) {
+		return delegate.isAncestor(ancestor, descendant);
+	}
+
+	@Override
+	public long countTests(TestIdentifier root) {
+		return delegate.countTests(root);
+	}
+
+	@Override
+	public long countContainers(TestIdentifier root) {
+		return delegate.countContainers(root);
+	}
+
 	@Override
 	public boolean containsTests() {
 		return delegate.containsTests();
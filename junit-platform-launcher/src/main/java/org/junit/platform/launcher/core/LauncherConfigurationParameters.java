@@ -74,6 +74,31 @@ class LauncherConfigurationParameters implements ConfigurationParameters {
 			Collectors.toSet());
 	}
 
+	/**
+	 * Get the keys of all parameters that are not only provided by system
+	 * properties, for example, explicit parameters and parameters from the
+	 * configuration file.
+	 */
+	Set<String> keySetExcludingSystemProperties() {
+		return providers.stream().map(ParameterProvider::keySetExcludingSystemProperties).flatMap(
+			Collection::stream).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Get the keys of all supplied parameters except for system properties of
+	 * the current JVM whose names do not start with {@code junit.} since most
+	 * of them, for example, {@code java.home} or {@code sun.java.command},
+	 * describe the current JVM rather than the test run.
+	 */
+	static Set<String> keySetExcludingNonJUnitSystemProperties(ConfigurationParameters configurationParameters) {
+		Set<String> keysExcludingSystemProperties = configurationParameters instanceof LauncherConfigurationParameters
+				? ((LauncherConfigurationParameters) configurationParameters).keySetExcludingSystemProperties()
+				: Collections.emptySet();
+		return configurationParameters.keySet().stream() //
+				.filter(key -> keysExcludingSystemProperties.contains(key) || key.startsWith("junit.")) //
+				.collect(Collectors.toSet());
+	}
+
 	private String getProperty(String key) {
 		Preconditions.notBlank(key, "key must not be null or blank");
 		return providers.stream() //
@@ -151,6 +176,10 @@ class LauncherConfigurationParameters implements ConfigurationParameters {
 
 		Set<String> keySet();
 
+		default Set<String> keySetExcludingSystemProperties() {
+			return keySet();
+		}
+
 		static ParameterProvider explicit(Map<String, String> configParams) {
 			return new ParameterProvider() {
 				@Override
@@ -194,6 +223,11 @@ class LauncherConfigurationParameters implements ConfigurationParameters {
 					return System.getProperties().stringPropertyNames();
 				}
 
+				@Override
+				public Set<String> keySetExcludingSystemProperties() {
+					return Collections.emptySet();
+				}
+
 				@Override
 				public String toString() {
 					return "systemProperties [...]";
@@ -242,6 +276,14 @@ class LauncherConfigurationParameters implements ConfigurationParameters {
 					return configParams.keySet();
 				}
 
+				@Override
+				public Set<String> keySetExcludingSystemProperties() {
+					if (configParams instanceof LauncherConfigurationParameters) {
+						return ((LauncherConfigurationParameters) configParams).keySetExcludingSystemProperties();
+					}
+					return keySet();
+				}
+
 				@Override
 				public String toString() {
 					ToStringBuilder builder = new ToStringBuilder("inherited");
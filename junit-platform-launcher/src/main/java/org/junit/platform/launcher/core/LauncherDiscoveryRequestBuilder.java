@@ -23,6 +23,7 @@ import java.util.Map;
 import org.apiguardian.api.API;
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.DiscoveryFilter;
 import org.junit.platform.engine.DiscoverySelector;
@@ -106,6 +107,7 @@ public final class LauncherDiscoveryRequestBuilder {
 	private final List<LauncherDiscoveryListener> discoveryListeners = new ArrayList<>();
 	private boolean implicitConfigurationParametersEnabled = true;
 	private ConfigurationParameters parentConfigurationParameters;
+	private CancellationToken cancellationToken;
 
 	/**
 	 * Create a new {@code LauncherDiscoveryRequestBuilder}.
@@ -266,6 +268,28 @@ public final class LauncherDiscoveryRequestBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the {@link CancellationToken} that may be used to stop the execution
+	 * of the tests discovered for the request early.
+	 *
+	 * <p>Cancelling the token while tests are being executed causes engines to
+	 * skip all tests that have not yet started. Cancelling it before an
+	 * execution has started causes all tests of that execution to be skipped.
+	 * By default, executions can only be cancelled by the launcher and the
+	 * engines themselves.
+	 *
+	 * @param cancellationToken the cancellation token; never {@code null}
+	 * @return this builder for method chaining
+	 * @since 1.10
+	 * @see LauncherDiscoveryRequest#getCancellationToken()
+	 */
+	@API(status = EXPERIMENTAL, since = "1.10")
+	public LauncherDiscoveryRequestBuilder cancellationToken(CancellationToken cancellationToken) {
+		Preconditions.notNull(cancellationToken, "cancellationToken must not be null");
+		this.cancellationToken = cancellationToken;
+		return this;
+	}
+
 	private void storeFilter(Filter<?> filter) {
 		if (filter instanceof EngineFilter) {
 			this.engineFilters.add((EngineFilter) filter);
@@ -291,7 +315,7 @@ public final class LauncherDiscoveryRequestBuilder {
 		LauncherConfigurationParameters launcherConfigurationParameters = buildLauncherConfigurationParameters();
 		LauncherDiscoveryListener discoveryListener = getLauncherDiscoveryListener(launcherConfigurationParameters);
 		return new DefaultDiscoveryRequest(this.selectors, this.engineFilters, this.discoveryFilters,
-			this.postDiscoveryFilters, launcherConfigurationParameters, discoveryListener);
+			this.postDiscoveryFilters, launcherConfigurationParameters, discoveryListener, this.cancellationToken);
 	}
 
 	private LauncherConfigurationParameters buildLauncherConfigurationParameters() {
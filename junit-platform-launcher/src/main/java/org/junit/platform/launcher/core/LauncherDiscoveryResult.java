@@ -17,9 +17,11 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import org.apiguardian.api.API;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
@@ -35,11 +37,13 @@ public class LauncherDiscoveryResult {
 
 	private final Map<TestEngine, TestDescriptor> testEngineDescriptors;
 	private final ConfigurationParameters configurationParameters;
+	private final CancellationToken cancellationToken;
 
 	LauncherDiscoveryResult(Map<TestEngine, TestDescriptor> testEngineDescriptors,
-			ConfigurationParameters configurationParameters) {
+			ConfigurationParameters configurationParameters, CancellationToken cancellationToken) {
 		this.testEngineDescriptors = unmodifiableMap(new LinkedHashMap<>(testEngineDescriptors));
 		this.configurationParameters = configurationParameters;
+		this.cancellationToken = cancellationToken;
 	}
 
 	public TestDescriptor getEngineTestDescriptor(TestEngine testEngine) {
@@ -50,6 +54,10 @@ public class LauncherDiscoveryResult {
 		return configurationParameters;
 	}
 
+	Optional<CancellationToken> getCancellationToken() {
+		return Optional.ofNullable(cancellationToken);
+	}
+
 	public Collection<TestEngine> getTestEngines() {
 		return this.testEngineDescriptors.keySet();
 	}
@@ -61,7 +69,8 @@ public class LauncherDiscoveryResult {
 	public LauncherDiscoveryResult withRetainedEngines(Predicate<? super TestDescriptor> predicate) {
 		Map<TestEngine, TestDescriptor> prunedTestEngineDescriptors = retainEngines(predicate);
 		if (prunedTestEngineDescriptors.size() < testEngineDescriptors.size()) {
-			return new LauncherDiscoveryResult(prunedTestEngineDescriptors, configurationParameters);
+			return new LauncherDiscoveryResult(prunedTestEngineDescriptors, configurationParameters,
+				cancellationToken);
 		}
 		return this;
 	}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * {@link EngineExecutionListener} that never notifies its delegate of events
+ * of different test engines concurrently, even if it is called by multiple
+ * test engines concurrently.
+ *
+ * <p>Events of the same test engine, e.g. of tests that engine executes in
+ * parallel, are passed on concurrently just like they would be if the engine
+ * were the only one executing tests. Once events of another engine are
+ * waiting, events of the current engine are held back until all of its
+ * pending notifications have finished so that no engine is starved.
+ *
+ * @since 1.10
+ */
+class SynchronizedEngineExecutionListener extends DelegatingEngineExecutionListener {
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition idle = lock.newCondition();
+	private final ThreadLocal<Integer> nestingDepth = ThreadLocal.withInitial(() -> 0);
+
+	private String currentEngineId;
+	private int activeNotifications;
+	private int waitingNotifications;
+
+	SynchronizedEngineExecutionListener(EngineExecutionListener delegate) {
+		super(delegate);
+	}
+
+	@Override
+	public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+		notify(testDescriptor, () -> super.dynamicTestRegistered(testDescriptor));
+	}
+
+	@Override
+	public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+		notify(testDescriptor, () -> super.executionSkipped(testDescriptor, reason));
+	}
+
+	@Override
+	public void executionStarted(TestDescriptor testDescriptor) {
+		notify(testDescriptor, () -> super.executionStarted(testDescriptor));
+	}
+
+	@Override
+	public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+		notify(testDescriptor, () -> super.executionFinished(testDescriptor, testExecutionResult));
+	}
+
+	@Override
+	public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+		notify(testDescriptor, () -> super.reportingEntryPublished(testDescriptor, entry));
+	}
+
+	private void notify(TestDescriptor testDescriptor, Runnable notification) {
+		acquire(testDescriptor.getUniqueId().getEngineId().orElse(null));
+		try {
+			notification.run();
+		}
+		finally {
+			release();
+		}
+	}
+
+	private void acquire(String engineId) {
+		int depth = nestingDepth.get();
+		lock.lock();
+		try {
+			if (depth == 0) {
+				// Events of nested notifications must not wait for the
+				// outer notification they are part of to finish.
+				boolean waiting = false;
+				while (!canProceed(engineId, waiting)) {
+					if (!waiting) {
+						waiting = true;
+						waitingNotifications++;
+					}
+					idle.awaitUninterruptibly();
+				}
+				if (waiting) {
+					waitingNotifications--;
+				}
+				if (activeNotifications == 0) {
+					currentEngineId = engineId;
+				}
+			}
+			activeNotifications++;
+		}
+		finally {
+			lock.unlock();
+		}
+		nestingDepth.set(depth + 1);
+	}
+
+	private boolean canProceed(String engineId, boolean waiting) {
+		if (activeNotifications == 0) {
+			return true;
+		}
+		boolean sameEngine = currentEngineId == null ? engineId == null : currentEngineId.equals(engineId);
+		int othersWaiting = waiting ? waitingNotifications - 1 : waitingNotifications;
+		return sameEngine && othersWaiting == 0;
+	}
+
+	private void release() {
+		int depth = nestingDepth.get() - 1;
+		if (depth == 0) {
+			nestingDepth.remove();
+		}
+		else {
+			nestingDepth.set(depth);
+		}
+		lock.lock();
+		try {
+			if (--activeNotifications == 0) {
+				idle.signalAll();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingLong;
+import static org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine.DURATION_HISTORY_FILE_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_GRANULARITY_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_STRATEGY_PROPERTY_NAME;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.LauncherConstants;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+
+/**
+ * Partitions discovered tests into a configured number of shards and retains
+ * only the tests of the configured shard.
+ *
+ * <p>Tests are assigned to shards in units of classes or top-level containers,
+ * either based on a stable hash or by distributing them according to their
+ * recorded durations.
+ *
+ * @since 1.10
+ * @see LauncherConstants#SHARD_COUNT_PROPERTY_NAME
+ */
+class TestSharding {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestSharding.class);
+
+	private static final TestSharding DISABLED = new TestSharding(0, 1, Granularity.CLASS, Strategy.HASH, null);
+
+	private final int shardIndex;
+	private final int shardCount;
+	private final Granularity granularity;
+	private final Strategy strategy;
+	private final String durationHistoryFile;
+
+	static TestSharding disabled() {
+		return DISABLED;
+	}
+
+	static TestSharding create(ConfigurationParameters configurationParameters) {
+		Optional<Integer> shardCount = configurationParameters.get(SHARD_COUNT_PROPERTY_NAME,
+			value -> Integer.parseInt(value.trim()));
+		Optional<Integer> shardIndex = configurationParameters.get(SHARD_INDEX_PROPERTY_NAME,
+			value -> Integer.parseInt(value.trim()));
+		if (!shardCount.isPresent()) {
+			Preconditions.condition(!shardIndex.isPresent(), () -> String.format(
+				"Configuration parameter '%s' requires '%s' to be set", SHARD_INDEX_PROPERTY_NAME,
+				SHARD_COUNT_PROPERTY_NAME));
+			return DISABLED;
+		}
+		int count = shardCount.get();
+		Preconditions.condition(count > 0, () -> String.format(
+			"Configuration parameter '%s' must be a positive integer, but was: %d", SHARD_COUNT_PROPERTY_NAME, count));
+		int index = shardIndex.orElseThrow(() -> new JUnitException(String.format(
+			"Configuration parameter '%s' requires '%s' to be set", SHARD_COUNT_PROPERTY_NAME,
+			SHARD_INDEX_PROPERTY_NAME)));
+		Preconditions.condition(index >= 0 && index < count,
+			() -> String.format("Configuration parameter '%s' must be between 0 and %d, but was: %d",
+				SHARD_INDEX_PROPERTY_NAME, count - 1, index));
+		if (count == 1) {
+			return DISABLED;
+		}
+		Granularity granularity = getEnum(configurationParameters, SHARD_GRANULARITY_PROPERTY_NAME, Granularity.class,
+			Granularity.CLASS);
+		Strategy strategy = getEnum(configurationParameters, SHARD_STRATEGY_PROPERTY_NAME, Strategy.class,
+			Strategy.HASH);
+		String durationHistoryFile = configurationParameters.get(DURATION_HISTORY_FILE_PROPERTY_NAME).orElse(null);
+		return new TestSharding(index, count, granularity, strategy, durationHistoryFile);
+	}
+
+	private static <E extends Enum<E>> E getEnum(ConfigurationParameters configurationParameters, String key,
+			Class<E> enumType, E defaultValue) {
+		return configurationParameters.get(key,
+			value -> Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT))).orElse(defaultValue);
+	}
+
+	private TestSharding(int shardIndex, int shardCount, Granularity granularity, Strategy strategy,
+			String durationHistoryFile) {
+		this.shardIndex = shardIndex;
+		this.shardCount = shardCount;
+		this.granularity = granularity;
+		this.strategy = strategy;
+		this.durationHistoryFile = durationHistoryFile;
+	}
+
+	boolean isEnabled() {
+		return shardCount > 1;
+	}
+
+	/**
+	 * Prepare the supplied request so that test engines can already skip
+	 * classes of other shards while discovering tests.
+	 *
+	 * <p>This is only possible if the shard of each class can be determined
+	 * from its name alone.
+	 */
+	LauncherDiscoveryRequest prepare(LauncherDiscoveryRequest request) {
+		if (!isEnabled() || granularity != Granularity.CLASS || strategy != Strategy.HASH) {
+			return request;
+		}
+		ClassNameFilter classNameFilter = new ShardClassNameFilter();
+		return new DelegatingLauncherDiscoveryRequest(request) {
+			@Override
+			public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+				List<T> filters = new ArrayList<>(super.getFiltersByType(filterType));
+				if (filterType.isInstance(classNameFilter)) {
+					filters.add(filterType.cast(classNameFilter));
+				}
+				return filters;
+			}
+		};
+	}
+
+	/**
+	 * Remove all classes or top-level containers that do not belong to the
+	 * configured shard from the supplied engine descriptors.
+	 */
+	void apply(Collection<TestDescriptor> engineDescriptors) {
+		if (!isEnabled()) {
+			return;
+		}
+		List<Unit> units = new ArrayList<>();
+		engineDescriptors.forEach(engineDescriptor -> collectUnits(engineDescriptor, units));
+		if (strategy == Strategy.DURATION) {
+			assignByDuration(units);
+		}
+		else {
+			units.forEach(unit -> unit.shard = hashShard(unit.key));
+		}
+		int retained = 0;
+		for (Unit unit : units) {
+			if (unit.shard == shardIndex) {
+				retained++;
+			}
+			else {
+				unit.descriptor.removeFromHierarchy();
+			}
+		}
+		int retainedUnits = retained;
+		logger.config(() -> String.format("Retained %d of %d %s units for shard %d of %d using %s strategy",
+			retainedUnits, units.size(), granularity, shardIndex, shardCount, strategy));
+	}
+
+	private void collectUnits(TestDescriptor parent, List<Unit> units) {
+		for (TestDescriptor child : new ArrayList<>(parent.getChildren())) {
+			if (!TestDescriptor.containsTests(child)) {
+				// will be pruned and must not skew the distribution of units
+				continue;
+			}
+			Optional<String> className = getClassName(child);
+			if (granularity == Granularity.CONTAINER || className.isPresent() || child.getChildren().isEmpty()) {
+				String key = granularity == Granularity.CLASS && className.isPresent() //
+						? className.get() //
+						: child.getUniqueId().toString();
+				units.add(new Unit(child, key));
+			}
+			else {
+				collectUnits(child, units);
+			}
+		}
+	}
+
+	private static Optional<String> getClassName(TestDescriptor descriptor) {
+		Optional<TestSource> source = descriptor.getSource();
+		return source.filter(ClassSource.class::isInstance).map(ClassSource.class::cast).map(
+			ClassSource::getClassName);
+	}
+
+	private int hashShard(String key) {
+		CRC32 crc = new CRC32();
+		crc.update(key.getBytes(UTF_8));
+		return (int) (crc.getValue() % shardCount);
+	}
+
+	/**
+	 * Assign the supplied units to shards using the longest processing time
+	 * first rule, breaking ties by key so that all shards compute the same
+	 * assignment.
+	 */
+	private void assignByDuration(List<Unit> units) {
+		Properties durations = loadDurations();
+		long knownTotal = 0;
+		int knownCount = 0;
+		for (Unit unit : units) {
+			String entry = durations.getProperty(unit.descriptor.getUniqueId().toString());
+			if (entry != null) {
+				try {
+					// the duration may be followed by the time of the last execution
+					unit.expectedDuration = Long.parseLong(entry.trim().split("\\s+")[0]);
+					knownTotal += unit.expectedDuration;
+					knownCount++;
+				}
+				catch (NumberFormatException ignore) {
+					// ignore malformed entries
+				}
+			}
+		}
+		long defaultDuration = knownCount == 0 ? 1 : knownTotal / knownCount;
+		units.forEach(unit -> {
+			if (unit.expectedDuration < 0) {
+				unit.expectedDuration = defaultDuration;
+			}
+		});
+
+		List<Unit> sortedUnits = new ArrayList<>(units);
+		sortedUnits.sort(comparingLong((Unit unit) -> -unit.expectedDuration).thenComparing(unit -> unit.key));
+		long[] totals = new long[shardCount];
+		for (Unit unit : sortedUnits) {
+			int shard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (totals[i] < totals[shard]) {
+					shard = i;
+				}
+			}
+			unit.shard = shard;
+			totals[shard] += unit.expectedDuration;
+		}
+	}
+
+	private Properties loadDurations() {
+		Properties durations = new Properties();
+		if (durationHistoryFile != null && !durationHistoryFile.trim().isEmpty()) {
+			Path file = Paths.get(durationHistoryFile.trim());
+			if (Files.isRegularFile(file)) {
+				try (InputStream in = Files.newInputStream(file)) {
+					durations.load(in);
+				}
+				catch (IOException e) {
+					logger.warn(e, () -> "Failed to read test duration history from " + file);
+				}
+			}
+		}
+		return durations;
+	}
+
+	private enum Granularity {
+
+		CLASS, CONTAINER;
+
+		@Override
+		public String toString() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private enum Strategy {
+
+		HASH, DURATION;
+
+		@Override
+		public String toString() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static class Unit {
+
+		private final TestDescriptor descriptor;
+		private final String key;
+		private int shard;
+		private long expectedDuration = -1;
+
+		Unit(TestDescriptor descriptor, String key) {
+			this.descriptor = descriptor;
+			this.key = key;
+		}
+	}
+
+	private class ShardClassNameFilter implements ClassNameFilter {
+
+		@Override
+		public FilterResult apply(String className) {
+			int shard = hashShard(className);
+			return FilterResult.includedIf(shard == shardIndex, //
+				() -> String.format("Class name [%s] belongs to shard %d", className, shard), //
+				() -> String.format("Class name [%s] belongs to shard %d", className, shard));
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s that includes classes of shard %d of %d", getClass().getSimpleName(), shardIndex,
+				shardCount);
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import org.apiguardian.api.API;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
@@ -44,7 +45,7 @@ import org.junit.platform.launcher.TestPlan;
  * @see org.junit.platform.launcher.listeners.SummaryGeneratingListener
  */
 @API(status = STABLE, since = "1.7")
-public class LegacyXmlReportGeneratingListener implements TestExecutionListener {
+public class LegacyXmlReportGeneratingListener implements SynchronousTestExecutionListener {
 
 	private final Path reportsDir;
 	private final PrintWriter out;
@@ -80,8 +80,7 @@ class XmlReportWriter {
 
 	void writeXmlReport(TestIdentifier rootDescriptor, Writer out) throws XMLStreamException {
 		TestPlan testPlan = this.reportData.getTestPlan();
-		Map<TestIdentifier, AggregatedTestResult> tests = testPlan.getDescendants(rootDescriptor) //
-				.stream() //
+		Map<TestIdentifier, AggregatedTestResult> tests = testPlan.streamDescendants(rootDescriptor) //
 				.filter(testIdentifier -> shouldInclude(testPlan, testIdentifier)) //
 				.collect(toMap(identity(), this::toAggregatedResult)); //
 		writeXmlReport(rootDescriptor, tests, out);
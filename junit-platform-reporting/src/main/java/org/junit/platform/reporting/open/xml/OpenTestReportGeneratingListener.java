@@ -68,7 +68,7 @@ import org.junit.platform.engine.support.descriptor.FileSource;
 import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.engine.support.descriptor.PackageSource;
 import org.junit.platform.engine.support.descriptor.UriSource;
-import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
 import org.junit.platform.launcher.listeners.OutputDir;
@@ -85,7 +85,7 @@ import org.opentest4j.reporting.schema.Namespace;
  * @since 1.9
  */
 @API(status = EXPERIMENTAL, since = "1.9")
-public class OpenTestReportGeneratingListener implements TestExecutionListener {
+public class OpenTestReportGeneratingListener implements SynchronousTestExecutionListener {
 
 	static final String ENABLED_PROPERTY_NAME = "junit.platform.reporting.open.xml.enabled";
 	static final String OUTPUT_DIR_PROPERTY_NAME = "junit.platform.reporting.output.dir";
@@ -16,7 +16,7 @@ import static org.junit.platform.engine.TestExecutionResult.Status.FAILED;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.TestExecutionResult.Status;
 import org.junit.platform.engine.reporting.ReportEntry;
-import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
@@ -25,7 +25,7 @@ import org.junit.runner.notification.RunNotifier;
 /**
  * @since 1.0
  */
-class JUnitPlatformRunnerListener implements TestExecutionListener {
+class JUnitPlatformRunnerListener implements SynchronousTestExecutionListener {
 
 	private final JUnitPlatformTestTree testTree;
 	private final RunNotifier notifier;
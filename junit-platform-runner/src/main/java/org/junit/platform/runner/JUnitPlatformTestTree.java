@@ -131,7 +131,7 @@ class JUnitPlatformTestTree {
 
 	Set<TestIdentifier> getTestsInSubtree(TestIdentifier ancestor) {
 		// @formatter:off
-		return testPlan.getDescendants(ancestor).stream()
+		return testPlan.streamDescendants(ancestor)
 				.filter(TestIdentifier::isTest)
 				.collect(toCollection(LinkedHashSet::new));
 		// @formatter:on
@@ -147,10 +147,8 @@ class JUnitPlatformTestTree {
 	}
 
 	private Predicate<? super TestIdentifier> isALeaf(Set<TestIdentifier> identifiers) {
-		return testIdentifier -> {
-			Set<TestIdentifier> descendants = testPlan.getDescendants(testIdentifier);
-			return identifiers.stream().noneMatch(descendants::contains);
-		};
+		return testIdentifier -> identifiers.stream().noneMatch(
+			candidate -> testPlan.isAncestor(testIdentifier, candidate));
 	}
 
 	private Set<TestIdentifier> applyFilterToDescriptions(Filter filter) {
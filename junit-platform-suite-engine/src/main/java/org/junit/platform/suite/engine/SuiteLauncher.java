@@ -16,6 +16,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.UniqueId;
@@ -58,9 +59,10 @@ class SuiteLauncher {
 	}
 
 	TestExecutionSummary execute(LauncherDiscoveryResult discoveryResult,
-			EngineExecutionListener parentEngineExecutionListener) {
+			EngineExecutionListener parentEngineExecutionListener, CancellationToken parentCancellationToken) {
 		SummaryGeneratingListener listener = new SummaryGeneratingListener();
-		executionOrchestrator.execute(discoveryResult, parentEngineExecutionListener, listener);
+		executionOrchestrator.execute(discoveryResult, parentEngineExecutionListener, listener,
+			parentCancellationToken);
 		return listener.getSummary();
 	}
 
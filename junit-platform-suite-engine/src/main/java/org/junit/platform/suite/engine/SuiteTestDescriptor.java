@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.commons.util.StringUtils;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestDescriptor;
@@ -140,14 +141,15 @@ final class SuiteTestDescriptor extends AbstractTestDescriptor {
 		// @formatter:on
 	}
 
-	void execute(EngineExecutionListener parentEngineExecutionListener) {
+	void execute(EngineExecutionListener parentEngineExecutionListener, CancellationToken parentCancellationToken) {
 		parentEngineExecutionListener.executionStarted(this);
 		// #2838: The discovery result from a suite may have been filtered by
 		// post discovery filters from the launcher. The discovery result should
 		// be pruned accordingly
 		LauncherDiscoveryResult discoveryResult = this.launcherDiscoveryResult.withRetainedEngines(
 			getChildren()::contains);
-		TestExecutionSummary summary = launcher.execute(discoveryResult, parentEngineExecutionListener);
+		TestExecutionSummary summary = launcher.execute(discoveryResult, parentEngineExecutionListener,
+			parentCancellationToken);
 		parentEngineExecutionListener.executionFinished(this, computeTestExecutionResult(summary));
 	}
 
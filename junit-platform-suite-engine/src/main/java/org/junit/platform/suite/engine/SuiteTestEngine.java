@@ -15,6 +15,7 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 import java.util.Optional;
 
 import org.apiguardian.api.API;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
@@ -63,15 +64,19 @@ public final class SuiteTestEngine implements TestEngine {
 	public void execute(ExecutionRequest request) {
 		SuiteEngineDescriptor suiteEngineDescriptor = (SuiteEngineDescriptor) request.getRootTestDescriptor();
 		EngineExecutionListener engineExecutionListener = request.getEngineExecutionListener();
+		CancellationToken cancellationToken = request.getCancellationToken();
 
 		engineExecutionListener.executionStarted(suiteEngineDescriptor);
 
-		// @formatter:off
-		suiteEngineDescriptor.getChildren()
-				.stream()
-				.map(SuiteTestDescriptor.class::cast)
-				.forEach(suiteTestDescriptor -> suiteTestDescriptor.execute(engineExecutionListener));
-		// @formatter:on
+		for (TestDescriptor child : suiteEngineDescriptor.getChildren()) {
+			SuiteTestDescriptor suiteTestDescriptor = (SuiteTestDescriptor) child;
+			if (cancellationToken.isCancellationRequested()) {
+				engineExecutionListener.executionSkipped(suiteTestDescriptor, cancellationToken.getReason());
+			}
+			else {
+				suiteTestDescriptor.execute(engineExecutionListener, cancellationToken);
+			}
+		}
 		engineExecutionListener.executionFinished(suiteEngineDescriptor, TestExecutionResult.successful());
 	}
 
@@ -43,6 +43,7 @@ dependencies {
 	// --- https://openjdk.java.net/projects/code-tools/jmh/ -----------------------
 	jmh(libs.jmh.core)
 	jmh(projects.junitJupiterApi)
+	jmh(projects.junitPlatformEngine)
 	jmh(libs.junit4)
 	jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
@@ -54,6 +55,7 @@ jmh {
 	fork.set(1)
 	warmupIterations.set(1)
 	iterations.set(5)
+	profilers.add("gc")
 }
 
 tasks {
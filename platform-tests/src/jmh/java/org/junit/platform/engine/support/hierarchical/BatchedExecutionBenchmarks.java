@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * JMH benchmarks for executing a large number of trivial tests in parallel
+ * via {@link ForkJoinPoolHierarchicalTestExecutorService} with and without
+ * batching.
+ *
+ * <p>The score is the number of executed tests per second.
+ *
+ * @since 1.10
+ * @see ForkJoinPoolHierarchicalTestExecutorService#CONFIG_BATCHING_ENABLED_PROPERTY_NAME
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchedExecutionBenchmarks {
+
+	private static final int TESTS = 100_000;
+	private static final int TESTS_PER_CLASS = 1_000;
+
+	@Param({ "false", "true" })
+	public boolean batching;
+
+	private EngineDescriptor engineDescriptor;
+	private ForkJoinPoolHierarchicalTestExecutorService executorService;
+
+	/**
+	 * Create {@code TESTS / TESTS_PER_CLASS} test classes, each of which
+	 * contains {@value #TESTS_PER_CLASS} test methods that do nothing.
+	 */
+	@Setup
+	public void createDescriptorTreeAndExecutorService() {
+		engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+		for (int i = 0; i < TESTS / TESTS_PER_CLASS; i++) {
+			TestDescriptor container = addChild(engineDescriptor, "class", "class" + i);
+			for (int j = 0; j < TESTS_PER_CLASS; j++) {
+				addChild(container, "method", "test" + j);
+			}
+		}
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		ParallelExecutionConfiguration configuration = new DefaultParallelExecutionConfiguration(parallelism,
+			parallelism, 256 + parallelism, parallelism, 30);
+		executorService = new ForkJoinPoolHierarchicalTestExecutorService(configuration, false, batching);
+	}
+
+	private static TestDescriptor addChild(TestDescriptor parent, String segmentType, String value) {
+		TestDescriptor child = new DummyNodeDescriptor(parent.getUniqueId().append(segmentType, value));
+		parent.addChild(child);
+		return child;
+	}
+
+	@TearDown
+	public void closeExecutorService() {
+		executorService.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TESTS)
+	public void executeTrivialTests() throws Exception {
+		ExecutionRequest request = new ExecutionRequest(engineDescriptor, EngineExecutionListener.NOOP, null);
+		new HierarchicalTestExecutor<>(request, new EngineExecutionContext() {
+		}, executorService, OpenTest4JAwareThrowableCollector::new).execute().get();
+	}
+
+	static class DummyNodeDescriptor extends AbstractTestDescriptor implements Node<EngineExecutionContext> {
+
+		DummyNodeDescriptor(UniqueId uniqueId) {
+			super(uniqueId, uniqueId.getLastSegment().getValue());
+		}
+
+		@Override
+		public Type getType() {
+			return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JMH benchmarks for the overhead of executing tests via
+ * {@link NodeTestTask}.
+ *
+ * <p>Each operation is the execution of a single test that does nothing. The
+ * bytes allocated per executed test are reported as
+ * {@code gc.alloc.rate.norm} by the {@code gc} profiler.
+ *
+ * @since 1.10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NodeTestTaskAllocationBenchmarks {
+
+	private static final int TESTS = 10_000;
+	private static final int TESTS_PER_CLASS = 100;
+
+	private EngineDescriptor engineDescriptor;
+	private HierarchicalTestExecutorService executorService;
+
+	/**
+	 * Create {@code TESTS / TESTS_PER_CLASS} test classes, each of which
+	 * contains {@value #TESTS_PER_CLASS} test methods that do nothing.
+	 */
+	@Setup
+	public void createDescriptorTree() {
+		engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+		for (int i = 0; i < TESTS / TESTS_PER_CLASS; i++) {
+			TestDescriptor container = addChild(engineDescriptor, "class", "class" + i, TestDescriptor.Type.CONTAINER);
+			for (int j = 0; j < TESTS_PER_CLASS; j++) {
+				addChild(container, "method", "test" + j, TestDescriptor.Type.TEST);
+			}
+		}
+		executorService = new SameThreadHierarchicalTestExecutorService();
+	}
+
+	private static TestDescriptor addChild(TestDescriptor parent, String segmentType, String value,
+			TestDescriptor.Type type) {
+		TestDescriptor child = new DummyNodeDescriptor(parent.getUniqueId().append(segmentType, value), type);
+		parent.addChild(child);
+		return child;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TESTS)
+	public void executeTrivialTests() throws Exception {
+		ExecutionRequest request = new ExecutionRequest(engineDescriptor, EngineExecutionListener.NOOP, null);
+		new HierarchicalTestExecutor<>(request, new EngineExecutionContext() {
+		}, executorService, OpenTest4JAwareThrowableCollector::new).execute().get();
+	}
+
+	static class DummyNodeDescriptor extends AbstractTestDescriptor implements Node<EngineExecutionContext> {
+
+		private final Type type;
+
+		DummyNodeDescriptor(UniqueId uniqueId, Type type) {
+			super(uniqueId, uniqueId.getLastSegment().getValue());
+			this.type = type;
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+	}
+
+}
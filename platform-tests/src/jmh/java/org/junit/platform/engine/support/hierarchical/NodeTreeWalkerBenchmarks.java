@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for planning resource locks and execution modes via
+ * {@link NodeTreeWalker}.
+ *
+ * <p>The average time per descriptor should stay roughly constant when the
+ * number of descriptors grows, i.e. lock planning is linear.
+ *
+ * @since 1.10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NodeTreeWalkerBenchmarks {
+
+	private static final int NESTING_DEPTH = 50;
+
+	@Param({ "1000", "10000", "100000" })
+	public int descriptors;
+
+	private EngineDescriptor engineDescriptor;
+	private List<TestDescriptor> allDescriptors;
+
+	/**
+	 * Create a test class with {@value #NESTING_DEPTH} levels of nested
+	 * classes, each of which contains the same number of test methods. Every
+	 * tenth method uses a resource lock; every hundredth one is isolated.
+	 */
+	@Setup
+	public void createDescriptorTree() {
+		engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+		allDescriptors = new ArrayList<>();
+		int testsPerLevel = Math.max(1, descriptors / NESTING_DEPTH - 1);
+		TestDescriptor parent = engineDescriptor;
+		for (int level = 0; level < NESTING_DEPTH; level++) {
+			TestDescriptor container = addChild(parent, "class", "level" + level, emptySet());
+			for (int i = 0; i < testsPerLevel; i++) {
+				addChild(container, "method", "test" + i, resourcesOf(i));
+			}
+			parent = container;
+		}
+	}
+
+	private static Set<ExclusiveResource> resourcesOf(int index) {
+		if (index % 100 == 0) {
+			return singleton(ExclusiveResource.GLOBAL_READ_WRITE);
+		}
+		if (index % 10 == 0) {
+			return singleton(new ExclusiveResource("resource" + index % 3, index % 20 == 0 ? READ : READ_WRITE));
+		}
+		return emptySet();
+	}
+
+	private TestDescriptor addChild(TestDescriptor parent, String segmentType, String value,
+			Set<ExclusiveResource> exclusiveResources) {
+		TestDescriptor child = new DummyNodeDescriptor(parent.getUniqueId().append(segmentType, value),
+			exclusiveResources);
+		parent.addChild(child);
+		allDescriptors.add(child);
+		return child;
+	}
+
+	@Benchmark
+	public void planResourceLocksAndExecutionModes(Blackhole blackhole) {
+		NodeExecutionAdvisor advisor = new NodeTreeWalker().walk(engineDescriptor);
+		for (TestDescriptor testDescriptor : allDescriptors) {
+			blackhole.consume(advisor.getResourceLock(testDescriptor));
+			blackhole.consume(advisor.getForcedExecutionMode(testDescriptor));
+		}
+	}
+
+	static class DummyNodeDescriptor extends AbstractTestDescriptor implements Node<EngineExecutionContext> {
+
+		private final Set<ExclusiveResource> exclusiveResources;
+
+		DummyNodeDescriptor(UniqueId uniqueId, Set<ExclusiveResource> exclusiveResources) {
+			super(uniqueId, uniqueId.getLastSegment().getValue());
+			this.exclusiveResources = exclusiveResources;
+		}
+
+		@Override
+		public Type getType() {
+			return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
+		}
+
+		@Override
+		public Set<ExclusiveResource> getExclusiveResources() {
+			return exclusiveResources;
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.console;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.console.options.CommandLineOptions;
+import org.junit.platform.console.options.CommandLineOptionsParser;
+import org.junit.platform.console.tasks.LauncherSessionCache;
+
+/**
+ * @since 1.10
+ */
+class ConsoleLauncherDaemonTests {
+
+	@TempDir
+	Path tokenDirectory;
+
+	private final StringWriter stringWriter = new StringWriter();
+	private final PrintWriter printSink = new PrintWriter(stringWriter);
+
+	@Test
+	void writesTokenToFileOnlyReadableByOwner() throws Exception {
+		assumeTrue(tokenDirectory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+		var token = ConsoleLauncherDaemon.writeToken(tokenDirectory.resolve("daemon"), 4242);
+
+		var tokenFile = ConsoleLauncherDaemon.getTokenFile(tokenDirectory.resolve("daemon"), 4242);
+		assertEquals(token, new String(Files.readAllBytes(tokenFile), UTF_8));
+		assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+		assertEquals("rwx------",
+			PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenDirectory.resolve("daemon"))));
+	}
+
+	@Test
+	void executesRequestsWithValidToken() throws Exception {
+		var options = new CommandLineOptions();
+		options.setListEngines(true);
+		var commandLineOptionsParser = mock(CommandLineOptionsParser.class);
+		when(commandLineOptionsParser.parse(any())).thenReturn(options);
+
+		try (var serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			var token = ConsoleLauncherDaemon.writeToken(tokenDirectory, serverSocket.getLocalPort());
+			var daemon = handleOneRequest(new ConsoleLauncherDaemon(commandLineOptionsParser, tokenDirectory),
+				serverSocket, token);
+
+			var exitCode = ConsoleLauncherDaemon.execute(tokenDirectory, serverSocket.getLocalPort(),
+				new String[] { "--list-engines" }, printSink, printSink).getExitCode();
+			daemon.get();
+
+			assertEquals(0, exitCode);
+			assertTrue(stringWriter.toString().contains("junit-jupiter"), stringWriter::toString);
+		}
+	}
+
+	@Test
+	void rejectsRequestsWithInvalidToken() throws Exception {
+		var commandLineOptionsParser = mock(CommandLineOptionsParser.class);
+
+		try (var serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			ConsoleLauncherDaemon.writeToken(tokenDirectory, serverSocket.getLocalPort());
+			var daemon = handleOneRequest(new ConsoleLauncherDaemon(commandLineOptionsParser, tokenDirectory),
+				serverSocket, "other token");
+
+			var exitCode = ConsoleLauncherDaemon.execute(tokenDirectory, serverSocket.getLocalPort(),
+				new String[] { "--list-engines" }, printSink, printSink).getExitCode();
+			daemon.get();
+
+			assertEquals(-1, exitCode);
+			assertTrue(stringWriter.toString().contains("Invalid daemon token"), stringWriter::toString);
+			verifyNoInteractions(commandLineOptionsParser);
+		}
+	}
+
+	private static CompletableFuture<Void> handleOneRequest(ConsoleLauncherDaemon daemon, ServerSocket serverSocket,
+			String token) {
+		return CompletableFuture.runAsync(() -> {
+			try (var socket = serverSocket.accept(); var launcherSessionCache = new LauncherSessionCache()) {
+				daemon.handle(socket, token, launcherSessionCache);
+			}
+			catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+}
@@ -12,13 +12,17 @@ package org.junit.platform.console;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -107,4 +111,38 @@ class ConsoleLauncherTests {
 		verify(commandLineOptionsParser).parse("--scan-classpath");
 	}
 
+	@Test
+	void startDaemonWithoutPort() {
+		var options = new CommandLineOptions();
+		options.setStartDaemon(true);
+
+		var commandLineOptionsParser = mock(CommandLineOptionsParser.class);
+		when(commandLineOptionsParser.parse(any())).thenReturn(options);
+
+		var consoleLauncher = new ConsoleLauncher(commandLineOptionsParser, printSink, printSink);
+		var exitCode = consoleLauncher.execute("--start-daemon").getExitCode();
+
+		assertEquals(-1, exitCode);
+		assertTrue(stringWriter.toString().contains("--start-daemon requires --daemon-port to be specified"));
+	}
+
+	@Test
+	void executeWithDaemonPortWithoutDaemon() throws IOException {
+		int port;
+		try (var serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			port = serverSocket.getLocalPort();
+		}
+		var options = new CommandLineOptions();
+		options.setDaemonPort(port);
+
+		var commandLineOptionsParser = mock(CommandLineOptionsParser.class);
+		when(commandLineOptionsParser.parse(any())).thenReturn(options);
+
+		var consoleLauncher = new ConsoleLauncher(commandLineOptionsParser, printSink, printSink);
+		var exitCode = consoleLauncher.execute("--daemon-port", String.valueOf(port)).getExitCode();
+
+		assertEquals(-1, exitCode);
+		assertTrue(stringWriter.toString().contains("No daemon is listening on port " + port));
+	}
+
 }
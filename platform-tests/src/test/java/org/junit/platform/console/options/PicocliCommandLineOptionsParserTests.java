@@ -325,6 +325,44 @@ class PicocliCommandLineOptionsParserTests {
 		assertOptionWithMissingRequiredArgumentThrowsException("--reports-dir");
 	}
 
+	@ParameterizedTest
+	@EnumSource
+	void parseValidShardOptions(ArgsType type) {
+		// @formatter:off
+		assertAll(
+			() -> assertEquals(Optional.of(8), type.parseArgLine("--shard-count 8 --shard-index 3").getShardCount()),
+			() -> assertEquals(Optional.of(3), type.parseArgLine("--shard-count=8 --shard-index=3").getShardIndex()),
+			() -> assertEquals(Optional.empty(), type.parseArgLine("").getShardCount()),
+			() -> assertEquals(Optional.empty(), type.parseArgLine("").getShardIndex())
+		);
+		// @formatter:on
+	}
+
+	@Test
+	void parseInvalidShardOptions() {
+		assertOptionWithMissingRequiredArgumentThrowsException("--shard-count", "--shard-index");
+	}
+
+	@ParameterizedTest
+	@EnumSource
+	void parseValidDaemonOptions(ArgsType type) {
+		// @formatter:off
+		assertAll(
+			() -> assertTrue(type.parseArgLine("--start-daemon --daemon-port 4242").isStartDaemon()),
+			() -> assertEquals(Optional.of(4242), type.parseArgLine("--start-daemon --daemon-port 4242").getDaemonPort()),
+			() -> assertEquals(Optional.of(4242), type.parseArgLine("--daemon-port=4242").getDaemonPort()),
+			() -> assertFalse(type.parseArgLine("--daemon-port=4242").isStartDaemon()),
+			() -> assertFalse(type.parseArgLine("").isStartDaemon()),
+			() -> assertEquals(Optional.empty(), type.parseArgLine("").getDaemonPort())
+		);
+		// @formatter:on
+	}
+
+	@Test
+	void parseInvalidDaemonOptions() {
+		assertOptionWithMissingRequiredArgumentThrowsException("--daemon-port");
+	}
+
 	@ParameterizedTest
 	@EnumSource
 	void parseValidUriSelectors(ArgsType type) {
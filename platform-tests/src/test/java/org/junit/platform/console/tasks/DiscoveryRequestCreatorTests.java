@@ -23,6 +23,8 @@ import static org.junit.platform.engine.discovery.DiscoverySelectors.selectItera
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUri;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
 
 import java.io.File;
 import java.net.URI;
@@ -317,6 +319,20 @@ class DiscoveryRequestCreatorTests {
 		assertThat(configurationParameters.getBoolean("baz")).contains(true);
 	}
 
+	@Test
+	void convertsShardOptionsToConfigurationParameters() {
+		options.setScanClasspath(true);
+		options.setConfigurationParameters(Map.of(SHARD_COUNT_PROPERTY_NAME, "2"));
+		options.setShardCount(8);
+		options.setShardIndex(3);
+
+		var request = convert();
+		var configurationParameters = request.getConfigurationParameters();
+
+		assertThat(configurationParameters.get(SHARD_COUNT_PROPERTY_NAME)).contains("8");
+		assertThat(configurationParameters.get(SHARD_INDEX_PROPERTY_NAME)).contains("3");
+	}
+
 	private LauncherDiscoveryRequest convert() {
 		var creator = new DiscoveryRequestCreator();
 		return creator.toDiscoveryRequest(options);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.console.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * @since 1.10
+ */
+class LauncherSessionCacheTests {
+
+	@TempDir
+	Path classpathEntry;
+
+	@Test
+	void reusesClassLoaderWhileClasspathEntriesAreUnchanged() throws Exception {
+		var originalClassLoader = Thread.currentThread().getContextClassLoader();
+		try (var cache = new LauncherSessionCache()) {
+			var entries = List.of(classpathEntry);
+
+			var first = cache.invoke(entries, launcher -> Thread.currentThread().getContextClassLoader());
+			var second = cache.invoke(entries, launcher -> Thread.currentThread().getContextClassLoader());
+
+			assertNotSame(originalClassLoader, first);
+			assertSame(first, second);
+			assertSame(originalClassLoader, Thread.currentThread().getContextClassLoader());
+		}
+	}
+
+	@Test
+	void replacesClassLoaderWhenClasspathEntriesChange() throws Exception {
+		try (var cache = new LauncherSessionCache()) {
+			var entries = List.of(classpathEntry);
+
+			var first = cache.invoke(entries, launcher -> Thread.currentThread().getContextClassLoader());
+			Files.write(classpathEntry.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+			var second = cache.invoke(entries, launcher -> Thread.currentThread().getContextClassLoader());
+
+			assertNotSame(first, second);
+		}
+	}
+
+	@Test
+	void notifiesRegisteredListenersOnlyOfExecutionsOfSameInvocation() {
+		var executions = new AtomicInteger();
+		var listener = new TestExecutionListener() {
+			@Override
+			public void testPlanExecutionStarted(TestPlan testPlan) {
+				executions.incrementAndGet();
+			}
+		};
+		var request = request().filters(includeEngines("junit-jupiter")).build();
+
+		try (var cache = new LauncherSessionCache()) {
+			cache.invoke(List.of(), launcher -> {
+				launcher.registerTestExecutionListeners(listener);
+				launcher.execute(request);
+				return null;
+			});
+			cache.invoke(List.of(), launcher -> {
+				launcher.execute(request);
+				return null;
+			});
+		}
+
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void notifiesRegisteredDiscoveryListenersOnlyOfDiscoveriesOfSameInvocation() {
+		var discoveries = new AtomicInteger();
+		var requestDiscoveries = new AtomicInteger();
+		var request = request() //
+				.filters(includeEngines("junit-jupiter")) //
+				.listeners(new LauncherDiscoveryListener() {
+					@Override
+					public void launcherDiscoveryStarted(LauncherDiscoveryRequest request) {
+						requestDiscoveries.incrementAndGet();
+					}
+				}) //
+				.build();
+
+		try (var cache = new LauncherSessionCache()) {
+			cache.invoke(List.of(), launcher -> {
+				launcher.registerLauncherDiscoveryListeners(new LauncherDiscoveryListener() {
+					@Override
+					public void launcherDiscoveryStarted(LauncherDiscoveryRequest request) {
+						discoveries.incrementAndGet();
+					}
+				});
+				launcher.discover(request);
+				launcher.execute(request);
+				return null;
+			});
+			cache.invoke(List.of(), launcher -> launcher.discover(request));
+		}
+
+		assertEquals(2, discoveries.get());
+		assertEquals(3, requestDiscoveries.get());
+	}
+
+}
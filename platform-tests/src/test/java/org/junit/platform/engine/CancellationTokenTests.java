@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 1.10
+ */
+class CancellationTokenTests {
+
+	private final CancellationToken cancellationToken = CancellationToken.create();
+
+	@Test
+	void retainsReasonOfFirstCancellation() {
+		cancellationToken.cancel("first");
+		cancellationToken.cancel("second");
+
+		assertThat(cancellationToken.getReason()).isEqualTo("first");
+	}
+
+	@Test
+	void childIsCancelledWithParent() {
+		var child = cancellationToken.createChild();
+
+		cancellationToken.cancel("parent");
+
+		assertThat(child.isCancellationRequested()).isTrue();
+		assertThat(child.getReason()).isEqualTo("parent");
+	}
+
+	@Test
+	void cancellingChildDoesNotCancelParentOrSiblings() {
+		var child = cancellationToken.createChild();
+		var sibling = cancellationToken.createChild();
+
+		child.cancel("child");
+
+		assertThat(child.getReason()).isEqualTo("child");
+		assertThat(cancellationToken.isCancellationRequested()).isFalse();
+		assertThat(sibling.isCancellationRequested()).isFalse();
+	}
+
+}
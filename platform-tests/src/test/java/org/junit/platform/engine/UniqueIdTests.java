@@ -18,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Nested;
@@ -224,6 +225,20 @@ class UniqueIdTests {
 			assertNotEquals(id2, id1);
 			assertNotEquals(id1, id2);
 		}
+
+		@Test
+		void hashCodesOfSimilarUniqueIdsDoNotCollide() {
+			var engineId = UniqueId.forEngine("junit-jupiter");
+			var hashCodes = new HashSet<Integer>();
+			for (int i = 0; i < 100; i++) {
+				var classId = engineId.append("class", "C" + i);
+				for (int j = 0; j < 100; j++) {
+					hashCodes.add(classId.append("method", "m" + j).hashCode());
+				}
+			}
+
+			assertEquals(100 * 100, hashCodes.size());
+		}
 	}
 
 	@Nested
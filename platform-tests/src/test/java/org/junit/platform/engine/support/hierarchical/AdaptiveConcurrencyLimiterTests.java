@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 1.10
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 5, () -> 0.5);
+
+	@AfterEach
+	void close() {
+		limiter.close();
+	}
+
+	@Test
+	void startsWithMinimumParallelism() {
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void growsWhileTasksAreWaitingAndCpuIsAvailable() {
+		limiter.adjust(0.5, 0, 1);
+
+		assertThat(limiter.getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	void growsByNumberOfBlockedThreadsEvenIfCpuIsSaturated() {
+		limiter.adjust(1.0, 2, 1);
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	void neverGrowsBeyondMaximumParallelism() {
+		limiter.adjust(0.5, 10, 10);
+
+		assertThat(limiter.getLimit()).isEqualTo(5);
+	}
+
+	@Test
+	void doesNotGrowWithoutWaitingTasks() {
+		limiter.adjust(0.1, 2, 0);
+
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void shrinksWhileCpuIsSaturatedAndNoThreadIsBlocked() {
+		limiter.adjust(0.5, 3, 1);
+		assertThat(limiter.getLimit()).isEqualTo(5);
+
+		limiter.adjust(1.0, 0, 1);
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	void neverShrinksBelowMinimumParallelism() {
+		limiter.adjust(1.0, 0, 0);
+
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void shrinksWithoutBlockedThreadsIfCpuLoadIsUnavailable() {
+		limiter.adjust(-1, 3, 1);
+		limiter.adjust(-1, 0, 0);
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	void limitsNumberOfConcurrentlyExecutingTasks() throws Exception {
+		limiter.acquire();
+		limiter.acquire();
+		var thirdAcquired = new CountDownLatch(1);
+		var thread = new Thread(() -> {
+			try {
+				limiter.acquire();
+				thirdAcquired.countDown();
+			}
+			catch (InterruptedException ignore) {
+				// thread is stopped after the test
+			}
+		});
+		thread.start();
+
+		assertThat(thirdAcquired.await(100, MILLISECONDS)).isFalse();
+
+		limiter.adjust(0.5, 0, 1);
+
+		assertThat(thirdAcquired.await(5, SECONDS)).isTrue();
+		thread.join();
+	}
+
+	@Test
+	void letsForkJoinPoolCompensateForWorkersWaitingForPermits() throws Exception {
+		limiter.acquire();
+		limiter.acquire();
+		var pool = new ForkJoinPool(1);
+		try {
+			var waiting = new CountDownLatch(1);
+			var waitingTask = pool.submit(() -> {
+				waiting.countDown();
+				limiter.acquire();
+				limiter.release();
+				return null;
+			});
+			waiting.await();
+
+			var otherTask = pool.submit(() -> "done");
+
+			assertThat(otherTask.get(5, SECONDS)).isEqualTo("done");
+			assertThat(waitingTask.isDone()).isFalse();
+
+			limiter.release();
+			waitingTask.get(5, SECONDS);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+}
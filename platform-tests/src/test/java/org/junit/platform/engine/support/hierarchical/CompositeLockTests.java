@@ -10,6 +10,8 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.stream.Collectors.toList;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -19,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.locks.Lock;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -34,7 +37,7 @@ class CompositeLockTests {
 		var lock1 = mock(Lock.class);
 		var lock2 = mock(Lock.class);
 
-		new CompositeLock(List.of(lock1, lock2)).acquire();
+		new CompositeLock(anyResources(2), List.of(lock1, lock2)).acquire();
 
 		var inOrder = inOrder(lock1, lock2);
 		inOrder.verify(lock1).lockInterruptibly();
@@ -47,7 +50,7 @@ class CompositeLockTests {
 		var lock1 = mock(Lock.class);
 		var lock2 = mock(Lock.class);
 
-		new CompositeLock(List.of(lock1, lock2)).acquire().close();
+		new CompositeLock(anyResources(2), List.of(lock1, lock2)).acquire().close();
 
 		var inOrder = inOrder(lock1, lock2);
 		inOrder.verify(lock2).unlock();
@@ -64,7 +67,7 @@ class CompositeLockTests {
 
 		var thread = new Thread(() -> {
 			try {
-				new CompositeLock(List.of(firstLock, secondLock, unavailableLock)).acquire();
+				new CompositeLock(anyResources(3), List.of(firstLock, secondLock, unavailableLock)).acquire();
 			}
 			catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
@@ -90,4 +93,10 @@ class CompositeLockTests {
 		return lock;
 	}
 
+	private List<ExclusiveResource> anyResources(int count) {
+		return IntStream.range(0, count) //
+				.mapToObj(i -> new ExclusiveResource("key" + i, READ_WRITE)) //
+				.collect(toList());
+	}
+
 }
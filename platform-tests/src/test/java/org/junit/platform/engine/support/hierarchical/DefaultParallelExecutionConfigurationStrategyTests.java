@@ -70,6 +70,55 @@ class DefaultParallelExecutionConfigurationStrategyTests {
 		assertThat(configuration.getSaturatePredicate()).isNull();
 	}
 
+	@Test
+	void adaptiveStrategyCreatesValidConfiguration() {
+		when(configParams.get("adaptive.min.parallelism")).thenReturn(Optional.of("2"));
+		when(configParams.get("adaptive.max.parallelism")).thenReturn(Optional.of("42"));
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		var configuration = strategy.createConfiguration(configParams);
+
+		assertThat(configuration).isInstanceOf(AdaptiveParallelExecutionConfiguration.class);
+		assertThat(((AdaptiveParallelExecutionConfiguration) configuration).getMinParallelism()).isEqualTo(2);
+		assertThat(((AdaptiveParallelExecutionConfiguration) configuration).getMaxParallelism()).isEqualTo(42);
+		assertThat(configuration.getParallelism()).isEqualTo(42);
+		assertThat(configuration.getCorePoolSize()).isEqualTo(42);
+		assertThat(configuration.getMinimumRunnable()).isEqualTo(42);
+		assertThat(configuration.getMaxPoolSize()).isEqualTo(256 + 42);
+		assertThat(configuration.getKeepAliveSeconds()).isEqualTo(30);
+	}
+
+	@Test
+	void adaptiveStrategyUsesDefaultsWhenPropertiesAreNotPresent() {
+		when(configParams.get("adaptive.min.parallelism")).thenReturn(Optional.empty());
+		when(configParams.get("adaptive.max.parallelism")).thenReturn(Optional.empty());
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		var configuration = (AdaptiveParallelExecutionConfiguration) strategy.createConfiguration(configParams);
+
+		var availableProcessors = Runtime.getRuntime().availableProcessors();
+		assertThat(configuration.getMinParallelism()).isEqualTo(availableProcessors);
+		assertThat(configuration.getMaxParallelism()).isEqualTo(4 * availableProcessors);
+	}
+
+	@Test
+	void adaptiveStrategyThrowsExceptionWhenMinParallelismIsZero() {
+		when(configParams.get("adaptive.min.parallelism")).thenReturn(Optional.of("0"));
+		when(configParams.get("adaptive.max.parallelism")).thenReturn(Optional.of("4"));
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		assertThrows(JUnitException.class, () -> strategy.createConfiguration(configParams));
+	}
+
+	@Test
+	void adaptiveStrategyThrowsExceptionWhenMaxParallelismIsLessThanMinParallelism() {
+		when(configParams.get("adaptive.min.parallelism")).thenReturn(Optional.of("4"));
+		when(configParams.get("adaptive.max.parallelism")).thenReturn(Optional.of("2"));
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		assertThrows(JUnitException.class, () -> strategy.createConfiguration(configParams));
+	}
+
 	@Test
 	void customStrategyCreatesValidConfiguration() {
 		when(configParams.get("custom.class")).thenReturn(
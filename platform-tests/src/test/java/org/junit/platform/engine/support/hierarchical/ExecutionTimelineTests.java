@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.hierarchical.ExecutionTimeline.Phase;
+import org.junit.platform.launcher.core.ConfigurationParametersFactoryForTests;
+
+/**
+ * @since 1.10
+ */
+class ExecutionTimelineTests {
+
+	private final EngineDescriptor engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"),
+		"Engine \"quoted\"");
+
+	@Test
+	void isDisabledByDefault() {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(Map.of());
+
+		var timeline = ExecutionTimeline.create(configurationParameters, engineDescriptor);
+
+		assertThat(timeline.isEnabled()).isFalse();
+		assertThat(timeline.start()).isZero();
+		timeline.record(Phase.EXECUTE, engineDescriptor, 0);
+		assertThat(timeline.getSpanCount()).isZero();
+	}
+
+	@Test
+	void writesFilePerEngineToConfiguredDirectory(@TempDir Path tempDir) throws Exception {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(
+			Map.of(HierarchicalTestEngine.EXECUTION_TIMELINE_DIRECTORY_PROPERTY_NAME, tempDir.toString()));
+
+		try (var timeline = ExecutionTimeline.create(configurationParameters, engineDescriptor)) {
+			assertThat(timeline.getFile()).isEqualTo(tempDir.resolve("junit-timeline-engine.json"));
+			timeline.record(Phase.EXECUTE, engineDescriptor, timeline.start());
+		}
+
+		assertThat(Files.readString(tempDir.resolve("junit-timeline-engine.json"))) //
+				.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[") //
+				.contains("\"name\":\"execute\"");
+	}
+
+	@Test
+	void recordsSpansOfEachThreadSeparately(@TempDir Path tempDir) throws Exception {
+		var timeline = new ExecutionTimeline(tempDir.resolve("timeline.json"));
+		var spansPerThread = ExecutionTimeline.INITIAL_CHUNK_CAPACITY * 3;
+
+		Runnable recorder = () -> {
+			for (int i = 0; i < spansPerThread; i++) {
+				timeline.record(Phase.NODE, engineDescriptor, timeline.start());
+			}
+		};
+		var thread = new Thread(recorder, "other-thread");
+		thread.start();
+		recorder.run();
+		thread.join();
+
+		assertThat(timeline.getSpanCount()).isEqualTo(2 * spansPerThread);
+
+		var writer = new StringWriter();
+		timeline.write(writer);
+		var json = writer.toString();
+
+		assertThat(json.split("\"ph\":\"M\"", -1)).hasSize(3);
+		assertThat(json.split("\"ph\":\"X\"", -1)).hasSize(2 * spansPerThread + 1);
+		assertThat(json) //
+				.contains("\"args\":{\"name\":\"other-thread\"}") //
+				.contains("\"name\":\"Engine \\\"quoted\\\"\",\"cat\":\"node\"") //
+				.contains("\"args\":{\"uniqueId\":\"[engine:engine]\"}") //
+				.endsWith("\n]}\n");
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine.EXECUTOR_SERVICE_FACTORY_CLASS_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorServiceFactory.CONFIG_FACTORY_CLASS_PROPERTY_NAME;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.launcher.core.ConfigurationParametersFactoryForTests;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+/**
+ * @since 1.10
+ */
+class HierarchicalTestExecutorServiceFactoryTests {
+
+	@Test
+	void createsNoExecutorServiceByDefault() {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(Map.of());
+
+		assertThat(HierarchicalTestExecutorServiceFactory.createConfiguredExecutorService(
+			configurationParameters)).isEmpty();
+	}
+
+	@Test
+	void createsExecutorServiceUsingConfiguredFactory() {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(
+			Map.of(CONFIG_FACTORY_CLASS_PROPERTY_NAME, CustomFactory.class.getName(), "parallelism", "42"));
+
+		var executorService = HierarchicalTestExecutorServiceFactory.createConfiguredExecutorService(
+			configurationParameters);
+
+		assertThat(executorService).containsInstanceOf(CustomExecutorService.class);
+		assertThat(((CustomExecutorService) executorService.get()).parallelism).isEqualTo(42);
+	}
+
+	@Test
+	void throwsExceptionIfConfiguredClassIsNotAFactory() {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(
+			Map.of(CONFIG_FACTORY_CLASS_PROPERTY_NAME, CustomExecutorService.class.getName()));
+
+		var exception = assertThrows(JUnitException.class,
+			() -> HierarchicalTestExecutorServiceFactory.createConfiguredExecutorService(configurationParameters));
+
+		assertThat(exception).hasMessage(
+			"Could not create executor service using factory class: " + CustomExecutorService.class.getName());
+		assertThat(exception.getCause()).hasMessageContaining("does not implement");
+	}
+
+	@Test
+	void throwsExceptionIfConfiguredFactoryClassDoesNotExist() {
+		var configurationParameters = ConfigurationParametersFactoryForTests.create(
+			Map.of(CONFIG_FACTORY_CLASS_PROPERTY_NAME, "com.example.MissingFactory"));
+
+		assertThrows(JUnitException.class,
+			() -> HierarchicalTestExecutorServiceFactory.createConfiguredExecutorService(configurationParameters));
+	}
+
+	@Test
+	void hierarchicalTestEnginesUseFactoryConfiguredViaPlatformConfigurationParameter() {
+		var engine = new DemoHierarchicalTestEngine("dummy");
+		engine.addTest("test", () -> {
+		});
+		CustomFactory.createdExecutorServices.set(0);
+
+		var results = EngineTestKit.engine(engine) //
+				.configurationParameter(EXECUTOR_SERVICE_FACTORY_CLASS_PROPERTY_NAME, CustomFactory.class.getName()) //
+				.execute();
+
+		assertThat(CustomFactory.createdExecutorServices).hasValue(1);
+		results.testEvents().assertStatistics(stats -> stats.succeeded(1));
+	}
+
+	static class CustomFactory implements HierarchicalTestExecutorServiceFactory {
+
+		static final AtomicInteger createdExecutorServices = new AtomicInteger();
+
+		@Override
+		public HierarchicalTestExecutorService createExecutorService(ConfigurationParameters configurationParameters) {
+			createdExecutorServices.incrementAndGet();
+			return new CustomExecutorService(configurationParameters.get("parallelism", Integer::parseInt).orElse(1));
+		}
+	}
+
+	static class CustomExecutorService extends SameThreadHierarchicalTestExecutorService {
+
+		final int parallelism;
+
+		CustomExecutorService(int parallelism) {
+			this.parallelism = parallelism;
+		}
+	}
+
+}
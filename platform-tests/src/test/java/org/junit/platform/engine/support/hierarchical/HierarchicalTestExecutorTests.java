@@ -10,6 +10,7 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -32,11 +33,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
@@ -68,6 +72,7 @@ class HierarchicalTestExecutorTests {
 	EngineExecutionListener listener;
 
 	MyEngineExecutionContext rootContext = new MyEngineExecutionContext();
+	CancellationToken cancellationToken = CancellationToken.create();
 	HierarchicalTestExecutor<MyEngineExecutionContext> executor;
 
 	@BeforeEach
@@ -77,9 +82,17 @@ class HierarchicalTestExecutorTests {
 
 	private HierarchicalTestExecutor<MyEngineExecutionContext> createExecutor(
 			HierarchicalTestExecutorService executorService) {
-		var request = new ExecutionRequest(root, listener, null);
+		return createExecutor(executorService, 0);
+	}
+
+	private HierarchicalTestExecutor<MyEngineExecutionContext> createExecutor(
+			HierarchicalTestExecutorService executorService, int maxOutstandingDynamicTests) {
+		var request = ExecutionRequest.create(root, listener, null, cancellationToken);
+		var configuration = HierarchicalTestExecutorConfiguration.builder() //
+				.maxOutstandingDynamicTests(maxOutstandingDynamicTests) //
+				.build();
 		return new HierarchicalTestExecutor<>(request, rootContext, executorService,
-			OpenTest4JAwareThrowableCollector::new);
+			OpenTest4JAwareThrowableCollector::new, configuration);
 	}
 
 	@Test
@@ -189,6 +202,56 @@ class HierarchicalTestExecutorTests {
 		verify(listener, never()).executionFinished(eq(child), any(TestExecutionResult.class));
 	}
 
+	@Test
+	void cancelledTokenSkipsRootWithoutPreparingIt() throws Exception {
+
+		cancellationToken.cancel("in test");
+
+		executor.execute();
+
+		verify(listener).executionSkipped(root, "in test");
+		verify(root, never()).prepare(any());
+		verify(listener, never()).executionStarted(root);
+	}
+
+	@Test
+	void cancellationDuringExecutionSkipsRemainingNodes() throws Exception {
+
+		var cancellingChild = spy(new MyLeaf(UniqueId.root("leaf", "cancelling leaf")));
+		var skippedChild = spy(new MyLeaf(UniqueId.root("leaf", "skipped leaf")));
+		when(cancellingChild.execute(eq(rootContext), any())).thenAnswer(invocation -> {
+			cancellationToken.cancel("in test");
+			return rootContext;
+		});
+		root.addChild(cancellingChild);
+		root.addChild(skippedChild);
+
+		executor.execute();
+
+		verify(listener).executionFinished(cancellingChild, successful());
+		verify(listener).executionSkipped(skippedChild, "in test");
+		verify(skippedChild, never()).prepare(any());
+		verify(listener).executionFinished(root, successful());
+	}
+
+	@Test
+	void cancellationBeforeForkingChildrenSkipsAllOfThem() throws Exception {
+
+		var child = spy(new MyLeaf(UniqueId.root("leaf", "child leaf")));
+		when(root.before(rootContext)).thenAnswer(invocation -> {
+			cancellationToken.cancel("in test");
+			return rootContext;
+		});
+		root.addChild(child);
+
+		executor.execute();
+
+		verify(listener).executionStarted(root);
+		verify(listener).executionSkipped(child, "in test");
+		verify(child, never()).prepare(any());
+		verify(listener).executionFinished(root, successful());
+	}
+
 	@Test
 	void exceptionInShouldBeSkipped() throws Exception {
 
@@ -589,6 +652,53 @@ class HierarchicalTestExecutorTests {
 		assertTrue(interrupted.get(), "dynamic node was interrupted");
 	}
 
+	@Test
+	void limitsNumberOfOutstandingDynamicTests() throws Exception {
+		var child = spy(new MyContainer(UniqueId.root("container", "child container")));
+		root.addChild(child);
+		var outstanding = new AtomicInteger();
+		var maxOutstanding = new AtomicInteger();
+		var finished = new AtomicInteger();
+		var dynamicTestListener = new EngineExecutionListener() {
+			@Override
+			public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+				maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+			}
+
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				outstanding.decrementAndGet();
+				finished.incrementAndGet();
+			}
+		};
+		when(child.execute(any(), any())).thenAnswer(useDynamicTestExecutor(executor -> {
+			for (int i = 0; i < 50; i++) {
+				var dynamicTest = new MyLeaf(child.getUniqueId().append("dynamic", "#" + i)) {
+					@Override
+					public MyEngineExecutionContext execute(MyEngineExecutionContext context,
+							DynamicTestExecutor dynamicTestExecutor) {
+						LockSupport.parkNanos(MILLISECONDS.toNanos(1));
+						return context;
+					}
+				};
+				executor.execute(dynamicTest, dynamicTestListener);
+			}
+			executor.awaitFinished();
+		}));
+
+		var parameters = ConfigurationParametersFactoryForTests.create(Map.of(//
+			DefaultParallelExecutionConfigurationStrategy.CONFIG_STRATEGY_PROPERTY_NAME, "fixed", //
+			DefaultParallelExecutionConfigurationStrategy.CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, "4"));
+
+		try (var executorService = new ForkJoinPoolHierarchicalTestExecutorService(parameters)) {
+			createExecutor(executorService, 3).execute().get();
+		}
+
+		verify(listener).executionFinished(child, successful());
+		assertThat(finished).hasValue(50);
+		assertThat(maxOutstanding.get()).isBetween(1, 3);
+	}
+
 	private Answer<Object> execute(TestDescriptor dynamicChild) {
 		return useDynamicTestExecutor(executor -> executor.execute(dynamicChild));
 	}
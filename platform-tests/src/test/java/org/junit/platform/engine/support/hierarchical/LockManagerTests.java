@@ -11,13 +11,16 @@
 package org.junit.platform.engine.support.hierarchical;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_KEY;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
 import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
@@ -25,7 +28,9 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode;
+import org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode;
 
 /**
  * @since 1.3
@@ -50,7 +55,7 @@ class LockManagerTests {
 		var locks = getLocks(resources, SingleLock.class);
 
 		assertThat(locks).hasSize(1);
-		assertThat(locks.get(0)).isInstanceOf(ReadLock.class);
+		assertThat(getMode(locks.get(0))).isEqualTo(Mode.READ);
 	}
 
 	@Test
@@ -62,8 +67,8 @@ class LockManagerTests {
 		var locks = getLocks(resources, CompositeLock.class);
 
 		assertThat(locks).hasSize(2);
-		assertThat(locks.get(0)).isInstanceOf(ReadLock.class);
-		assertThat(locks.get(1)).isInstanceOf(WriteLock.class);
+		assertThat(getMode(locks.get(0))).isEqualTo(Mode.READ);
+		assertThat(getMode(locks.get(1))).isEqualTo(Mode.READ_WRITE);
 	}
 
 	@Test
@@ -89,8 +94,8 @@ class LockManagerTests {
 		var locks = getLocks(resources, CompositeLock.class);
 
 		assertThat(locks).hasSize(2);
-		assertThat(locks.get(0)).isInstanceOf(WriteLock.class);
-		assertThat(locks.get(1)).isInstanceOf(WriteLock.class);
+		assertThat(getMode(locks.get(0))).isEqualTo(Mode.READ_WRITE);
+		assertThat(getMode(locks.get(1))).isEqualTo(Mode.READ_WRITE);
 	}
 
 	@ParameterizedTest
@@ -111,10 +116,182 @@ class LockManagerTests {
 		assertThat(locks.get(3)).isEqualTo(getSingleLock("foo", READ_WRITE));
 	}
 
+	@Test
+	void usesReentrantReadWriteLockForGlobalResource() {
+		assertThat(getSingleLock(GLOBAL_KEY, READ)).isInstanceOf(ReadLock.class);
+		assertThat(getSingleLock(GLOBAL_KEY, READ_WRITE)).isInstanceOf(WriteLock.class);
+	}
+
+	@Test
+	void treatsKeysWithDotsAsUnrelatedResourcesByDefault() {
+		var locks = getLocks(List.of( //
+			new ExclusiveResource("db", READ_WRITE), //
+			new ExclusiveResource("db.orders", READ_WRITE)), CompositeLock.class);
+
+		assertThat(locks).extracting(LockManagerTests::getMode) //
+				.containsExactly(Mode.READ_WRITE, Mode.READ_WRITE);
+		assertThat(tryLockInOtherThread(List.of(locks.get(0)))).isTrue();
+		assertThat(tryLockInOtherThread(List.of(locks.get(1)))).isTrue();
+	}
+
+	@Test
+	void acquiresIntentionLocksForAncestorsOfHierarchicalResource() {
+		useHierarchicalKeys();
+
+		var lock = lockManager.getLockForResource(new ExclusiveResource("db.orders.2022", READ_WRITE));
+
+		assertThat(lock).isInstanceOf(CompositeLock.class);
+		assertThat(((CompositeLock) lock).getResources()).extracting(ExclusiveResource::getKey) //
+				.containsExactly("db", "db.orders", "db.orders.2022");
+		assertThat(ResourceLockSupport.getLocks(lock)).extracting(LockManagerTests::getMode) //
+				.containsExactly(Mode.INTENTION_READ_WRITE, Mode.INTENTION_READ_WRITE, Mode.READ_WRITE);
+	}
+
+	@Test
+	void combinesIntentionLocksOfSiblings() {
+		useHierarchicalKeys();
+
+		var locks = getLocks(List.of( //
+			new ExclusiveResource("db.orders", READ), //
+			new ExclusiveResource("db.users", READ_WRITE)), CompositeLock.class);
+
+		assertThat(locks).extracting(LockManagerTests::getMode) //
+				.containsExactly(Mode.INTENTION_READ_WRITE, Mode.READ, Mode.READ_WRITE);
+	}
+
+	@Test
+	void omitsDescendantsOfResourcesThatAreLockedAsWell() {
+		useHierarchicalKeys();
+
+		var locks = getLocks(List.of( //
+			new ExclusiveResource("db", READ_WRITE), //
+			new ExclusiveResource("db.orders", READ)), SingleLock.class);
+
+		assertThat(locks).containsExactly(getSingleLock("db", READ_WRITE));
+	}
+
+	@Test
+	void upgradesReadAncestorOfWrittenDescendant() {
+		useHierarchicalKeys();
+
+		var locks = getLocks(List.of( //
+			new ExclusiveResource("db", READ), //
+			new ExclusiveResource("db.orders", READ_WRITE)), SingleLock.class);
+
+		assertThat(locks).containsExactly(getSingleLock("db", READ_WRITE));
+	}
+
+	@Test
+	void writingParentConflictsWithUsingChildWhileSiblingsDoNotConflict() {
+		useHierarchicalKeys();
+
+		var childLocks = ResourceLockSupport.getLocks(
+			lockManager.getLockForResource(new ExclusiveResource("db.orders", READ_WRITE)));
+		var siblingLocks = ResourceLockSupport.getLocks(
+			lockManager.getLockForResource(new ExclusiveResource("db.users", READ_WRITE)));
+		var parentLocks = List.of(getSingleLock("db", READ));
+
+		assertThat(tryLock(childLocks)).isTrue();
+		assertThat(tryLockInOtherThread(siblingLocks)).isTrue();
+		assertThat(tryLockInOtherThread(parentLocks)).isFalse();
+
+		childLocks.forEach(Lock::unlock);
+		assertThat(tryLock(parentLocks)).isTrue();
+		assertThat(tryLockInOtherThread(childLocks)).isFalse();
+		parentLocks.forEach(Lock::unlock);
+	}
+
+	@Test
+	void rejectsDescendantsOfResourceWithCapacity() {
+		useHierarchicalKeys();
+
+		getSingleLock(new ExclusiveResource("pool", READ_WRITE, 2));
+
+		assertThrows(PreconditionViolationException.class,
+			() -> lockManager.getLockForResource(new ExclusiveResource("pool.connection", READ)));
+	}
+
+	@Test
+	void returnsSemaphoreLockForExclusiveResourceWithCapacity() {
+		var locks = getLocks(Set.of(new ExclusiveResource("pool", READ_WRITE, 3)), SingleLock.class);
+
+		assertThat(locks).hasSize(1);
+		assertThat(locks.get(0)).isInstanceOf(SemaphoreLock.class);
+		assertThat(((SemaphoreLock) locks.get(0)).getCapacity()).isEqualTo(3);
+	}
+
+	@Test
+	void reusesSameSemaphoreLockRegardlessOfLockMode() {
+		var readLock = getSingleLock(new ExclusiveResource("pool", READ, 3));
+		var writeLock = getSingleLock(new ExclusiveResource("pool", READ_WRITE, 3));
+
+		assertThat(readLock).isSameAs(writeLock);
+	}
+
+	@Test
+	void rejectsExclusiveResourceWithCapacityDifferentFromPreviousUsage() {
+		getSingleLock(new ExclusiveResource("pool", READ_WRITE, 3));
+
+		assertThrows(PreconditionViolationException.class,
+			() -> getSingleLock(new ExclusiveResource("pool", READ_WRITE, 4)));
+		assertThrows(PreconditionViolationException.class,
+			() -> getSingleLock(new ExclusiveResource("pool", READ_WRITE)));
+	}
+
+	@Test
+	void rejectsExclusiveResourceWithCapacityPreviouslyUsedWithoutCapacity() {
+		getSingleLock(new ExclusiveResource("foo", READ));
+
+		assertThrows(PreconditionViolationException.class,
+			() -> getSingleLock(new ExclusiveResource("foo", READ, 2)));
+	}
+
+	private Lock getSingleLock(ExclusiveResource resource) {
+		return getLocks(Set.of(resource), SingleLock.class).get(0);
+	}
+
 	private Lock getSingleLock(String globalResourceLockKey, LockMode read) {
 		return getLocks(Set.of(new ExclusiveResource(globalResourceLockKey, read)), SingleLock.class).get(0);
 	}
 
+	private void useHierarchicalKeys() {
+		lockManager = new LockManager(ResourceLockDiagnostics.disabled(), true);
+	}
+
+	private static boolean tryLockInOtherThread(List<Lock> locks) {
+		// locks are reentrant, so conflicts are only detected between different threads
+		var task = new FutureTask<>(() -> {
+			if (tryLock(locks)) {
+				locks.forEach(Lock::unlock);
+				return true;
+			}
+			return false;
+		});
+		new Thread(task).start();
+		try {
+			return task.get();
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static boolean tryLock(List<Lock> locks) {
+		var acquiredLocks = new ArrayList<Lock>();
+		for (var lock : locks) {
+			if (!lock.tryLock()) {
+				acquiredLocks.forEach(Lock::unlock);
+				return false;
+			}
+			acquiredLocks.add(lock);
+		}
+		return true;
+	}
+
+	private static Mode getMode(Lock lock) {
+		return ((MultiGranularityLock.ModeLock) lock).getMode();
+	}
+
 	private List<Lock> getLocks(Collection<ExclusiveResource> resources, Class<? extends ResourceLock> type) {
 		var lock = lockManager.getLockForResources(resources);
 		assertThat(lock).isInstanceOf(type);
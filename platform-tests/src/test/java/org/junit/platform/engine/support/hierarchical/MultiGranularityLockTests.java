@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode.INTENTION_READ;
+import static org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode.INTENTION_READ_WRITE;
+import static org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode.READ;
+import static org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode.READ_WRITE;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.support.hierarchical.MultiGranularityLock.Mode;
+
+/**
+ * @since 1.10
+ */
+class MultiGranularityLockTests {
+
+	private final MultiGranularityLock lock = new MultiGranularityLock();
+
+	@Test
+	void intentionModesAreCompatibleWithEachOther() throws Exception {
+		assertCompatible(INTENTION_READ, INTENTION_READ);
+		assertCompatible(INTENTION_READ, INTENTION_READ_WRITE);
+		assertCompatible(INTENTION_READ_WRITE, INTENTION_READ_WRITE);
+	}
+
+	@Test
+	void readIsOnlyCompatibleWithReadAndIntentionToRead() throws Exception {
+		assertCompatible(READ, READ);
+		assertCompatible(READ, INTENTION_READ);
+		assertIncompatible(READ, INTENTION_READ_WRITE);
+		assertIncompatible(READ, READ_WRITE);
+	}
+
+	@Test
+	void readWriteIsIncompatibleWithAllModes() throws Exception {
+		for (var mode : Mode.values()) {
+			assertIncompatible(READ_WRITE, mode);
+		}
+	}
+
+	@Test
+	void combinesModesToStrongestMode() {
+		assertEquals(INTENTION_READ_WRITE, INTENTION_READ.combine(INTENTION_READ_WRITE));
+		assertEquals(READ, READ.combine(INTENTION_READ));
+		assertEquals(READ_WRITE, READ.combine(INTENTION_READ_WRITE));
+	}
+
+	@Test
+	void isReentrant() throws Exception {
+		lock.get(READ_WRITE).lock();
+		lock.get(READ_WRITE).lock();
+
+		lock.get(READ_WRITE).unlock();
+		assertFalse(tryLockInOtherThread(READ));
+
+		lock.get(READ_WRITE).unlock();
+		assertTrue(tryLockInOtherThread(READ));
+	}
+
+	@Test
+	void threadHoldingLockMayAcquireModesIncompatibleWithItsOwnModes() throws Exception {
+		lock.get(INTENTION_READ_WRITE).lock();
+
+		assertTrue(lock.get(READ_WRITE).tryLock());
+		lock.get(INTENTION_READ_WRITE).unlock();
+		assertFalse(tryLockInOtherThread(INTENTION_READ));
+
+		lock.get(READ_WRITE).unlock();
+		assertTrue(tryLockInOtherThread(INTENTION_READ));
+	}
+
+	@Test
+	void mustBeReleasedByAcquiringThread() throws Exception {
+		lock.get(READ_WRITE).lock();
+
+		var unlock = runInNewThread(() -> {
+			lock.get(READ_WRITE).unlock();
+			return null;
+		});
+
+		var exception = assertThrows(ExecutionException.class, () -> unlock.get(5, SECONDS));
+		assertInstanceOf(IllegalMonitorStateException.class, exception.getCause());
+		assertTrue(lock.get(READ_WRITE).isHeld());
+		lock.get(READ_WRITE).unlock();
+		assertFalse(lock.get(READ_WRITE).isHeld());
+	}
+
+	@Test
+	void throwsExceptionWhenReleasingModeThatIsNotHeld() {
+		lock.get(READ).lock();
+
+		assertThrows(IllegalMonitorStateException.class, () -> lock.get(INTENTION_READ).unlock());
+	}
+
+	@Test
+	void blockedReaderWaitsForWaitingWriter() throws Exception {
+		lock.get(READ).lock();
+		var writer = runInNewThread(() -> {
+			lock.get(READ_WRITE).lock();
+			return null;
+		});
+
+		// the writer is waiting once a reader can no longer acquire the lock without barging
+		while (tryLockInOtherThread(READ)) {
+			Thread.onSpinWait();
+		}
+		// the current thread holds the lock and must not wait for the writer waiting for it
+		assertTrue(lock.get(READ).tryLock(10, MILLISECONDS));
+		lock.get(READ).unlock();
+		lock.get(READ).unlock();
+		writer.get(5, SECONDS);
+
+		assertTrue(lock.get(READ_WRITE).isHeld());
+		assertFalse(tryLockInOtherThread(READ));
+	}
+
+	private boolean tryLockInOtherThread(Mode mode) throws Exception {
+		return runInNewThread(() -> {
+			if (lock.get(mode).tryLock(10, MILLISECONDS)) {
+				lock.get(mode).unlock();
+				return true;
+			}
+			return false;
+		}).get(5, SECONDS);
+	}
+
+	private static <T> Future<T> runInNewThread(Callable<T> callable) {
+		// pooled threads might still hold locks acquired by previous tasks
+		var task = new FutureTask<>(callable);
+		new Thread(task).start();
+		return task;
+	}
+
+	private void assertCompatible(Mode held, Mode requested) throws Exception {
+		assertTrue(held.isCompatibleWith(requested));
+		assertTrue(requested.isCompatibleWith(held));
+		lock.get(held).lock();
+		try {
+			assertTrue(tryLockInOtherThread(requested));
+		}
+		finally {
+			lock.get(held).unlock();
+		}
+	}
+
+	private void assertIncompatible(Mode held, Mode requested) throws Exception {
+		assertFalse(held.isCompatibleWith(requested));
+		assertFalse(requested.isCompatibleWith(held));
+		lock.get(held).lock();
+		try {
+			assertFalse(tryLockInOtherThread(requested));
+		}
+		finally {
+			lock.get(held).unlock();
+		}
+	}
+
+}
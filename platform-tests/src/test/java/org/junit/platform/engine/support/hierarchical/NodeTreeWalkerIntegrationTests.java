@@ -170,6 +170,56 @@ class NodeTreeWalkerIntegrationTests {
 		assertThat(advisor.getForcedExecutionMode(testMethodDescriptor)).contains(SAME_THREAD);
 	}
 
+	@Test
+	void pullsUpResourcesOfDeeplyNestedTestsToTopmostLockedClassOnly() {
+		var engineDescriptor = discover(TestCaseWithDeeplyNestedResourceLocks.class);
+
+		var advisor = nodeTreeWalker.walk(engineDescriptor);
+
+		var testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(testClassDescriptor)).extracting(allLocks()) //
+				.isEqualTo(List.of(getLock(GLOBAL_READ)));
+		assertThat(advisor.getForcedExecutionMode(testClassDescriptor)).isEmpty();
+
+		var children = testClassDescriptor.getChildren().iterator();
+		var testMethodDescriptor = children.next();
+		assertThat(advisor.getResourceLock(testMethodDescriptor)).extracting(allLocks()) //
+				.isEqualTo(List.of(getLock(GLOBAL_READ)));
+		assertThat(advisor.getForcedExecutionMode(testMethodDescriptor)).isEmpty();
+
+		var lockedClassDescriptor = children.next();
+		assertThat(advisor.getResourceLock(lockedClassDescriptor)).extracting(allLocks()) //
+				.isEqualTo(List.of(getReadWriteLock("a"), getReadLock("b")));
+		assertThat(advisor.getForcedExecutionMode(lockedClassDescriptor)).isEmpty();
+
+		var innerClassDescriptor = getOnlyElement(lockedClassDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(innerClassDescriptor)).extracting(allLocks()).isEqualTo(List.of());
+		assertThat(advisor.getForcedExecutionMode(innerClassDescriptor)).contains(SAME_THREAD);
+
+		var innerTestMethodDescriptor = getOnlyElement(innerClassDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(innerTestMethodDescriptor)).extracting(allLocks()).isEqualTo(List.of());
+		assertThat(advisor.getForcedExecutionMode(innerTestMethodDescriptor)).contains(SAME_THREAD);
+	}
+
+	@Test
+	void doesNotForceExecutionModeForDeeplyNestedTestsWithReadLocksOnly() {
+		var engineDescriptor = discover(TestCaseWithDeeplyNestedReadLocks.class);
+
+		var advisor = nodeTreeWalker.walk(engineDescriptor);
+
+		var testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(testClassDescriptor)).extracting(allLocks()) //
+				.isEqualTo(List.of(getLock(GLOBAL_READ), getReadLock("a"), getReadLock("b")));
+
+		var nestedClassDescriptor = getOnlyElement(testClassDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(nestedClassDescriptor)).extracting(allLocks()).isEqualTo(List.of());
+		assertThat(advisor.getForcedExecutionMode(nestedClassDescriptor)).isEmpty();
+
+		var testMethodDescriptor = getOnlyElement(nestedClassDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(testMethodDescriptor)).extracting(allLocks()).isEqualTo(List.of());
+		assertThat(advisor.getForcedExecutionMode(testMethodDescriptor)).isEmpty();
+	}
+
 	private static Function<org.junit.platform.engine.support.hierarchical.ResourceLock, List<Lock>> allLocks() {
 		return ResourceLockSupport::getLocks;
 	}
@@ -225,6 +275,35 @@ class NodeTreeWalkerIntegrationTests {
 		}
 	}
 
+	static class TestCaseWithDeeplyNestedResourceLocks {
+		@Test
+		void test() {
+		}
+
+		@Nested
+		@ResourceLock(value = "b", mode = ResourceAccessMode.READ)
+		class LockedTestCase {
+			@Nested
+			class InnerTestCase {
+				@Test
+				@ResourceLock("a")
+				void test() {
+				}
+			}
+		}
+	}
+
+	@ResourceLock(value = "a", mode = ResourceAccessMode.READ)
+	static class TestCaseWithDeeplyNestedReadLocks {
+		@Nested
+		class NestedTestCase {
+			@Test
+			@ResourceLock(value = "b", mode = ResourceAccessMode.READ)
+			void test() {
+			}
+		}
+	}
+
 	@ResourceLock("a")
 	static class TestCaseWithResourceWriteLockOnClass {
 		@Test
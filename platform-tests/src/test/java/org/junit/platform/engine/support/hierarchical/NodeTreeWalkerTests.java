@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_READ_WRITE;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/**
+ * Tests for {@link NodeTreeWalker} using synthetic descriptor trees, including
+ * a comparison with a straightforward implementation that collects the
+ * resources of each subtree separately for randomly generated trees.
+ *
+ * @since 1.10
+ */
+class NodeTreeWalkerTests {
+
+	private static final List<ExclusiveResource> RESOURCES = List.of( //
+		new ExclusiveResource("a", READ), //
+		new ExclusiveResource("a", READ_WRITE), //
+		new ExclusiveResource("b", READ), //
+		new ExclusiveResource("b", READ_WRITE), //
+		new ExclusiveResource("c", READ_WRITE, 2), //
+		GLOBAL_READ, //
+		GLOBAL_READ_WRITE);
+
+	private final LockManager lockManager = new LockManager();
+
+	@Test
+	void plansSameLocksAndExecutionModesAsReferenceImplementation() {
+		for (long seed = 0; seed < 3000; seed++) {
+			var random = new Random(seed);
+			var engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+			var allDescriptors = new ArrayList<TestDescriptor>();
+			addChildren(engineDescriptor, 1 + random.nextInt(3), 1 + random.nextInt(5), random, allDescriptors);
+
+			var advisor = new NodeTreeWalker(lockManager).walk(engineDescriptor);
+			var reference = new ReferenceWalker();
+			reference.walk(engineDescriptor);
+
+			for (var descriptor : allDescriptors) {
+				var message = "seed " + seed + ", descriptor " + descriptor.getUniqueId();
+				assertEquals(ResourceLockSupport.getLocks(reference.getResourceLock(descriptor)),
+					ResourceLockSupport.getLocks(advisor.getResourceLock(descriptor)), message);
+				assertEquals(reference.isSameThreadForced(descriptor),
+					advisor.getForcedExecutionMode(descriptor).isPresent(), message);
+			}
+		}
+	}
+
+	@Test
+	void aggregatesPrioritiesOfDescendantsThatHaveOne() {
+		var engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+		var negativeContainer = addChild(engineDescriptor, "negative", OptionalInt.empty());
+		addChild(negativeContainer, "slow", OptionalInt.of(-5));
+		addChild(negativeContainer, "slower", OptionalInt.of(-10));
+		var containerWithoutPriority = addChild(engineDescriptor, "none", OptionalInt.empty());
+		addChild(containerWithoutPriority, "test", OptionalInt.empty());
+		var positiveContainer = addChild(engineDescriptor, "positive", OptionalInt.of(1));
+		addChild(positiveContainer, "smoke", OptionalInt.of(10));
+		addChild(positiveContainer, "test", OptionalInt.empty());
+
+		var advisor = new NodeTreeWalker(lockManager).walk(engineDescriptor);
+
+		assertEquals(OptionalInt.of(-5), advisor.findPriority(negativeContainer));
+		assertEquals(-5, advisor.getPriority(negativeContainer));
+		assertEquals(OptionalInt.empty(), advisor.findPriority(containerWithoutPriority));
+		assertEquals(0, advisor.getPriority(containerWithoutPriority));
+		assertEquals(OptionalInt.of(10), advisor.findPriority(positiveContainer));
+	}
+
+	private static TestDescriptor addChild(TestDescriptor parent, String name, OptionalInt priority) {
+		var child = new DummyNodeDescriptor(parent.getUniqueId().append("node", name), emptySet(), priority);
+		parent.addChild(child);
+		return child;
+	}
+
+	private static void addChildren(TestDescriptor parent, int count, int remainingDepth, Random random,
+			List<TestDescriptor> allDescriptors) {
+		for (int i = 0; i < count; i++) {
+			Set<ExclusiveResource> resources = new HashSet<>();
+			if (random.nextInt(4) == 0) {
+				for (int j = random.nextInt(2); j >= 0; j--) {
+					resources.add(RESOURCES.get(random.nextInt(RESOURCES.size())));
+				}
+			}
+			var child = new DummyNodeDescriptor(parent.getUniqueId().append("node", String.valueOf(i)), resources,
+				OptionalInt.empty());
+			parent.addChild(child);
+			allDescriptors.add(child);
+			if (remainingDepth > 1 && random.nextInt(3) > 0) {
+				addChildren(child, random.nextInt(4), remainingDepth - 1, random, allDescriptors);
+			}
+		}
+	}
+
+	/**
+	 * Plans locks and execution modes by collecting the resources of the
+	 * subtree of each descriptor that declares resources separately and by
+	 * looking up forced execution modes of all ancestors.
+	 */
+	private class ReferenceWalker {
+
+		private final Map<TestDescriptor, ResourceLock> resourceLocks = new HashMap<>();
+		private final Set<TestDescriptor> forcingDescriptors = new HashSet<>();
+
+		void walk(TestDescriptor engineDescriptor) {
+			engineDescriptor.getChildren().forEach(child -> walk(child, child));
+		}
+
+		private void walk(TestDescriptor globalLockDescriptor, TestDescriptor testDescriptor) {
+			var exclusiveResources = getExclusiveResources(testDescriptor);
+			if (exclusiveResources.isEmpty()) {
+				resourceLocks.put(testDescriptor, lockManager.getLockForResource(GLOBAL_READ));
+				testDescriptor.getChildren().forEach(child -> walk(globalLockDescriptor, child));
+				return;
+			}
+			Set<ExclusiveResource> allResources = new HashSet<>(exclusiveResources);
+			doForDescendants(testDescriptor, child -> allResources.addAll(getExclusiveResources(child)));
+			if (!isReadOnly(allResources)) {
+				forcingDescriptors.add(testDescriptor);
+				doForDescendants(testDescriptor, forcingDescriptors::add);
+			}
+			if (!globalLockDescriptor.equals(testDescriptor) && allResources.contains(GLOBAL_READ_WRITE)) {
+				forcingDescriptors.add(globalLockDescriptor);
+				doForDescendants(globalLockDescriptor, forcingDescriptors::add);
+				resourceLocks.put(globalLockDescriptor, lockManager.getLockForResource(GLOBAL_READ_WRITE));
+			}
+			if (globalLockDescriptor.equals(testDescriptor) && !allResources.contains(GLOBAL_READ_WRITE)) {
+				allResources.add(GLOBAL_READ);
+			}
+			resourceLocks.put(testDescriptor, lockManager.getLockForResources(allResources));
+		}
+
+		ResourceLock getResourceLock(TestDescriptor testDescriptor) {
+			return resourceLocks.getOrDefault(testDescriptor, NopLock.INSTANCE);
+		}
+
+		boolean isSameThreadForced(TestDescriptor testDescriptor) {
+			var ancestor = testDescriptor.getParent();
+			while (ancestor.isPresent()) {
+				if (forcingDescriptors.contains(ancestor.get())) {
+					return true;
+				}
+				ancestor = ancestor.get().getParent();
+			}
+			return false;
+		}
+
+		private boolean isReadOnly(Set<ExclusiveResource> exclusiveResources) {
+			return exclusiveResources.stream().allMatch(
+				resource -> resource.getLockMode() == READ || resource.getCapacity() > 0);
+		}
+
+		private void doForDescendants(TestDescriptor parent, Consumer<TestDescriptor> consumer) {
+			parent.getChildren().forEach(child -> {
+				consumer.accept(child);
+				doForDescendants(child, consumer);
+			});
+		}
+	}
+
+	private static Set<ExclusiveResource> getExclusiveResources(TestDescriptor testDescriptor) {
+		return testDescriptor instanceof DummyNodeDescriptor
+				? ((DummyNodeDescriptor) testDescriptor).getExclusiveResources()
+				: emptySet();
+	}
+
+	private static class DummyNodeDescriptor extends AbstractTestDescriptor implements Node<EngineExecutionContext> {
+
+		private final Set<ExclusiveResource> exclusiveResources;
+		private final OptionalInt priority;
+
+		DummyNodeDescriptor(UniqueId uniqueId, Set<ExclusiveResource> exclusiveResources, OptionalInt priority) {
+			super(uniqueId, uniqueId.getLastSegment().getValue());
+			this.exclusiveResources = exclusiveResources;
+			this.priority = priority;
+		}
+
+		@Override
+		public Type getType() {
+			return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
+		}
+
+		@Override
+		public Set<ExclusiveResource> getExclusiveResources() {
+			return exclusiveResources;
+		}
+
+		@Override
+		public OptionalInt getExecutionPriority() {
+			return priority;
+		}
+	}
+
+}
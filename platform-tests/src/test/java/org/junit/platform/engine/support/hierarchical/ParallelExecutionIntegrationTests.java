@@ -11,18 +11,26 @@
 package org.junit.platform.engine.support.hierarchical;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
 import static org.junit.jupiter.engine.Constants.DEFAULT_CLASSES_EXECUTION_MODE_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.DEFAULT_PARALLEL_EXECUTION_MODE;
+import static org.junit.jupiter.engine.Constants.DEFAULT_PARALLEL_WORKER_AFFINITY;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_BATCHING_ENABLED_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_EXECUTOR_FACTORY_CLASS_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_EXECUTOR_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_TAG_PRIORITIES_PROPERTY_NAME;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
 import static org.junit.platform.testkit.engine.EventConditions.container;
 import static org.junit.platform.testkit.engine.EventConditions.event;
@@ -40,6 +48,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -54,8 +63,10 @@ import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.MethodOrderer.MethodName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.TestReporter;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
@@ -64,6 +75,8 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.Isolated;
 import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.WorkerAffinity;
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
 import org.junit.platform.engine.reporting.ReportEntry;
@@ -250,6 +263,121 @@ class ParallelExecutionIntegrationTests {
 		assertThat(events.stream().filter(event(test(), finishedWithFailure())::matches)).isEmpty();
 	}
 
+	@Test
+	void executesTestsWithVirtualThreadExecutorOrFallsBackToForkJoinPool() {
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			PARALLEL_EXECUTOR_PROPERTY_NAME, "virtual_threads");
+		var results = executeWithFixedParallelism(3, configParams, SuccessfulParallelTestCase.class,
+			SuccessfulWithMethodLockTestCase.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(6));
+	}
+
+	@RepeatedTest(10)
+	void deferredLockingRespectsResourceLocks() {
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			PARALLEL_CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME, "true");
+		var results = executeWithFixedParallelism(4, configParams, SuccessfulWithMethodLockTestCase.class,
+			TestCaseWithSortedLocks.class, TestCaseWithUnsortedLocks.class, TestCaseWithNestedLocks.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(15).failed(0));
+	}
+
+	@Test
+	void deferredLockingSupportsIsolatedTests() {
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			PARALLEL_CONFIG_DEFERRED_LOCKING_ENABLED_PROPERTY_NAME, "true");
+		var results = executeWithFixedParallelism(4, configParams, IndependentClasses.B.class,
+			IndependentClasses.C.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(4).failed(0));
+	}
+
+	@RepeatedTest(10)
+	void batchingRespectsResourceLocks() {
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			PARALLEL_CONFIG_BATCHING_ENABLED_PROPERTY_NAME, "true");
+		var results = executeWithFixedParallelism(4, configParams, SuccessfulWithMethodLockTestCase.class,
+			TestCaseWithSortedLocks.class, TestCaseWithUnsortedLocks.class, TestCaseWithNestedLocks.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(15).failed(0));
+	}
+
+	@Test
+	void executesMethodsOnWorkerOfTheirClassIfWorkerAffinityIsPreferred() {
+		var configParams = Map.of(DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent");
+		var results = executeWithFixedParallelism(2, configParams, WorkerAffinityTestCase.class,
+			BusyUntilWorkerAffinityTestCaseFinishedTestCase.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(5).failed(0));
+		var testClass = findFirstTestDescriptor(results, container(WorkerAffinityTestCase.class));
+		assertThat(ThreadReporter.getThreadNames(getEventsOfChildren(results, testClass))).hasSize(1);
+	}
+
+	@Test
+	void executesMethodsWithWorkerAffinityConcurrentlyWhileOtherWorkersAreIdle() {
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			DEFAULT_PARALLEL_WORKER_AFFINITY, "true");
+		var results = executeWithFixedParallelism(2, configParams, WorkerAffinityBarrierTestCase.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(2).failed(0));
+	}
+
+	@Test
+	void startsTestsWithHigherPriorityFirst() {
+		PriorityTestCase.executedTests.clear();
+
+		var configParams = Map.of( //
+			DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent", //
+			PARALLEL_TAG_PRIORITIES_PROPERTY_NAME, "smoke=10,slow=-5");
+		var results = executeWithFixedParallelism(1, configParams, PriorityTestCaseA.class,
+			PriorityTestCaseB.class, PriorityTestCaseC.class);
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(9));
+		assertThat(PriorityTestCase.executedTests).hasSize(9);
+		assertThat(PriorityTestCase.executedTests.subList(0, 3)) //
+				.allMatch(name -> name.startsWith(PriorityTestCaseB.class.getSimpleName()));
+	}
+
+	@Test
+	void usesExecutorServiceCreatedByConfiguredFactory() {
+		CountingExecutorServiceFactory.createdExecutorServices.set(0);
+
+		var configParams = Map.of(PARALLEL_CONFIG_EXECUTOR_FACTORY_CLASS_PROPERTY_NAME,
+			CountingExecutorServiceFactory.class.getName());
+		var results = executeWithFixedParallelism(3, configParams, SuccessfulParallelTestCase.class);
+
+		assertThat(CountingExecutorServiceFactory.createdExecutorServices).hasValue(1);
+		assertThat(ThreadReporter.getThreadNames(results.allEvents().list())).hasSize(1);
+	}
+
+	@Test
+	void usesExecutorServiceCreatedByConfiguredFactoryIfParallelExecutionIsDisabled() {
+		CountingExecutorServiceFactory.createdExecutorServices.set(0);
+
+		var results = EngineTestKit.execute("junit-jupiter", request() //
+				.selectors(DiscoverySelectors.selectClass(SuccessfulParallelTestCase.class)) //
+				.configurationParameter(PARALLEL_CONFIG_EXECUTOR_FACTORY_CLASS_PROPERTY_NAME,
+					CountingExecutorServiceFactory.class.getName()) //
+				.build());
+
+		assertThat(CountingExecutorServiceFactory.createdExecutorServices).hasValue(1);
+		results.testEvents().assertStatistics(stats -> stats.succeeded(3));
+	}
+
+	@RepeatedTest(5)
+	void limitsConcurrentUsagesOfResourceToItsCapacity() {
+		var events = executeConcurrently(4, TestCaseWithCountingResource.class);
+
+		assertThat(events.stream().filter(event(test(), finishedSuccessfully())::matches)).hasSize(4);
+		assertThat(TestCaseWithCountingResource.maxConcurrentUsages).hasValue(2);
+	}
+
 	@Isolated("testing")
 	static class IsolatedTestCase {
 		static AtomicInteger sharedResource;
@@ -404,6 +532,108 @@ class ParallelExecutionIntegrationTests {
 
 	// -------------------------------------------------------------------------
 
+	static abstract class PriorityTestCase {
+
+		static final List<String> executedTests = new CopyOnWriteArrayList<>();
+
+		@Test
+		void test1(TestInfo testInfo) {
+			executedTests.add(testInfo.getDisplayName());
+		}
+
+		@Test
+		void test2(TestInfo testInfo) {
+			executedTests.add(testInfo.getDisplayName());
+		}
+
+		@Test
+		void test3(TestInfo testInfo) {
+			executedTests.add(testInfo.getDisplayName());
+		}
+	}
+
+	static class PriorityTestCaseA extends PriorityTestCase {
+	}
+
+	@Tag("smoke")
+	static class PriorityTestCaseB extends PriorityTestCase {
+	}
+
+	@Tag("slow")
+	static class PriorityTestCaseC extends PriorityTestCase {
+	}
+
+	static class CountingExecutorServiceFactory implements HierarchicalTestExecutorServiceFactory {
+
+		static final AtomicInteger createdExecutorServices = new AtomicInteger();
+
+		@Override
+		public HierarchicalTestExecutorService createExecutorService(ConfigurationParameters configurationParameters) {
+			createdExecutorServices.incrementAndGet();
+			return new SameThreadHierarchicalTestExecutorService();
+		}
+	}
+
+	@WorkerAffinity
+	@ExtendWith(ThreadReporter.class)
+	static class WorkerAffinityTestCase {
+
+		static final CountDownLatch finished = new CountDownLatch(4);
+		static Thread classThread;
+
+		@BeforeAll
+		static void recordThread() {
+			classThread = Thread.currentThread();
+		}
+
+		@Test
+		void a() {
+			assertSame(classThread, Thread.currentThread());
+			finished.countDown();
+		}
+
+		@Test
+		void b() {
+			assertSame(classThread, Thread.currentThread());
+			finished.countDown();
+		}
+
+		@Test
+		void c() {
+			assertSame(classThread, Thread.currentThread());
+			finished.countDown();
+		}
+
+		@Test
+		void d() {
+			assertSame(classThread, Thread.currentThread());
+			finished.countDown();
+		}
+	}
+
+	static class BusyUntilWorkerAffinityTestCaseFinishedTestCase {
+
+		@Test
+		void keepsWorkerBusy() throws Exception {
+			assertTrue(WorkerAffinityTestCase.finished.await(5, SECONDS));
+		}
+	}
+
+	static class WorkerAffinityBarrierTestCase {
+
+		static final CyclicBarrier barrier = new CyclicBarrier(2);
+
+		@Test
+		void a() throws Exception {
+			barrier.await(5, SECONDS);
+		}
+
+		@Test
+		void b() throws Exception {
+			barrier.await(5, SECONDS);
+		}
+	}
+
 	@ExtendWith(ThreadReporter.class)
 	static class SuccessfulParallelTestCase {
 
@@ -491,6 +721,55 @@ class ParallelExecutionIntegrationTests {
 		}
 	}
 
+	static class TestCaseWithCountingResource {
+
+		static final AtomicInteger concurrentUsages = new AtomicInteger();
+		static final AtomicInteger maxConcurrentUsages = new AtomicInteger();
+		static CyclicBarrier barrier;
+
+		@BeforeAll
+		static void initialize() {
+			concurrentUsages.set(0);
+			maxConcurrentUsages.set(0);
+			barrier = new CyclicBarrier(2);
+		}
+
+		@Test
+		@ResourceLock(value = "pool", capacity = 2)
+		void firstTest() throws Exception {
+			usePool();
+		}
+
+		@Test
+		@ResourceLock(value = "pool", capacity = 2)
+		void secondTest() throws Exception {
+			usePool();
+		}
+
+		@Test
+		@ResourceLock(value = "pool", capacity = 2)
+		void thirdTest() throws Exception {
+			usePool();
+		}
+
+		@Test
+		@ResourceLock(value = "pool", capacity = 2)
+		void fourthTest() throws Exception {
+			usePool();
+		}
+
+		private static void usePool() throws Exception {
+			var usages = concurrentUsages.incrementAndGet();
+			maxConcurrentUsages.accumulateAndGet(usages, Math::max);
+			try {
+				barrier.await(10, SECONDS);
+			}
+			finally {
+				concurrentUsages.decrementAndGet();
+			}
+		}
+	}
+
 	@ExtendWith(ThreadReporter.class)
 	@ResourceLock("sharedResource")
 	static class SuccessfulWithClassLockTestCase {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * @since 1.10
+ */
+class ResourceLockDiagnosticsTests {
+
+	private static final ExclusiveResource DB = new ExclusiveResource("db", READ_WRITE);
+	private static final ExclusiveResource FILES = new ExclusiveResource("files", READ_WRITE);
+
+	private final UniqueId first = UniqueId.forEngine("dummy").append("test", "first");
+	private final UniqueId second = UniqueId.forEngine("dummy").append("test", "second");
+
+	@Test
+	@SuppressWarnings("resource")
+	void recordsWaitAndHoldTimesPerResource() throws Exception {
+		var diagnostics = new ResourceLockDiagnostics(Duration.ZERO);
+		var lockManager = new LockManager(diagnostics, false);
+		var firstLock = lockManager.withOwner(lockManager.getLockForResource(DB), first).acquire();
+
+		var secondLock = lockManager.withOwner(lockManager.getLockForResource(DB), second);
+		var acquisition = CompletableFuture.runAsync(() -> {
+			try {
+				secondLock.acquire().close();
+			}
+			catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Thread.sleep(100);
+		firstLock.close();
+		acquisition.join();
+
+		var statistics = diagnostics.getStatistics();
+		assertEquals(1, statistics.size());
+		assertEquals("db", statistics.get(0).getKey());
+		assertEquals(2, statistics.get(0).getAcquisitions());
+		assertTrue(statistics.get(0).getMaxWaitTime().toMillis() >= 50);
+		assertTrue(statistics.get(0).getTotalHoldTime().toMillis() >= 50);
+	}
+
+	@Test
+	void ordersStatisticsByTotalWaitTime() throws Exception {
+		var diagnostics = new ResourceLockDiagnostics(Duration.ZERO);
+		diagnostics.acquired(DB, first);
+		diagnostics.waiting(FILES, first);
+		Thread.sleep(10);
+		diagnostics.acquired(FILES, first);
+
+		var keys = diagnostics.getStatistics().stream().map(ResourceLockDiagnostics.ResourceStatistics::getKey);
+
+		assertEquals(List.of("files", "db"), keys.collect(toList()));
+		assertTrue(diagnostics.describeContention().contains("'files': 1 acquisitions"));
+	}
+
+	@Test
+	void describesHoldersAndWaitersOfContendedResources() {
+		var diagnostics = new ResourceLockDiagnostics(Duration.ZERO);
+		diagnostics.acquired(DB, first);
+		diagnostics.waiting(new ExclusiveResource("db", READ), second);
+		diagnostics.acquired(FILES, second);
+
+		var lockGraph = diagnostics.describeLockGraph();
+
+		assertTrue(lockGraph.contains("resource 'db'"), lockGraph);
+		assertTrue(lockGraph.contains("held by " + first + " in READ_WRITE mode"), lockGraph);
+		assertTrue(lockGraph.contains("awaited by " + second + " in READ mode"), lockGraph);
+		assertTrue(lockGraph.contains("Waiting nodes:" + System.lineSeparator() + "- " + second), lockGraph);
+		assertFalse(lockGraph.contains("resource 'files'"), lockGraph);
+		assertFalse(lockGraph.contains("Deadlock"), lockGraph);
+	}
+
+	@Test
+	void detectsNodesWaitingForEachOther() {
+		var diagnostics = new ResourceLockDiagnostics(Duration.ZERO);
+		diagnostics.acquired(DB, first);
+		diagnostics.acquired(FILES, second);
+		diagnostics.waiting(FILES, first);
+		diagnostics.waiting(DB, second);
+
+		var lockGraph = diagnostics.describeLockGraph();
+
+		assertTrue(lockGraph.contains("Deadlock: " + second + " -> " + first + " -> " + second), lockGraph);
+	}
+
+	@Test
+	void reportsStallOnlyOnceWhileNoProgressIsMade() throws Exception {
+		var diagnostics = new ResourceLockDiagnostics(Duration.ofMillis(50));
+		diagnostics.acquired(DB, first);
+		diagnostics.waiting(DB, second);
+
+		assertFalse(diagnostics.checkForStall());
+		Thread.sleep(100);
+		assertTrue(diagnostics.checkForStall());
+		assertFalse(diagnostics.checkForStall());
+
+		diagnostics.released(DB, first);
+		diagnostics.acquired(DB, second);
+		Thread.sleep(100);
+		assertFalse(diagnostics.checkForStall(), "nobody is waiting");
+	}
+
+	@Test
+	void recordsNothingIfDisabled() {
+		var diagnostics = ResourceLockDiagnostics.disabled();
+		diagnostics.acquired(DB, first);
+
+		assertFalse(diagnostics.isEnabled());
+		assertTrue(diagnostics.getStatistics().isEmpty());
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 1.10
+ */
+class ResourceLockWaitQueuesTests {
+
+	private final LockManager lockManager = new LockManager();
+	private final ResourceLockWaitQueues waitQueues = new ResourceLockWaitQueues();
+	private final AtomicInteger resumptions = new AtomicInteger();
+	private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+
+	@Test
+	void acquiresAvailableLockWithoutParking() {
+		var lock = lockManager.getLockForResource(new ExclusiveResource("a", READ_WRITE));
+
+		assertThat(waitQueues.tryAcquireOrPark(lock, resumptions::incrementAndGet)).isTrue();
+
+		waitQueues.release(lock);
+
+		assertThat(resumptions).hasValue(0);
+		assertThat(waitQueues.getDeferralCount()).isZero();
+	}
+
+	@Test
+	void parksTaskAndResumesItOnceResourceIsReleased() {
+		var lock = lockManager.getLockForResource(new ExclusiveResource("a", READ_WRITE));
+		runInOtherThread(() -> assertThat(waitQueues.tryAcquireOrPark(lock, () -> {
+		})).isTrue());
+
+		assertThat(waitQueues.tryAcquireOrPark(lock, resumptions::incrementAndGet)).isFalse();
+		assertThat(resumptions).hasValue(0);
+		assertThat(waitQueues.getDeferralCount()).isEqualTo(1);
+
+		runInOtherThread(() -> waitQueues.release(lock));
+
+		assertThat(resumptions).hasValue(1);
+		assertThat(waitQueues.tryAcquireOrPark(lock, resumptions::incrementAndGet)).isTrue();
+		waitQueues.release(lock);
+	}
+
+	@Test
+	void resumesWriterWaitingForReaderOfSameResource() {
+		var readLock = lockManager.getLockForResource(new ExclusiveResource("a", READ));
+		var writeLock = lockManager.getLockForResource(new ExclusiveResource("a", READ_WRITE));
+		runInOtherThread(() -> assertThat(waitQueues.tryAcquireOrPark(readLock, () -> {
+		})).isTrue());
+
+		assertThat(waitQueues.tryAcquireOrPark(writeLock, resumptions::incrementAndGet)).isFalse();
+
+		runInOtherThread(() -> waitQueues.release(readLock));
+
+		assertThat(resumptions).hasValue(1);
+	}
+
+	@Test
+	void releasesAlreadyAcquiredLocksWhenParking() {
+		var compositeLock = lockManager.getLockForResources(
+			List.of(new ExclusiveResource("a", READ_WRITE), new ExclusiveResource("b", READ_WRITE)));
+		var lockForB = lockManager.getLockForResource(new ExclusiveResource("b", READ_WRITE));
+		runInOtherThread(() -> assertThat(waitQueues.tryAcquireOrPark(lockForB, () -> {
+		})).isTrue());
+
+		assertThat(waitQueues.tryAcquireOrPark(compositeLock, resumptions::incrementAndGet)).isFalse();
+
+		var writeLockForA = (MultiGranularityLock.ModeLock) ((CompositeLock) compositeLock).getLocks().get(0);
+		assertThat(writeLockForA.isHeld()).isFalse();
+	}
+
+	@Test
+	void supportsOnlyKnownResourceLockImplementations() {
+		assertThat(ResourceLockWaitQueues.isSupported(NopLock.INSTANCE)).isTrue();
+		assertThat(ResourceLockWaitQueues.isSupported(
+			new SingleLock(new ExclusiveResource("a", READ_WRITE), new ReentrantLock()))).isTrue();
+		assertThat(ResourceLockWaitQueues.isSupported(new ResourceLock() {
+			@Override
+			public ResourceLock acquire() {
+				return this;
+			}
+
+			@Override
+			public void release() {
+			}
+		})).isFalse();
+	}
+
+	@AfterEach
+	void shutdownOtherThread() {
+		otherThread.shutdownNow();
+	}
+
+	private void runInOtherThread(Runnable action) {
+		CompletableFuture.runAsync(action, otherThread).join();
+	}
+
+}
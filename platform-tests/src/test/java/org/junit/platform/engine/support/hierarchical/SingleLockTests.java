@@ -12,6 +12,7 @@ package org.junit.platform.engine.support.hierarchical;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
 
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -27,7 +28,7 @@ class SingleLockTests {
 	void acquire() throws Exception {
 		var lock = new ReentrantLock();
 
-		new SingleLock(lock).acquire();
+		new SingleLock(anyReadWriteResource(), lock).acquire();
 
 		assertTrue(lock.isLocked());
 	}
@@ -37,9 +38,13 @@ class SingleLockTests {
 	void release() throws Exception {
 		var lock = new ReentrantLock();
 
-		new SingleLock(lock).acquire().close();
+		new SingleLock(anyReadWriteResource(), lock).acquire().close();
 
 		assertFalse(lock.isLocked());
 	}
 
+	private static ExclusiveResource anyReadWriteResource() {
+		return new ExclusiveResource("key", READ_WRITE);
+	}
+
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.SAME_THREAD;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+/**
+ * @since 1.10
+ */
+class TestDurationHistoryTests {
+
+	private static final UniqueId engineId = UniqueId.forEngine("dummy");
+
+	@Test
+	void isDisabledIfNoFileIsConfigured() {
+		var history = TestDurationHistory.disabled();
+		var tasks = tasks(CONCURRENT, CONCURRENT);
+
+		history.recordDuration(engineId.append("test", "a"), 1000);
+		history.orderLongestFirst(tasks, DummyTestTask::getUniqueId);
+
+		assertThat(history.isEnabled()).isFalse();
+		assertThat(names(tasks)).containsExactly("0", "1");
+	}
+
+	@Test
+	void ordersConcurrentTasksLongestFirst(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+		writeDurations(file, "0", 10L, "1", 30L, "2", 20L);
+		var tasks = tasks(CONCURRENT, CONCURRENT, CONCURRENT);
+
+		TestDurationHistory.load(file).orderLongestFirst(tasks, DummyTestTask::getUniqueId);
+
+		assertThat(names(tasks)).containsExactly("1", "2", "0");
+	}
+
+	@Test
+	void keepsPositionsOfSameThreadTasks(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+		writeDurations(file, "0", 10L, "1", 1000L, "2", 20L, "3", 30L);
+		var tasks = tasks(CONCURRENT, SAME_THREAD, CONCURRENT, CONCURRENT);
+
+		TestDurationHistory.load(file).orderLongestFirst(tasks, DummyTestTask::getUniqueId);
+
+		assertThat(names(tasks)).containsExactly("3", "1", "2", "0");
+	}
+
+	@Test
+	void assumesAverageDurationOfSiblingsForUnknownTasks(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+		writeDurations(file, "0", 10L, "2", 50L);
+		var tasks = tasks(CONCURRENT, CONCURRENT, CONCURRENT);
+
+		TestDurationHistory.load(file).orderLongestFirst(tasks, DummyTestTask::getUniqueId);
+
+		assertThat(names(tasks)).containsExactly("2", "1", "0");
+	}
+
+	@Test
+	void keepsOrderIfNoDurationIsKnown(@TempDir Path tempDir) {
+		var tasks = tasks(CONCURRENT, CONCURRENT, CONCURRENT);
+
+		TestDurationHistory.load(tempDir.resolve("missing.properties")).orderLongestFirst(tasks,
+			DummyTestTask::getUniqueId);
+
+		assertThat(names(tasks)).containsExactly("0", "1", "2");
+	}
+
+	@Test
+	void savesRecordedDurationsAndRetainsPreviousOnes(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+		writeDurations(file, "0", 10L, "1", 20L);
+
+		var history = TestDurationHistory.load(file);
+		history.recordDuration(id("1"), 42);
+		history.recordDuration(id("2"), 7);
+		history.save();
+
+		var reloaded = TestDurationHistory.load(file);
+		assertThat(reloaded.getExpectedDuration(id("0"))).hasValue(10L);
+		assertThat(reloaded.getExpectedDuration(id("1"))).hasValue(42L);
+		assertThat(reloaded.getExpectedDuration(id("2"))).hasValue(7L);
+		assertThat(reloaded.getExpectedDuration(id("3"))).isEmpty();
+	}
+
+	@Test
+	void mergesDurationsSavedByOtherHistoriesInTheMeantime(@TempDir Path tempDir) {
+		var file = tempDir.resolve("durations.properties");
+		var first = TestDurationHistory.load(file);
+		var second = TestDurationHistory.load(file);
+
+		first.recordDuration(id("0"), 10);
+		first.save();
+		second.recordDuration(id("1"), 20);
+		second.save();
+
+		var reloaded = TestDurationHistory.load(file);
+		assertThat(reloaded.getExpectedDuration(id("0"))).hasValue(10L);
+		assertThat(reloaded.getExpectedDuration(id("1"))).hasValue(20L);
+	}
+
+	@Test
+	void removesEntriesThatHaveNotBeenExecutedWithinRetentionPeriod(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+		writeDurations(file, "0", 10L);
+		var start = Instant.parse("2022-01-01T00:00:00Z");
+
+		var history = TestDurationHistory.load(file, Clock.fixed(start, ZoneOffset.UTC));
+		history.recordDuration(id("1"), 20);
+		history.save();
+		history = TestDurationHistory.load(file, Clock.fixed(start.plus(Duration.ofDays(10)), ZoneOffset.UTC));
+		history.recordDuration(id("2"), 30);
+		history.save();
+		history = TestDurationHistory.load(file,
+			Clock.fixed(start.plus(TestDurationHistory.RETENTION_PERIOD).plusMillis(1), ZoneOffset.UTC));
+		history.recordDuration(id("3"), 40);
+		history.save();
+
+		var reloaded = TestDurationHistory.load(file);
+		assertThat(reloaded.getExpectedDuration(id("0"))).isEmpty();
+		assertThat(reloaded.getExpectedDuration(id("1"))).isEmpty();
+		assertThat(reloaded.getExpectedDuration(id("2"))).hasValue(30L);
+		assertThat(reloaded.getExpectedDuration(id("3"))).hasValue(40L);
+	}
+
+	@Test
+	void hierarchicalTestEngineWritesDurationsOfExecutedTests(@TempDir Path tempDir) throws Exception {
+		var file = tempDir.resolve("durations.properties");
+
+		var results = EngineTestKit.execute("junit-jupiter", request() //
+				.selectors(selectClass(DurationHistoryTestCase.class)) //
+				.configurationParameter(HierarchicalTestEngine.DURATION_HISTORY_FILE_PROPERTY_NAME, file.toString()) //
+				.build());
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(2));
+		var properties = new Properties();
+		try (var in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		var uniqueIds = results.allEvents().map(event -> event.getTestDescriptor().getUniqueId().toString()) //
+				.distinct().collect(toList());
+		assertThat(properties.stringPropertyNames()).containsExactlyInAnyOrderElementsOf(uniqueIds);
+	}
+
+	private static UniqueId id(String name) {
+		return engineId.append("test", name);
+	}
+
+	private static void writeDurations(Path file, Object... namesAndDurations) throws Exception {
+		var properties = new Properties();
+		for (int i = 0; i < namesAndDurations.length; i += 2) {
+			properties.setProperty(id((String) namesAndDurations[i]).toString(),
+				String.valueOf(namesAndDurations[i + 1]));
+		}
+		try (var out = Files.newOutputStream(file)) {
+			properties.store(out, null);
+		}
+	}
+
+	private static List<DummyTestTask> tasks(ExecutionMode... executionModes) {
+		var tasks = new ArrayList<DummyTestTask>();
+		for (int i = 0; i < executionModes.length; i++) {
+			tasks.add(new DummyTestTask(String.valueOf(i), executionModes[i]));
+		}
+		return tasks;
+	}
+
+	private static List<String> names(List<DummyTestTask> tasks) {
+		return tasks.stream().map(task -> task.name).collect(toList());
+	}
+
+	private static class DummyTestTask implements TestTask {
+
+		private final String name;
+		private final ExecutionMode executionMode;
+
+		DummyTestTask(String name, ExecutionMode executionMode) {
+			this.name = name;
+			this.executionMode = executionMode;
+		}
+
+		UniqueId getUniqueId() {
+			return id(name);
+		}
+
+		@Override
+		public ExecutionMode getExecutionMode() {
+			return executionMode;
+		}
+
+		@Override
+		public ResourceLock getResourceLock() {
+			return NopLock.INSTANCE;
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	static class DurationHistoryTestCase {
+
+		@Test
+		void first() {
+		}
+
+		@Test
+		void second() {
+		}
+	}
+
+}
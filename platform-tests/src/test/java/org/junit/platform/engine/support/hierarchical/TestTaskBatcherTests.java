@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+
+/**
+ * @since 1.10
+ */
+class TestTaskBatcherTests {
+
+	private final UniqueId engineId = UniqueId.forEngine("dummy");
+	private final AtomicInteger testCount = new AtomicInteger();
+	private final NodeExecutionAdvisor advisor = new NodeExecutionAdvisor();
+	private final NodeTestTaskContext taskContext = new NodeTestTaskContext(EngineExecutionListener.NOOP, null,
+		OpenTest4JAwareThrowableCollector::new, advisor);
+
+	@Test
+	void groupsConsecutiveTestsIntoBatchesSizedByTargetDurationAndParallelism() {
+		var batcher = new TestTaskBatcher(1);
+		var tasks = tests(40, NopLock.INSTANCE);
+
+		var batched = batcher.batch(tasks);
+
+		// 1 ms target / 100 µs per test
+		assertThat(sizes(batched)).containsExactly(10, 10, 10, 10);
+		assertThat(unbatched(batched)).containsExactlyElementsOf(tasks);
+	}
+
+	@Test
+	void createsEnoughBatchesForAllWorkers() {
+		var batcher = new TestTaskBatcher(2);
+		var tasks = tests(40, NopLock.INSTANCE);
+
+		var batched = batcher.batch(tasks);
+
+		assertThat(sizes(batched)).containsExactly(5, 5, 5, 5, 5, 5, 5, 5);
+	}
+
+	@Test
+	void doesNotBatchTestsWithDifferentResourceLocksOrContainers() {
+		var batcher = new TestTaskBatcher(1);
+		var lock = new SingleLock(new ExclusiveResource("key", READ_WRITE), new ReentrantLock());
+		var tasks = new ArrayList<TestTask>();
+		tasks.addAll(tests(8, NopLock.INSTANCE));
+		tasks.addAll(tests(8, lock));
+		tasks.add(container());
+		tasks.addAll(tests(8, lock));
+
+		var batched = batcher.batch(tasks);
+
+		assertThat(sizes(batched)).containsExactly(2, 2, 2, 2, 2, 2, 2, 2, 1, 2, 2, 2, 2);
+		assertThat(batched.get(4).getResourceLock()).isSameAs(lock);
+		assertThat(unbatched(batched)).containsExactlyElementsOf(tasks);
+	}
+
+	@Test
+	void batchesTestsWhoseResourceLocksOnlyDifferInTheirOwner() {
+		var batcher = new TestTaskBatcher(1);
+		var resource = new ExclusiveResource("key", READ_WRITE);
+		var lock = new ReentrantLock();
+		var diagnostics = ResourceLockDiagnostics.disabled();
+		var tasks = new ArrayList<TestTask>();
+		for (int i = 0; i < 8; i++) {
+			tasks.addAll(tests(1, new SingleLock(resource, lock, diagnostics, "owner" + i)));
+		}
+		tasks.addAll(tests(8, new SingleLock(resource, new ReentrantLock(), diagnostics, "other")));
+
+		var batched = batcher.batch(tasks);
+
+		// batches of 2 tests since 8 tests / (1 worker * 4 batches per worker)
+		assertEquals(List.of(2, 2, 2, 2, 2, 2, 2, 2), sizes(batched));
+		assertSame(tasks.get(0).getResourceLock(), batched.get(0).getResourceLock());
+	}
+
+	@Test
+	void adaptsBatchSizeToObservedDurations() {
+		var batcher = new TestTaskBatcher(1);
+
+		for (int i = 0; i < 200; i++) {
+			batcher.recordDuration(100);
+		}
+		assertThat(batcher.getBatchSize(100_000)).isEqualTo(TestTaskBatcher.MAX_BATCH_SIZE);
+
+		for (int i = 0; i < 200; i++) {
+			batcher.recordDuration(TimeUnit.MILLISECONDS.toNanos(5));
+		}
+		assertThat(batcher.getBatchSize(100_000)).isEqualTo(1);
+	}
+
+	private List<TestTask> tests(int count, ResourceLock resourceLock) {
+		var tasks = new ArrayList<TestTask>();
+		for (int i = 0; i < count; i++) {
+			var uniqueId = engineId.append("test", String.valueOf(testCount.incrementAndGet()));
+			var descriptor = new DummyTestDescriptor(uniqueId, TestDescriptor.Type.TEST);
+			advisor.useResourceLock(descriptor, resourceLock);
+			tasks.add(new NodeTestTask<>(taskContext, descriptor));
+		}
+		return tasks;
+	}
+
+	private TestTask container() {
+		return new NodeTestTask<>(taskContext,
+			new DummyTestDescriptor(engineId.append("container", "c"), TestDescriptor.Type.CONTAINER));
+	}
+
+	private static List<Integer> sizes(List<TestTask> tasks) {
+		return tasks.stream() //
+				.map(task -> task instanceof TestTaskBatcher.Batch ? ((TestTaskBatcher.Batch) task).getTasks().size()
+						: 1) //
+				.collect(toList());
+	}
+
+	private static List<TestTask> unbatched(List<TestTask> tasks) {
+		var result = new ArrayList<TestTask>();
+		for (var task : tasks) {
+			if (task instanceof TestTaskBatcher.Batch) {
+				result.addAll(((TestTaskBatcher.Batch) task).getTasks());
+			}
+			else {
+				result.add(task);
+			}
+		}
+		return result;
+	}
+
+	private static class DummyTestDescriptor extends AbstractTestDescriptor implements Node<EngineExecutionContext> {
+
+		private final Type type;
+
+		DummyTestDescriptor(UniqueId uniqueId, Type type) {
+			super(uniqueId, uniqueId.toString());
+			this.type = type;
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.SAME_THREAD;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
+import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
+
+/**
+ * @since 1.10
+ */
+@EnabledIf("org.junit.platform.engine.support.hierarchical.VirtualThreadHierarchicalTestExecutorService#isSupported")
+class VirtualThreadHierarchicalTestExecutorServiceTests {
+
+	@Test
+	void executesConcurrentTasksInParallel() {
+		var latch = new CountDownLatch(100);
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		var tasks = IntStream.range(0, 100) //
+				.mapToObj(i -> new DummyTestTask(CONCURRENT, NopLock.INSTANCE, () -> {
+					threadNames.add(Thread.currentThread().getName());
+					latch.countDown();
+					awaitUninterruptibly(latch);
+				})) //
+				.collect(Collectors.toList());
+
+		try (var service = new VirtualThreadHierarchicalTestExecutorService()) {
+			service.invokeAll(tasks);
+		}
+
+		assertThat(latch.getCount()).isZero();
+		assertThat(threadNames).hasSize(100).allMatch(name -> name.startsWith("junit-virtual-"));
+	}
+
+	@Test
+	void executesSameThreadTasksInCallingThread() throws Exception {
+		var callingThread = Thread.currentThread();
+		var executingThreads = ConcurrentHashMap.<Thread> newKeySet();
+		var task = new DummyTestTask(SAME_THREAD, NopLock.INSTANCE,
+			() -> executingThreads.add(Thread.currentThread()));
+
+		try (var service = new VirtualThreadHierarchicalTestExecutorService()) {
+			service.submit(task).get();
+			service.invokeAll(List.of(task, task));
+		}
+
+		assertThat(executingThreads).containsExactly(callingThread);
+	}
+
+	@Test
+	void acquiresResourceLockOfTasks() {
+		var reentrantLock = new ReentrantLock();
+		var lock = new SingleLock(new ExclusiveResource("key", READ_WRITE), reentrantLock);
+		var lockHeld = new AtomicBoolean(true);
+		var tasks = IntStream.range(0, 10) //
+				.mapToObj(i -> new DummyTestTask(CONCURRENT, lock, () -> {
+					if (!reentrantLock.isHeldByCurrentThread()) {
+						lockHeld.set(false);
+					}
+				})) //
+				.collect(Collectors.toList());
+		try (var service = new VirtualThreadHierarchicalTestExecutorService()) {
+			service.invokeAll(tasks);
+		}
+
+		assertThat(lockHeld).isTrue();
+		assertThat(reentrantLock.isLocked()).isFalse();
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class DummyTestTask implements TestTask {
+
+		private final ExecutionMode executionMode;
+		private final ResourceLock resourceLock;
+		private final Runnable action;
+
+		DummyTestTask(ExecutionMode executionMode, ResourceLock resourceLock, Runnable action) {
+			this.executionMode = executionMode;
+			this.resourceLock = resourceLock;
+			this.action = action;
+		}
+
+		@Override
+		public ExecutionMode getExecutionMode() {
+			return executionMode;
+		}
+
+		@Override
+		public ResourceLock getResourceLock() {
+			return resourceLock;
+		}
+
+		@Override
+		public void execute() {
+			action.run();
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.fakes.TestDescriptorStub;
 
 class TestPlanTests {
 
@@ -77,4 +78,114 @@ class TestPlanTests {
 		assertThat(testPlan.containsTests()).as("contains tests").isTrue();
 	}
 
+	@Test
+	void providesChildrenAndRootsInOrderOfAddition() {
+		var container = new TestDescriptorStub(engineDescriptor.getUniqueId().append("container", "a"), "A");
+		var test1 = new TestDescriptorStub(container.getUniqueId().append("test", "1"), "1");
+		var test2 = new TestDescriptorStub(container.getUniqueId().append("test", "2"), "2");
+		engineDescriptor.addChild(container);
+		container.addChild(test1);
+		container.addChild(test2);
+
+		var testPlan = TestPlan.from(Set.of(engineDescriptor), configParams);
+
+		var engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+		var containerIdentifier = testPlan.getTestIdentifier(container.getUniqueId().toString());
+		var test1Identifier = testPlan.getTestIdentifier(test1.getUniqueId().toString());
+		var test2Identifier = testPlan.getTestIdentifier(test2.getUniqueId().toString());
+		assertThat(testPlan.getRoots()).containsExactly(engine);
+		assertThat(testPlan.getChildren(engine)).containsExactly(containerIdentifier);
+		assertThat(testPlan.getChildren(containerIdentifier)).containsExactly(test1Identifier, test2Identifier);
+		assertThat(testPlan.getChildren(containerIdentifier).contains(test2Identifier)).isTrue();
+		assertThat(testPlan.getChildren(engine).contains(test2Identifier)).isFalse();
+		assertThat(testPlan.getChildren(test1Identifier)).isEmpty();
+		assertThat(testPlan.getChildren("[engine:unknown]")).isEmpty();
+		assertThat(testPlan.getParent(test2Identifier)).contains(containerIdentifier);
+		assertThat(testPlan.getDescendants(engine)).containsExactly(containerIdentifier, test1Identifier,
+			test2Identifier);
+		assertThat(testPlan.countTestIdentifiers(TestIdentifier::isTest)).isEqualTo(2);
+	}
+
+	@Test
+	void reflectsIdentifiersAddedAfterCreation() {
+		var testPlan = TestPlan.from(Set.of(engineDescriptor), configParams);
+		var engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+		var children = testPlan.getChildren(engine);
+
+		var dynamicTest = new TestDescriptorStub(engineDescriptor.getUniqueId().append("test", "dynamic"), "dynamic");
+		engineDescriptor.addChild(dynamicTest);
+		var dynamicTestIdentifier = TestIdentifier.from(dynamicTest);
+		testPlan.addInternal(dynamicTestIdentifier);
+
+		assertThat(children).containsExactly(dynamicTestIdentifier);
+		assertThat(testPlan.getTestIdentifier(dynamicTest.getUniqueId().toString())).isSameAs(dynamicTestIdentifier);
+		assertThat(testPlan.countTestIdentifiers(TestIdentifier::isTest)).isEqualTo(1);
+	}
+
+	@Test
+	void addsIdentifiersWithoutParentInTestPlanAsRoots() {
+		var testPlan = TestPlan.from(Set.of(engineDescriptor), configParams);
+
+		var orphan = new TestDescriptorStub(UniqueId.forEngine("bar").append("test", "orphan"), "orphan");
+		new EngineDescriptor(UniqueId.forEngine("bar"), "Bar").addChild(orphan);
+		var orphanIdentifier = TestIdentifier.from(orphan);
+		testPlan.addInternal(orphanIdentifier);
+
+		assertThat(testPlan.getRoots()).hasSize(2).contains(orphanIdentifier);
+	}
+
+	@Test
+	void replacesIdentifierWithSameUniqueId() {
+		var testPlan = TestPlan.from(Set.of(engineDescriptor), configParams);
+
+		var replacement = TestIdentifier.from(new EngineDescriptor(engineDescriptor.getUniqueId(), "Replacement"));
+		testPlan.addInternal(replacement);
+
+		assertThat(testPlan.getRoots()).containsExactly(replacement);
+		assertThat(testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString()).getDisplayName()) //
+				.isEqualTo("Replacement");
+	}
+
+	@Test
+	void answersDescendantQueriesForDiscoveredAndDynamicIdentifiers() {
+		var container1 = new TestDescriptorStub(engineDescriptor.getUniqueId().append("container", "1"), "C1");
+		var container2 = new TestDescriptorStub(engineDescriptor.getUniqueId().append("container", "2"), "C2");
+		var test1 = new TestDescriptorStub(container1.getUniqueId().append("test", "1"), "T1");
+		var test2 = new TestDescriptorStub(container2.getUniqueId().append("test", "2"), "T2");
+		engineDescriptor.addChild(container1);
+		engineDescriptor.addChild(container2);
+		container1.addChild(test1);
+		container2.addChild(test2);
+
+		var testPlan = TestPlan.from(Set.of(engineDescriptor), configParams);
+
+		var engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+		var container1Identifier = testPlan.getTestIdentifier(container1.getUniqueId().toString());
+		var container2Identifier = testPlan.getTestIdentifier(container2.getUniqueId().toString());
+		var test2Identifier = testPlan.getTestIdentifier(test2.getUniqueId().toString());
+		assertThat(testPlan.streamDescendants(engine)).extracting(TestIdentifier::getDisplayName) //
+				.containsExactly("C1", "T1", "C2", "T2");
+		assertThat(testPlan.isAncestor(engine, test2Identifier)).isTrue();
+		assertThat(testPlan.isAncestor(container1Identifier, test2Identifier)).isFalse();
+		assertThat(testPlan.isAncestor(test2Identifier, test2Identifier)).isFalse();
+		assertThat(testPlan.countTests(engine)).isEqualTo(2);
+		assertThat(testPlan.countContainers(engine)).isEqualTo(3);
+
+		// added after container2's subtree, so container1's subtree is no longer contiguous
+		var dynamicTest = new TestDescriptorStub(container1.getUniqueId().append("test", "dynamic"), "D");
+		container1.addChild(dynamicTest);
+		var dynamicTestIdentifier = TestIdentifier.from(dynamicTest);
+		testPlan.addInternal(dynamicTestIdentifier);
+
+		assertThat(testPlan.streamDescendants(engine)).extracting(TestIdentifier::getDisplayName) //
+				.containsExactly("C1", "T1", "D", "C2", "T2");
+		assertThat(testPlan.streamDescendants(container1Identifier)).extracting(TestIdentifier::getDisplayName) //
+				.containsExactly("T1", "D");
+		assertThat(testPlan.isAncestor(container1Identifier, dynamicTestIdentifier)).isTrue();
+		assertThat(testPlan.isAncestor(container2Identifier, dynamicTestIdentifier)).isFalse();
+		assertThat(testPlan.isAncestor(container1Identifier, test2Identifier)).isFalse();
+		assertThat(testPlan.countTests(engine)).isEqualTo(3);
+		assertThat(testPlan.countTests(container1Identifier)).isEqualTo(2);
+	}
+
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine;
+import org.junit.platform.fakes.TestDescriptorStub;
+import org.junit.platform.launcher.SynchronousTestExecutionListener;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.AsynchronousTestExecutionListener.RingBuffer;
+
+/**
+ * @since 1.10
+ */
+class AsynchronousTestExecutionListenerTests {
+
+	@Test
+	void deliversEventsOfEachThreadInOrderOnDispatcherThread() throws Exception {
+		var recordingListener = new RecordingListener();
+		var listener = AsynchronousTestExecutionListener.start(
+			ConfigurationParametersFactoryForTests.create(Map.of(ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME, "16")),
+			recordingListener);
+		var eventsPerThread = 1000;
+
+		try (listener) {
+			var threads = new ArrayList<Thread>();
+			for (var i = 0; i < 4; i++) {
+				var testIdentifier = createTestIdentifier("test" + i);
+				threads.add(new Thread(() -> {
+					for (var j = 0; j < eventsPerThread; j++) {
+						listener.executionStarted(testIdentifier);
+						listener.executionFinished(testIdentifier, TestExecutionResult.successful());
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for (var thread : threads) {
+				thread.join();
+			}
+			listener.testPlanExecutionFinished(null);
+
+			assertThat(recordingListener.events).hasSize(4 * 2 * eventsPerThread + 1).endsWith("plan finished");
+			assertThat(recordingListener.threadNames).containsOnly("junit-listener-dispatcher");
+			for (var i = 0; i < 4; i++) {
+				var testEvents = new ArrayList<String>();
+				for (var event : recordingListener.events) {
+					if (event.endsWith("test" + i)) {
+						testEvents.add(event);
+					}
+				}
+				for (var j = 0; j < testEvents.size(); j++) {
+					assertThat(testEvents.get(j)).startsWith(j % 2 == 0 ? "started" : "finished");
+				}
+			}
+		}
+	}
+
+	@Test
+	void blocksReportingThreadWhileBufferIsFull() throws Exception {
+		var released = new CountDownLatch(1);
+		var recordingListener = new RecordingListener() {
+			@Override
+			public void executionStarted(TestIdentifier testIdentifier) {
+				await(released);
+				super.executionStarted(testIdentifier);
+			}
+		};
+		var listener = AsynchronousTestExecutionListener.start(
+			ConfigurationParametersFactoryForTests.create(Map.of(ASYNC_LISTENER_DISPATCH_CAPACITY_PROPERTY_NAME, "1")),
+			recordingListener);
+
+		try (listener) {
+			var testIdentifier = createTestIdentifier("test");
+			var reportingThread = new Thread(() -> {
+				for (var i = 0; i < 3; i++) {
+					listener.executionStarted(testIdentifier);
+				}
+			});
+			reportingThread.start();
+			reportingThread.join(200);
+
+			assertThat(reportingThread.isAlive()).isTrue();
+			assertThat(recordingListener.events).isEmpty();
+
+			released.countDown();
+			reportingThread.join();
+			listener.flush();
+
+			assertThat(recordingListener.events).hasSize(3);
+		}
+	}
+
+	@Test
+	void ringBufferRoundsCapacityUpToPowerOfTwo() {
+		var ringBuffer = new RingBuffer<Integer>(5);
+		assertThat(ringBuffer.capacity()).isEqualTo(8);
+
+		for (var i = 0; i < 8; i++) {
+			assertThat(ringBuffer.offer(i)).isTrue();
+		}
+		assertThat(ringBuffer.offer(8)).isFalse();
+
+		var drained = new ArrayList<Integer>();
+		ringBuffer.drainTo(drained, 3);
+		assertThat(drained).containsExactly(0, 1, 2);
+		assertThat(ringBuffer.offer(8)).isTrue();
+
+		ringBuffer.drainTo(drained, 10);
+		assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+		assertThat(ringBuffer.isEmpty()).isTrue();
+	}
+
+	@Test
+	void notifiesSynchronousListenersOnReportingThread() {
+		var engine = new DemoHierarchicalTestEngine("engine");
+		engine.addTest("test", () -> {
+		});
+		var asynchronousListener = new RecordingListener();
+		var synchronousListener = new SynchronousRecordingListener();
+
+		createLauncher(engine).execute(request() //
+				.configurationParameter(ASYNC_LISTENER_DISPATCH_ENABLED_PROPERTY_NAME, "true") //
+				.build(),
+			asynchronousListener, synchronousListener);
+
+		assertThat(asynchronousListener.events).hasSize(6);
+		assertThat(asynchronousListener.threadNames).containsOnly("junit-listener-dispatcher");
+		assertThat(synchronousListener.events).hasSize(6);
+		assertThat(synchronousListener.threadNames).doesNotContain("junit-listener-dispatcher");
+	}
+
+	private static TestIdentifier createTestIdentifier(String name) {
+		return TestIdentifier.from(new TestDescriptorStub(UniqueId.root("test", name), name));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class RecordingListener implements TestExecutionListener {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+		final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void testPlanExecutionStarted(TestPlan testPlan) {
+			record("plan started");
+		}
+
+		@Override
+		public void testPlanExecutionFinished(TestPlan testPlan) {
+			record("plan finished");
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			record("started " + testIdentifier.getDisplayName());
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			record("finished " + testIdentifier.getDisplayName());
+		}
+
+		private void record(String event) {
+			events.add(event);
+			threadNames.add(Thread.currentThread().getName());
+		}
+	}
+
+	private static class SynchronousRecordingListener extends RecordingListener
+			implements SynchronousTestExecutionListener {
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.platform.engine.TestExecutionResult.failed;
+import static org.junit.platform.engine.TestExecutionResult.successful;
+import static org.junit.platform.launcher.LauncherConstants.CANCELLATION_MAX_FAILURES_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.CANCELLATION_TIMEOUT_PROPERTY_NAME;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/**
+ * @since 1.10
+ */
+class CancellationPolicyTests {
+
+	private final EngineDescriptor engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+	private final CancellationToken cancellationToken = CancellationToken.create();
+
+	@Test
+	void doesNotWrapListenerByDefault() {
+		var listener = EngineExecutionListener.NOOP;
+
+		try (var policy = CancellationPolicy.create(configurationParameters(Map.of()), cancellationToken)) {
+			assertThat(policy.apply(listener)).isSameAs(listener);
+		}
+	}
+
+	@Test
+	void cancelsTokenOnceMaximumNumberOfFailuresHasBeenReported() {
+		var configurationParameters = configurationParameters(Map.of(CANCELLATION_MAX_FAILURES_PROPERTY_NAME, "2"));
+
+		try (var policy = CancellationPolicy.create(configurationParameters, cancellationToken)) {
+			var listener = policy.apply(EngineExecutionListener.NOOP);
+
+			listener.executionFinished(engineDescriptor, successful());
+			listener.executionFinished(engineDescriptor, failed(new RuntimeException()));
+			assertThat(cancellationToken.isCancellationRequested()).isFalse();
+
+			listener.executionFinished(engineDescriptor, failed(new RuntimeException()));
+			assertThat(cancellationToken.isCancellationRequested()).isTrue();
+			assertThat(cancellationToken.getReason()).isEqualTo("Execution cancelled after 2 failure(s)");
+		}
+	}
+
+	@Test
+	void cancelsTokenOnceTimeoutHasElapsed() {
+		var configurationParameters = configurationParameters(Map.of(CANCELLATION_TIMEOUT_PROPERTY_NAME, "1"));
+
+		try (var policy = CancellationPolicy.create(configurationParameters, cancellationToken)) {
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+				while (!cancellationToken.isCancellationRequested()) {
+					Thread.sleep(10);
+				}
+			});
+			assertThat(cancellationToken.getReason()).isEqualTo("Execution cancelled after timeout of 1 second(s)");
+		}
+	}
+
+	private static ConfigurationParameters configurationParameters(Map<String, String> configurationParameters) {
+		return ConfigurationParametersFactoryForTests.create(configurationParameters);
+	}
+
+}
@@ -10,18 +10,24 @@
 
 package org.junit.platform.launcher.core;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.platform.commons.util.CollectionUtils.getOnlyElement;
 import static org.junit.platform.engine.TestExecutionResult.successful;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.LauncherConstants.CANCELLATION_MAX_FAILURES_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.PARALLEL_ENGINE_EXECUTION_ENABLED_PROPERTY_NAME;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.DEFAULT_DISCOVERY_LISTENER_CONFIGURATION_PROPERTY_NAME;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
 import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.inOrder;
@@ -30,6 +36,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
@@ -41,9 +49,12 @@ import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.commons.logging.LogRecordListener;
 import org.junit.platform.commons.util.ExceptionUtils;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.DiscoverySelector;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.SelectorResolutionResult;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.TestExecutionResult;
@@ -367,6 +378,68 @@ class DefaultLauncherTests {
 		assertThat(testPlan.getChildren(UniqueId.forEngine("engine2").toString())).hasSize(1);
 	}
 
+	@Test
+	void discoversTestsUsingMultipleEnginesConcurrentlyIfEnabled() {
+		var barrier = new CyclicBarrier(2);
+		var discoveryListener = mock(LauncherDiscoveryListener.class);
+
+		var launcher = createLauncher(new BarrierAwaitingTestEngine("engine1", barrier),
+			new BarrierAwaitingTestEngine("engine2", barrier));
+		var testPlan = launcher.discover(request() //
+				.selectors(selectPackage("any")) //
+				.listeners(discoveryListener) //
+				.configurationParameter(PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME, "true") //
+				.build());
+
+		assertThat(testPlan.getRoots()).extracting(TestIdentifier::getDisplayName) //
+				.containsExactly("engine1", "engine2");
+		var inOrder = inOrder(discoveryListener);
+		for (var engineId : new String[] { "engine1", "engine2" }) {
+			var uniqueEngineId = UniqueId.forEngine(engineId);
+			inOrder.verify(discoveryListener).engineDiscoveryStarted(uniqueEngineId);
+			inOrder.verify(discoveryListener).selectorProcessed(eq(uniqueEngineId), any(), any());
+			inOrder.verify(discoveryListener).engineDiscoveryFinished(eq(uniqueEngineId),
+				argThat(result -> result.getStatus() == EngineDiscoveryResult.Status.SUCCESSFUL));
+		}
+	}
+
+	@Test
+	void reportsFailureOfEngineThatThrowsWhileDiscoveringTestsConcurrently() {
+		TestEngine engine = new TestEngineStub("failing-engine") {
+
+			@Override
+			public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+				throw new RuntimeException("ignored");
+			}
+		};
+		var discoveryListener = mock(LauncherDiscoveryListener.class);
+
+		var testPlan = createLauncher(new DemoHierarchicalTestEngine("engine1"), engine).discover(request() //
+				.listeners(discoveryListener) //
+				.configurationParameter(DEFAULT_DISCOVERY_LISTENER_CONFIGURATION_PROPERTY_NAME, "logging") //
+				.configurationParameter(PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME, "true") //
+				.build());
+
+		assertThat(testPlan.getRoots()).hasSize(2);
+		assertDiscoveryFailed(engine, discoveryListener);
+	}
+
+	@Test
+	void executesTestsOfMultipleEnginesConcurrentlyIfEnabled() {
+		var barrier = new CyclicBarrier(2);
+		var listener = new SummaryGeneratingListener();
+
+		var launcher = createLauncher(new BarrierAwaitingTestEngine("engine1", barrier),
+			new BarrierAwaitingTestEngine("engine2", barrier));
+		launcher.execute(request() //
+				.configurationParameter(PARALLEL_DISCOVERY_ENABLED_PROPERTY_NAME, "true") //
+				.configurationParameter(PARALLEL_ENGINE_EXECUTION_ENABLED_PROPERTY_NAME, "true") //
+				.build(), listener);
+
+		assertThat(listener.getSummary().getContainersSucceededCount()).isEqualTo(2);
+		assertThat(listener.getSummary().getContainersFailedCount()).isZero();
+	}
+
 	@Test
 	void launcherAppliesPostDiscoveryFilters() {
 		var engine = new DemoHierarchicalTestEngine("myEngine");
@@ -418,6 +491,57 @@ class DefaultLauncherTests {
 		assertThat(configurationParameters.get("key").get()).isEqualTo("value");
 	}
 
+	@Test
+	void launcherPassesChildOfCancellationTokenOfDiscoveryRequestIntoTheExecutionRequest() {
+		var engine = new TestEngineSpy();
+		var cancellationToken = CancellationToken.create();
+
+		var launcher = createLauncher(engine);
+		launcher.execute(request().cancellationToken(cancellationToken).build());
+
+		var executionToken = engine.requestForExecution.getCancellationToken();
+		assertThat(executionToken).isNotSameAs(cancellationToken);
+		assertFalse(executionToken.isCancellationRequested());
+
+		cancellationToken.cancel("stopped by client");
+		assertEquals("stopped by client", executionToken.getReason());
+	}
+
+	@Test
+	void launcherPassesNewCancellationTokenIntoEachExecution() {
+		var engine = new TestEngineSpy();
+		var request = request().build();
+
+		var launcher = createLauncher(engine);
+		launcher.execute(request);
+		engine.requestForExecution.getCancellationToken().cancel();
+		launcher.execute(request);
+
+		assertFalse(engine.requestForExecution.getCancellationToken().isCancellationRequested());
+	}
+
+	@Test
+	void cancelsExecutionOfAllEnginesOnceMaximumNumberOfFailuresHasBeenReached() {
+		Runnable failingTest = () -> {
+			throw new AssertionError("failed");
+		};
+		var firstEngine = new DemoHierarchicalTestEngine("engine1");
+		firstEngine.addTest("failing", failingTest);
+		var secondEngine = new DemoHierarchicalTestEngine("engine2");
+		secondEngine.addTest("failing", failingTest);
+		var executed = new AtomicBoolean();
+		secondEngine.addTest("test", () -> executed.set(true));
+		var listener = new SummaryGeneratingListener();
+
+		var launcher = createLauncher(firstEngine, secondEngine);
+		launcher.execute(request().configurationParameter(CANCELLATION_MAX_FAILURES_PROPERTY_NAME, "2").build(),
+			listener);
+
+		assertEquals(2, listener.getSummary().getTestsFailedCount());
+		assertEquals(1, listener.getSummary().getTestsSkippedCount());
+		assertFalse(executed.get());
+	}
+
 	@Test
 	@SuppressWarnings("deprecation")
 	void withoutConfigurationParameters_LookupFallsBackToSystemProperty() {
@@ -620,4 +744,41 @@ class DefaultLauncherTests {
 			impostor.getClass().getName(), id);
 	}
 
+	private static class BarrierAwaitingTestEngine extends TestEngineStub {
+
+		private final CyclicBarrier barrier;
+
+		BarrierAwaitingTestEngine(String id, CyclicBarrier barrier) {
+			super(id);
+			this.barrier = barrier;
+		}
+
+		@Override
+		public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+			discoveryRequest.getSelectorsByType(DiscoverySelector.class) //
+					.forEach(selector -> discoveryRequest.getDiscoveryListener().selectorProcessed(uniqueId, selector,
+						SelectorResolutionResult.resolved()));
+			awaitOtherEngine();
+			return new EngineDescriptor(uniqueId, getId());
+		}
+
+		@Override
+		public void execute(ExecutionRequest request) {
+			var engineDescriptor = request.getRootTestDescriptor();
+			request.getEngineExecutionListener().executionStarted(engineDescriptor);
+			awaitOtherEngine();
+			request.getEngineExecutionListener().executionFinished(engineDescriptor, successful());
+		}
+
+		private void awaitOtherEngine() {
+			try {
+				// fails unless the other engine discovers or executes tests at the same time
+				barrier.await(10, SECONDS);
+			}
+			catch (Exception e) {
+				throw ExceptionUtils.throwAsUncheckedException(e);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathRoots;
+import static org.junit.platform.launcher.LauncherConstants.DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.ClasspathRootSelector;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.fakes.TestEngineStub;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * @since 1.10
+ */
+class DiscoveryCacheTests {
+
+	@TempDir
+	Path cacheDir;
+
+	@TempDir
+	Path classpathRoot;
+
+	@Test
+	void restoresTestClassesOfUnchangedClasspathRoot() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		var engine = new ClasspathScanningTestEngine(true);
+
+		var testPlan = discover(engine);
+		assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClasspathRootSelector.class);
+		assertThat(countTests(testPlan)).isEqualTo(1);
+
+		testPlan = discover(engine);
+		assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClassSelector.class);
+		assertThat(((ClassSelector) engine.selectors.get(0)).getClassName()).isEqualTo("com.example.FooTests");
+		assertThat(countTests(testPlan)).isEqualTo(1);
+	}
+
+	@Test
+	void scansClasspathRootAgainAfterItChanged() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		var engine = new ClasspathScanningTestEngine(true);
+		discover(engine);
+
+		createClassFile("com/example/BarTests.class");
+
+		var testPlan = discover(engine);
+		assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClasspathRootSelector.class);
+		assertThat(countTests(testPlan)).isEqualTo(2);
+
+		discover(engine);
+		assertThat(engine.selectors).hasSize(2).hasOnlyElementsOfType(ClassSelector.class);
+	}
+
+	@Test
+	void doesNotCacheTestClassesOfEnginesWhoseTestsHaveNoClassSource() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		var engine = new ClasspathScanningTestEngine(false);
+		discover(engine);
+
+		discover(engine);
+
+		assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClasspathRootSelector.class);
+	}
+
+	@Test
+	void doesNotCacheExplicitlySelectedTestClassesForClasspathRoot() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		createClassFile("com/example/BarTests.class");
+		var engine = new ClasspathScanningTestEngine(true);
+		UnaryOperator<LauncherDiscoveryRequestBuilder> selectFooTests = builder -> builder.selectors(
+			selectClass("com.example.FooTests"));
+		discover(engine, selectFooTests);
+
+		var testPlan = discover(engine, selectFooTests);
+
+		assertThat(engine.selectors).hasSize(2).hasOnlyElementsOfType(ClassSelector.class);
+		assertThat(engine.selectors).extracting(selector -> ((ClassSelector) selector).getClassName()) //
+				.containsExactlyInAnyOrder("com.example.FooTests", "com.example.BarTests");
+		assertThat(countTests(testPlan)).isEqualTo(2);
+	}
+
+	@Test
+	void usesSeparateCacheFilesForRequestsWithDifferentConfigurationParameters() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		var engine = new ClasspathScanningTestEngine(true);
+		discover(engine, builder -> builder.configurationParameter("shard", "0"));
+		discover(engine, builder -> builder.configurationParameter("shard", "1"));
+
+		discover(engine, builder -> builder.configurationParameter("shard", "0"));
+
+		assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClassSelector.class);
+		try (Stream<Path> files = Files.list(cacheDir)) {
+			assertThat(files).hasSize(2);
+		}
+	}
+
+	@Test
+	void restoresTestClassesIfOnlySystemPropertiesNotStartingWithJUnitHaveChanged() throws Exception {
+		createClassFile("com/example/FooTests.class");
+		var engine = new ClasspathScanningTestEngine(true);
+		try {
+			System.setProperty("com.example.run.id", "1");
+			discover(engine);
+
+			System.setProperty("com.example.run.id", "2");
+			discover(engine);
+			assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClassSelector.class);
+
+			System.setProperty("junit.example.run.id", "2");
+			discover(engine);
+			assertThat(engine.selectors).hasSize(1).hasOnlyElementsOfType(ClasspathRootSelector.class);
+		}
+		finally {
+			System.clearProperty("com.example.run.id");
+			System.clearProperty("junit.example.run.id");
+		}
+	}
+
+	private TestPlan discover(ClasspathScanningTestEngine engine) {
+		return discover(engine, UnaryOperator.identity());
+	}
+
+	private TestPlan discover(ClasspathScanningTestEngine engine,
+			UnaryOperator<LauncherDiscoveryRequestBuilder> customizer) {
+		LauncherDiscoveryRequest request = customizer.apply(request() //
+				.selectors(selectClasspathRoots(Set.of(classpathRoot))) //
+				.configurationParameter(DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME, cacheDir.toString())) //
+				.build();
+		return createLauncher(engine).discover(request);
+	}
+
+	private static long countTests(TestPlan testPlan) {
+		return testPlan.countTestIdentifiers(TestIdentifier::isTest);
+	}
+
+	private void createClassFile(String name) throws IOException {
+		var file = classpathRoot.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.write(file, new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE });
+	}
+
+	/**
+	 * Engine that creates a test for each class file in a classpath root and
+	 * for each selected class.
+	 */
+	private static class ClasspathScanningTestEngine extends TestEngineStub {
+
+		private final boolean withClassSource;
+		private List<DiscoverySelector> selectors;
+
+		ClasspathScanningTestEngine(boolean withClassSource) {
+			super("scanning-engine");
+			this.withClassSource = withClassSource;
+		}
+
+		@Override
+		public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+			selectors = new ArrayList<>(discoveryRequest.getSelectorsByType(DiscoverySelector.class));
+			var engineDescriptor = new EngineDescriptor(uniqueId, getId());
+			for (var selector : discoveryRequest.getSelectorsByType(ClasspathRootSelector.class)) {
+				var root = Path.of(selector.getClasspathRoot());
+				try (Stream<Path> files = Files.walk(root)) {
+					files.filter(Files::isRegularFile).forEach(file -> {
+						var fileName = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(),
+							".");
+						addTest(engineDescriptor, fileName.substring(0, fileName.length() - ".class".length()));
+					});
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			for (var selector : discoveryRequest.getSelectorsByType(ClassSelector.class)) {
+				addTest(engineDescriptor, selector.getClassName());
+			}
+			return engineDescriptor;
+		}
+
+		private void addTest(EngineDescriptor engineDescriptor, String className) {
+			var uniqueId = engineDescriptor.getUniqueId().append("class", className);
+			if (engineDescriptor.findByUniqueId(uniqueId).isPresent()) {
+				return;
+			}
+			var source = withClassSource ? ClassSource.from(className) : null;
+			engineDescriptor.addChild(new AbstractTestDescriptor(uniqueId, className, source) {
+				@Override
+				public Type getType() {
+					return Type.TEST;
+				}
+			});
+		}
+	}
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.FORK_JVM_ARGS_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * @since 1.10
+ */
+class ForkedExecutionTests {
+
+	private static final String CRASH_PROPERTY_NAME = ForkedExecutionTests.class.getName() + ".crash";
+
+	@Test
+	void executesContainersInChildJvmsAndReportsTheirEvents() {
+		var listener = new RecordingTestExecutionListener();
+
+		execute(Map.of(FORK_COUNT_PROPERTY_NAME, "2"), listener, TestCase.class, DynamicTestCase.class);
+
+		assertThat(listener.events).containsExactlyInAnyOrder( //
+			"started:JUnit Jupiter", //
+			"started:ForkedExecutionTests$TestCase", //
+			"started:test(TestReporter)", //
+			"finished:test(TestReporter):SUCCESSFUL", //
+			"finished:ForkedExecutionTests$TestCase:SUCCESSFUL", //
+			"started:ForkedExecutionTests$DynamicTestCase", //
+			"started:dynamicTests()", //
+			"registered:#1", //
+			"started:#1", //
+			"finished:#1:SUCCESSFUL", //
+			"finished:dynamicTests():SUCCESSFUL", //
+			"finished:ForkedExecutionTests$DynamicTestCase:SUCCESSFUL", //
+			"finished:JUnit Jupiter:SUCCESSFUL");
+		assertThat(listener.events.get(0)).isEqualTo("started:JUnit Jupiter");
+		assertThat(listener.events.get(listener.events.size() - 1)).isEqualTo("finished:JUnit Jupiter:SUCCESSFUL");
+		assertThat(listener.pids).hasSize(1).doesNotContain(currentPid());
+	}
+
+	@Test
+	void failsTestsInFlightAndSkipsRemainingTestsIfChildJvmTerminatesUnexpectedly() {
+		var listener = new RecordingTestExecutionListener();
+
+		var configurationParameters = Map.of( //
+			FORK_COUNT_PROPERTY_NAME, "1", //
+			FORK_JVM_ARGS_PROPERTY_NAME, "-D" + CRASH_PROPERTY_NAME + "=true");
+		execute(configurationParameters, listener, CrashingTestCase.class, TestCase.class);
+
+		assertThat(listener.events).containsExactly( //
+			"started:JUnit Jupiter", //
+			"started:ForkedExecutionTests$CrashingTestCase", //
+			"started:a()", //
+			"finished:a():SUCCESSFUL", //
+			"started:b()", //
+			"finished:b():FAILED", //
+			"skipped:c()", //
+			"finished:ForkedExecutionTests$CrashingTestCase:FAILED", //
+			"started:ForkedExecutionTests$TestCase", //
+			"started:test(TestReporter)", //
+			"finished:test(TestReporter):SUCCESSFUL", //
+			"finished:ForkedExecutionTests$TestCase:SUCCESSFUL", //
+			"finished:JUnit Jupiter:SUCCESSFUL");
+		assertThat(listener.failureMessages).hasSize(2).allMatch(
+			message -> message.startsWith("Forked JVM terminated unexpectedly with exit code 42"));
+		assertThat(listener.skipReasons).containsExactly("Forked JVM terminated unexpectedly with exit code 42");
+	}
+
+	@Test
+	void toleratesOutputWrittenDirectlyToStandardOutputOfChildJvm() {
+		var listener = new RecordingTestExecutionListener();
+
+		execute(Map.of(FORK_COUNT_PROPERTY_NAME, "1"), listener, StandardOutputTestCase.class);
+
+		assertThat(listener.events).containsExactly( //
+			"started:JUnit Jupiter", //
+			"started:ForkedExecutionTests$StandardOutputTestCase", //
+			"started:test()", //
+			"finished:test():SUCCESSFUL", //
+			"finished:ForkedExecutionTests$StandardOutputTestCase:SUCCESSFUL", //
+			"finished:JUnit Jupiter:SUCCESSFUL");
+	}
+
+	@Test
+	void passesExplicitConfigurationParametersToChildJvms() {
+		var listener = new RecordingTestExecutionListener();
+
+		execute(Map.of(FORK_COUNT_PROPERTY_NAME, "1", "forked.parameter", "value"), listener,
+			ConfigurationParameterTestCase.class);
+
+		assertThat(listener.events).contains("finished:test():SUCCESSFUL");
+	}
+
+	@Test
+	void includesEntriesOfUrlClassLoadersInClassPathOfChildJvms(@TempDir Path classpathEntry) throws Exception {
+		try (var classLoader = new URLClassLoader(new URL[] { classpathEntry.toUri().toURL() },
+			getClass().getClassLoader())) {
+
+			var classPath = ForkedJvm.getClassPath(classLoader).split(File.pathSeparator);
+
+			assertThat(classPath).startsWith(System.getProperty("java.class.path").split(File.pathSeparator));
+			assertThat(classPath).endsWith(classpathEntry.toString());
+		}
+	}
+
+	private static void execute(Map<String, String> configurationParameters, TestExecutionListener listener,
+			Class<?>... testClasses) {
+		List<ClassSelector> selectors = Stream.of(testClasses) //
+				.map(testClass -> selectClass(testClass)) //
+				.collect(Collectors.toList());
+		LauncherDiscoveryRequest request = request() //
+				.selectors(selectors) //
+				.filters(includeEngines("junit-jupiter")) //
+				.configurationParameters(configurationParameters) //
+				.build();
+		LauncherFactory.create().execute(request, listener);
+	}
+
+	private static String currentPid() {
+		return ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+	}
+
+	private static class RecordingTestExecutionListener implements TestExecutionListener {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+		final List<String> failureMessages = new CopyOnWriteArrayList<>();
+		final List<String> skipReasons = new CopyOnWriteArrayList<>();
+		final List<String> pids = new CopyOnWriteArrayList<>();
+		private TestPlan testPlan;
+
+		@Override
+		public void testPlanExecutionStarted(TestPlan testPlan) {
+			this.testPlan = testPlan;
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			assertThat(testPlan.getTestIdentifier(testIdentifier.getUniqueId())).isEqualTo(testIdentifier);
+			events.add("registered:" + testIdentifier.getDisplayName());
+		}
+
+		@Override
+		public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+			events.add("skipped:" + testIdentifier.getDisplayName());
+			skipReasons.add(reason);
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			events.add("started:" + testIdentifier.getDisplayName());
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			events.add("finished:" + testIdentifier.getDisplayName() + ":" + testExecutionResult.getStatus());
+			testExecutionResult.getThrowable().ifPresent(throwable -> failureMessages.add(throwable.getMessage()));
+		}
+
+		@Override
+		public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+			String pid = entry.getKeyValuePairs().get("pid");
+			if (pid != null && !pids.contains(pid)) {
+				pids.add(pid);
+			}
+		}
+	}
+
+	// -------------------------------------------------------------------------
+
+	static class TestCase {
+
+		@Test
+		void test(TestReporter testReporter) {
+			testReporter.publishEntry("pid", currentPid());
+		}
+	}
+
+	static class DynamicTestCase {
+
+		@TestFactory
+		Stream<DynamicTest> dynamicTests() {
+			return Stream.of(DynamicTest.dynamicTest("#1", () -> {
+			}));
+		}
+	}
+
+	static class ConfigurationParameterTestCase {
+
+		@RegisterExtension
+		static BeforeEachCallback callback = context -> assertEquals(Optional.of("value"),
+			context.getConfigurationParameter("forked.parameter"));
+
+		@Test
+		void test() {
+		}
+	}
+
+	static class StandardOutputTestCase {
+
+		@Test
+		void test() throws Exception {
+			var out = new FileOutputStream(FileDescriptor.out);
+			out.write(new byte[] { 'Z', 'E', 0, 0, 0, 1, 'F', '\n' });
+			out.flush();
+		}
+	}
+
+	@TestMethodOrder(MethodOrderer.MethodName.class)
+	static class CrashingTestCase {
+
+		@Test
+		void a() {
+		}
+
+		@Test
+		void b() {
+			assumeTrue(Boolean.getBoolean(CRASH_PROPERTY_NAME));
+			Runtime.getRuntime().halt(42);
+		}
+
+		@Test
+		void c() {
+		}
+	}
+
+}
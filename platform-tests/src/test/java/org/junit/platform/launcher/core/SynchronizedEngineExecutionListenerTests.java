@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.fakes.TestDescriptorStub;
+
+/**
+ * @since 1.10
+ */
+class SynchronizedEngineExecutionListenerTests {
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutDownExecutorService() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void notifiesDelegateOfEventsOfSameEngineConcurrently() throws Exception {
+		var barrier = new CyclicBarrier(2);
+		var listener = new SynchronizedEngineExecutionListener(new EngineExecutionListener() {
+			@Override
+			public void executionStarted(TestDescriptor testDescriptor) {
+				try {
+					barrier.await(10, SECONDS);
+				}
+				catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+
+		var futures = executorService.invokeAll(List.of( //
+			notifyStarted(listener, testDescriptor("engine", "test1")), //
+			notifyStarted(listener, testDescriptor("engine", "test2"))));
+
+		for (var future : futures) {
+			future.get();
+		}
+		assertThat(barrier.isBroken()).isFalse();
+	}
+
+	@Test
+	void neverNotifiesDelegateOfEventsOfDifferentEnginesConcurrently() throws Exception {
+		Map<String, AtomicInteger> activeNotifications = new ConcurrentHashMap<>();
+		var overlapped = new AtomicBoolean();
+		var listener = new SynchronizedEngineExecutionListener(new EngineExecutionListener() {
+			@Override
+			public void executionStarted(TestDescriptor testDescriptor) {
+				var engineId = testDescriptor.getUniqueId().getEngineId().orElseThrow();
+				activeNotifications.computeIfAbsent(engineId, __ -> new AtomicInteger()).incrementAndGet();
+				activeNotifications.forEach((otherEngineId, count) -> {
+					if (!otherEngineId.equals(engineId) && count.get() > 0) {
+						overlapped.set(true);
+					}
+				});
+				Thread.yield();
+				activeNotifications.get(engineId).decrementAndGet();
+			}
+		});
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (var engineId : List.of("engine1", "engine1", "engine2", "engine2")) {
+			var testDescriptor = testDescriptor(engineId, "test");
+			tasks.add(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					listener.executionStarted(testDescriptor);
+				}
+				return null;
+			});
+		}
+
+		for (Future<Void> future : executorService.invokeAll(tasks)) {
+			future.get();
+		}
+		assertThat(overlapped).isFalse();
+	}
+
+	private static Callable<Void> notifyStarted(EngineExecutionListener listener, TestDescriptor testDescriptor) {
+		return () -> {
+			listener.executionStarted(testDescriptor);
+			return null;
+		};
+	}
+
+	private static TestDescriptor testDescriptor(String engineId, String name) {
+		return new TestDescriptorStub(UniqueId.forEngine(engineId).append("test", name), name);
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.platform.engine.Filter.composeFilters;
+import static org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine.DURATION_HISTORY_FILE_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_GRANULARITY_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_STRATEGY_PROPERTY_NAME;
+import static org.junit.platform.launcher.TagFilter.excludeTags;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.fakes.TestEngineStub;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * @since 1.10
+ */
+class TestShardingTests {
+
+	private static final List<String> CLASS_NAMES = IntStream.range(0, 50) //
+			.mapToObj(i -> "com.example.Test" + i) //
+			.collect(Collectors.toList());
+
+	@Test
+	void partitionsClassesIntoDisjointShardsThatContainAllTests() {
+		Set<String> allTests = new HashSet<>();
+		var totalTests = 0;
+
+		for (var shardIndex = 0; shardIndex < 3; shardIndex++) {
+			var tests = discoverTests(new ClassesTestEngine(), Map.of( //
+				SHARD_COUNT_PROPERTY_NAME, "3", //
+				SHARD_INDEX_PROPERTY_NAME, String.valueOf(shardIndex)));
+			assertThat(tests).isNotEmpty();
+			allTests.addAll(tests);
+			totalTests += tests.size();
+		}
+
+		assertThat(totalTests).isEqualTo(2 * CLASS_NAMES.size());
+		assertThat(allTests).hasSize(2 * CLASS_NAMES.size());
+	}
+
+	@Test
+	void filtersClassesOfOtherShardsBeforeEnginesResolveThem() {
+		var engine = new ClassesTestEngine();
+
+		var tests = discoverTests(engine, Map.of( //
+			SHARD_COUNT_PROPERTY_NAME, "2", //
+			SHARD_INDEX_PROPERTY_NAME, "1"));
+
+		assertThat(engine.resolvedClassNames).hasSize(tests.size() / 2).hasSizeLessThan(CLASS_NAMES.size());
+	}
+
+	@Test
+	void assignsContainersToShardsByGranularity() {
+		var tests = discoverTests(new ClassesTestEngine(), Map.of( //
+			SHARD_COUNT_PROPERTY_NAME, "2", //
+			SHARD_INDEX_PROPERTY_NAME, "0", //
+			SHARD_GRANULARITY_PROPERTY_NAME, "container"));
+
+		assertThat(tests.size() % 2).isZero();
+		assertThat(tests).hasSizeLessThan(2 * CLASS_NAMES.size());
+	}
+
+	@Test
+	void balancesClassesUsingDurationHistory(@TempDir Path tempDir) throws Exception {
+		var durations = new Properties();
+		durations.setProperty("[engine:classes]/[class:A]", "100");
+		durations.setProperty("[engine:classes]/[class:B]", "60 1700000000000");
+		durations.setProperty("[engine:classes]/[class:C]", "50");
+		durations.setProperty("[engine:classes]/[class:D]", "40");
+		var durationHistoryFile = tempDir.resolve("durations.properties");
+		try (var out = Files.newOutputStream(durationHistoryFile)) {
+			durations.store(out, null);
+		}
+
+		List<Set<String>> classNamesPerShard = new ArrayList<>();
+		for (var shardIndex = 0; shardIndex < 2; shardIndex++) {
+			var tests = discoverTests(new ClassesTestEngine(List.of("A", "B", "C", "D")), Map.of( //
+				SHARD_COUNT_PROPERTY_NAME, "2", //
+				SHARD_INDEX_PROPERTY_NAME, String.valueOf(shardIndex), //
+				SHARD_STRATEGY_PROPERTY_NAME, "duration", //
+				DURATION_HISTORY_FILE_PROPERTY_NAME, durationHistoryFile.toString()));
+			classNamesPerShard.add(tests.stream() //
+					.map(uniqueId -> UniqueId.parse(uniqueId).removeLastSegment().getLastSegment().getValue()) //
+					.collect(Collectors.toSet()));
+		}
+
+		assertThat(classNamesPerShard.get(0)).containsExactlyInAnyOrder("A", "D");
+		assertThat(classNamesPerShard.get(1)).containsExactlyInAnyOrder("B", "C");
+	}
+
+	@Test
+	void ignoresClassesWithoutTestsWhenBalancingUsingDurationHistory(@TempDir Path tempDir) throws Exception {
+		var durations = new Properties();
+		durations.setProperty("[engine:classes]/[class:A]", "100");
+		durations.setProperty("[engine:classes]/[class:C]", "50");
+		durations.setProperty("[engine:classes]/[class:D]", "40");
+		durations.setProperty("[engine:classes]/[class:E]", "30");
+		var durationHistoryFile = tempDir.resolve("durations.properties");
+		try (var out = Files.newOutputStream(durationHistoryFile)) {
+			durations.store(out, null);
+		}
+
+		List<Set<String>> classNamesPerShard = new ArrayList<>();
+		for (var shardIndex = 0; shardIndex < 2; shardIndex++) {
+			var tests = discoverTests(new ClassesTestEngine(List.of("A", "C", "D", "E")), Map.of( //
+				SHARD_COUNT_PROPERTY_NAME, "2", //
+				SHARD_INDEX_PROPERTY_NAME, String.valueOf(shardIndex), //
+				SHARD_STRATEGY_PROPERTY_NAME, "duration", //
+				DURATION_HISTORY_FILE_PROPERTY_NAME, durationHistoryFile.toString()), //
+				excludeTags("A"));
+			classNamesPerShard.add(tests.stream() //
+					.map(uniqueId -> UniqueId.parse(uniqueId).removeLastSegment().getLastSegment().getValue()) //
+					.collect(Collectors.toSet()));
+		}
+
+		assertThat(classNamesPerShard.get(0)).containsExactly("C");
+		assertThat(classNamesPerShard.get(1)).containsExactlyInAnyOrder("D", "E");
+	}
+
+	@Test
+	void rejectsShardIndexThatIsOutOfRange() {
+		var launcher = createLauncher(new ClassesTestEngine());
+		var request = request() //
+				.configurationParameters(Map.of(SHARD_COUNT_PROPERTY_NAME, "2", SHARD_INDEX_PROPERTY_NAME, "2")) //
+				.build();
+
+		var exception = assertThrows(PreconditionViolationException.class, () -> launcher.discover(request));
+
+		assertThat(exception).hasMessageContaining(SHARD_INDEX_PROPERTY_NAME);
+	}
+
+	private static Set<String> discoverTests(ClassesTestEngine engine, Map<String, String> configurationParameters,
+			PostDiscoveryFilter... filters) {
+		var testPlan = createLauncher(engine).discover(
+			request().configurationParameters(configurationParameters).filters(filters).build());
+		return testPlan.getDescendants(testPlan.getRoots().iterator().next()).stream() //
+				.filter(TestIdentifier::isTest) //
+				.map(TestIdentifier::getUniqueId) //
+				.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Engine that resolves a container with two tests tagged with the class
+	 * name for each of its class names that is included by the class name
+	 * filters of the request.
+	 */
+	private static class ClassesTestEngine extends TestEngineStub {
+
+		private final List<String> classNames;
+		private final List<String> resolvedClassNames = new ArrayList<>();
+
+		ClassesTestEngine() {
+			this(CLASS_NAMES);
+		}
+
+		ClassesTestEngine(List<String> classNames) {
+			super("classes");
+			this.classNames = classNames;
+		}
+
+		@Override
+		public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+			var classNameFilters = discoveryRequest.getFiltersByType(ClassNameFilter.class);
+			var classNameFilter = composeFilters(classNameFilters).toPredicate();
+			var engineDescriptor = new EngineDescriptor(uniqueId, getId());
+			for (var className : classNames) {
+				if (classNameFilter.test(className)) {
+					resolvedClassNames.add(className);
+					var classDescriptor = new DemoDescriptor(uniqueId.append("class", className),
+						ClassSource.from(className), TestDescriptor.Type.CONTAINER);
+					engineDescriptor.addChild(classDescriptor);
+					for (var i = 0; i < 2; i++) {
+						var methodId = classDescriptor.getUniqueId().append("method", "test" + i);
+						var methodDescriptor = new DemoDescriptor(methodId, null, TestDescriptor.Type.TEST);
+						methodDescriptor.tags.add(TestTag.create(className));
+						classDescriptor.addChild(methodDescriptor);
+					}
+				}
+			}
+			return engineDescriptor;
+		}
+	}
+
+	private static class DemoDescriptor extends AbstractTestDescriptor {
+
+		private final Type type;
+		private final Set<TestTag> tags = new HashSet<>();
+
+		DemoDescriptor(UniqueId uniqueId, ClassSource source, Type type) {
+			super(uniqueId, uniqueId.getLastSegment().getValue(), source);
+			this.type = type;
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+
+		@Override
+		public Set<TestTag> getTags() {
+			return tags;
+		}
+	}
+
+}
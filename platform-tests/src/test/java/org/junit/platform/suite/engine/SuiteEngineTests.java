@@ -12,6 +12,7 @@ package org.junit.platform.suite.engine;
 
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.LauncherConstants.CANCELLATION_MAX_FAILURES_PROPERTY_NAME;
 import static org.junit.platform.launcher.TagFilter.excludeTags;
 import static org.junit.platform.suite.engine.SuiteEngineDescriptor.ENGINE_ID;
 import static org.junit.platform.testkit.engine.EventConditions.container;
@@ -20,6 +21,7 @@ import static org.junit.platform.testkit.engine.EventConditions.engine;
 import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
 import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.skippedWithReason;
 import static org.junit.platform.testkit.engine.EventConditions.test;
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
 
@@ -44,6 +46,7 @@ import org.junit.platform.suite.engine.testsuites.EmptyDynamicTestSuite;
 import org.junit.platform.suite.engine.testsuites.EmptyDynamicTestWithFailIfNoTestFalseSuite;
 import org.junit.platform.suite.engine.testsuites.EmptyTestCaseSuite;
 import org.junit.platform.suite.engine.testsuites.EmptyTestCaseWithFailIfNoTestFalseSuite;
+import org.junit.platform.suite.engine.testsuites.FailingTestsSuite;
 import org.junit.platform.suite.engine.testsuites.MultiEngineSuite;
 import org.junit.platform.suite.engine.testsuites.MultipleSuite;
 import org.junit.platform.suite.engine.testsuites.NestedSuite;
@@ -350,4 +353,20 @@ class SuiteEngineTests {
 		// @formatter:on
 	}
 
+	@Test
+	void cancelsExecutionOfSuitesOnceMaxFailuresHaveBeenReached() {
+		// @formatter:off
+		EngineTestKit.engine(ENGINE_ID)
+				.selectors(selectClass(FailingTestsSuite.class), selectClass(SelectClassesSuite.class))
+				.configurationParameter(CANCELLATION_MAX_FAILURES_PROPERTY_NAME, "1")
+				.execute()
+				.allEvents()
+				.assertThatEvents()
+				.haveExactly(1, event(test("method:failingTest()"), finishedWithFailure()))
+				.haveExactly(1, event(test("method:test()"), skippedWithReason("Execution cancelled after 1 failure(s)")))
+				.haveExactly(1, event(container(SelectClassesSuite.class), skippedWithReason("Execution cancelled after 1 failure(s)")))
+				.doNotHave(test(SingleTestTestCase.class.getName()));
+		// @formatter:on
+	}
+
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015-2022 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.suite.engine.testcases;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+/**
+ * @since 1.10
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class FailingTestsTestCase {
+
+	@Test
+	@Order(1)
+	void failingTest() {
+		fail("expected");
+	}
+
+	@Test
+	@Order(2)
+	void test() {
+	}
+}